@@ -0,0 +1,63 @@
+package com.rudraksha.shopsphere.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.Set;
+
+/**
+ * Entry point of {@code benchmarks.jar}. Accepts the usual JMH options and adds two defaults:
+ * the GC profiler, for allocation per operation, and JSON results written to
+ * {@code jmh-results/<label>.json}, where the label is {@code BENCHMARK_LABEL} (e.g. the commit)
+ * or the current time. {@code diff <baseline.json> <candidate.json>} compares two result files.
+ * <pre>
+ * java -jar benchmarks/target/benchmarks.jar Csv -p rows=1000000
+ * java -jar benchmarks/target/benchmarks.jar diff jmh-results/main.json jmh-results/feature.json
+ * </pre>
+ */
+public final class BenchmarkRunner {
+
+    private static final Set<String> JMH_INFO_OPTIONS = Set.of("-h", "-l", "-lp", "-lprof", "-lrf");
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0 && args[0].equals("diff")) {
+            System.exit(ResultsDiff.run(Arrays.copyOfRange(args, 1, args.length)));
+        }
+        if (Arrays.stream(args).anyMatch(JMH_INFO_OPTIONS::contains)) {
+            org.openjdk.jmh.Main.main(args);
+            return;
+        }
+
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(commandLine);
+        if (commandLine.getProfilers().isEmpty()) {
+            options.addProfiler(GCProfiler.class);
+        }
+        if (!commandLine.getResultFormat().hasValue() && !commandLine.getResult().hasValue()) {
+            Path results = Path.of("jmh-results", label() + ".json");
+            Files.createDirectories(results.getParent());
+            options.resultFormat(ResultFormatType.JSON).result(results.toString());
+        }
+        new Runner(options.build()).run();
+    }
+
+    private static String label() {
+        String label = System.getenv("BENCHMARK_LABEL");
+        if (label != null && !label.isBlank()) {
+            return label.replaceAll("[^A-Za-z0-9._-]", "_");
+        }
+        return LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+    }
+}
@@ -0,0 +1,105 @@
+package com.rudraksha.shopsphere.benchmarks;
+
+import com.rudraksha.shopsphere.shared.utils.CsvReader;
+import com.rudraksha.shopsphere.shared.utils.CsvUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Inventory imports and exports. Reading counts the rows so nothing is retained; the heap
+ * needed by each strategy shows in {@code gc.alloc.rate.norm} when run with {@code -prof gc}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx2g"})
+public class CsvBenchmark {
+
+    @Param({"100000", "1000000"})
+    public int rows;
+
+    private Path file;
+
+    @Setup
+    public void setUp() throws IOException {
+        file = Fixtures.inventoryCsv(rows, 42);
+    }
+
+    @Benchmark
+    public int parseToList() throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            return CsvUtil.parse(in).size();
+        }
+    }
+
+    @Benchmark
+    public long readerStream() throws IOException {
+        long count = 0;
+        try (CsvReader reader = CsvUtil.reader(Files.newInputStream(file))) {
+            while (reader.hasNext()) {
+                count += reader.next().length;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public long mappedSequential() {
+        try (Stream<String[]> records = CsvUtil.stream(file)) {
+            return records.mapToLong(record -> record.length).sum();
+        }
+    }
+
+    @Benchmark
+    public long mappedParallel() {
+        try (Stream<String[]> records = CsvUtil.stream(file, ',', true)) {
+            return records.mapToLong(record -> record.length).sum();
+        }
+    }
+
+    @Benchmark
+    public void write() throws IOException {
+        Fixtures.writeInventoryCsv(OutputStream.nullOutputStream(), rows, 42);
+    }
+
+    @Benchmark
+    public void writeGzip() throws IOException {
+        OutputStream out = OutputStream.nullOutputStream();
+        CsvUtil.write(out, true, csv -> {
+            try (Stream<String[]> records = CsvUtil.stream(file)) {
+                records.forEach(record -> {
+                    try {
+                        csv.writeRow((Object[]) record);
+                    } catch (IOException e) {
+                        throw new IllegalStateException(e);
+                    }
+                });
+            }
+        });
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+}
@@ -0,0 +1,155 @@
+package com.rudraksha.shopsphere.benchmarks;
+
+import com.rudraksha.shopsphere.shared.models.dto.OrderDTO;
+import com.rudraksha.shopsphere.shared.models.enums.EventType;
+import com.rudraksha.shopsphere.shared.models.enums.OrderStatus;
+import com.rudraksha.shopsphere.shared.models.events.EventEnvelope;
+import com.rudraksha.shopsphere.shared.utils.CsvWriter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * Deterministic inputs shaped like production traffic. Every generator takes a seed so runs
+ * on different builds measure the same data.
+ */
+final class Fixtures {
+
+    private static final String[] CATEGORIES = {"electronics", "books", "home", "garden", "toys", "apparel"};
+    private static final String[] WORDS = {"Wireless", "Ergonomic", "Organic", "Compact", "Deluxe", "Vintage",
+            "Smart", "Portable", "Handmade", "Premium", "Keyboard", "Lamp", "Backpack", "Kettle", "Novel", "Chair"};
+
+    private Fixtures() {
+    }
+
+    /**
+     * An ORDER_PLACED envelope; {@code items} line items, typical carts have 1 to 5.
+     */
+    static EventEnvelope<OrderDTO> orderPlaced(int items, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        List<OrderDTO.OrderItemDTO> lines = new ArrayList<>(items);
+        BigDecimal total = BigDecimal.ZERO;
+        for (int i = 0; i < items; i++) {
+            BigDecimal unitPrice = BigDecimal.valueOf(random.nextInt(100, 50_000), 2);
+            int quantity = random.nextInt(1, 4);
+            BigDecimal subtotal = unitPrice.multiply(BigDecimal.valueOf(quantity));
+            total = total.add(subtotal);
+            lines.add(OrderDTO.OrderItemDTO.builder()
+                    .productId(uuid(random))
+                    .productName(productName(random))
+                    .quantity(quantity)
+                    .unitPrice(unitPrice)
+                    .subtotal(subtotal)
+                    .build());
+        }
+        OrderDTO order = OrderDTO.builder()
+                .id(uuid(random))
+                .userId(uuid(random))
+                .items(lines)
+                .totalAmount(total)
+                .status(OrderStatus.PENDING)
+                .createdAt(Instant.parse("2024-06-01T12:00:00Z"))
+                .build();
+        return EventEnvelope.<OrderDTO>builder()
+                .eventId(uuid(random))
+                .eventType(EventType.ORDER_PLACED)
+                .timestamp(Instant.parse("2024-06-01T12:00:00Z"))
+                .payload(order)
+                .build();
+    }
+
+    /**
+     * A catalog product as the search and recommendation services exchange it: nested
+     * attributes, a few tags and free text.
+     */
+    static Map<String, Object> product(long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        Map<String, Object> attributes = new LinkedHashMap<>();
+        attributes.put("color", WORDS[random.nextInt(WORDS.length)].toLowerCase());
+        attributes.put("weightGrams", random.nextInt(50, 5000));
+        attributes.put("dimensions", Map.of("w", random.nextInt(1, 100), "h", random.nextInt(1, 100),
+                "d", random.nextInt(1, 100)));
+        Map<String, Object> product = new LinkedHashMap<>();
+        product.put("id", uuid(random).toString());
+        product.put("sku", "SKU-" + random.nextInt(1_000_000));
+        product.put("name", productName(random));
+        product.put("description", description(random, 40));
+        product.put("price", BigDecimal.valueOf(random.nextInt(100, 50_000), 2));
+        product.put("currency", "USD");
+        product.put("category", CATEGORIES[random.nextInt(CATEGORIES.length)]);
+        product.put("tags", List.of(WORDS[random.nextInt(WORDS.length)], WORDS[random.nextInt(WORDS.length)]));
+        product.put("attributes", attributes);
+        product.put("active", random.nextBoolean());
+        return product;
+    }
+
+    static List<Map<String, Object>> products(int count, long seed) {
+        List<Map<String, Object>> products = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            products.add(product(seed + i));
+        }
+        return products;
+    }
+
+    /**
+     * An inventory import: sku, name, description, quantity, price. One row in fifty has a
+     * quoted description with a delimiter, an escaped quote or a line break.
+     */
+    static Path inventoryCsv(int rows, long seed) throws IOException {
+        Path file = Files.createTempFile("inventory-" + rows + "-", ".csv");
+        file.toFile().deleteOnExit();
+        try (OutputStream out = Files.newOutputStream(file)) {
+            writeInventoryCsv(out, rows, seed);
+        }
+        return file;
+    }
+
+    static void writeInventoryCsv(OutputStream out, int rows, long seed) throws IOException {
+        SplittableRandom random = new SplittableRandom(seed);
+        CsvWriter csv = CsvWriter.of(out, ',', false);
+        csv.writeRow("sku", "name", "description", "quantity", "price");
+        for (int i = 0; i < rows; i++) {
+            String description = switch (i % 50) {
+                case 0 -> description(random, 6) + ", with \"extras\"";
+                case 25 -> description(random, 4) + "\n" + description(random, 4);
+                default -> description(random, 8);
+            };
+            csv.field("SKU-" + i)
+                    .field(productName(random))
+                    .field(description)
+                    .field(random.nextInt(0, 10_000))
+                    .field(BigDecimal.valueOf(random.nextInt(100, 50_000), 2))
+                    .endRow();
+        }
+        csv.finish();
+    }
+
+    private static String productName(SplittableRandom random) {
+        return WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)];
+    }
+
+    private static String description(SplittableRandom random, int words) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                sb.append(' ');
+            }
+            sb.append(WORDS[random.nextInt(WORDS.length)].toLowerCase());
+        }
+        return sb.toString();
+    }
+
+    private static UUID uuid(SplittableRandom random) {
+        return new UUID(random.nextLong(), random.nextLong());
+    }
+}
@@ -0,0 +1,70 @@
+package com.rudraksha.shopsphere.benchmarks;
+
+import com.rudraksha.shopsphere.shared.utils.IdGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Id generation single-threaded and under contention from eight threads, as on a busy
+ * insert path. Random UUIDs share one {@code SecureRandom}; the time-ordered ids do not.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IdGeneratorBenchmark {
+
+    @Benchmark
+    public UUID randomUuid() {
+        return UUID.randomUUID();
+    }
+
+    @Benchmark
+    public UUID uuidV7() {
+        return IdGenerator.generateUUIDv7();
+    }
+
+    @Benchmark
+    public long snowflake() {
+        return IdGenerator.generateSnowflakeId();
+    }
+
+    @Benchmark
+    public String shortId() {
+        return IdGenerator.generateShortId();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public UUID randomUuidContended() {
+        return UUID.randomUUID();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public UUID uuidV7Contended() {
+        return IdGenerator.generateUUIDv7();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public long snowflakeContended() {
+        return IdGenerator.generateSnowflakeId();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String shortIdContended() {
+        return IdGenerator.generateShortId();
+    }
+}
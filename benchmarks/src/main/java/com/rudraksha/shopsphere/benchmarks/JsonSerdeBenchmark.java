@@ -0,0 +1,75 @@
+package com.rudraksha.shopsphere.benchmarks;
+
+import com.rudraksha.shopsphere.shared.kafka.serialization.JsonSerde;
+import com.rudraksha.shopsphere.shared.models.dto.OrderDTO;
+import com.rudraksha.shopsphere.shared.models.events.EventEnvelope;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Kafka value serde for an ORDER_PLACED envelope, with the headers producers stamp and the
+ * payload type mapping consumers use to bind the payload without an intermediate tree.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonSerdeBenchmark {
+
+    private static final String TOPIC = "order.events";
+
+    @Param({"1", "5", "50"})
+    public int items;
+
+    private JsonSerde.JsonSerializer serializer;
+    private JsonSerde.JsonDeserializer deserializer;
+    private EventEnvelope<OrderDTO> envelope;
+    private byte[] serialized;
+    private Headers headers;
+
+    @Setup
+    public void setUp() {
+        serializer = new JsonSerde.JsonSerializer();
+        serializer.configure(Map.of(), false);
+        deserializer = new JsonSerde.JsonDeserializer();
+        deserializer.configure(Map.of(
+                JsonSerde.TARGET_CLASS_CONFIG, EventEnvelope.class.getName(),
+                JsonSerde.PAYLOAD_TYPE_MAPPINGS_CONFIG, "ORDER_PLACED:" + OrderDTO.class.getName()), false);
+        envelope = Fixtures.orderPlaced(items, 42);
+        headers = new RecordHeaders();
+        serialized = serializer.serialize(TOPIC, headers, envelope);
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return serializer.serialize(TOPIC, new RecordHeaders(), envelope);
+    }
+
+    @Benchmark
+    public Object deserialize() {
+        return deserializer.deserialize(TOPIC, headers, serialized);
+    }
+
+    @TearDown
+    public void tearDown() {
+        serializer.close();
+        deserializer.close();
+    }
+}
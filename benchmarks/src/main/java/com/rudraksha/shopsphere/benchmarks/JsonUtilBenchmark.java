@@ -0,0 +1,97 @@
+package com.rudraksha.shopsphere.benchmarks;
+
+import com.rudraksha.shopsphere.shared.models.dto.OrderDTO;
+import com.rudraksha.shopsphere.shared.utils.JsonUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Single documents on the request path, and a 10k product bulk upload read as a whole list
+ * against reading it element by element.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonUtilBenchmark {
+
+    private static final int BULK_SIZE = 10_000;
+
+    private Map<String, Object> product;
+    private String productJson;
+    private OrderDTO order;
+    private String orderJson;
+    private List<Map<String, Object>> products;
+    private String bulkJson;
+    private byte[] bulkBytes;
+
+    @Setup
+    public void setUp() {
+        product = Fixtures.product(7);
+        productJson = JsonUtil.serialize(product);
+        order = Fixtures.orderPlaced(5, 7).getPayload();
+        orderJson = JsonUtil.serialize(order);
+        products = Fixtures.products(BULK_SIZE, 7);
+        bulkJson = JsonUtil.serialize(products);
+        bulkBytes = bulkJson.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public String serializeProduct() {
+        return JsonUtil.serialize(product);
+    }
+
+    @Benchmark
+    public Object deserializeProduct() {
+        return JsonUtil.deserialize(productJson, Map.class);
+    }
+
+    @Benchmark
+    public String serializeOrder() {
+        return JsonUtil.serialize(order);
+    }
+
+    @Benchmark
+    public OrderDTO deserializeOrder() {
+        return JsonUtil.deserialize(orderJson, OrderDTO.class);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<Map> bulkDeserializeList() {
+        return JsonUtil.deserializeList(bulkJson, Map.class);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void bulkStreamArray(Blackhole blackhole) {
+        try (Stream<Map> elements = JsonUtil.streamArray(new ByteArrayInputStream(bulkBytes), Map.class)) {
+            elements.forEach(blackhole::consume);
+        }
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void bulkWriteArray() {
+        JsonUtil.writeArray(OutputStream.nullOutputStream(), Map.class, products.iterator());
+    }
+}
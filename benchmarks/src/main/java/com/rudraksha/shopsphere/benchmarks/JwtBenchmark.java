@@ -0,0 +1,74 @@
+package com.rudraksha.shopsphere.benchmarks;
+
+import com.rudraksha.shopsphere.shared.security.JwtPrincipal;
+import com.rudraksha.shopsphere.shared.security.JwtTokenProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token handling as the JWT filter does it per request: {@code authenticate} once, with the
+ * verified-token cache disabled and on a cache hit, and the older validate-then-read sequence.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtBenchmark {
+
+    private static final String SECRET = "benchmarkSecretKeyThatIsLongEnoughForHmacSha256Signing";
+
+    private JwtTokenProvider provider;
+    private JwtTokenProvider cachingProvider;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        provider = new JwtTokenProvider(SECRET, 3_600_000, 0, 0);
+        cachingProvider = new JwtTokenProvider(SECRET, 3_600_000);
+        token = provider.generateToken("8d7f4c1e-5b2a-4a63-9f1e-2b4c6d8e0f12", List.of("ROLE_USER", "ROLE_ADMIN"));
+        cachingProvider.authenticate(token);
+    }
+
+    @Benchmark
+    public String generate() {
+        return provider.generateToken("8d7f4c1e-5b2a-4a63-9f1e-2b4c6d8e0f12", List.of("ROLE_USER"));
+    }
+
+    @Benchmark
+    public boolean validate() {
+        return provider.validateToken(token);
+    }
+
+    @Benchmark
+    public Optional<JwtPrincipal> authenticate() {
+        return provider.authenticate(token);
+    }
+
+    @Benchmark
+    public Optional<JwtPrincipal> authenticateCacheHit() {
+        return cachingProvider.authenticate(token);
+    }
+
+    @Benchmark
+    public void authenticateRequest(Blackhole blackhole) {
+        if (provider.validateToken(token)) {
+            blackhole.consume(provider.getUserIdFromToken(token));
+            blackhole.consume(provider.getRolesFromToken(token));
+        }
+    }
+}
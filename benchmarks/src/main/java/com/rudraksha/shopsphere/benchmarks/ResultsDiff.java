@@ -0,0 +1,100 @@
+package com.rudraksha.shopsphere.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.rudraksha.shopsphere.shared.utils.JsonUtil;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares two JMH JSON result files benchmark by benchmark. A change counts only when the
+ * two confidence intervals do not overlap and the score moved by more than the threshold;
+ * regressions make the exit status 1, so a build can gate on it.
+ */
+final class ResultsDiff {
+
+    private static final double DEFAULT_THRESHOLD_PERCENT = 5.0;
+    private static final String ALLOCATION_METRIC = "gc.alloc.rate.norm";
+
+    private ResultsDiff() {
+    }
+
+    static int run(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: diff <baseline.json> <candidate.json> [threshold-percent]");
+            return 2;
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : DEFAULT_THRESHOLD_PERCENT;
+        Map<String, Score> baseline = read(Path.of(args[0]));
+        Map<String, Score> candidate = read(Path.of(args[1]));
+
+        int regressions = 0;
+        System.out.printf("%-70s %14s %14s %9s %14s %14s  %s%n",
+                "Benchmark", "Baseline", "Candidate", "Change", "B/op before", "B/op after", "Unit");
+        for (Map.Entry<String, Score> entry : new TreeMap<>(candidate).entrySet()) {
+            Score after = entry.getValue();
+            Score before = baseline.get(entry.getKey());
+            if (before == null) {
+                System.out.printf("%-70s %14s %14.3f %9s %14s %14s  %s (new)%n", entry.getKey(), "-",
+                        after.score(), "-", "-", bytes(after.allocated()), after.unit());
+                continue;
+            }
+            double change = before.score() != 0 ? (after.score() - before.score()) / before.score() * 100 : 0;
+            boolean overlapping = Math.abs(after.score() - before.score()) <= after.error() + before.error();
+            boolean worse = after.higherIsBetter() ? change < 0 : change > 0;
+            String verdict = "";
+            if (!overlapping && Math.abs(change) > threshold) {
+                verdict = worse ? "  REGRESSION" : "  improvement";
+                if (worse) {
+                    regressions++;
+                }
+            }
+            System.out.printf("%-70s %14.3f %14.3f %+8.1f%% %14s %14s  %s%s%n", entry.getKey(), before.score(),
+                    after.score(), change, bytes(before.allocated()), bytes(after.allocated()), after.unit(), verdict);
+        }
+        for (String missing : baseline.keySet()) {
+            if (!candidate.containsKey(missing)) {
+                System.out.printf("%-70s (missing from candidate)%n", missing);
+            }
+        }
+        return regressions > 0 ? 1 : 0;
+    }
+
+    private static Map<String, Score> read(Path file) throws IOException {
+        Map<String, Score> scores = new LinkedHashMap<>();
+        for (JsonNode result : JsonUtil.getObjectMapper().readTree(file.toFile())) {
+            StringBuilder key = new StringBuilder(result.path("benchmark").asText()
+                    .replace("com.rudraksha.shopsphere.benchmarks.", ""));
+            result.path("params").fields().forEachRemaining(param ->
+                    key.append(' ').append(param.getKey()).append('=').append(param.getValue().asText()));
+            key.append(" [").append(result.path("mode").asText()).append(']');
+
+            JsonNode primary = result.path("primaryMetric");
+            JsonNode allocation = null;
+            var secondary = result.path("secondaryMetrics").fields();
+            while (secondary.hasNext()) {
+                var metric = secondary.next();
+                if (metric.getKey().replace("\u00b7", "").equals(ALLOCATION_METRIC)) {
+                    allocation = metric.getValue().path("score");
+                }
+            }
+            double error = primary.path("scoreError").asDouble(0);
+            scores.put(key.toString(), new Score(primary.path("score").asDouble(),
+                    Double.isNaN(error) ? 0 : error,
+                    primary.path("scoreUnit").asText(),
+                    result.path("mode").asText().equals("thrpt"),
+                    allocation != null ? allocation.asDouble() : Double.NaN));
+        }
+        return scores;
+    }
+
+    private static String bytes(double allocated) {
+        return Double.isNaN(allocated) ? "-" : String.format("%.0f", allocated);
+    }
+
+    private record Score(double score, double error, String unit, boolean higherIsBetter, double allocated) {
+    }
+}
@@ -0,0 +1,42 @@
+package com.rudraksha.shopsphere.shared.db.dedupe;
+
+import com.rudraksha.shopsphere.shared.kafka.dedupe.EventDeduplicator;
+import com.rudraksha.shopsphere.shared.kafka.dedupe.ProcessedEventStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import java.time.Duration;
+
+/**
+ * Auto-configuration for idempotent consumers.
+ * Enabled with shopsphere.dedupe.enabled=true; the service must provide the processed_events table.
+ */
+@AutoConfiguration(after = JdbcTemplateAutoConfiguration.class)
+@ConditionalOnClass(EventDeduplicator.class)
+@ConditionalOnProperty(name = "shopsphere.dedupe.enabled", havingValue = "true")
+@EnableScheduling
+public class DedupeAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public ProcessedEventStore processedEventStore(NamedParameterJdbcTemplate jdbcTemplate,
+                                                   @Value("${shopsphere.dedupe.retention-hours:168}") long retentionHours) {
+        return new JdbcProcessedEventStore(jdbcTemplate, Duration.ofHours(retentionHours));
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public EventDeduplicator eventDeduplicator(ProcessedEventStore processedEventStore,
+                                               @Value("${shopsphere.dedupe.bloom-capacity:1000000}") int bloomCapacity,
+                                               @Value("${shopsphere.dedupe.lru-size:10000}") int lruSize,
+                                               @Value("${shopsphere.dedupe.store-check-window-ms:60000}") long storeCheckWindowMs) {
+        return new EventDeduplicator(processedEventStore, bloomCapacity, lruSize, storeCheckWindowMs);
+    }
+}
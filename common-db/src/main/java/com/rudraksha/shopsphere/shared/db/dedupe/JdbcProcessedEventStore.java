@@ -0,0 +1,73 @@
+package com.rudraksha.shopsphere.shared.db.dedupe;
+
+import com.rudraksha.shopsphere.shared.kafka.dedupe.ProcessedEventStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Keeps processed event ids in the processed_events table, one narrow row per
+ * (consumer, event id). Rows older than the retention period are purged; redeliveries
+ * happen within minutes, so the table stays small.
+ */
+@Slf4j
+public class JdbcProcessedEventStore implements ProcessedEventStore {
+
+    private static final String SELECT_PROCESSED =
+            "SELECT event_id FROM processed_events WHERE consumer = :consumer AND event_id IN (:eventIds)";
+    private static final String INSERT_PROCESSED =
+            "INSERT INTO processed_events (consumer, event_id, processed_at) VALUES (?, ?, ?) ON CONFLICT DO NOTHING";
+    private static final String DELETE_EXPIRED =
+            "DELETE FROM processed_events WHERE processed_at < ?";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final Duration retention;
+
+    public JdbcProcessedEventStore(NamedParameterJdbcTemplate jdbcTemplate, Duration retention) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.retention = retention;
+    }
+
+    @Override
+    public Set<UUID> findProcessed(String consumer, Collection<UUID> eventIds) {
+        if (eventIds.isEmpty()) {
+            return Set.of();
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("consumer", consumer)
+                .addValue("eventIds", eventIds);
+        return new HashSet<>(jdbcTemplate.query(SELECT_PROCESSED, params,
+                (rs, rowNum) -> rs.getObject(1, UUID.class)));
+    }
+
+    @Override
+    public void markProcessed(String consumer, Collection<UUID> eventIds) {
+        if (eventIds.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.from(Instant.now());
+        jdbcTemplate.getJdbcTemplate().batchUpdate(INSERT_PROCESSED, eventIds, eventIds.size(), (ps, eventId) -> {
+            ps.setString(1, consumer);
+            ps.setObject(2, eventId);
+            ps.setTimestamp(3, now);
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${shopsphere.dedupe.purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        int purged = jdbcTemplate.getJdbcTemplate().update(DELETE_EXPIRED,
+                Timestamp.from(Instant.now().minus(retention)));
+        if (purged > 0) {
+            log.debug("Purged {} expired processed event ids", purged);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.rudraksha.shopsphere.shared.db.id;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Generates time-ordered identifiers in place of {@code @GeneratedValue}: UUIDv7 for
+ * {@code UUID} ids, Snowflake ids for {@code Long} ids. Consecutive inserts then append to
+ * the primary key index instead of touching random pages across it.
+ */
+@IdGeneratorType(TimeOrderedIdGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface TimeOrderedId {
+}
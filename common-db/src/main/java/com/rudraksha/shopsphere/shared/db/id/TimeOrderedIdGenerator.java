@@ -0,0 +1,36 @@
+package com.rudraksha.shopsphere.shared.db.id;
+
+import com.rudraksha.shopsphere.shared.utils.IdGenerator;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.hibernate.id.factory.spi.CustomIdGeneratorCreationContext;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.util.UUID;
+
+/**
+ * Hibernate adapter for {@link TimeOrderedId}.
+ */
+public class TimeOrderedIdGenerator implements IdentifierGenerator {
+
+    private final boolean uuid;
+
+    public TimeOrderedIdGenerator(TimeOrderedId config, Member member, CustomIdGeneratorCreationContext context) {
+        Class<?> type = member instanceof Field field ? field.getType() : ((Method) member).getReturnType();
+        if (type == UUID.class) {
+            uuid = true;
+        } else if (type == Long.class || type == long.class) {
+            uuid = false;
+        } else {
+            throw new IllegalArgumentException("@TimeOrderedId requires a UUID or Long id, found " + type.getName()
+                    + " on " + member.getDeclaringClass().getName() + "." + member.getName());
+        }
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object entity) {
+        return uuid ? IdGenerator.generateUUIDv7() : IdGenerator.generateSnowflakeId();
+    }
+}
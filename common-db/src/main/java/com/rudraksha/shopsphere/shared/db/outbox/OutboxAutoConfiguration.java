@@ -0,0 +1,45 @@
+package com.rudraksha.shopsphere.shared.db.outbox;
+
+import com.rudraksha.shopsphere.shared.kafka.EventPublisher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.AutoConfigurationPackage;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.data.jpa.JpaRepositoriesAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Auto-configuration for the transactional outbox.
+ * Enabled with shopsphere.outbox.enabled=true; the service must provide the outbox_events table.
+ */
+@AutoConfiguration(before = {HibernateJpaAutoConfiguration.class, JpaRepositoriesAutoConfiguration.class})
+@AutoConfigurationPackage(basePackageClasses = OutboxEvent.class)
+@ConditionalOnClass(EventPublisher.class)
+@ConditionalOnProperty(name = "shopsphere.outbox.enabled", havingValue = "true")
+@EnableScheduling
+public class OutboxAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public OutboxWriter outboxWriter(OutboxRepository outboxRepository) {
+        return new OutboxWriter(outboxRepository);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public OutboxRelay outboxRelay(OutboxRepository outboxRepository,
+                                   EventPublisher eventPublisher,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${shopsphere.outbox.batch-size:500}") int batchSize,
+                                   @Value("${shopsphere.outbox.max-batches-per-run:20}") int maxBatchesPerRun,
+                                   @Value("${shopsphere.outbox.publish-timeout-ms:30000}") long publishTimeoutMs) {
+        return new OutboxRelay(outboxRepository, eventPublisher, new TransactionTemplate(transactionManager),
+                batchSize, maxBatchesPerRun, publishTimeoutMs);
+    }
+}
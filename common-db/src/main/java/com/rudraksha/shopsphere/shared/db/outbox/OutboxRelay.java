@@ -0,0 +1,121 @@
+package com.rudraksha.shopsphere.shared.db.outbox;
+
+import com.rudraksha.shopsphere.shared.kafka.EventPublisher;
+import com.rudraksha.shopsphere.shared.kafka.serialization.JsonSerde;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drains the outbox table to Kafka in batches. Each batch is locked, published and deleted
+ * in one transaction; if publishing fails the transaction rolls back and the rows are
+ * picked up again on the next run, giving at-least-once delivery in insertion order.
+ * <p>
+ * Every service instance runs a relay, but only one drains at a time: each batch first takes
+ * a transaction-scoped advisory lock and is skipped while another instance holds it. Relays
+ * publishing disjoint batches side by side would let later events for a key overtake earlier ones.
+ */
+@Slf4j
+public class OutboxRelay {
+
+    /**
+     * Advisory lock key shared by the relays of one database.
+     */
+    static final long RELAY_LOCK_ID = 0x0B0C5E1A7L;
+
+    private final OutboxRepository outboxRepository;
+    private final EventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final long publishTimeoutMs;
+    private final Map<String, Class<?>> payloadTypes = new ConcurrentHashMap<>();
+
+    public OutboxRelay(OutboxRepository outboxRepository, EventPublisher eventPublisher,
+                       TransactionTemplate transactionTemplate, int batchSize,
+                       int maxBatchesPerRun, long publishTimeoutMs) {
+        this.outboxRepository = outboxRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.publishTimeoutMs = publishTimeoutMs;
+    }
+
+    @Scheduled(fixedDelayString = "${shopsphere.outbox.poll-interval-ms:500}")
+    public void relay() {
+        for (int i = 0; i < maxBatchesPerRun; i++) {
+            Integer relayed;
+            try {
+                relayed = transactionTemplate.execute(status -> relayBatch());
+            } catch (Exception e) {
+                log.error("Outbox relay failed, pending events will be retried", e);
+                return;
+            }
+            if (relayed == null || relayed < batchSize) {
+                return;
+            }
+        }
+    }
+
+    int relayBatch() {
+        if (!outboxRepository.tryLockRelay(RELAY_LOCK_ID)) {
+            log.debug("Outbox is being relayed by another instance");
+            return 0;
+        }
+        List<OutboxEvent> batch = outboxRepository.lockNextBatch(batchSize);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        Map<String, List<OutboxEvent>> byTopic = new LinkedHashMap<>();
+        for (OutboxEvent event : batch) {
+            byTopic.computeIfAbsent(event.getTopic(), topic -> new ArrayList<>()).add(event);
+        }
+
+        List<CompletableFuture<Void>> futures = new ArrayList<>(byTopic.size());
+        byTopic.forEach((topic, events) -> futures.add(
+                eventPublisher.publishBatch(topic, events, OutboxEvent::getMessageKey, this::readPayload)));
+
+        try {
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+                    .get(publishTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while relaying outbox batch", e);
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to relay outbox batch of " + batch.size() + " events", e);
+        }
+
+        outboxRepository.deleteAllByIdInBatch(batch.stream().map(OutboxEvent::getId).toList());
+        log.debug("Relayed {} outbox events", batch.size());
+        return batch.size();
+    }
+
+    private Object readPayload(OutboxEvent event) {
+        try {
+            return JsonSerde.getObjectMapper().readValue(event.getPayload(), resolveType(event.getPayloadType()));
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to read outbox payload id=" + event.getId(), e);
+        }
+    }
+
+    private Class<?> resolveType(String className) {
+        return payloadTypes.computeIfAbsent(className, name -> {
+            try {
+                return Class.forName(name);
+            } catch (ClassNotFoundException e) {
+                log.warn("Outbox payload class not found: {}, using Object.class", name);
+                return Object.class;
+            }
+        });
+    }
+}
@@ -0,0 +1,27 @@
+package com.rudraksha.shopsphere.shared.db.outbox;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface OutboxRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Takes the relay's advisory lock until the end of the transaction, returning false
+     * without waiting when another relay holds it.
+     */
+    @Query(value = "SELECT pg_try_advisory_xact_lock(:lockId)", nativeQuery = true)
+    boolean tryLockRelay(@Param("lockId") long lockId);
+
+    /**
+     * Locks the oldest pending rows. Callers hold the relay lock, so batches are taken in
+     * id order by one relay at a time.
+     */
+    @Query(value = "SELECT * FROM outbox_events ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    List<OutboxEvent> lockNextBatch(@Param("limit") int limit);
+}
@@ -0,0 +1,37 @@
+package com.rudraksha.shopsphere.shared.db.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.rudraksha.shopsphere.shared.kafka.serialization.JsonSerde;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Records events in the outbox table as part of the caller's transaction, so the event
+ * is stored if and only if the business change commits. {@link OutboxRelay} publishes it.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class OutboxWriter {
+
+    private final OutboxRepository outboxRepository;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(String topic, String key, Object event) {
+        String payload;
+        try {
+            payload = JsonSerde.getObjectMapper().writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Failed to serialize outbox event for topic=" + topic, e);
+        }
+
+        outboxRepository.save(OutboxEvent.builder()
+                .topic(topic)
+                .messageKey(key)
+                .payloadType(event.getClass().getName())
+                .payload(payload)
+                .build());
+        log.debug("Outbox event recorded for topic={} with key={}", topic, key);
+    }
+}
@@ -0,0 +1,169 @@
+package com.rudraksha.shopsphere.shared.db.outbox;
+
+import com.rudraksha.shopsphere.shared.kafka.EventPublisher;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+
+    private static final int BATCH_SIZE = 3;
+    private static final int MAX_BATCHES_PER_RUN = 2;
+
+    @Mock
+    private OutboxRepository outboxRepository;
+
+    @Mock
+    private EventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Captor
+    private ArgumentCaptor<Collection<OutboxEvent>> eventsCaptor;
+
+    @Captor
+    private ArgumentCaptor<Function<OutboxEvent, ?>> valueCaptor;
+
+    private OutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        relay = new OutboxRelay(outboxRepository, eventPublisher, new TransactionTemplate(transactionManager),
+                BATCH_SIZE, MAX_BATCHES_PER_RUN, 1_000);
+        when(outboxRepository.tryLockRelay(OutboxRelay.RELAY_LOCK_ID)).thenReturn(true);
+    }
+
+    @Test
+    void testRelayBatch_SkipsWhileAnotherRelayHoldsTheLock() {
+        when(outboxRepository.tryLockRelay(OutboxRelay.RELAY_LOCK_ID)).thenReturn(false);
+
+        assertEquals(0, relay.relayBatch());
+
+        verify(outboxRepository, never()).lockNextBatch(anyInt());
+        verify(eventPublisher, never()).publishBatch(anyString(), anyCollection(), any(), any());
+    }
+
+    @Test
+    void testRelayBatch_PublishesOneBatchPerTopicAndDeletesRows() {
+        when(outboxRepository.lockNextBatch(BATCH_SIZE)).thenReturn(List.of(
+                event(1, "inventory.events", "p-1"),
+                event(2, "order.events", "o-1"),
+                event(3, "inventory.events", "p-2")));
+        when(eventPublisher.publishBatch(anyString(), anyCollection(), any(), any()))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        assertEquals(3, relay.relayBatch());
+
+        verify(eventPublisher).publishBatch(eq("inventory.events"), eventsCaptor.capture(), any(), any());
+        assertEquals(List.of(1L, 3L), eventsCaptor.getValue().stream().map(OutboxEvent::getId).toList());
+        verify(eventPublisher).publishBatch(eq("order.events"), eventsCaptor.capture(), any(), any());
+        assertEquals(List.of(2L), eventsCaptor.getValue().stream().map(OutboxEvent::getId).toList());
+        verify(outboxRepository).deleteAllByIdInBatch(List.of(1L, 2L, 3L));
+    }
+
+    @Test
+    void testRelayBatch_KeepsRowsWhenPublishingFails() {
+        when(outboxRepository.lockNextBatch(BATCH_SIZE)).thenReturn(List.of(event(1, "inventory.events", "p-1")));
+        when(eventPublisher.publishBatch(anyString(), anyCollection(), any(), any()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker unavailable")));
+
+        assertThrows(IllegalStateException.class, () -> relay.relayBatch());
+
+        verify(outboxRepository, never()).deleteAllByIdInBatch(anyList());
+    }
+
+    @Test
+    void testRelayBatch_ReadsPayloadAsRecordedType() {
+        when(outboxRepository.lockNextBatch(BATCH_SIZE)).thenReturn(List.of(event(1, "inventory.events", "p-1")));
+        when(eventPublisher.publishBatch(anyString(), anyCollection(), any(), any()))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        relay.relayBatch();
+
+        verify(eventPublisher).publishBatch(eq("inventory.events"), eventsCaptor.capture(), any(), valueCaptor.capture());
+        OutboxEvent recorded = eventsCaptor.getValue().iterator().next();
+        assertEquals(new StockChanged("p-1", 2), valueCaptor.getValue().apply(recorded));
+    }
+
+    @Test
+    void testRelay_StopsAfterPartialBatch() {
+        when(outboxRepository.lockNextBatch(BATCH_SIZE)).thenReturn(List.of(event(1, "inventory.events", "p-1")));
+        when(eventPublisher.publishBatch(anyString(), anyCollection(), any(), any()))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        relay.relay();
+
+        verify(outboxRepository, times(1)).lockNextBatch(anyInt());
+    }
+
+    @Test
+    void testRelay_DrainsFullBatchesUpToLimit() {
+        when(outboxRepository.lockNextBatch(BATCH_SIZE)).thenAnswer(invocation -> fullBatch());
+        when(eventPublisher.publishBatch(anyString(), anyCollection(), any(), any()))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        relay.relay();
+
+        verify(outboxRepository, times(MAX_BATCHES_PER_RUN)).lockNextBatch(BATCH_SIZE);
+        verify(transactionManager, times(MAX_BATCHES_PER_RUN)).commit(any());
+    }
+
+    @Test
+    void testRelay_RollsBackAndStopsOnFailure() {
+        when(outboxRepository.lockNextBatch(BATCH_SIZE)).thenAnswer(invocation -> fullBatch());
+        when(eventPublisher.publishBatch(anyString(), anyCollection(), any(), any()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker unavailable")));
+
+        relay.relay();
+
+        verify(outboxRepository, times(1)).lockNextBatch(BATCH_SIZE);
+        verify(transactionManager).rollback(any());
+        verify(transactionManager, never()).commit(any());
+    }
+
+    private static List<OutboxEvent> fullBatch() {
+        List<OutboxEvent> batch = new ArrayList<>();
+        LongStream.rangeClosed(1, BATCH_SIZE).forEach(id -> batch.add(event(id, "inventory.events", "p-" + id)));
+        return batch;
+    }
+
+    private static OutboxEvent event(long id, String topic, String key) {
+        return OutboxEvent.builder()
+                .id(id)
+                .topic(topic)
+                .messageKey(key)
+                .payloadType(StockChanged.class.getName())
+                .payload("{\"productId\":\"" + key + "\",\"quantity\":2}")
+                .build();
+    }
+
+    record StockChanged(String productId, int quantity) {
+    }
+}
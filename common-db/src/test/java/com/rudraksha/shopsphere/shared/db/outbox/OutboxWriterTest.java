@@ -0,0 +1,38 @@
+package com.rudraksha.shopsphere.shared.db.outbox;
+
+import com.rudraksha.shopsphere.shared.kafka.serialization.JsonSerde;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxWriterTest {
+
+    @Mock
+    private OutboxRepository outboxRepository;
+
+    @InjectMocks
+    private OutboxWriter outboxWriter;
+
+    @Test
+    void testAppend_RecordsSerializedEventWithItsType() throws Exception {
+        outboxWriter.append("inventory.events", "p-1", new StockChanged("p-1", 4));
+
+        ArgumentCaptor<OutboxEvent> saved = ArgumentCaptor.forClass(OutboxEvent.class);
+        verify(outboxRepository).save(saved.capture());
+        assertEquals("inventory.events", saved.getValue().getTopic());
+        assertEquals("p-1", saved.getValue().getMessageKey());
+        assertEquals(StockChanged.class.getName(), saved.getValue().getPayloadType());
+        assertEquals(new StockChanged("p-1", 4),
+                JsonSerde.getObjectMapper().readValue(saved.getValue().getPayload(), StockChanged.class));
+    }
+
+    record StockChanged(String productId, int quantity) {
+    }
+}
@@ -0,0 +1,25 @@
+package com.rudraksha.shopsphere.shared.kafka;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+
+import java.util.Map;
+
+/**
+ * Actuator endpoint for {@link DltReplayer}: {@code POST /actuator/dltreplay/{topic}}
+ * replays the given dead-letter topic. Exposed only when listed in
+ * management.endpoints.web.exposure.include.
+ */
+@Endpoint(id = "dltreplay")
+@RequiredArgsConstructor
+public class DltReplayEndpoint {
+
+    private final DltReplayer dltReplayer;
+
+    @WriteOperation
+    public Map<String, Object> replay(@Selector String topic) {
+        return Map.of("topic", topic, "replayed", dltReplayer.replay(topic));
+    }
+}
@@ -0,0 +1,184 @@
+package com.rudraksha.shopsphere.shared.kafka;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.kafka.support.KafkaUtils;
+import org.springframework.kafka.support.SendResult;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Re-injects dead-lettered records into the topic they originally failed on. Records are
+ * copied as raw bytes with their headers, minus the dead-letter and retry metadata, so any value
+ * format round-trips. Progress is committed under a dedicated consumer group, so each run
+ * replays only what was dead-lettered since the previous run.
+ * <p>
+ * A dead-letter topic is shared by every consumer group of its topic, but a record landed
+ * there because one group failed on it. Replayed records therefore carry
+ * {@link #REPLAY_GROUP_HEADER} naming that group, and {@link ReplayTargetRecordFilterStrategy}
+ * discards them in the other groups, which already processed the record.
+ */
+@Slf4j
+public class DltReplayer implements AutoCloseable {
+
+    public static final String REPLAYED_FROM_HEADER = "shopsphere.replayed-from";
+    public static final String REPLAY_GROUP_HEADER = "shopsphere.replay-group";
+
+    private static final String RETRY_TOPIC_HEADER_PREFIX = "retry_topic-";
+    private static final String GROUP_ID = "shopsphere-dlt-replay";
+    private static final Duration POLL_TIMEOUT = Duration.ofSeconds(1);
+    private static final long SEND_TIMEOUT_SECONDS = 60;
+
+    private final Supplier<Consumer<byte[], byte[]>> consumerFactory;
+    private final KafkaTemplate<byte[], byte[]> kafkaTemplate;
+
+    public DltReplayer(Map<String, Object> consumerConfigs, Map<String, Object> producerConfigs) {
+        this(new DefaultKafkaConsumerFactory<byte[], byte[]>(consumerProperties(consumerConfigs))::createConsumer,
+                new KafkaTemplate<>(new DefaultKafkaProducerFactory<>(producerProperties(producerConfigs))));
+    }
+
+    DltReplayer(Supplier<Consumer<byte[], byte[]>> consumerFactory, KafkaTemplate<byte[], byte[]> kafkaTemplate) {
+        this.consumerFactory = consumerFactory;
+        this.kafkaTemplate = kafkaTemplate;
+    }
+
+    private static Map<String, Object> consumerProperties(Map<String, Object> consumerConfigs) {
+        Map<String, Object> consumerProps = new HashMap<>(consumerConfigs);
+        consumerProps.put(ConsumerConfig.GROUP_ID_CONFIG, GROUP_ID);
+        consumerProps.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        consumerProps.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        consumerProps.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class);
+        consumerProps.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class);
+        return consumerProps;
+    }
+
+    private static Map<String, Object> producerProperties(Map<String, Object> producerConfigs) {
+        Map<String, Object> producerProps = new HashMap<>(producerConfigs);
+        producerProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class);
+        producerProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class);
+        return producerProps;
+    }
+
+    /**
+     * Replays every record dead-lettered on {@code dltTopic} since the last run and returns
+     * the number of records replayed. Records appended while the replay runs are left for
+     * the next run.
+     */
+    public long replay(String dltTopic) {
+        try (Consumer<byte[], byte[]> consumer = consumerFactory.get()) {
+            List<TopicPartition> partitions = consumer.partitionsFor(dltTopic).stream()
+                    .map(info -> new TopicPartition(dltTopic, info.partition()))
+                    .toList();
+            if (partitions.isEmpty()) {
+                return 0;
+            }
+            consumer.assign(partitions);
+            Map<TopicPartition, Long> endOffsets = consumer.endOffsets(partitions);
+
+            List<CompletableFuture<SendResult<byte[], byte[]>>> sends = new ArrayList<>();
+            Map<TopicPartition, OffsetAndMetadata> replayed = new HashMap<>();
+            while (!caughtUp(consumer, endOffsets)) {
+                ConsumerRecords<byte[], byte[]> records = consumer.poll(POLL_TIMEOUT);
+                for (ConsumerRecord<byte[], byte[]> record : records) {
+                    TopicPartition partition = new TopicPartition(record.topic(), record.partition());
+                    if (record.offset() >= endOffsets.get(partition)) {
+                        continue;
+                    }
+                    sends.add(kafkaTemplate.send(toReplayRecord(record)));
+                    replayed.put(partition, new OffsetAndMetadata(record.offset() + 1));
+                }
+            }
+
+            CompletableFuture.allOf(sends.toArray(new CompletableFuture[0]))
+                    .get(SEND_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            if (!replayed.isEmpty()) {
+                consumer.commitSync(replayed);
+            }
+            log.info("Replayed {} records from {}", sends.size(), dltTopic);
+            return sends.size();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while replaying " + dltTopic, e);
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to replay " + dltTopic, e);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (kafkaTemplate.getProducerFactory() instanceof DefaultKafkaProducerFactory<?, ?> producerFactory) {
+            producerFactory.destroy();
+        }
+    }
+
+    /**
+     * True for a record replayed for a consumer group other than the calling listener's.
+     */
+    static boolean replayedForOtherGroup(Headers headers) {
+        Header replayGroup = headers.lastHeader(REPLAY_GROUP_HEADER);
+        if (replayGroup == null) {
+            return false;
+        }
+        String groupId = KafkaUtils.getConsumerGroupId();
+        return groupId != null && !groupId.equals(new String(replayGroup.value(), StandardCharsets.UTF_8));
+    }
+
+    private boolean caughtUp(Consumer<byte[], byte[]> consumer, Map<TopicPartition, Long> endOffsets) {
+        return endOffsets.entrySet().stream()
+                .allMatch(entry -> consumer.position(entry.getKey()) >= entry.getValue());
+    }
+
+    private ProducerRecord<byte[], byte[]> toReplayRecord(ConsumerRecord<byte[], byte[]> record) {
+        RecordHeaders headers = new RecordHeaders();
+        for (Header header : record.headers()) {
+            if (!header.key().startsWith(KafkaHeaders.PREFIX) && !header.key().startsWith(RETRY_TOPIC_HEADER_PREFIX)) {
+                headers.add(header);
+            }
+        }
+        headers.add(REPLAYED_FROM_HEADER, record.topic().getBytes(StandardCharsets.UTF_8));
+        Header failedGroup = record.headers().lastHeader(KafkaHeaders.DLT_ORIGINAL_CONSUMER_GROUP);
+        if (failedGroup != null) {
+            headers.add(REPLAY_GROUP_HEADER, failedGroup.value());
+        } else {
+            log.warn("Record {}-{}@{} names no failed consumer group, replaying it to every group",
+                    record.topic(), record.partition(), record.offset());
+        }
+        return new ProducerRecord<>(originalTopic(record), null, record.key(), record.value(), headers);
+    }
+
+    private String originalTopic(ConsumerRecord<byte[], byte[]> record) {
+        // Records forwarded through retry topics carry one original-topic header per hop;
+        // the first one names the main topic.
+        for (Header original : record.headers().headers(KafkaHeaders.DLT_ORIGINAL_TOPIC)) {
+            return new String(original.value(), StandardCharsets.UTF_8);
+        }
+        String topic = record.topic();
+        return topic.endsWith(KafkaConfig.DLT_SUFFIX)
+                ? topic.substring(0, topic.length() - KafkaConfig.DLT_SUFFIX.length())
+                : topic;
+    }
+}
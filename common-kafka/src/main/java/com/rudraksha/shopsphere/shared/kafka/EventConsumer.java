@@ -1,11 +1,42 @@
 package com.rudraksha.shopsphere.shared.kafka;
 
+import com.rudraksha.shopsphere.shared.kafka.dedupe.EventDeduplicator;
+import com.rudraksha.shopsphere.shared.models.events.EventEnvelope;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.util.ClassUtils;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
 
 @Slf4j
 public abstract class EventConsumer<T> {
 
+    private EventDeduplicator deduplicator;
+    private KeyOrderedDispatcher dispatcher;
+
+    /**
+     * Enables skipping of redelivered events, identified by {@link #eventId}. Injected when
+     * the service defines an {@link EventDeduplicator} bean.
+     */
+    @Autowired(required = false)
+    public void setEventDeduplicator(EventDeduplicator deduplicator) {
+        this.deduplicator = deduplicator;
+    }
+
+    @Autowired(required = false)
+    public void setKeyOrderedDispatcher(KeyOrderedDispatcher dispatcher) {
+        this.dispatcher = dispatcher;
+    }
+
     public void consume(ConsumerRecord<String, T> record) {
         String topic = record.topic();
         String key = record.key();
@@ -13,8 +44,17 @@ public abstract class EventConsumer<T> {
 
         log.info("Received event from topic={} with key={}", topic, key);
 
+        UUID eventId = deduplicator != null ? eventId(event) : null;
+        if (eventId != null && deduplicator.isDuplicate(consumerName(), eventId)) {
+            log.debug("Skipping already processed event {} from topic={} with key={}", eventId, topic, key);
+            return;
+        }
+
         try {
             handleEvent(key, event);
+            if (eventId != null) {
+                deduplicator.markProcessed(consumerName(), eventId);
+            }
             log.debug("Successfully processed event from topic={} with key={}", topic, key);
         } catch (Exception e) {
             log.error("Error processing event from topic={} with key={}", topic, key, e);
@@ -22,9 +62,175 @@ public abstract class EventConsumer<T> {
         }
     }
 
+    /**
+     * Entry point for listeners on the parallel container factory. The record is handled on a
+     * virtual thread after earlier records with the same key and acknowledged when done.
+     */
+    public void consumeInKeyOrder(ConsumerRecord<String, T> record, Acknowledgment acknowledgment) {
+        if (dispatcher == null) {
+            consume(record);
+            acknowledgment.acknowledge();
+            return;
+        }
+        dispatcher.dispatch(record, acknowledgment, () -> consume(record));
+    }
+
+    /**
+     * Entry point for listeners on the batch container factory. Records arrive in poll order,
+     * which is offset order within each partition and therefore per key. If the batch handler
+     * fails, the records it did not apply are replayed one by one through {@link #consume} so a
+     * single bad record does not fail the rest of the poll.
+     */
+    public void consumeBatch(List<ConsumerRecord<String, T>> records) {
+        if (records == null || records.isEmpty()) {
+            return;
+        }
+
+        log.info("Received batch of {} events", records.size());
+
+        List<UUID> eventIds = new ArrayList<>(records.size());
+        if (deduplicator != null) {
+            records = skipDuplicates(records, eventIds);
+            if (records.isEmpty()) {
+                return;
+            }
+        }
+
+        try {
+            handleBatch(records);
+            if (!eventIds.isEmpty()) {
+                deduplicator.markProcessed(consumerName(), eventIds);
+            }
+            log.debug("Successfully processed batch of {} events", records.size());
+        } catch (Exception e) {
+            int resumeFrom = failedIndex(e, records);
+            log.error("Error processing batch of {} events, falling back to per-record handling from index {}",
+                    records.size(), resumeFrom, e);
+            if (resumeFrom > 0 && deduplicator != null) {
+                markProcessed(records.subList(0, resumeFrom));
+            }
+            for (ConsumerRecord<String, T> record : records.subList(resumeFrom, records.size())) {
+                try {
+                    consume(record);
+                } catch (RuntimeException recordFailure) {
+                    // Commits the records before this one; the error handler dead-letters it
+                    // and redelivers the rest.
+                    throw new BatchListenerFailedException("Failed to process record in batch", recordFailure, record);
+                }
+            }
+        }
+    }
+
+    /**
+     * Where the per-record fallback starts: at the record named by a
+     * {@link BatchListenerFailedException} from {@link #handleBatch}, whose predecessors were
+     * applied, otherwise at the start, as the batch was not applied at all.
+     */
+    private int failedIndex(Exception exception, List<ConsumerRecord<String, T>> records) {
+        if (!(exception instanceof BatchListenerFailedException failure)) {
+            return 0;
+        }
+        int index = failure.getRecord() != null ? records.indexOf(failure.getRecord()) : failure.getIndex();
+        return index >= 0 && index < records.size() ? index : 0;
+    }
+
+    private void markProcessed(List<ConsumerRecord<String, T>> records) {
+        List<UUID> ids = new ArrayList<>(records.size());
+        for (ConsumerRecord<String, T> record : records) {
+            UUID id = eventId(record.value());
+            if (id != null) {
+                ids.add(id);
+            }
+        }
+        if (!ids.isEmpty()) {
+            deduplicator.markProcessed(consumerName(), ids);
+        }
+    }
+
+    /**
+     * Drops records already processed, and repeats of an event within the batch, collecting
+     * the ids of the records kept.
+     */
+    private List<ConsumerRecord<String, T>> skipDuplicates(List<ConsumerRecord<String, T>> records,
+                                                            List<UUID> keptIds) {
+        List<UUID> ids = new ArrayList<>(records.size());
+        for (ConsumerRecord<String, T> record : records) {
+            ids.add(eventId(record.value()));
+        }
+        Set<UUID> duplicates = deduplicator.findDuplicates(consumerName(), ids);
+
+        Set<UUID> kept = new HashSet<>();
+        List<ConsumerRecord<String, T>> remaining = new ArrayList<>(records.size());
+        for (int i = 0; i < records.size(); i++) {
+            UUID id = ids.get(i);
+            if (id == null) {
+                remaining.add(records.get(i));
+            } else if (!duplicates.contains(id) && kept.add(id)) {
+                remaining.add(records.get(i));
+                keptIds.add(id);
+            }
+        }
+        if (remaining.size() < records.size()) {
+            log.debug("Skipping {} already processed events in batch", records.size() - remaining.size());
+        }
+        return remaining;
+    }
+
     protected abstract void handleEvent(String key, T event);
 
+    /**
+     * Identifies the event for deduplication; events without an id are always handled.
+     */
+    protected UUID eventId(T event) {
+        return event instanceof EventEnvelope<?> envelope ? envelope.getEventId() : null;
+    }
+
+    /**
+     * Name under which processed events are recorded. Consumers sharing a name share dedupe state.
+     */
+    protected String consumerName() {
+        return ClassUtils.getUserClass(getClass()).getSimpleName();
+    }
+
+    /**
+     * Override to process a whole poll at once, typically as a single bulk write. When it
+     * fails, the records are handled one by one from the failed record on: an implementation
+     * that applies records in steps throws a {@link BatchListenerFailedException} naming the
+     * first record not applied; any other exception means none of the batch was applied.
+     */
+    protected void handleBatch(List<ConsumerRecord<String, T>> records) {
+        for (ConsumerRecord<String, T> record : records) {
+            try {
+                handleEvent(record.key(), record.value());
+            } catch (RuntimeException e) {
+                throw new BatchListenerFailedException("Failed to process record in batch", e, record);
+            }
+        }
+    }
+
+    /**
+     * Rethrows by default so the container's error handling applies: retry topics for
+     * listeners configured with them, otherwise short blocking retries and the dead-letter
+     * topic. Override to handle failures in place instead.
+     */
     protected void handleError(String key, T event, Exception exception) {
-        log.error("Default error handler invoked for key={}, event={}", key, event, exception);
+        throw new EventProcessingException("Failed to process event with key=" + key, exception);
+    }
+
+    /**
+     * Groups values by record key, keeping keys in first-seen order and values in offset order.
+     */
+    protected static <T> Map<String, List<T>> groupByKey(List<ConsumerRecord<String, T>> records) {
+        Map<String, List<T>> grouped = new LinkedHashMap<>();
+        for (ConsumerRecord<String, T> record : records) {
+            grouped.computeIfAbsent(record.key(), key -> new ArrayList<>()).add(record.value());
+        }
+        return grouped;
+    }
+
+    public static class EventProcessingException extends RuntimeException {
+        public EventProcessingException(String message, Throwable cause) {
+            super(message, cause);
+        }
     }
 }
@@ -0,0 +1,59 @@
+package com.rudraksha.shopsphere.shared.kafka;
+
+import com.rudraksha.shopsphere.shared.models.events.EventEnvelope;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Record headers describing an {@link EventEnvelope}, readable without touching the value.
+ */
+public final class EventHeaders {
+
+    private EventHeaders() {
+    }
+
+    public static final String EVENT_TYPE = "shopsphere.event-type";
+    public static final String SCHEMA_VERSION = "shopsphere.schema-version";
+
+    /**
+     * SHA-256 of a payload moved out of the record by the serializer's claim check.
+     */
+    public static final String CLAIM_CHECK = "shopsphere.claim-check";
+
+    public static void stamp(Headers headers, Object event) {
+        if (headers == null || !(event instanceof EventEnvelope<?> envelope)) {
+            return;
+        }
+        if (envelope.getEventType() != null) {
+            put(headers, EVENT_TYPE, envelope.getEventType().name());
+        }
+        if (envelope.getSchemaVersion() != null) {
+            put(headers, SCHEMA_VERSION, envelope.getSchemaVersion().name());
+        }
+    }
+
+    public static String eventType(Headers headers) {
+        return value(headers, EVENT_TYPE);
+    }
+
+    public static String schemaVersion(Headers headers) {
+        return value(headers, SCHEMA_VERSION);
+    }
+
+    public static String value(Headers headers, String name) {
+        if (headers == null) {
+            return null;
+        }
+        Header header = headers.lastHeader(name);
+        return header != null && header.value() != null
+                ? new String(header.value(), StandardCharsets.UTF_8)
+                : null;
+    }
+
+    private static void put(Headers headers, String name, String value) {
+        headers.remove(name);
+        headers.add(name, value.getBytes(StandardCharsets.UTF_8));
+    }
+}
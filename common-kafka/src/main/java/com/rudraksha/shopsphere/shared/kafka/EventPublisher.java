@@ -1,23 +1,50 @@
 package com.rudraksha.shopsphere.shared.kafka;
 
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerRecord;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.support.SendResult;
-import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 
 @Slf4j
-@Service
-@RequiredArgsConstructor
 public class EventPublisher {
 
+    private static final int DEFAULT_MAX_IN_FLIGHT = 10_000;
+    private static final long DEFAULT_ENQUEUE_TIMEOUT_MS = 5_000;
+
     private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final Map<String, KafkaTemplate<String, Object>> topicTemplates;
+    private final Semaphore inFlightPermits;
+    private final long enqueueTimeoutMs;
+
+    public EventPublisher(KafkaTemplate<String, Object> kafkaTemplate) {
+        this(kafkaTemplate, Map.of(), DEFAULT_MAX_IN_FLIGHT, DEFAULT_ENQUEUE_TIMEOUT_MS);
+    }
+
+    public EventPublisher(KafkaTemplate<String, Object> kafkaTemplate,
+                          Map<String, KafkaTemplate<String, Object>> topicTemplates,
+                          int maxInFlight,
+                          long enqueueTimeoutMs) {
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("Max in-flight must be at least 1");
+        }
+        this.kafkaTemplate = kafkaTemplate;
+        this.topicTemplates = Map.copyOf(topicTemplates);
+        this.inFlightPermits = new Semaphore(maxInFlight);
+        this.enqueueTimeoutMs = enqueueTimeoutMs;
+    }
 
     public void publish(String topic, String key, Object event) {
         try {
-            kafkaTemplate.send(topic, key, event).get();
+            templateFor(topic).send(newRecord(topic, key, event)).get();
             log.info("Event published to topic={} with key={}", topic, key);
         } catch (Exception e) {
             log.error("Failed to publish event to topic={} with key={}", topic, key, e);
@@ -26,7 +53,7 @@ public class EventPublisher {
     }
 
     public CompletableFuture<SendResult<String, Object>> publishAsync(String topic, String key, Object event) {
-        CompletableFuture<SendResult<String, Object>> future = kafkaTemplate.send(topic, key, event);
+        CompletableFuture<SendResult<String, Object>> future = sendWithPermit(topic, key, event);
         future.whenComplete((result, ex) -> {
             if (ex != null) {
                 log.error("Failed to publish event asynchronously to topic={} with key={}", topic, key, ex);
@@ -37,4 +64,89 @@ public class EventPublisher {
         });
         return future;
     }
+
+    /**
+     * Hands every event to the producer without waiting on individual acknowledgements, so
+     * the records share producer batches. The returned future completes once all sends are
+     * acknowledged, or exceptionally with the first failure. Blocks only while the in-flight
+     * limit is exhausted.
+     */
+    public <T> CompletableFuture<Void> publishBatch(String topic, Collection<T> events, Function<T, String> keyExtractor) {
+        return publishBatch(topic, events, keyExtractor, Function.identity());
+    }
+
+    public <T> CompletableFuture<Void> publishBatch(String topic, Collection<T> items,
+                                                    Function<T, String> keyExtractor,
+                                                    Function<T, ?> valueExtractor) {
+        if (items == null || items.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        List<CompletableFuture<SendResult<String, Object>>> futures = new ArrayList<>(items.size());
+        for (T item : items) {
+            futures.add(sendWithPermit(topic, keyExtractor.apply(item), valueExtractor.apply(item)));
+        }
+
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+                .whenComplete((result, ex) -> {
+                    if (ex != null) {
+                        log.error("Failed to publish batch of {} events to topic={}", futures.size(), topic, ex);
+                    } else {
+                        log.info("Batch of {} events published to topic={}", futures.size(), topic);
+                    }
+                });
+    }
+
+    public int availableInFlightPermits() {
+        return inFlightPermits.availablePermits();
+    }
+
+    private CompletableFuture<SendResult<String, Object>> sendWithPermit(String topic, String key, Object event) {
+        acquirePermit(topic);
+        CompletableFuture<SendResult<String, Object>> future;
+        try {
+            future = templateFor(topic).send(newRecord(topic, key, event));
+        } catch (RuntimeException e) {
+            inFlightPermits.release();
+            throw e;
+        }
+        future.whenComplete((result, ex) -> inFlightPermits.release());
+        return future;
+    }
+
+    /**
+     * Envelopes carry their event type and schema version as headers so consumers can skip
+     * records they do not handle without deserializing the value.
+     */
+    private ProducerRecord<String, Object> newRecord(String topic, String key, Object event) {
+        ProducerRecord<String, Object> record = new ProducerRecord<>(topic, key, event);
+        EventHeaders.stamp(record.headers(), event);
+        return record;
+    }
+
+    private void acquirePermit(String topic) {
+        try {
+            if (!inFlightPermits.tryAcquire(enqueueTimeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new PublishBackpressureException(
+                        "Too many in-flight events, publish to topic=" + topic + " rejected");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PublishBackpressureException("Interrupted while waiting to publish to topic=" + topic, e);
+        }
+    }
+
+    private KafkaTemplate<String, Object> templateFor(String topic) {
+        return topicTemplates.getOrDefault(topic, kafkaTemplate);
+    }
+
+    public static class PublishBackpressureException extends RuntimeException {
+        public PublishBackpressureException(String message) {
+            super(message);
+        }
+
+        public PublishBackpressureException(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
 }
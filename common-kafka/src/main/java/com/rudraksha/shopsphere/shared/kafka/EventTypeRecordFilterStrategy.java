@@ -0,0 +1,43 @@
+package com.rudraksha.shopsphere.shared.kafka;
+
+import com.rudraksha.shopsphere.shared.models.enums.EventType;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.kafka.listener.adapter.RecordFilterStrategy;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Discards records by their event-type header. Records with a null value are discarded too:
+ * that is how the shopsphere deserializers report records they skipped because of
+ * {@code shopsphere.serde.accepted-event-types}, so pairing the two keeps skipped records
+ * away from the listener. An empty accepted set only drops those skipped records. Records
+ * replayed from a dead-letter topic for another consumer group are discarded as well.
+ */
+public class EventTypeRecordFilterStrategy implements RecordFilterStrategy<String, Object> {
+
+    private final Set<String> acceptedEventTypes;
+
+    public EventTypeRecordFilterStrategy(Set<String> acceptedEventTypes) {
+        this.acceptedEventTypes = Set.copyOf(acceptedEventTypes);
+    }
+
+    public static EventTypeRecordFilterStrategy accepting(EventType... eventTypes) {
+        return new EventTypeRecordFilterStrategy(Arrays.stream(eventTypes)
+                .map(EventType::name)
+                .collect(Collectors.toSet()));
+    }
+
+    @Override
+    public boolean filter(ConsumerRecord<String, Object> consumerRecord) {
+        if (consumerRecord.value() == null || DltReplayer.replayedForOtherGroup(consumerRecord.headers())) {
+            return true;
+        }
+        if (acceptedEventTypes.isEmpty()) {
+            return false;
+        }
+        String eventType = EventHeaders.eventType(consumerRecord.headers());
+        return eventType != null && !acceptedEventTypes.contains(eventType);
+    }
+}
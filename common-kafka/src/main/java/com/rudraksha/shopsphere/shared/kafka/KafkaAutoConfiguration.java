@@ -1,22 +1,400 @@
 package com.rudraksha.shopsphere.shared.kafka;
 
+import com.rudraksha.shopsphere.shared.kafka.backpressure.BackpressureController;
+import com.rudraksha.shopsphere.shared.kafka.backpressure.MeterSignals;
+import com.rudraksha.shopsphere.shared.kafka.backpressure.SaturationSignal;
+import com.rudraksha.shopsphere.shared.kafka.concurrency.ConcurrencyAutoscaler;
+import com.rudraksha.shopsphere.shared.kafka.metrics.KafkaListenerMetrics;
+import com.rudraksha.shopsphere.shared.kafka.metrics.RetryMetrics;
+import com.rudraksha.shopsphere.shared.kafka.serialization.BinarySerde;
+import com.rudraksha.shopsphere.shared.kafka.serialization.JsonSerde;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.kafka.DefaultKafkaConsumerFactoryCustomizer;
+import org.springframework.boot.autoconfigure.kafka.DefaultKafkaProducerFactoryCustomizer;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.core.env.Environment;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.KafkaAdmin;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.listener.CommonErrorHandler;
+import org.springframework.kafka.listener.ConsumerAwareRebalanceListener;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.kafka.retrytopic.RetryTopicConfiguration;
+import org.springframework.util.backoff.FixedBackOff;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Auto-configuration for Kafka-related beans.
- * This ensures EventPublisher is available in all services that depend on common-kafka.
+ * This ensures EventPublisher, with its per-topic producer profiles and in-flight limit, the
+ * batch and parallel listener container factories, the event-type record filter and
+ * dead-letter handling are available in all services that depend on common-kafka. Boot applies the {@link CommonErrorHandler} bean to its default
+ * listener container factory as well, and the {@link KafkaListenerMetrics} interceptors
+ * when a MeterRegistry is present.
  */
-@AutoConfiguration
+@AutoConfiguration(after = org.springframework.boot.autoconfigure.kafka.KafkaAutoConfiguration.class,
+        afterName = "org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration")
 @ConditionalOnClass(KafkaTemplate.class)
 public class KafkaAutoConfiguration {
 
+    private static final String DEFAULT_LISTENER_CONTAINER_FACTORY = "kafkaListenerContainerFactory";
+
+    /**
+     * Producers for the topics in {@link KafkaConfig#topicProducerProfiles()}, derived from
+     * Boot's producer factory.
+     */
+    @Bean
+    @ConditionalOnBean(ProducerFactory.class)
+    @ConditionalOnMissingBean
+    @SuppressWarnings("unchecked")
+    public ProfiledKafkaTemplates profiledKafkaTemplates(ProducerFactory<?, ?> producerFactory) {
+        return new ProfiledKafkaTemplates((ProducerFactory<String, Object>) producerFactory,
+                KafkaConfig.topicProducerProfiles());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public EventPublisher eventPublisher(
+            KafkaTemplate<String, Object> kafkaTemplate,
+            ObjectProvider<ProfiledKafkaTemplates> profiledTemplates,
+            @Value("${shopsphere.kafka.publisher.max-in-flight:10000}") int maxInFlight,
+            @Value("${shopsphere.kafka.publisher.enqueue-timeout-ms:5000}") long enqueueTimeoutMs) {
+        ProfiledKafkaTemplates templates = profiledTemplates.getIfAvailable();
+        return new EventPublisher(kafkaTemplate, templates != null ? templates.topicTemplates() : Map.of(),
+                maxInFlight, enqueueTimeoutMs);
+    }
+
+    /**
+     * Retries failed records with the same back-off as {@link #kafkaErrorHandler} before
+     * dead-lettering them, and pauses partitions through the endpoint registry while full.
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public KeyOrderedDispatcher keyOrderedDispatcher(
+            DeadLetterPublishingRecoverer deadLetterPublishingRecoverer,
+            ObjectProvider<KafkaListenerMetrics> listenerMetrics,
+            ObjectProvider<KafkaListenerEndpointRegistry> endpointRegistry,
+            @Value("${shopsphere.kafka.parallel.max-in-flight:1000}") int maxInFlight,
+            @Value("${shopsphere.kafka.dlt.blocking-retries:2}") long blockingRetries,
+            @Value("${shopsphere.kafka.dlt.blocking-retry-interval-ms:1000}") long blockingRetryIntervalMs) {
+        KeyOrderedDispatcher dispatcher = new KeyOrderedDispatcher(maxInFlight, deadLetterPublishingRecoverer,
+                new FixedBackOff(blockingRetryIntervalMs, blockingRetries));
+        endpointRegistry.ifAvailable(dispatcher::setEndpointRegistry);
+        listenerMetrics.ifAvailable(dispatcher::setListenerMetrics);
+        return dispatcher;
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public DeadLetterPublishingRecoverer deadLetterPublishingRecoverer(KafkaTemplate<String, Object> kafkaTemplate) {
+        return KafkaConfig.deadLetterRecoverer(kafkaTemplate);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public CommonErrorHandler kafkaErrorHandler(
+            DeadLetterPublishingRecoverer deadLetterPublishingRecoverer,
+            ObjectProvider<KafkaListenerMetrics> listenerMetrics,
+            @Value("${shopsphere.kafka.dlt.blocking-retries:2}") long blockingRetries,
+            @Value("${shopsphere.kafka.dlt.blocking-retry-interval-ms:1000}") long blockingRetryIntervalMs) {
+        DefaultErrorHandler errorHandler = KafkaConfig.blockingErrorHandler(
+                deadLetterPublishingRecoverer, blockingRetries, blockingRetryIntervalMs);
+        listenerMetrics.ifAvailable(errorHandler::setRetryListeners);
+        return errorHandler;
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnExpression(KafkaConfig.RETRY_TOPICS_CONFIGURED)
+    public RetryTopicConfiguration retryTopicConfiguration(
+            KafkaTemplate<String, Object> kafkaTemplate,
+            @Value("${shopsphere.kafka.retry.topics}") List<String> topics,
+            @Value("${shopsphere.kafka.retry.attempts:4}") int attempts,
+            @Value("${shopsphere.kafka.retry.initial-delay-ms:1000}") long initialDelayMs,
+            @Value("${shopsphere.kafka.retry.multiplier:30}") double multiplier,
+            @Value("${shopsphere.kafka.retry.max-delay-ms:300000}") long maxDelayMs) {
+        return KafkaConfig.retryTopicConfiguration(kafkaTemplate, topics, attempts,
+                initialDelayMs, multiplier, maxDelayMs);
+    }
+
+    @Bean
+    @ConditionalOnBean(ConsumerFactory.class)
+    @ConditionalOnMissingBean
+    public DltReplayer dltReplayer(ConsumerFactory<?, ?> consumerFactory, ProducerFactory<?, ?> producerFactory) {
+        return new DltReplayer(consumerFactory.getConfigurationProperties(),
+                producerFactory.getConfigurationProperties());
+    }
+
     @Bean
+    @ConditionalOnClass(name = "org.springframework.boot.actuate.endpoint.annotation.Endpoint")
+    @ConditionalOnBean(DltReplayer.class)
     @ConditionalOnMissingBean
-    public EventPublisher eventPublisher(KafkaTemplate<String, Object> kafkaTemplate) {
-        return new EventPublisher(kafkaTemplate);
+    public DltReplayEndpoint dltReplayEndpoint(DltReplayer dltReplayer) {
+        return new DltReplayEndpoint(dltReplayer);
+    }
+
+    /**
+     * Keeps records replayed for one consumer group away from the other groups of Boot's
+     * default listener container factory.
+     */
+    @Bean
+    public static BeanPostProcessor replayTargetFilterPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof ConcurrentKafkaListenerContainerFactory<?, ?> factory
+                        && DEFAULT_LISTENER_CONTAINER_FACTORY.equals(beanName)) {
+                    ((ConcurrentKafkaListenerContainerFactory<Object, Object>) factory)
+                            .setRecordFilterStrategy(new ReplayTargetRecordFilterStrategy());
+                    factory.setAckDiscarded(true);
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * Referenced from listeners as {@code @KafkaListener(filter = "eventTypeRecordFilter")}
+     * to drop records skipped by the deserializer.
+     */
+    @Bean
+    @ConditionalOnMissingBean(name = "eventTypeRecordFilter")
+    public EventTypeRecordFilterStrategy eventTypeRecordFilter() {
+        return new EventTypeRecordFilterStrategy(Set.of());
+    }
+
+    @Bean
+    @ConditionalOnBean(ConsumerFactory.class)
+    @ConditionalOnMissingBean(name = "batchKafkaListenerContainerFactory")
+    @SuppressWarnings("unchecked")
+    public ConcurrentKafkaListenerContainerFactory<Object, Object> batchKafkaListenerContainerFactory(
+            ConsumerFactory<?, ?> consumerFactory,
+            ObjectProvider<ConsumerAwareRebalanceListener> rebalanceListener,
+            ObjectProvider<KafkaListenerMetrics> listenerMetrics,
+            CommonErrorHandler kafkaErrorHandler,
+            @Value("${spring.kafka.listener.concurrency:3}") int concurrency,
+            @Value("${shopsphere.kafka.batch.max-poll-records:500}") int maxPollRecords) {
+        ConcurrentKafkaListenerContainerFactory<Object, Object> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory((ConsumerFactory<Object, Object>) consumerFactory);
+        factory.setConcurrency(concurrency);
+        factory.setBatchListener(true);
+        factory.getContainerProperties().setKafkaConsumerProperties(
+                KafkaConfig.batchConsumerProperties(maxPollRecords));
+        factory.setCommonErrorHandler(kafkaErrorHandler);
+        factory.setRecordFilterStrategy(new ReplayTargetRecordFilterStrategy());
+        listenerMetrics.ifAvailable(factory::setBatchInterceptor);
+        rebalanceListener.ifAvailable(factory.getContainerProperties()::setConsumerRebalanceListener);
+        return factory;
+    }
+
+    /**
+     * Record listeners on this factory hand records to {@link KeyOrderedDispatcher} and
+     * acknowledge them on completion; async acks let the container commit out-of-order
+     * completions once every lower offset of the partition is done.
+     */
+    @Bean
+    @ConditionalOnBean(ConsumerFactory.class)
+    @ConditionalOnMissingBean(name = "parallelKafkaListenerContainerFactory")
+    @SuppressWarnings("unchecked")
+    public ConcurrentKafkaListenerContainerFactory<Object, Object> parallelKafkaListenerContainerFactory(
+            ConsumerFactory<?, ?> consumerFactory,
+            ObjectProvider<ConsumerAwareRebalanceListener> rebalanceListener,
+            @Value("${spring.kafka.listener.concurrency:3}") int concurrency) {
+        ConcurrentKafkaListenerContainerFactory<Object, Object> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory((ConsumerFactory<Object, Object>) consumerFactory);
+        factory.setConcurrency(concurrency);
+        KafkaConfig.configureParallelProcessing(factory.getContainerProperties());
+        factory.setRecordFilterStrategy(new ReplayTargetRecordFilterStrategy());
+        factory.setAckDiscarded(true);
+        rebalanceListener.ifAvailable(factory.getContainerProperties()::setConsumerRebalanceListener);
+        return factory;
+    }
+
+    /**
+     * Sets the value serde of Boot's producer and consumer factories when
+     * {@code shopsphere.kafka.serde.format} is set. Producers write {@code json} or
+     * {@code binary}; consumers read both once {@code shopsphere.kafka.serde.schema-registry-path}
+     * points at the registry shared by all services, and JSON only without it. Services
+     * without the property keep the serdes of their {@code spring.kafka} settings.
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnProperty(name = "shopsphere.kafka.serde.format")
+    static class SerdeConfiguration {
+
+        @Bean
+        public DefaultKafkaProducerFactoryCustomizer eventSerdeProducerFactoryCustomizer(
+                @Value("${shopsphere.kafka.serde.format}") String format,
+                @Value("${shopsphere.kafka.serde.schema-registry-path:}") String schemaRegistryPath,
+                @Value("${shopsphere.kafka.serde.compression:none}") String compression) {
+            boolean binary = switch (format.trim().toLowerCase()) {
+                case "binary" -> true;
+                case "json" -> false;
+                default -> throw new IllegalStateException(
+                        "shopsphere.kafka.serde.format must be json or binary, got " + format);
+            };
+            if (binary && schemaRegistryPath.isBlank()) {
+                throw new IllegalStateException("shopsphere.kafka.serde.format=binary requires "
+                        + "shopsphere.kafka.serde.schema-registry-path on a location shared by all services");
+            }
+            Map<String, Object> configs = serdeConfigs(schemaRegistryPath, compression);
+            configs.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG,
+                    binary ? BinarySerde.BinarySerializer.class : JsonSerde.JsonSerializer.class);
+            return producerFactory -> producerFactory.updateConfigs(configs);
+        }
+
+        @Bean
+        public DefaultKafkaConsumerFactoryCustomizer eventSerdeConsumerFactoryCustomizer(
+                @Value("${shopsphere.kafka.serde.schema-registry-path:}") String schemaRegistryPath,
+                @Value("${shopsphere.kafka.serde.compression:none}") String compression) {
+            Map<String, Object> configs = serdeConfigs(schemaRegistryPath, compression);
+            configs.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, schemaRegistryPath.isBlank()
+                    ? JsonSerde.JsonDeserializer.class
+                    : BinarySerde.BinaryDeserializer.class);
+            return consumerFactory -> consumerFactory.updateConfigs(configs);
+        }
+
+        private static Map<String, Object> serdeConfigs(String schemaRegistryPath, String compression) {
+            Map<String, Object> configs = new HashMap<>();
+            if (!schemaRegistryPath.isBlank()) {
+                configs.put(BinarySerde.SCHEMA_REGISTRY_PATH_CONFIG, schemaRegistryPath);
+            }
+            configs.put(BinarySerde.COMPRESSION_CONFIG, compression);
+            return configs;
+        }
+    }
+
+    /**
+     * Pauses listeners while the connection pool, the parallel dispatcher or the handlers
+     * themselves are saturated. Pool and handler signals come from Micrometer and apply
+     * when a MeterRegistry is present; further {@link SaturationSignal} beans are picked up.
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnProperty(name = "shopsphere.kafka.backpressure.enabled", havingValue = "true")
+    static class BackpressureConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public BackpressureController backpressureController(
+                KafkaListenerEndpointRegistry endpointRegistry,
+                KeyOrderedDispatcher keyOrderedDispatcher,
+                ObjectProvider<MeterRegistry> meterRegistry,
+                ObjectProvider<SaturationSignal> additionalSignals,
+                @Value("${shopsphere.kafka.backpressure.listener-ids:}") List<String> listenerIds,
+                @Value("${shopsphere.kafka.backpressure.resume-threshold:0.7}") double resumeThreshold,
+                @Value("${shopsphere.kafka.backpressure.check-interval-ms:500}") long checkIntervalMs,
+                @Value("${shopsphere.kafka.backpressure.min-pause-ms:2000}") long minPauseMs,
+                @Value("${shopsphere.kafka.backpressure.max-blind-pause-ms:20000}") long maxBlindPauseMs,
+                @Value("${shopsphere.kafka.backpressure.pool-acquire-limit-ms:100}") long poolAcquireLimitMs,
+                @Value("${shopsphere.kafka.backpressure.pool-pending-ratio:0.5}") double poolPendingRatio,
+                @Value("${shopsphere.kafka.backpressure.handler-latency-limit-ms:2000}") long handlerLatencyLimitMs,
+                @Value("${shopsphere.kafka.backpressure.dispatcher-utilization:0.8}") double dispatcherUtilization) {
+            List<SaturationSignal> signals = new ArrayList<>();
+            signals.add(new SaturationSignal() {
+                @Override
+                public String name() {
+                    return "parallel dispatcher";
+                }
+
+                @Override
+                public double saturation() {
+                    return (double) keyOrderedDispatcher.inFlight() / keyOrderedDispatcher.maxInFlight()
+                            / dispatcherUtilization;
+                }
+            });
+            MeterRegistry registry = meterRegistry.getIfAvailable();
+            if (registry != null) {
+                signals.add(MeterSignals.meanTime(registry, "hikaricp.connections.acquire",
+                        Duration.ofMillis(poolAcquireLimitMs)));
+                signals.add(MeterSignals.gaugeRatio(registry, "hikaricp.connections.pending",
+                        "hikaricp.connections.max", poolPendingRatio));
+                signals.add(MeterSignals.meanTime(registry, "shopsphere.kafka.handler.duration",
+                        Duration.ofMillis(handlerLatencyLimitMs)));
+            }
+            additionalSignals.orderedStream().forEach(signals::add);
+
+            BackpressureController controller = new BackpressureController(endpointRegistry, signals,
+                    Set.copyOf(listenerIds), resumeThreshold,
+                    Duration.ofMillis(checkIntervalMs), Duration.ofMillis(minPauseMs),
+                    Duration.ofMillis(maxBlindPauseMs));
+            if (registry != null) {
+                Gauge.builder("shopsphere.kafka.backpressure.paused", controller, c -> c.isPaused() ? 1 : 0)
+                        .description("1 while listeners are paused for downstream saturation")
+                        .register(registry);
+            }
+            return controller;
+        }
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnProperty(name = "shopsphere.kafka.concurrency.autoscale", havingValue = "true")
+    static class ConcurrencyAutoscalingConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public ConcurrencyAutoscaler concurrencyAutoscaler(
+                KafkaListenerEndpointRegistry endpointRegistry,
+                ObjectProvider<KafkaAdmin> kafkaAdmin,
+                ObjectProvider<MeterRegistry> meterRegistry,
+                ObjectProvider<BackpressureController> backpressureController,
+                Environment environment) {
+            return new ConcurrencyAutoscaler(endpointRegistry, kafkaAdmin.getIfAvailable(),
+                    meterRegistry.getIfAvailable(), backpressureController.getIfAvailable(),
+                    ConcurrencyAutoscaler.Settings.from(environment));
+        }
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnBean(MeterRegistry.class)
+    static class ListenerMetricsConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public KafkaListenerMetrics kafkaListenerMetrics(
+                MeterRegistry meterRegistry,
+                @Value("${shopsphere.kafka.metrics.hot-key.capacity:100}") int hotKeyCapacity,
+                @Value("${shopsphere.kafka.metrics.hot-key.window:10000}") int hotKeyWindow,
+                @Value("${shopsphere.kafka.metrics.hot-key.threshold:0.2}") double hotKeyThreshold) {
+            return new KafkaListenerMetrics(meterRegistry, hotKeyCapacity, hotKeyWindow, hotKeyThreshold);
+        }
+
+        @Bean
+        public MeterBinder keyOrderedDispatcherMetrics(KeyOrderedDispatcher keyOrderedDispatcher) {
+            return registry -> Gauge.builder("shopsphere.kafka.parallel.active.keys",
+                            keyOrderedDispatcher, KeyOrderedDispatcher::activeKeys)
+                    .description("Keys with records queued or running on the parallel dispatcher")
+                    .register(registry);
+        }
+
+        @Bean
+        @ConditionalOnMissingBean
+        public RetryMetrics retryMetrics() {
+            return new RetryMetrics();
+        }
     }
 }
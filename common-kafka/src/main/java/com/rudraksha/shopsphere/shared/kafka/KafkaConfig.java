@@ -1,63 +1,108 @@
 package com.rudraksha.shopsphere.shared.kafka;
 
-import com.rudraksha.shopsphere.shared.kafka.serialization.JsonSerde;
+import org.apache.kafka.clients.admin.NewTopic;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
-import org.apache.kafka.clients.producer.ProducerConfig;
-import org.apache.kafka.common.serialization.StringDeserializer;
-import org.apache.kafka.common.serialization.StringSerializer;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.context.annotation.Bean;
-import org.springframework.context.annotation.Configuration;
-import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
-import org.springframework.kafka.core.*;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.config.TopicConfig;
+import org.springframework.kafka.config.TopicBuilder;
+import org.springframework.kafka.core.KafkaOperations;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.kafka.retrytopic.RetryTopicConfiguration;
+import org.springframework.kafka.retrytopic.RetryTopicConfigurationBuilder;
+import org.springframework.kafka.retrytopic.TopicSuffixingStrategy;
+import org.springframework.util.backoff.FixedBackOff;
 
+import java.time.Duration;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Properties;
 
-@Configuration
-public class KafkaConfig {
-
-    @Value("${spring.kafka.bootstrap-servers:localhost:9092}")
-    private String bootstrapServers;
-
-    @Value("${spring.kafka.consumer.group-id:shopsphere-group}")
-    private String groupId;
-
-    @Bean
-    public ProducerFactory<String, Object> producerFactory() {
-        Map<String, Object> configProps = new HashMap<>();
-        configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
-        configProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerde.JsonSerializer.class);
-        configProps.put(ProducerConfig.ACKS_CONFIG, "all");
-        configProps.put(ProducerConfig.RETRIES_CONFIG, 3);
-        configProps.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
-        return new DefaultKafkaProducerFactory<>(configProps);
-    }
-
-    @Bean
-    public ConsumerFactory<String, Object> consumerFactory() {
-        Map<String, Object> configProps = new HashMap<>();
-        configProps.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
-        configProps.put(ConsumerConfig.GROUP_ID_CONFIG, groupId);
-        configProps.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
-        configProps.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, JsonSerde.JsonDeserializer.class);
-        configProps.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
-        configProps.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
-        return new DefaultKafkaConsumerFactory<>(configProps);
-    }
-
-    @Bean
-    public KafkaTemplate<String, Object> kafkaTemplate() {
-        return new KafkaTemplate<>(producerFactory());
-    }
-
-    @Bean
-    public ConcurrentKafkaListenerContainerFactory<String, Object> kafkaListenerContainerFactory() {
-        ConcurrentKafkaListenerContainerFactory<String, Object> factory =
-                new ConcurrentKafkaListenerContainerFactory<>();
-        factory.setConsumerFactory(consumerFactory());
-        factory.setConcurrency(3);
-        return factory;
+/**
+ * Topic naming, error handling and container settings shared by {@link KafkaAutoConfiguration}
+ * and the services' own Kafka configuration.
+ */
+public final class KafkaConfig {
+
+    public static final String RETRY_SUFFIX = "-retry";
+    public static final String DLT_SUFFIX = "-dlt";
+
+    /**
+     * Retry topics only apply to the listed topics: without an include list Spring would add
+     * them to every listener, and batch listeners do not support them.
+     */
+    static final String RETRY_TOPICS_CONFIGURED = "!'${shopsphere.kafka.retry.topics:}'.isBlank()";
+
+    private KafkaConfig() {
+    }
+
+    /**
+     * Topics that deviate from the producer settings in {@code spring.kafka.producer}. Bulk
+     * state topics favour larger compressed batches, payment events favour immediate sends.
+     */
+    static Map<String, ProducerProfile> topicProducerProfiles() {
+        Map<String, ProducerProfile> profiles = new HashMap<>();
+        profiles.put(TopicConstants.PAYMENT_EVENTS, ProducerProfile.LOW_LATENCY);
+        profiles.put(TopicConstants.INVENTORY_EVENTS, ProducerProfile.HIGH_THROUGHPUT);
+        profiles.put(TopicConstants.PRODUCT_EVENTS, ProducerProfile.HIGH_THROUGHPUT);
+        return profiles;
+    }
+
+    /**
+     * Publishes failed records to {@code <topic>-dlt}, keyed as the original so the producer
+     * picks the partition. Spring adds the exception and original-position headers.
+     */
+    static DeadLetterPublishingRecoverer deadLetterRecoverer(KafkaOperations<?, ?> template) {
+        return new DeadLetterPublishingRecoverer(template,
+                (record, ex) -> new TopicPartition(record.topic() + DLT_SUFFIX, -1));
+    }
+
+    /**
+     * Short in-place retries for listeners without retry topics, mainly batch listeners;
+     * the failed record is then dead-lettered and the partition moves on.
+     */
+    static DefaultErrorHandler blockingErrorHandler(DeadLetterPublishingRecoverer recoverer,
+                                                    long retries, long intervalMs) {
+        return new DefaultErrorHandler(recoverer, new FixedBackOff(intervalMs, retries));
+    }
+
+    static RetryTopicConfiguration retryTopicConfiguration(KafkaOperations<?, ?> template, List<String> topics,
+                                                           int attempts, long initialDelayMs,
+                                                           double multiplier, long maxDelayMs) {
+        return RetryTopicConfigurationBuilder.newInstance()
+                .includeTopics(topics)
+                .maxAttempts(attempts)
+                .exponentialBackoff(initialDelayMs, multiplier, maxDelayMs)
+                .retryTopicSuffix(RETRY_SUFFIX)
+                .dltSuffix(DLT_SUFFIX)
+                .setTopicSuffixingStrategy(TopicSuffixingStrategy.SUFFIX_WITH_INDEX_VALUE)
+                .create(template);
+    }
+
+    /**
+     * Latest-state topic for {@link com.rudraksha.shopsphere.shared.kafka.view.MaterializedView}:
+     * compaction keeps the last record per key, and tombstones are retained for a day so views
+     * restored from a snapshot still see deletes.
+     */
+    public static NewTopic compactedTopic(String name, int partitions, int replicas) {
+        return TopicBuilder.name(name)
+                .partitions(partitions)
+                .replicas(replicas)
+                .compact()
+                .config(TopicConfig.DELETE_RETENTION_MS_CONFIG, String.valueOf(Duration.ofDays(1).toMillis()))
+                .build();
+    }
+
+    static void configureParallelProcessing(ContainerProperties containerProperties) {
+        containerProperties.setAckMode(ContainerProperties.AckMode.MANUAL);
+        containerProperties.setAsyncAcks(true);
+    }
+
+    static Properties batchConsumerProperties(int maxPollRecords) {
+        Properties properties = new Properties();
+        properties.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, maxPollRecords);
+        return properties;
     }
 }
@@ -0,0 +1,268 @@
+package com.rudraksha.shopsphere.shared.kafka;
+
+import com.rudraksha.shopsphere.shared.kafka.metrics.KafkaListenerMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.ConsumerRecordRecoverer;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.kafka.support.KafkaUtils;
+import org.springframework.util.backoff.BackOff;
+import org.springframework.util.backoff.BackOffExecution;
+import org.springframework.util.backoff.FixedBackOff;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs record handlers on virtual threads, in parallel across keys and strictly in order
+ * within a key. Used with the parallel container factory, whose async acks commit each
+ * partition only up to its lowest offset still in flight, so parallelism is no longer
+ * bounded by the partition count.
+ * <p>
+ * Dispatching never blocks the listener thread. Once {@code maxInFlight} records are queued
+ * or running, the partitions that keep delivering are paused in their container, which goes
+ * on polling without fetching; they are resumed when half the slots are free again. Records
+ * already fetched are still dispatched, so the limit can be exceeded by up to one poll.
+ * Records still running when their partition is revoked may be redelivered to the new owner.
+ * <p>
+ * Failed handlers are retried on their virtual thread following the back-off, holding back
+ * later records with the same key, and then handed to the recoverer, typically a dead-letter
+ * publisher, since the container's error handler cannot apply off the listener thread.
+ */
+@Slf4j
+public class KeyOrderedDispatcher implements AutoCloseable {
+
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 30;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<String, CompletableFuture<Void>> tails = new ConcurrentHashMap<>();
+    private final Set<PausedPartition> pausedPartitions = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final int maxInFlight;
+    private final ConsumerRecordRecoverer recoverer;
+    private final BackOff backOff;
+    private KafkaListenerEndpointRegistry endpointRegistry;
+    private KafkaListenerMetrics metrics;
+
+    public KeyOrderedDispatcher(int maxInFlight) {
+        this(maxInFlight, null);
+    }
+
+    public KeyOrderedDispatcher(int maxInFlight, ConsumerRecordRecoverer recoverer) {
+        this(maxInFlight, recoverer, new FixedBackOff(0, 0));
+    }
+
+    public KeyOrderedDispatcher(int maxInFlight, ConsumerRecordRecoverer recoverer, BackOff backOff) {
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("Max in-flight must be at least 1");
+        }
+        this.maxInFlight = maxInFlight;
+        this.recoverer = recoverer;
+        this.backOff = backOff;
+    }
+
+    /**
+     * Enables pausing of partitions while the dispatcher is full. Without it, the in-flight
+     * limit is not enforced.
+     */
+    public void setEndpointRegistry(KafkaListenerEndpointRegistry endpointRegistry) {
+        this.endpointRegistry = endpointRegistry;
+    }
+
+    public void setListenerMetrics(KafkaListenerMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Handles the record after all earlier records with the same topic and key, then
+     * acknowledges it. Records without a key are ordered per partition.
+     */
+    public <K, V> CompletableFuture<Void> dispatch(ConsumerRecord<K, V> record, Acknowledgment acknowledgment,
+                                                   Runnable handler) {
+        String orderingKey = record.key() != null
+                ? record.topic() + "/" + record.key()
+                : record.topic() + "-" + record.partition();
+        String groupId = KafkaUtils.getConsumerGroupId();
+        Runnable attempt = metrics != null ? instrumented(record, groupId, handler) : handler;
+        CompletableFuture<Void> future = dispatch(orderingKey, () -> runWithRetries(record, attempt))
+                .whenComplete((result, ex) -> {
+                    if (ex != null) {
+                        log.error("Error processing record from topic={} partition={} offset={}",
+                                record.topic(), record.partition(), record.offset(), ex);
+                        recover(record, groupId,
+                                ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex);
+                    }
+                    acknowledgment.acknowledge();
+                });
+        if (inFlight() >= maxInFlight) {
+            pausePartition(groupId, new TopicPartition(record.topic(), record.partition()));
+        }
+        return future;
+    }
+
+    private Runnable instrumented(ConsumerRecord<?, ?> record, String groupId, Runnable handler) {
+        KafkaListenerMetrics listenerMetrics = metrics;
+        String metricsGroupId = groupId != null ? groupId : KafkaListenerMetrics.currentGroupId();
+        return () -> {
+            long start = System.nanoTime();
+            try {
+                handler.run();
+            } catch (RuntimeException e) {
+                listenerMetrics.recordFailure(metricsGroupId, record.topic(), System.nanoTime() - start, "parallel", e);
+                throw e;
+            }
+            listenerMetrics.recordSuccess(metricsGroupId, record, System.nanoTime() - start, "parallel");
+        };
+    }
+
+    /**
+     * Runs {@code task} after the previous task with the same ordering key. Never blocks;
+     * the caller is responsible for throttling.
+     */
+    public CompletableFuture<Void> dispatch(String orderingKey, Runnable task) {
+        inFlight.incrementAndGet();
+        CompletableFuture<Void> next;
+        try {
+            next = tails.compute(orderingKey, (key, tail) -> {
+                CompletableFuture<Void> previous = tail != null ? tail : CompletableFuture.completedFuture(null);
+                return previous.handleAsync((result, ex) -> {
+                    task.run();
+                    return null;
+                }, executor);
+            });
+        } catch (RuntimeException e) {
+            completed();
+            throw e;
+        }
+        next.whenComplete((result, ex) -> {
+            tails.remove(orderingKey, next);
+            completed();
+        });
+        return next;
+    }
+
+    private void runWithRetries(ConsumerRecord<?, ?> record, Runnable attempt) {
+        BackOffExecution execution = backOff.start();
+        while (true) {
+            try {
+                attempt.run();
+                return;
+            } catch (RuntimeException e) {
+                long delayMs = execution.nextBackOff();
+                if (delayMs == BackOffExecution.STOP) {
+                    throw e;
+                }
+                log.warn("Retrying record from topic={} partition={} offset={} in {} ms: {}",
+                        record.topic(), record.partition(), record.offset(), delayMs, e.toString());
+                sleep(delayMs, e);
+            }
+        }
+    }
+
+    private static void sleep(long delayMs, RuntimeException failure) {
+        try {
+            Thread.sleep(delayMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw failure;
+        }
+    }
+
+    private void recover(ConsumerRecord<?, ?> record, String groupId, Throwable failure) {
+        if (recoverer == null) {
+            return;
+        }
+        if (metrics != null) {
+            metrics.recordDeadLettered(groupId != null ? groupId : KafkaListenerMetrics.currentGroupId(), record);
+        }
+        try {
+            recoverer.accept(record, failure instanceof Exception e ? e : new IllegalStateException(failure));
+        } catch (Exception e) {
+            log.error("Failed to recover record from topic={} partition={} offset={}, record is dropped",
+                    record.topic(), record.partition(), record.offset(), e);
+        }
+    }
+
+    private void completed() {
+        if (inFlight.decrementAndGet() <= maxInFlight / 2 && !pausedPartitions.isEmpty()) {
+            resumePartitions();
+        }
+    }
+
+    /**
+     * Pauses the partition in the container of the calling listener. Only the listener
+     * thread knows its group, so this runs there; the container applies it before its next poll.
+     */
+    private void pausePartition(String groupId, TopicPartition partition) {
+        KafkaListenerEndpointRegistry registry = endpointRegistry;
+        if (registry == null) {
+            return;
+        }
+        for (MessageListenerContainer container : registry.getListenerContainers()) {
+            Collection<TopicPartition> assigned = container.getAssignedPartitions();
+            if (Objects.equals(container.getGroupId(), groupId) && assigned != null && assigned.contains(partition)) {
+                if (pausedPartitions.add(new PausedPartition(container, partition))) {
+                    container.pausePartition(partition);
+                    log.debug("Paused {} for group {}, {} records in flight", partition, groupId, inFlight());
+                }
+                break;
+            }
+        }
+        // Everything may have completed while pausing, with nothing left to trigger the resume.
+        if (inFlight() <= maxInFlight / 2) {
+            resumePartitions();
+        }
+    }
+
+    private void resumePartitions() {
+        for (PausedPartition paused : pausedPartitions) {
+            if (pausedPartitions.remove(paused)) {
+                paused.container().resumePartition(paused.partition());
+            }
+        }
+    }
+
+    public int activeKeys() {
+        return tails.size();
+    }
+
+    /**
+     * Records queued or running; may exceed {@link #maxInFlight()} by up to one poll.
+     */
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    public int maxInFlight() {
+        return maxInFlight;
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                log.warn("Record handlers still running after {} s, abandoning them", SHUTDOWN_TIMEOUT_SECONDS);
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            executor.shutdownNow();
+        }
+    }
+
+    private record PausedPartition(MessageListenerContainer container, TopicPartition partition) {
+    }
+}
@@ -0,0 +1,25 @@
+package com.rudraksha.shopsphere.shared.kafka;
+
+import org.apache.kafka.clients.producer.ProducerConfig;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Producer batching settings applied per topic.
+ * Kafka batches per producer instance, so each distinct profile gets its own producer.
+ */
+public record ProducerProfile(String name, int lingerMs, int batchSize, String compressionType) {
+
+    public static final ProducerProfile DEFAULT = new ProducerProfile("default", 5, 16384, "none");
+    public static final ProducerProfile LOW_LATENCY = new ProducerProfile("low-latency", 0, 16384, "none");
+    public static final ProducerProfile HIGH_THROUGHPUT = new ProducerProfile("high-throughput", 20, 131072, "lz4");
+
+    public Map<String, Object> toProducerConfig() {
+        Map<String, Object> configProps = new HashMap<>();
+        configProps.put(ProducerConfig.LINGER_MS_CONFIG, lingerMs);
+        configProps.put(ProducerConfig.BATCH_SIZE_CONFIG, batchSize);
+        configProps.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, compressionType);
+        return configProps;
+    }
+}
@@ -0,0 +1,46 @@
+package com.rudraksha.shopsphere.shared.kafka;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One {@link KafkaTemplate} per {@link ProducerProfile}, for the topics that deviate from the
+ * service's default producer. Each profile's producer factory is a copy of the default one
+ * with the profile's batching settings on top, so serializers, acks and idempotence stay as
+ * configured. The extra producers are closed with the application context.
+ */
+public class ProfiledKafkaTemplates implements DisposableBean {
+
+    private final Map<String, KafkaTemplate<String, Object>> topicTemplates = new HashMap<>();
+    private final List<ProducerFactory<String, Object>> producerFactories = new ArrayList<>();
+
+    public ProfiledKafkaTemplates(ProducerFactory<String, Object> producerFactory,
+                                  Map<String, ProducerProfile> topicProfiles) {
+        Map<ProducerProfile, KafkaTemplate<String, Object>> templatesByProfile = new HashMap<>();
+        topicProfiles.forEach((topic, profile) -> topicTemplates.put(topic,
+                templatesByProfile.computeIfAbsent(profile, p -> {
+                    ProducerFactory<String, Object> factory =
+                            producerFactory.copyWithConfigurationOverride(p.toProducerConfig());
+                    producerFactories.add(factory);
+                    return new KafkaTemplate<>(factory);
+                })));
+    }
+
+    /**
+     * Templates by topic, for {@link EventPublisher}.
+     */
+    public Map<String, KafkaTemplate<String, Object>> topicTemplates() {
+        return Map.copyOf(topicTemplates);
+    }
+
+    @Override
+    public void destroy() {
+        producerFactories.forEach(ProducerFactory::reset);
+    }
+}
@@ -0,0 +1,17 @@
+package com.rudraksha.shopsphere.shared.kafka;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.kafka.listener.adapter.RecordFilterStrategy;
+
+/**
+ * Discards records that {@link DltReplayer} replayed for another consumer group. Applied to
+ * the listener container factories of common-kafka and Boot's default factory; listeners with
+ * their own {@code filter} get the same check from {@link EventTypeRecordFilterStrategy}.
+ */
+public class ReplayTargetRecordFilterStrategy implements RecordFilterStrategy<Object, Object> {
+
+    @Override
+    public boolean filter(ConsumerRecord<Object, Object> consumerRecord) {
+        return DltReplayer.replayedForOtherGroup(consumerRecord.headers());
+    }
+}
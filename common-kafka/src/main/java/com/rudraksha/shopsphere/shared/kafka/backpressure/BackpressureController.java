@@ -0,0 +1,176 @@
+package com.rudraksha.shopsphere.shared.kafka.backpressure;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.MessageListenerContainer;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Pauses listener containers while a downstream resource is saturated and resumes them once
+ * every signal has dropped below the resume threshold. Paused containers keep polling without
+ * fetching records, so consumers stay in the group instead of exceeding
+ * {@code max.poll.interval.ms} behind a slow database and triggering a rebalance; records in
+ * flight finish normally.
+ * <p>
+ * Pausing at a saturation of 1 and resuming only below the lower threshold, and no earlier
+ * than {@code minPause}, keeps the containers from flapping around the limit.
+ * <p>
+ * A signal reading {@link SaturationSignal#UNKNOWN} keeps its last known value, since the
+ * pause itself often stops the samples it is measured from. When the signal holding the
+ * listeners paused has not produced a fresh reading for {@code maxBlindPause}, they are
+ * resumed to measure again.
+ */
+@Slf4j
+public class BackpressureController implements SmartLifecycle {
+
+    private static final int DEFAULT_BLIND_PAUSE_FACTOR = 10;
+
+    private final KafkaListenerEndpointRegistry endpointRegistry;
+    private final List<SaturationSignal> signals;
+    private final Set<String> listenerIds;
+    private final double resumeThreshold;
+    private final Duration checkInterval;
+    private final Duration minPause;
+    private final Duration maxBlindPause;
+    private final Map<SaturationSignal, Double> lastKnown = new HashMap<>();
+    private ScheduledExecutorService scheduler;
+    private volatile boolean paused;
+    private long pausedAt;
+
+    public BackpressureController(KafkaListenerEndpointRegistry endpointRegistry, List<SaturationSignal> signals,
+                                  Set<String> listenerIds, double resumeThreshold,
+                                  Duration checkInterval, Duration minPause) {
+        this(endpointRegistry, signals, listenerIds, resumeThreshold, checkInterval, minPause,
+                minPause.multipliedBy(DEFAULT_BLIND_PAUSE_FACTOR));
+    }
+
+    public BackpressureController(KafkaListenerEndpointRegistry endpointRegistry, List<SaturationSignal> signals,
+                                  Set<String> listenerIds, double resumeThreshold,
+                                  Duration checkInterval, Duration minPause, Duration maxBlindPause) {
+        if (resumeThreshold <= 0 || resumeThreshold >= 1) {
+            throw new IllegalArgumentException("Resume threshold must be between 0 and 1");
+        }
+        this.endpointRegistry = endpointRegistry;
+        this.signals = List.copyOf(signals);
+        this.listenerIds = Set.copyOf(listenerIds);
+        this.resumeThreshold = resumeThreshold;
+        this.checkInterval = checkInterval;
+        this.minPause = minPause;
+        this.maxBlindPause = maxBlindPause;
+    }
+
+    public boolean isPaused() {
+        return paused;
+    }
+
+    /**
+     * Reads every signal and pauses or resumes the listeners. Runs on the controller's own
+     * scheduler; exposed for callers that drive it themselves.
+     */
+    public synchronized void check() {
+        SaturationSignal worst = null;
+        double saturation = 0;
+        boolean fresh = false;
+        for (SaturationSignal signal : signals) {
+            double value = readSafely(signal);
+            boolean known = !Double.isNaN(value);
+            if (known) {
+                lastKnown.put(signal, value);
+            } else {
+                value = lastKnown.getOrDefault(signal, 0.0);
+            }
+            if (worst == null || value > saturation) {
+                worst = signal;
+                saturation = value;
+                fresh = known;
+            }
+        }
+
+        long now = System.currentTimeMillis();
+        if (paused && !fresh && saturation >= resumeThreshold && now - pausedAt >= maxBlindPause.toMillis()) {
+            paused = false;
+            lastKnown.remove(worst);
+            log.info("Resuming Kafka listeners after {} ms without a fresh {} reading, to measure again",
+                    now - pausedAt, worst.name());
+            containers().forEach(MessageListenerContainer::resume);
+        } else if (!paused && saturation >= 1) {
+            paused = true;
+            pausedAt = now;
+            log.warn("Pausing Kafka listeners, {} saturation at {}", worst.name(), String.format("%.2f", saturation));
+            containers().forEach(MessageListenerContainer::pause);
+        } else if (paused && saturation < resumeThreshold && now - pausedAt >= minPause.toMillis()) {
+            paused = false;
+            log.info("Resuming Kafka listeners after {} ms, saturation down to {}",
+                    now - pausedAt, String.format("%.2f", saturation));
+            containers().forEach(MessageListenerContainer::resume);
+        } else if (paused) {
+            // Containers started or restarted while paused come up running.
+            containers().filter(container -> !container.isPauseRequested()).forEach(MessageListenerContainer::pause);
+        }
+    }
+
+    private double readSafely(SaturationSignal signal) {
+        try {
+            return signal.saturation();
+        } catch (RuntimeException e) {
+            log.debug("Saturation signal {} failed, treating it as unknown", signal.name(), e);
+            return SaturationSignal.UNKNOWN;
+        }
+    }
+
+    private Stream<MessageListenerContainer> containers() {
+        return endpointRegistry.getListenerContainers().stream()
+                .filter(container -> listenerIds.isEmpty() || listenerIds.contains(container.getListenerId()))
+                .filter(MessageListenerContainer::isRunning);
+    }
+
+    @Override
+    public synchronized void start() {
+        if (scheduler != null || signals.isEmpty()) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "kafka-backpressure");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::checkSafely, checkInterval.toMillis(), checkInterval.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    private void checkSafely() {
+        try {
+            check();
+        } catch (RuntimeException e) {
+            log.error("Backpressure check failed", e);
+        }
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (scheduler == null) {
+            return;
+        }
+        scheduler.shutdownNow();
+        scheduler = null;
+        if (paused) {
+            paused = false;
+            containers().forEach(MessageListenerContainer::resume);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return scheduler != null;
+    }
+}
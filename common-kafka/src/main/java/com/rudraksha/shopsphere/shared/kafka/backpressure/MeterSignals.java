@@ -0,0 +1,93 @@
+package com.rudraksha.shopsphere.shared.kafka.backpressure;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Saturation signals read from Micrometer meters, so no dependency on the instrumented
+ * library is needed. Meters that are not registered read as idle.
+ */
+public final class MeterSignals {
+
+    private MeterSignals() {
+    }
+
+    /**
+     * Mean time recorded by all timers named {@code timerName} since the previous reading,
+     * relative to {@code limit}. Intervals without samples read as
+     * {@link SaturationSignal#UNKNOWN}, since a paused listener records none.
+     */
+    public static SaturationSignal meanTime(MeterRegistry registry, String timerName, Duration limit) {
+        return new MeanTimeSignal(registry, timerName, limit.toNanos());
+    }
+
+    /**
+     * Sum of the {@code valueGauge} gauges over the sum of the {@code capacityGauge} gauges,
+     * relative to {@code limitRatio}.
+     */
+    public static SaturationSignal gaugeRatio(MeterRegistry registry, String valueGauge, String capacityGauge,
+                                              double limitRatio) {
+        return new SaturationSignal() {
+            @Override
+            public String name() {
+                return valueGauge;
+            }
+
+            @Override
+            public double saturation() {
+                double capacity = sum(registry, capacityGauge);
+                return capacity > 0 ? sum(registry, valueGauge) / capacity / limitRatio : 0;
+            }
+        };
+    }
+
+    private static double sum(MeterRegistry registry, String gaugeName) {
+        double total = 0;
+        for (Gauge gauge : registry.find(gaugeName).gauges()) {
+            double value = gauge.value();
+            if (!Double.isNaN(value)) {
+                total += value;
+            }
+        }
+        return total;
+    }
+
+    private static final class MeanTimeSignal implements SaturationSignal {
+
+        private final MeterRegistry registry;
+        private final String timerName;
+        private final long limitNanos;
+        private long lastCount;
+        private double lastTotalNanos;
+
+        MeanTimeSignal(MeterRegistry registry, String timerName, long limitNanos) {
+            this.registry = registry;
+            this.timerName = timerName;
+            this.limitNanos = limitNanos;
+        }
+
+        @Override
+        public String name() {
+            return timerName;
+        }
+
+        @Override
+        public synchronized double saturation() {
+            long count = 0;
+            double totalNanos = 0;
+            for (Timer timer : registry.find(timerName).timers()) {
+                count += timer.count();
+                totalNanos += timer.totalTime(TimeUnit.NANOSECONDS);
+            }
+            long samples = count - lastCount;
+            double elapsed = totalNanos - lastTotalNanos;
+            lastCount = count;
+            lastTotalNanos = totalNanos;
+            return samples > 0 ? elapsed / samples / limitNanos : UNKNOWN;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.rudraksha.shopsphere.shared.kafka.backpressure;
+
+/**
+ * A downstream resource the listeners depend on, reporting how close it is to its limit.
+ */
+public interface SaturationSignal {
+
+    /**
+     * Reading of a signal with nothing to measure, such as a timer without samples.
+     */
+    double UNKNOWN = Double.NaN;
+
+    String name();
+
+    /**
+     * Current load relative to the configured limit: 0 when idle, 1 or more when saturated,
+     * or {@link #UNKNOWN}.
+     */
+    double saturation();
+}
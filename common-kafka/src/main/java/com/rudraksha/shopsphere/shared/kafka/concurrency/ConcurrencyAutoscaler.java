@@ -0,0 +1,287 @@
+package com.rudraksha.shopsphere.shared.kafka.concurrency;
+
+import com.rudraksha.shopsphere.shared.kafka.backpressure.BackpressureController;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.Metric;
+import org.apache.kafka.common.MetricName;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.core.env.PropertyResolver;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.core.KafkaAdmin;
+import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
+import org.springframework.kafka.listener.MessageListenerContainer;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Grows and shrinks the consumer threads of listener containers from their lag.
+ * <p>
+ * A container gains threads when its lag would take longer than {@code targetDrain} to clear
+ * at the current consumption rate, in proportion to the shortfall and at most doubling per
+ * step, up to its maximum and the partition count of its largest topic. It loses one thread after
+ * its lag has stayed below {@code scaleDownLag} for {@code scaleDownAfter} consecutive checks.
+ * Growth is held back while the mean handler time exceeds {@code handlerLatencyLimit} or the
+ * {@link BackpressureController} has listeners paused: a saturated downstream does not get
+ * faster with more threads.
+ * <p>
+ * Resizing restarts the container and rebalances its group, so changes are spaced by
+ * {@code cooldown} to let lag and rate metrics settle under the new assignment.
+ */
+@Slf4j
+public class ConcurrencyAutoscaler implements SmartLifecycle {
+
+    private static final String LAG_METRIC = "records-lag";
+    private static final String CONSUMED_RATE_METRIC = "records-consumed-rate";
+    private static final String HANDLER_TIMER = "shopsphere.kafka.handler.duration";
+    private static final Duration PARTITION_COUNT_TTL = Duration.ofMinutes(10);
+
+    private final KafkaListenerEndpointRegistry endpointRegistry;
+    private final KafkaAdmin kafkaAdmin;
+    private final MeterRegistry meterRegistry;
+    private final BackpressureController backpressureController;
+    private final Settings settings;
+    private final Map<String, ListenerState> states = new ConcurrentHashMap<>();
+    private ScheduledExecutorService scheduler;
+
+    public ConcurrencyAutoscaler(KafkaListenerEndpointRegistry endpointRegistry, KafkaAdmin kafkaAdmin,
+                                 MeterRegistry meterRegistry, BackpressureController backpressureController,
+                                 Settings settings) {
+        this.endpointRegistry = endpointRegistry;
+        this.kafkaAdmin = kafkaAdmin;
+        this.meterRegistry = meterRegistry;
+        this.backpressureController = backpressureController;
+        this.settings = settings;
+    }
+
+    /**
+     * @param defaultBounds       bounds for every listener when {@code listenerBounds} is empty
+     * @param listenerBounds      bounds by listener id; when not empty only these listeners are scaled
+     * @param scaleUpLag          lag below which a listener is never grown
+     * @param scaleDownLag        lag under which a listener counts as quiet
+     * @param scaleDownAfter      consecutive quiet checks before a thread is removed
+     * @param targetDrain         time within which the current lag should be consumed
+     * @param handlerLatencyLimit mean handler time above which growth is held back
+     */
+    public record Settings(ConcurrencyBounds defaultBounds, Map<String, ConcurrencyBounds> listenerBounds,
+                           long scaleUpLag, long scaleDownLag, int scaleDownAfter, Duration targetDrain,
+                           Duration handlerLatencyLimit, Duration checkInterval, Duration cooldown) {
+
+        public Settings {
+            listenerBounds = Map.copyOf(listenerBounds);
+        }
+
+        /**
+         * Reads {@code shopsphere.kafka.concurrency.*}. Listener bounds are given as
+         * {@code listeners: id:min-max,...}; the handler latency limit defaults to the one
+         * used for backpressure.
+         */
+        public static Settings from(PropertyResolver properties) {
+            String prefix = "shopsphere.kafka.concurrency.";
+            return new Settings(
+                    new ConcurrencyBounds(properties.getProperty(prefix + "min", Integer.class, 1),
+                            properties.getProperty(prefix + "max", Integer.class, 12)),
+                    ConcurrencyBounds.parse(properties.getProperty(prefix + "listeners")),
+                    properties.getProperty(prefix + "scale-up-lag", Long.class, 1000L),
+                    properties.getProperty(prefix + "scale-down-lag", Long.class, 100L),
+                    properties.getProperty(prefix + "scale-down-after", Integer.class, 5),
+                    Duration.ofMillis(properties.getProperty(prefix + "target-drain-ms", Long.class, 60_000L)),
+                    Duration.ofMillis(properties.getProperty(prefix + "handler-latency-limit-ms", Long.class,
+                            properties.getProperty("shopsphere.kafka.backpressure.handler-latency-limit-ms",
+                                    Long.class, 2000L))),
+                    Duration.ofMillis(properties.getProperty(prefix + "check-interval-ms", Long.class, 30_000L)),
+                    Duration.ofMillis(properties.getProperty(prefix + "cooldown-ms", Long.class, 120_000L)));
+        }
+    }
+
+    /**
+     * Evaluates every managed container once. Runs on the autoscaler's own scheduler;
+     * exposed for callers that drive it themselves.
+     */
+    public synchronized void check() {
+        if (backpressureController != null && backpressureController.isPaused()) {
+            return;
+        }
+        for (MessageListenerContainer container : endpointRegistry.getListenerContainers()) {
+            if (container instanceof ConcurrentMessageListenerContainer<?, ?> concurrent
+                    && container.isRunning() && !container.isPauseRequested()) {
+                ConcurrencyBounds bounds = boundsFor(container.getListenerId());
+                if (bounds != null) {
+                    scale(concurrent, bounds);
+                }
+            }
+        }
+    }
+
+    private ConcurrencyBounds boundsFor(String listenerId) {
+        if (settings.listenerBounds().isEmpty()) {
+            return settings.defaultBounds();
+        }
+        return listenerId != null ? settings.listenerBounds().get(listenerId) : null;
+    }
+
+    private void scale(ConcurrentMessageListenerContainer<?, ?> container, ConcurrencyBounds bounds) {
+        String listenerId = container.getListenerId();
+        ListenerState state = states.computeIfAbsent(listenerId, id -> new ListenerState());
+        long now = System.currentTimeMillis();
+        int current = container.getConcurrency();
+        int max = Math.min(bounds.max(), partitionCount(container, state, now));
+        Map<String, Map<MetricName, ? extends Metric>> metrics = container.metrics();
+        double lag = sum(metrics, LAG_METRIC, true);
+        double rate = sum(metrics, CONSUMED_RATE_METRIC, false);
+        double handlerNanos = meanHandlerNanos(container, state);
+
+        if (now - state.lastResizeAt < settings.cooldown().toMillis()) {
+            return;
+        }
+
+        int target = current;
+        if (current > max || current < bounds.min()) {
+            target = Math.max(bounds.min(), Math.min(max, current));
+        } else if (lag >= settings.scaleUpLag()) {
+            state.quietChecks = 0;
+            double drainSeconds = rate > 0 ? lag / rate : Double.POSITIVE_INFINITY;
+            double targetSeconds = settings.targetDrain().toMillis() / 1000.0;
+            boolean handlersSlow = handlerNanos > settings.handlerLatencyLimit().toNanos();
+            if (drainSeconds > targetSeconds && !handlersSlow) {
+                int wanted = (int) Math.ceil(current * Math.min(drainSeconds / targetSeconds, 2.0));
+                target = Math.min(max, Math.max(current + 1, wanted));
+            } else if (handlersSlow) {
+                log.debug("Listener {} lagging by {} but handlers average {} ms, not adding threads",
+                        listenerId, (long) lag, (long) (handlerNanos / 1_000_000));
+            }
+        } else if (lag <= settings.scaleDownLag()) {
+            if (++state.quietChecks >= settings.scaleDownAfter() && current > bounds.min()) {
+                target = current - 1;
+            }
+        } else {
+            state.quietChecks = 0;
+        }
+
+        if (target != current) {
+            log.info("Resizing listener {} from {} to {} consumers, lag={} rate={}/s",
+                    listenerId, current, target, (long) lag, String.format("%.1f", rate));
+            resize(container, target);
+            state.lastResizeAt = System.currentTimeMillis();
+            state.quietChecks = 0;
+        }
+    }
+
+    private void resize(ConcurrentMessageListenerContainer<?, ?> container, int concurrency) {
+        container.stop();
+        container.setConcurrency(concurrency);
+        container.start();
+    }
+
+    /**
+     * Partitions of the listener's largest topic. Partitions are assigned topic by topic, so
+     * consumers beyond that count sit idle however many topics the listener reads.
+     */
+    private int partitionCount(ConcurrentMessageListenerContainer<?, ?> container, ListenerState state, long now) {
+        String[] topics = container.getContainerProperties().getTopics();
+        if (kafkaAdmin == null || topics == null || topics.length == 0) {
+            return Integer.MAX_VALUE;
+        }
+        if (state.partitionCount > 0 && now < state.partitionCountExpiresAt) {
+            return state.partitionCount;
+        }
+        try {
+            state.partitionCount = kafkaAdmin.describeTopics(topics).values().stream()
+                    .mapToInt(description -> description.partitions().size())
+                    .max()
+                    .orElse(0);
+            state.partitionCountExpiresAt = now + PARTITION_COUNT_TTL.toMillis();
+        } catch (RuntimeException e) {
+            log.debug("Could not describe topics of listener {}", container.getListenerId(), e);
+        }
+        return state.partitionCount > 0 ? state.partitionCount : Integer.MAX_VALUE;
+    }
+
+    /**
+     * Sums a fetch manager metric over all consumers of the container; lag is reported per
+     * partition, the consumption rate per consumer.
+     */
+    private static double sum(Map<String, Map<MetricName, ? extends Metric>> metrics, String name, boolean perPartition) {
+        double total = 0;
+        for (Map<MetricName, ? extends Metric> clientMetrics : metrics.values()) {
+            for (Map.Entry<MetricName, ? extends Metric> entry : clientMetrics.entrySet()) {
+                MetricName metricName = entry.getKey();
+                if (name.equals(metricName.name())
+                        && perPartition == metricName.tags().containsKey("partition")
+                        && (perPartition || !metricName.tags().containsKey("topic"))
+                        && entry.getValue().metricValue() instanceof Number value
+                        && Double.isFinite(value.doubleValue())) {
+                    total += Math.max(0, value.doubleValue());
+                }
+            }
+        }
+        return total;
+    }
+
+    private double meanHandlerNanos(MessageListenerContainer container, ListenerState state) {
+        if (meterRegistry == null || container.getGroupId() == null) {
+            return 0;
+        }
+        long count = 0;
+        double totalNanos = 0;
+        for (Timer timer : meterRegistry.find(HANDLER_TIMER).tag("group", container.getGroupId()).timers()) {
+            count += timer.count();
+            totalNanos += timer.totalTime(TimeUnit.NANOSECONDS);
+        }
+        long samples = count - state.handlerCount;
+        double elapsed = totalNanos - state.handlerTotalNanos;
+        state.handlerCount = count;
+        state.handlerTotalNanos = totalNanos;
+        return samples > 0 ? elapsed / samples : 0;
+    }
+
+    @Override
+    public synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "kafka-concurrency-autoscaler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMs = settings.checkInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(this::checkSafely, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    private void checkSafely() {
+        try {
+            check();
+        } catch (RuntimeException e) {
+            log.error("Concurrency autoscaling check failed", e);
+        }
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return scheduler != null;
+    }
+
+    private static final class ListenerState {
+        private int quietChecks;
+        private long lastResizeAt;
+        private int partitionCount;
+        private long partitionCountExpiresAt;
+        private long handlerCount;
+        private double handlerTotalNanos;
+    }
+}
@@ -0,0 +1,45 @@
+package com.rudraksha.shopsphere.shared.kafka.concurrency;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Minimum and maximum consumer threads for a listener container.
+ */
+@Slf4j
+public record ConcurrencyBounds(int min, int max) {
+
+    public ConcurrencyBounds {
+        if (min < 1 || max < min) {
+            throw new IllegalArgumentException("Concurrency bounds must satisfy 1 <= min <= max, got " + min + "-" + max);
+        }
+    }
+
+    /**
+     * Parses comma-separated {@code listenerId:min-max} pairs, for example
+     * {@code inventory-order-events:2-12,notification-order-placed:1-4}.
+     */
+    public static Map<String, ConcurrencyBounds> parse(String config) {
+        Map<String, ConcurrencyBounds> bounds = new HashMap<>();
+        if (config == null || config.isBlank()) {
+            return bounds;
+        }
+        for (String entry : config.split(",")) {
+            String[] parts = entry.trim().split(":", 2);
+            String[] range = parts.length == 2 ? parts[1].split("-", 2) : new String[0];
+            if (range.length != 2) {
+                log.warn("Ignoring malformed concurrency bounds: {}", entry);
+                continue;
+            }
+            try {
+                bounds.put(parts[0].trim(), new ConcurrencyBounds(
+                        Integer.parseInt(range[0].trim()), Integer.parseInt(range[1].trim())));
+            } catch (IllegalArgumentException e) {
+                log.warn("Ignoring invalid concurrency bounds: {}", entry);
+            }
+        }
+        return bounds;
+    }
+}
@@ -0,0 +1,141 @@
+package com.rudraksha.shopsphere.shared.kafka.dedupe;
+
+import com.rudraksha.shopsphere.shared.utils.BloomFilter;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.kafka.listener.ConsumerAwareRebalanceListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Detects redelivered events by {@code EventEnvelope.eventId}.
+ * <p>
+ * Ids processed on this instance are answered from memory: an LRU of exact ids for recent
+ * events, behind a Bloom filter covering a much larger window. Ids the Bloom filter has never
+ * seen are new, except shortly after partitions are assigned, when the replayed records may
+ * have been processed by the previous owner; during that window, and for Bloom filter hits
+ * that fell out of the LRU, the {@link ProcessedEventStore} is queried once per batch.
+ * Without a store only events processed on this instance are detected.
+ * <p>
+ * Marking happens after the handler succeeds, so a crash in between still redelivers the
+ * event: consumption stays at-least-once, only repeats of completed work are skipped.
+ */
+@Slf4j
+public class EventDeduplicator implements ConsumerAwareRebalanceListener {
+
+    private static final double BLOOM_FALSE_POSITIVE_RATE = 0.01;
+
+    private final ProcessedEventStore store;
+    private final int generationCapacity;
+    private final long storeCheckWindowMs;
+    private final Map<Key, Boolean> recent;
+    private BloomFilter current;
+    private BloomFilter previous;
+    private int currentInsertions;
+    private volatile long storeCheckUntil;
+
+    public EventDeduplicator(ProcessedEventStore store, int bloomCapacity, int lruSize, long storeCheckWindowMs) {
+        if (bloomCapacity < 2 || lruSize < 1) {
+            throw new IllegalArgumentException("Bloom capacity must be at least 2 and LRU size at least 1");
+        }
+        this.store = store;
+        this.generationCapacity = bloomCapacity / 2;
+        this.storeCheckWindowMs = storeCheckWindowMs;
+        this.recent = new LinkedHashMap<>(Math.min(lruSize, 1 << 16), 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Boolean> eldest) {
+                return size() > lruSize;
+            }
+        };
+        this.current = new BloomFilter(generationCapacity, BLOOM_FALSE_POSITIVE_RATE);
+        this.storeCheckUntil = System.currentTimeMillis() + storeCheckWindowMs;
+    }
+
+    public boolean isDuplicate(String consumer, UUID eventId) {
+        return eventId != null && !findDuplicates(consumer, List.of(eventId)).isEmpty();
+    }
+
+    /**
+     * Returns the ids that were already processed by {@code consumer}. Repeats within
+     * {@code eventIds} itself are not reported; callers keep the first occurrence.
+     */
+    public Set<UUID> findDuplicates(String consumer, Collection<UUID> eventIds) {
+        Set<UUID> duplicates = new HashSet<>();
+        List<UUID> unresolved = new ArrayList<>();
+        boolean checkStore = store != null && System.currentTimeMillis() < storeCheckUntil;
+
+        synchronized (this) {
+            for (UUID eventId : eventIds) {
+                if (eventId == null) {
+                    continue;
+                }
+                if (recent.get(new Key(consumer, eventId)) != null) {
+                    duplicates.add(eventId);
+                } else if (store != null && (checkStore || mightContain(consumer, eventId))) {
+                    unresolved.add(eventId);
+                }
+            }
+        }
+
+        if (!unresolved.isEmpty()) {
+            duplicates.addAll(store.findProcessed(consumer, unresolved));
+        }
+        return duplicates;
+    }
+
+    public void markProcessed(String consumer, UUID eventId) {
+        if (eventId != null) {
+            markProcessed(consumer, List.of(eventId));
+        }
+    }
+
+    public void markProcessed(String consumer, Collection<UUID> ids) {
+        List<UUID> eventIds = ids.stream().filter(Objects::nonNull).toList();
+        if (eventIds.isEmpty()) {
+            return;
+        }
+        if (store != null) {
+            try {
+                store.markProcessed(consumer, eventIds);
+            } catch (Exception e) {
+                log.warn("Failed to persist {} processed event ids for consumer={}", eventIds.size(), consumer, e);
+            }
+        }
+        synchronized (this) {
+            for (UUID eventId : eventIds) {
+                recent.put(new Key(consumer, eventId), Boolean.TRUE);
+                if (currentInsertions++ >= generationCapacity) {
+                    previous = current;
+                    current = new BloomFilter(generationCapacity, BLOOM_FALSE_POSITIVE_RATE);
+                    currentInsertions = 1;
+                }
+                current.put(consumer, eventId);
+            }
+        }
+    }
+
+    @Override
+    public void onPartitionsAssigned(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        if (!partitions.isEmpty()) {
+            storeCheckUntil = System.currentTimeMillis() + storeCheckWindowMs;
+            log.debug("Partitions {} assigned, checking processed events store for {} ms", partitions, storeCheckWindowMs);
+        }
+    }
+
+    private boolean mightContain(String consumer, UUID eventId) {
+        return current.mightContain(consumer, eventId)
+                || (previous != null && previous.mightContain(consumer, eventId));
+    }
+
+    private record Key(String consumer, UUID eventId) {
+    }
+}
@@ -0,0 +1,16 @@
+package com.rudraksha.shopsphere.shared.kafka.dedupe;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Durable record of the event ids each consumer has processed, shared by all instances of
+ * a service so that events replayed on another instance after a rebalance are recognised.
+ */
+public interface ProcessedEventStore {
+
+    Set<UUID> findProcessed(String consumer, Collection<UUID> eventIds);
+
+    void markProcessed(String consumer, Collection<UUID> eventIds);
+}
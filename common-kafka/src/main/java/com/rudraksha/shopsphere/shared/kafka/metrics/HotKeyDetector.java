@@ -0,0 +1,63 @@
+package com.rudraksha.shopsphere.shared.kafka.metrics;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Finds the most frequent record key over tumbling windows using the Space-Saving algorithm,
+ * so memory stays bounded by {@code capacity} however many distinct keys a topic has.
+ * Not thread-safe.
+ */
+final class HotKeyDetector {
+
+    record HotKey(String key, long count, long windowSize) {
+        double share() {
+            return windowSize == 0 ? 0 : (double) count / windowSize;
+        }
+    }
+
+    private final int capacity;
+    private final int windowSize;
+    private final Map<String, Long> counts = new HashMap<>();
+    private int seen;
+
+    HotKeyDetector(int capacity, int windowSize) {
+        this.capacity = capacity;
+        this.windowSize = windowSize;
+    }
+
+    /**
+     * Counts the key and returns the window's top key when this record closes a window,
+     * otherwise null.
+     */
+    HotKey offer(String key) {
+        if (counts.containsKey(key)) {
+            counts.merge(key, 1L, Long::sum);
+        } else if (counts.size() < capacity) {
+            counts.put(key, 1L);
+        } else {
+            Map.Entry<String, Long> min = null;
+            for (Map.Entry<String, Long> entry : counts.entrySet()) {
+                if (min == null || entry.getValue() < min.getValue()) {
+                    min = entry;
+                }
+            }
+            counts.remove(min.getKey());
+            counts.put(key, min.getValue() + 1);
+        }
+
+        if (++seen < windowSize) {
+            return null;
+        }
+        Map.Entry<String, Long> top = null;
+        for (Map.Entry<String, Long> entry : counts.entrySet()) {
+            if (top == null || entry.getValue() > top.getValue()) {
+                top = entry;
+            }
+        }
+        HotKey hotKey = new HotKey(top.getKey(), top.getValue(), seen);
+        counts.clear();
+        seen = 0;
+        return hotKey;
+    }
+}
@@ -0,0 +1,219 @@
+package com.rudraksha.shopsphere.shared.kafka.metrics;
+
+import com.rudraksha.shopsphere.shared.kafka.KafkaConfig;
+import com.rudraksha.shopsphere.shared.models.events.EventEnvelope;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.springframework.kafka.listener.BatchInterceptor;
+import org.springframework.kafka.listener.RecordInterceptor;
+import org.springframework.kafka.listener.RetryListener;
+import org.springframework.kafka.support.KafkaUtils;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Micrometer metrics for Kafka listeners, tagged by consumer group and topic:
+ * <ul>
+ *   <li>{@code shopsphere.kafka.handler.duration}: handler time histogram, per record or
+ *       per batch ({@code mode} tag) and {@code outcome}</li>
+ *   <li>{@code shopsphere.kafka.event.latency}: end-to-end latency from the envelope
+ *       timestamp, or the record timestamp for other values, to successful handling</li>
+ *   <li>{@code shopsphere.kafka.handler.errors}, {@code shopsphere.kafka.retries},
+ *       {@code shopsphere.kafka.dead.letters}: failure counts</li>
+ *   <li>{@code shopsphere.kafka.hot.key.share}: share of the last window taken by its most
+ *       frequent key; keys above the threshold are logged, since keys are too many to tag</li>
+ * </ul>
+ * Partition lag is reported by the Kafka client as {@code kafka.consumer.fetch.manager.records.lag},
+ * which Boot binds for consumer factories it manages.
+ * <p>
+ * Registered as the record and batch interceptor and as the blocking retry listener.
+ * Handler timing is kept per listener thread between {@code intercept} and {@code success}
+ * or {@code failure}.
+ */
+@Slf4j
+public class KafkaListenerMetrics implements RecordInterceptor<Object, Object>, BatchInterceptor<Object, Object>,
+        RetryListener {
+
+    private static final String UNKNOWN_GROUP = "unknown";
+
+    private final MeterRegistry registry;
+    private final int hotKeyCapacity;
+    private final int hotKeyWindow;
+    private final double hotKeyThreshold;
+    private final ThreadLocal<Long> handlerStart = new ThreadLocal<>();
+    private final Map<MeterKey, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<MeterKey, Counter> counters = new ConcurrentHashMap<>();
+    private final Map<MeterKey, HotKeyDetector> hotKeyDetectors = new ConcurrentHashMap<>();
+    private final Map<MeterKey, AtomicLong> hotKeyShares = new ConcurrentHashMap<>();
+
+    public KafkaListenerMetrics(MeterRegistry registry, int hotKeyCapacity, int hotKeyWindow, double hotKeyThreshold) {
+        this.registry = registry;
+        this.hotKeyCapacity = hotKeyCapacity;
+        this.hotKeyWindow = hotKeyWindow;
+        this.hotKeyThreshold = hotKeyThreshold;
+    }
+
+    // Record listeners
+
+    @Override
+    public ConsumerRecord<Object, Object> intercept(ConsumerRecord<Object, Object> record, Consumer<Object, Object> consumer) {
+        handlerStart.set(System.nanoTime());
+        if (record.topic().contains(KafkaConfig.RETRY_SUFFIX)) {
+            counter("shopsphere.kafka.retries", currentGroupId(), record.topic(), "kind", "retry-topic").increment();
+        }
+        return record;
+    }
+
+    @Override
+    public void success(ConsumerRecord<Object, Object> record, Consumer<Object, Object> consumer) {
+        recordSuccess(currentGroupId(), record, elapsed(), "record");
+    }
+
+    @Override
+    public void failure(ConsumerRecord<Object, Object> record, Exception exception, Consumer<Object, Object> consumer) {
+        recordFailure(currentGroupId(), record.topic(), elapsed(), "record", exception);
+    }
+
+    // Batch listeners
+
+    @Override
+    public ConsumerRecords<Object, Object> intercept(ConsumerRecords<Object, Object> records, Consumer<Object, Object> consumer) {
+        handlerStart.set(System.nanoTime());
+        return records;
+    }
+
+    @Override
+    public void success(ConsumerRecords<Object, Object> records, Consumer<Object, Object> consumer) {
+        long nanos = elapsed();
+        String groupId = currentGroupId();
+        for (String topic : topics(records)) {
+            timer("shopsphere.kafka.handler.duration", groupId, topic, "batch", "success").record(nanos, TimeUnit.NANOSECONDS);
+        }
+        for (ConsumerRecord<Object, Object> record : records) {
+            recordLatency(groupId, record);
+        }
+    }
+
+    @Override
+    public void failure(ConsumerRecords<Object, Object> records, Exception exception, Consumer<Object, Object> consumer) {
+        long nanos = elapsed();
+        String groupId = currentGroupId();
+        for (String topic : topics(records)) {
+            recordFailure(groupId, topic, nanos, "batch", exception);
+        }
+    }
+
+    // Blocking retries and dead letters from the container error handler
+
+    @Override
+    public void failedDelivery(ConsumerRecord<?, ?> record, Exception ex, int deliveryAttempt) {
+        counter("shopsphere.kafka.retries", currentGroupId(), record.topic(), "kind", "blocking").increment();
+    }
+
+    @Override
+    public void recovered(ConsumerRecord<?, ?> record, Exception ex) {
+        counter("shopsphere.kafka.dead.letters", currentGroupId(), record.topic(), "source", "error-handler").increment();
+    }
+
+    // Handlers run outside the listener thread, see KeyOrderedDispatcher
+
+    public void recordSuccess(String groupId, ConsumerRecord<?, ?> record, long handlerNanos, String mode) {
+        timer("shopsphere.kafka.handler.duration", groupId, record.topic(), mode, "success")
+                .record(handlerNanos, TimeUnit.NANOSECONDS);
+        recordLatency(groupId, record);
+    }
+
+    public void recordFailure(String groupId, String topic, long handlerNanos, String mode, Throwable exception) {
+        timer("shopsphere.kafka.handler.duration", groupId, topic, mode, "failure")
+                .record(handlerNanos, TimeUnit.NANOSECONDS);
+        counter("shopsphere.kafka.handler.errors", groupId, topic, "exception", exception.getClass().getSimpleName()).increment();
+    }
+
+    public void recordDeadLettered(String groupId, ConsumerRecord<?, ?> record) {
+        counter("shopsphere.kafka.dead.letters", groupId, record.topic(), "source", "dispatcher").increment();
+    }
+
+    public static String currentGroupId() {
+        String groupId = KafkaUtils.getConsumerGroupId();
+        return groupId != null ? groupId : UNKNOWN_GROUP;
+    }
+
+    private void recordLatency(String groupId, ConsumerRecord<?, ?> record) {
+        long producedAt = record.value() instanceof EventEnvelope<?> envelope && envelope.getTimestamp() != null
+                ? envelope.getTimestamp().toEpochMilli()
+                : record.timestamp();
+        if (producedAt > 0) {
+            timer("shopsphere.kafka.event.latency", groupId, record.topic(), null, null)
+                    .record(Math.max(0, System.currentTimeMillis() - producedAt), TimeUnit.MILLISECONDS);
+        }
+        if (record.key() != null) {
+            trackKey(groupId, record.topic(), record.key().toString());
+        }
+    }
+
+    private void trackKey(String groupId, String topic, String key) {
+        MeterKey meterKey = new MeterKey("shopsphere.kafka.hot.key.share", groupId, topic, null, null, null);
+        HotKeyDetector detector = hotKeyDetectors.computeIfAbsent(meterKey, k -> {
+            AtomicLong share = new AtomicLong();
+            hotKeyShares.put(k, share);
+            registry.gauge(k.name(), k.tags(), share, value -> value.get() / 10_000.0);
+            return new HotKeyDetector(hotKeyCapacity, hotKeyWindow);
+        });
+
+        HotKeyDetector.HotKey hotKey;
+        synchronized (detector) {
+            hotKey = detector.offer(key);
+        }
+        if (hotKey != null) {
+            hotKeyShares.get(meterKey).set(Math.round(hotKey.share() * 10_000));
+            if (hotKey.share() >= hotKeyThreshold) {
+                log.warn("Hot key {} took {} of the last {} records on topic={} for group={}",
+                        hotKey.key(), hotKey.count(), hotKey.windowSize(), topic, groupId);
+            }
+        }
+    }
+
+    private Timer timer(String name, String groupId, String topic, String mode, String outcome) {
+        return timers.computeIfAbsent(new MeterKey(name, groupId, topic, mode != null ? "mode" : null, mode, outcome),
+                key -> Timer.builder(name)
+                .tags(key.tags())
+                .publishPercentileHistogram()
+                .maximumExpectedValue(Duration.ofMinutes(10))
+                .register(registry));
+    }
+
+    private Counter counter(String name, String groupId, String topic, String tagKey, String tagValue) {
+        return counters.computeIfAbsent(new MeterKey(name, groupId, topic, tagKey, tagValue, null),
+                key -> Counter.builder(name).tags(key.tags()).register(registry));
+    }
+
+    private long elapsed() {
+        Long start = handlerStart.get();
+        handlerStart.remove();
+        return start != null ? System.nanoTime() - start : 0;
+    }
+
+    private static Iterable<String> topics(ConsumerRecords<Object, Object> records) {
+        return records.partitions().stream().map(partition -> partition.topic()).distinct().toList();
+    }
+
+    private record MeterKey(String name, String groupId, String topic, String tagKey, String tagValue, String outcome) {
+        Tags tags() {
+            Tags tags = Tags.of("group", groupId, "topic", topic);
+            if (tagKey != null) {
+                tags = tags.and(tagKey, tagValue);
+            }
+            return outcome != null ? tags.and("outcome", outcome) : tags;
+        }
+    }
+}
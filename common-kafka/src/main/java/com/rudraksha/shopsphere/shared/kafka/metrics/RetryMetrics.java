@@ -0,0 +1,49 @@
+package com.rudraksha.shopsphere.shared.kafka.metrics;
+
+import com.rudraksha.shopsphere.shared.utils.RetryUtil;
+import com.rudraksha.shopsphere.shared.utils.RetryUtil.RetryStats;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Publishes the {@link RetryStats} that {@link RetryUtil} keeps per dependency as function
+ * counters tagged {@code dependency}:
+ * <ul>
+ *   <li>{@code shopsphere.retry.attempts}: attempts made, first tries included</li>
+ *   <li>{@code shopsphere.retry.retries}: attempts after the first</li>
+ *   <li>{@code shopsphere.retry.exhausted}: calls failed after their last allowed attempt</li>
+ *   <li>{@code shopsphere.retry.budget.rejected}: calls failed because the retry budget was empty</li>
+ * </ul>
+ * Dependencies first used after binding are registered as they appear.
+ */
+public class RetryMetrics implements MeterBinder {
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        RetryUtil.onStats((dependency, stats) -> register(registry, dependency, stats));
+    }
+
+    private static void register(MeterRegistry registry, String dependency, RetryStats stats) {
+        Tags tags = Tags.of("dependency", dependency);
+        counter(registry, "shopsphere.retry.attempts", "Attempts made, first tries included",
+                tags, stats, RetryStats::attempts);
+        counter(registry, "shopsphere.retry.retries", "Attempts after the first",
+                tags, stats, RetryStats::retries);
+        counter(registry, "shopsphere.retry.exhausted", "Calls failed after their last allowed attempt",
+                tags, stats, RetryStats::exhausted);
+        counter(registry, "shopsphere.retry.budget.rejected", "Calls failed because the retry budget was empty",
+                tags, stats, RetryStats::budgetRejected);
+    }
+
+    private static void counter(MeterRegistry registry, String name, String description, Tags tags,
+                                RetryStats stats, ToDoubleFunction<RetryStats> count) {
+        FunctionCounter.builder(name, stats, count)
+                .description(description)
+                .tags(tags)
+                .register(registry);
+    }
+}
@@ -0,0 +1,200 @@
+package com.rudraksha.shopsphere.shared.kafka.serialization;
+
+import com.github.luben.zstd.Zstd;
+import com.rudraksha.shopsphere.shared.kafka.EventHeaders;
+import com.rudraksha.shopsphere.shared.models.events.EventEnvelope;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.config.ConfigException;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.apache.kafka.common.serialization.Serializer;
+
+import java.util.Map;
+
+/**
+ * Compact binary serde for {@link EventEnvelope}. Records start with a magic byte that can
+ * never begin a JSON document, so the deserializer reads both binary and legacy JSON records
+ * and consumers can be migrated before producers. Values other than envelopes are written
+ * as JSON. Binary records need {@link #SCHEMA_REGISTRY_PATH_CONFIG} on both sides; a
+ * deserializer without it still reads JSON records.
+ */
+@Slf4j
+public class BinarySerde {
+
+    public static final String SCHEMA_REGISTRY_PATH_CONFIG = "shopsphere.serde.schema-registry.path";
+    public static final String COMPRESSION_CONFIG = "shopsphere.serde.compression";
+    public static final String COMPRESSION_THRESHOLD_CONFIG = "shopsphere.serde.compression.threshold-bytes";
+
+    static final byte MAGIC = (byte) 0xB7;
+    private static final byte FORMAT_VERSION = 1;
+    private static final byte FLAG_ZSTD = 0x01;
+    private static final int HEADER_SIZE = 3;
+    private static final int DEFAULT_COMPRESSION_THRESHOLD = 1024;
+    private static final int ZSTD_LEVEL = 3;
+
+    private static final ThreadLocal<EnvelopeCodec.ByteWriter> WRITER =
+            ThreadLocal.withInitial(() -> new EnvelopeCodec.ByteWriter(1024));
+
+    private BinarySerde() {
+    }
+
+    public static boolean isBinary(byte[] data) {
+        return data != null && data.length >= HEADER_SIZE && data[0] == MAGIC;
+    }
+
+    /**
+     * The registry must be shared by every producer and consumer of the topics, so there is
+     * no local default: without {@link #SCHEMA_REGISTRY_PATH_CONFIG} there is no codec.
+     */
+    private static EnvelopeCodec createCodec(Map<String, ?> configs) {
+        Object path = configs.get(SCHEMA_REGISTRY_PATH_CONFIG);
+        if (path == null || path.toString().isBlank()) {
+            return null;
+        }
+        return new EnvelopeCodec(FileSchemaRegistry.forPath(path.toString().trim()), JsonSerde.getObjectMapper());
+    }
+
+    public static class BinarySerializer implements Serializer<Object> {
+
+        private final JsonSerde.JsonSerializer jsonSerializer = new JsonSerde.JsonSerializer();
+        private EnvelopeCodec codec;
+        private boolean zstd;
+        private int compressionThreshold = DEFAULT_COMPRESSION_THRESHOLD;
+        private ClaimCheck claimCheck;
+
+        @Override
+        public void configure(Map<String, ?> configs, boolean isKey) {
+            codec = createCodec(configs);
+            if (codec == null) {
+                throw new ConfigException(SCHEMA_REGISTRY_PATH_CONFIG, null,
+                        "Binary serialization needs a schema registry shared with the consumers");
+            }
+            zstd = "zstd".equalsIgnoreCase(String.valueOf(configs.get(COMPRESSION_CONFIG)));
+            Object threshold = configs.get(COMPRESSION_THRESHOLD_CONFIG);
+            if (threshold != null) {
+                compressionThreshold = Integer.parseInt(threshold.toString());
+            }
+            jsonSerializer.configure(configs, isKey);
+            claimCheck = jsonSerializer.claimCheck();
+        }
+
+        @Override
+        public byte[] serialize(String topic, Object data) {
+            if (!(data instanceof EventEnvelope<?> envelope)
+                    || envelope.getEventId() == null || envelope.getTimestamp() == null) {
+                return jsonSerializer.serialize(topic, data);
+            }
+            if (codec == null) {
+                throw new IllegalStateException("BinarySerializer has not been configured");
+            }
+            try {
+                EnvelopeCodec.ByteWriter body = WRITER.get();
+                body.reset();
+                codec.encode(envelope, body);
+                return frame(body);
+            } catch (Exception e) {
+                log.error("Error serializing event envelope for topic={}", topic, e);
+                throw new SerializationException("Error serializing event envelope", e);
+            }
+        }
+
+        private byte[] frame(EnvelopeCodec.ByteWriter body) {
+            if (zstd && body.size() >= compressionThreshold) {
+                byte[] compressed = Zstd.compress(body.toByteArray(), ZSTD_LEVEL);
+                if (compressed.length < body.size()) {
+                    EnvelopeCodec.ByteWriter out = new EnvelopeCodec.ByteWriter(compressed.length + 16);
+                    out.writeByte(MAGIC);
+                    out.writeByte(FORMAT_VERSION);
+                    out.writeByte(FLAG_ZSTD);
+                    out.writeVarLong(body.size());
+                    out.writeRaw(compressed, 0, compressed.length);
+                    return out.toByteArray();
+                }
+            }
+            byte[] record = new byte[HEADER_SIZE + body.size()];
+            record[0] = MAGIC;
+            record[1] = FORMAT_VERSION;
+            record[2] = 0;
+            System.arraycopy(body.buffer(), 0, record, HEADER_SIZE, body.size());
+            return record;
+        }
+
+        @Override
+        public byte[] serialize(String topic, Headers headers, Object data) {
+            JsonSerde.addTypeHeaders(headers, data, jsonSerializer.aliases());
+            return JsonSerde.claimCheck(claimCheck, topic, headers, data, serialize(topic, data), this);
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    public static class BinaryDeserializer implements Deserializer<Object> {
+
+        private final JsonSerde.JsonDeserializer jsonDeserializer = new JsonSerde.JsonDeserializer();
+        private EnvelopeCodec codec;
+
+        @Override
+        public void configure(Map<String, ?> configs, boolean isKey) {
+            codec = createCodec(configs);
+            jsonDeserializer.configure(configs, isKey);
+        }
+
+        @Override
+        public Object deserialize(String topic, byte[] data) {
+            if (!isBinary(data)) {
+                return jsonDeserializer.deserialize(topic, data);
+            }
+            return decode(topic, data);
+        }
+
+        /**
+         * Binary envelopes decode with map payloads; when a payload type mapping is configured
+         * for the event type, the payload is converted to that class as the JSON path would bind it.
+         */
+        @Override
+        public Object deserialize(String topic, Headers headers, byte[] data) {
+            if (!jsonDeserializer.accepts(headers)) {
+                return null;
+            }
+            if (!isBinary(data)) {
+                return jsonDeserializer.deserialize(topic, headers, data);
+            }
+            EventEnvelope<Object> envelope = decode(topic, data);
+            return JsonSerde.headerValue(headers, EventHeaders.CLAIM_CHECK) != null
+                    ? jsonDeserializer.checkOut(topic, envelope)
+                    : jsonDeserializer.bindPayload(envelope);
+        }
+
+        private EventEnvelope<Object> decode(String topic, byte[] data) {
+            if (codec == null) {
+                throw new SerializationException("Binary event on topic=" + topic
+                        + " but no schema registry is configured in " + SCHEMA_REGISTRY_PATH_CONFIG);
+            }
+            try {
+                if (data[1] != FORMAT_VERSION) {
+                    throw new SerializationException("Unsupported binary event format version " + data[1]);
+                }
+                EnvelopeCodec.ByteReader reader = new EnvelopeCodec.ByteReader(data, HEADER_SIZE);
+                if ((data[2] & FLAG_ZSTD) != 0) {
+                    int originalSize = (int) reader.readVarLong();
+                    byte[] compressed = reader.readRemaining();
+                    reader = new EnvelopeCodec.ByteReader(Zstd.decompress(compressed, originalSize), 0);
+                }
+                return codec.decode(reader);
+            } catch (SerializationException e) {
+                log.error("Error deserializing binary event from topic={}", topic, e);
+                throw e;
+            } catch (Exception e) {
+                log.error("Error deserializing binary event from topic={}", topic, e);
+                throw new SerializationException("Error deserializing binary event", e);
+            }
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
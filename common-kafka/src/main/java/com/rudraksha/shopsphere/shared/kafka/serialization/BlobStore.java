@@ -0,0 +1,30 @@
+package com.rudraksha.shopsphere.shared.kafka.serialization;
+
+import org.apache.kafka.common.Configurable;
+
+import java.util.Map;
+
+/**
+ * Storage for claim-checked event payloads, addressed by the SHA-256 of their content.
+ * Implementations are created by the serdes from {@link JsonSerde#CLAIM_CHECK_STORE_CONFIG}
+ * and receive the serde configs; they must be readable by every consumer of the topics
+ * written through them, and expire blobs after {@link JsonSerde#CLAIM_CHECK_RETENTION_CONFIG},
+ * by themselves or through the lifecycle rules of the underlying storage.
+ */
+public interface BlobStore extends Configurable {
+
+    /**
+     * Stores {@code data} under {@code key}. Keys are content hashes, so storing an existing
+     * key again may be skipped.
+     */
+    void put(String key, byte[] data);
+
+    /**
+     * Returns the blob stored under {@code key}, or null when there is none.
+     */
+    byte[] get(String key);
+
+    @Override
+    default void configure(Map<String, ?> configs) {
+    }
+}
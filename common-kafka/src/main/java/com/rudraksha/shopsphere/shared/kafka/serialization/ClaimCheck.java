@@ -0,0 +1,135 @@
+package com.rudraksha.shopsphere.shared.kafka.serialization;
+
+import com.rudraksha.shopsphere.shared.kafka.EventHeaders;
+import com.rudraksha.shopsphere.shared.models.events.EventEnvelope;
+import org.apache.kafka.common.config.ConfigException;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Headers;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+
+/**
+ * Claim-check handling shared by the serdes. Oversized envelope payloads are moved to a
+ * {@link BlobStore} and replaced by a {@link Reference} holding their hash and size; the
+ * envelope itself, and with it the event id, type and timestamp, stays on the topic.
+ * The {@link EventHeaders#CLAIM_CHECK} header marks such records so deserializers know to
+ * fetch the payload back.
+ */
+final class ClaimCheck {
+
+    private static final HexFormat HEX = HexFormat.of();
+
+    private final BlobStore store;
+    private final int thresholdBytes;
+
+    private ClaimCheck(BlobStore store, int thresholdBytes) {
+        this.store = store;
+        this.thresholdBytes = thresholdBytes;
+    }
+
+    /**
+     * Returns null when no store is configured, which is fine for services that neither
+     * offload nor read claim-checked records. Offloading requires an explicitly configured
+     * store, which must be shared with the consumers, and a retention for its blobs.
+     */
+    static ClaimCheck fromConfigs(Map<String, ?> configs) {
+        String threshold = stringConfig(configs, JsonSerde.CLAIM_CHECK_THRESHOLD_CONFIG);
+        int thresholdBytes = threshold != null ? Integer.parseInt(threshold) : 0;
+        boolean storeConfigured = stringConfig(configs, JsonSerde.CLAIM_CHECK_STORE_CONFIG) != null
+                || stringConfig(configs, JsonSerde.CLAIM_CHECK_PATH_CONFIG) != null;
+        if (!storeConfigured) {
+            if (thresholdBytes > 0) {
+                throw new ConfigException(JsonSerde.CLAIM_CHECK_PATH_CONFIG, null,
+                        "Claim-check offloading needs a blob store shared with the consumers");
+            }
+            return null;
+        }
+        if (thresholdBytes > 0 && stringConfig(configs, JsonSerde.CLAIM_CHECK_RETENTION_CONFIG) == null) {
+            throw new ConfigException(JsonSerde.CLAIM_CHECK_RETENTION_CONFIG, null,
+                    "Claim-check offloading needs a retention for the stored payloads");
+        }
+        return new ClaimCheck(createStore(configs), thresholdBytes);
+    }
+
+    private static String stringConfig(Map<String, ?> configs, String name) {
+        Object value = configs.get(name);
+        return value != null && !value.toString().isBlank() ? value.toString().trim() : null;
+    }
+
+    private static BlobStore createStore(Map<String, ?> configs) {
+        String storeClass = stringConfig(configs, JsonSerde.CLAIM_CHECK_STORE_CONFIG);
+        BlobStore store;
+        if (storeClass == null) {
+            store = new FileBlobStore();
+        } else {
+            try {
+                store = (BlobStore) Class.forName(storeClass).getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException | ClassCastException e) {
+                throw new IllegalArgumentException("Cannot create claim-check blob store " + storeClass, e);
+            }
+        }
+        store.configure(configs);
+        return store;
+    }
+
+    /**
+     * True when a record of {@code serializedSize} bytes should have its payload offloaded.
+     */
+    boolean offloads(EventEnvelope<?> envelope, int serializedSize) {
+        return thresholdBytes > 0 && serializedSize > thresholdBytes
+                && envelope.getPayload() != null && !(envelope.getPayload() instanceof Reference);
+    }
+
+    /**
+     * Stores the serialized payload and returns a copy of the envelope referencing it,
+     * marking the record headers accordingly.
+     */
+    EventEnvelope<Reference> checkIn(EventEnvelope<?> envelope, byte[] payload, Headers headers) {
+        String sha256 = sha256(payload);
+        store.put(sha256, payload);
+        if (headers != null) {
+            headers.remove(EventHeaders.CLAIM_CHECK);
+            headers.add(EventHeaders.CLAIM_CHECK, sha256.getBytes(StandardCharsets.UTF_8));
+        }
+        return EventEnvelope.<Reference>builder()
+                .eventId(envelope.getEventId())
+                .eventType(envelope.getEventType())
+                .timestamp(envelope.getTimestamp())
+                .schemaVersion(envelope.getSchemaVersion())
+                .payload(new Reference(sha256, payload.length))
+                .build();
+    }
+
+    /**
+     * Fetches the payload behind {@code reference} and verifies it against the recorded size
+     * and hash, so a truncated or replaced blob fails deserialization instead of reaching the handler.
+     */
+    byte[] checkOut(Reference reference) {
+        if (reference == null || reference.sha256() == null) {
+            throw new SerializationException("Claim-checked record has no payload reference");
+        }
+        byte[] payload = store.get(reference.sha256());
+        if (payload == null) {
+            throw new SerializationException("Claim-checked payload " + reference.sha256() + " not found");
+        }
+        if (payload.length != reference.size() || !sha256(payload).equals(reference.sha256())) {
+            throw new SerializationException("Claim-checked payload " + reference.sha256() + " failed verification");
+        }
+        return payload;
+    }
+
+    private static String sha256(byte[] data) {
+        try {
+            return HEX.formatHex(MessageDigest.getInstance("SHA-256").digest(data));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    record Reference(String sha256, long size) {
+    }
+}
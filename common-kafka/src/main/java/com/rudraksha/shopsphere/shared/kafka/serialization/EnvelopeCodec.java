@@ -0,0 +1,397 @@
+package com.rudraksha.shopsphere.shared.kafka.serialization;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rudraksha.shopsphere.shared.models.events.EventEnvelope;
+import org.apache.kafka.common.errors.SerializationException;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Binary body layout for {@link EventEnvelope}:
+ * <pre>
+ * varint schemaId | int64 eventId msb | int64 eventId lsb | zigzag epochSecond | varint nanos
+ * | byte payloadKind | payload
+ * </pre>
+ * Map payloads with string keys are written positionally against the schema's field list;
+ * any other payload is written as a single tagged value. Decoded values mirror what the
+ * JSON serde yields (UUIDs and dates come back as strings, integers as Integer or Long),
+ * so handlers behave the same whichever format a record was written in.
+ */
+final class EnvelopeCodec {
+
+    private static final byte PAYLOAD_SCHEMA_FIELDS = 0;
+    private static final byte PAYLOAD_VALUE = 1;
+
+    private static final byte TAG_NULL = 0;
+    private static final byte TAG_STRING = 1;
+    private static final byte TAG_TRUE = 2;
+    private static final byte TAG_FALSE = 3;
+    private static final byte TAG_INTEGER = 4;
+    private static final byte TAG_DOUBLE = 5;
+    private static final byte TAG_DECIMAL = 6;
+    private static final byte TAG_UUID = 7;
+    private static final byte TAG_LIST = 8;
+    private static final byte TAG_MAP = 9;
+
+    private final FileSchemaRegistry schemaRegistry;
+    private final ObjectMapper objectMapper;
+
+    EnvelopeCodec(FileSchemaRegistry schemaRegistry, ObjectMapper objectMapper) {
+        this.schemaRegistry = schemaRegistry;
+        this.objectMapper = objectMapper;
+    }
+
+    void encode(EventEnvelope<?> envelope, ByteWriter out) {
+        Object payload = envelope.getPayload();
+        Map<String, Object> fieldValues = asStringKeyedMap(payload);
+        List<String> fields = fieldValues != null ? sortedKeys(fieldValues) : List.of();
+        EventSchema schema = schemaRegistry.getOrRegister(
+                new EventSchema.Key(envelope.getEventType(), envelope.getSchemaVersion(), fields));
+
+        out.writeVarLong(schema.id());
+        out.writeLong(envelope.getEventId().getMostSignificantBits());
+        out.writeLong(envelope.getEventId().getLeastSignificantBits());
+        out.writeZigZag(envelope.getTimestamp().getEpochSecond());
+        out.writeVarLong(envelope.getTimestamp().getNano());
+
+        if (fieldValues != null) {
+            out.writeByte(PAYLOAD_SCHEMA_FIELDS);
+            for (String field : schema.fields()) {
+                writeValue(fieldValues.get(field), out);
+            }
+        } else {
+            out.writeByte(PAYLOAD_VALUE);
+            writeValue(payload, out);
+        }
+    }
+
+    EventEnvelope<Object> decode(ByteReader in) {
+        EventSchema schema = schemaRegistry.getById((int) in.readVarLong());
+        UUID eventId = new UUID(in.readLong(), in.readLong());
+        Instant timestamp = Instant.ofEpochSecond(in.readZigZag(), in.readVarLong());
+
+        Object payload;
+        byte payloadKind = in.readByte();
+        if (payloadKind == PAYLOAD_SCHEMA_FIELDS) {
+            Map<String, Object> fieldValues = new LinkedHashMap<>();
+            for (String field : schema.fields()) {
+                fieldValues.put(field, readValue(in));
+            }
+            payload = fieldValues;
+        } else if (payloadKind == PAYLOAD_VALUE) {
+            payload = readValue(in);
+        } else {
+            throw new SerializationException("Unknown payload kind " + payloadKind);
+        }
+
+        return EventEnvelope.builder()
+                .eventId(eventId)
+                .eventType(schema.eventType())
+                .timestamp(timestamp)
+                .schemaVersion(schema.version())
+                .payload(payload)
+                .build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> asStringKeyedMap(Object payload) {
+        if (!(payload instanceof Map<?, ?> map)) {
+            return null;
+        }
+        for (Object key : map.keySet()) {
+            if (!(key instanceof String)) {
+                return null;
+            }
+        }
+        return (Map<String, Object>) map;
+    }
+
+    private static List<String> sortedKeys(Map<String, Object> map) {
+        String[] keys = map.keySet().toArray(new String[0]);
+        Arrays.sort(keys);
+        return Arrays.asList(keys);
+    }
+
+    private void writeValue(Object value, ByteWriter out) {
+        if (value == null) {
+            out.writeByte(TAG_NULL);
+        } else if (value instanceof String s) {
+            out.writeByte(TAG_STRING);
+            out.writeString(s);
+        } else if (value instanceof Boolean b) {
+            out.writeByte(b ? TAG_TRUE : TAG_FALSE);
+        } else if (value instanceof Integer || value instanceof Long
+                || value instanceof Short || value instanceof Byte) {
+            out.writeByte(TAG_INTEGER);
+            out.writeZigZag(((Number) value).longValue());
+        } else if (value instanceof Double || value instanceof Float) {
+            out.writeByte(TAG_DOUBLE);
+            out.writeLong(Double.doubleToRawLongBits(((Number) value).doubleValue()));
+        } else if (value instanceof BigDecimal d) {
+            writeDecimal(d, out);
+        } else if (value instanceof UUID uuid) {
+            out.writeByte(TAG_UUID);
+            out.writeLong(uuid.getMostSignificantBits());
+            out.writeLong(uuid.getLeastSignificantBits());
+        } else if (value instanceof Enum<?> e) {
+            out.writeByte(TAG_STRING);
+            out.writeString(e.name());
+        } else if (value instanceof Map<?, ?> map) {
+            out.writeByte(TAG_MAP);
+            out.writeVarLong(map.size());
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                out.writeString(String.valueOf(entry.getKey()));
+                writeValue(entry.getValue(), out);
+            }
+        } else if (value instanceof Collection<?> collection) {
+            out.writeByte(TAG_LIST);
+            out.writeVarLong(collection.size());
+            for (Object element : collection) {
+                writeValue(element, out);
+            }
+        } else if (value instanceof Object[] array) {
+            writeValue(Arrays.asList(array), out);
+        } else {
+            // Dates, POJOs and anything else take the same shape the JSON serde gives them.
+            writeNode(objectMapper.valueToTree(value), out);
+        }
+    }
+
+    private void writeNode(JsonNode node, ByteWriter out) {
+        if (node == null || node.isNull() || node.isMissingNode()) {
+            out.writeByte(TAG_NULL);
+        } else if (node.isTextual()) {
+            out.writeByte(TAG_STRING);
+            out.writeString(node.textValue());
+        } else if (node.isBoolean()) {
+            out.writeByte(node.booleanValue() ? TAG_TRUE : TAG_FALSE);
+        } else if (node.isIntegralNumber() && node.canConvertToLong()) {
+            out.writeByte(TAG_INTEGER);
+            out.writeZigZag(node.longValue());
+        } else if (node.isBigDecimal() || node.isBigInteger()) {
+            writeDecimal(node.decimalValue(), out);
+        } else if (node.isNumber()) {
+            out.writeByte(TAG_DOUBLE);
+            out.writeLong(Double.doubleToRawLongBits(node.doubleValue()));
+        } else if (node.isArray()) {
+            out.writeByte(TAG_LIST);
+            out.writeVarLong(node.size());
+            for (JsonNode element : node) {
+                writeNode(element, out);
+            }
+        } else if (node.isObject()) {
+            out.writeByte(TAG_MAP);
+            out.writeVarLong(node.size());
+            Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                out.writeString(field.getKey());
+                writeNode(field.getValue(), out);
+            }
+        } else {
+            out.writeByte(TAG_STRING);
+            out.writeString(node.asText());
+        }
+    }
+
+    private static void writeDecimal(BigDecimal value, ByteWriter out) {
+        out.writeByte(TAG_DECIMAL);
+        out.writeZigZag(value.scale());
+        out.writeBytes(value.unscaledValue().toByteArray());
+    }
+
+    private Object readValue(ByteReader in) {
+        byte tag = in.readByte();
+        return switch (tag) {
+            case TAG_NULL -> null;
+            case TAG_STRING -> in.readString();
+            case TAG_TRUE -> Boolean.TRUE;
+            case TAG_FALSE -> Boolean.FALSE;
+            case TAG_INTEGER -> {
+                long value = in.readZigZag();
+                yield value == (int) value ? Integer.valueOf((int) value) : Long.valueOf(value);
+            }
+            case TAG_DOUBLE -> Double.longBitsToDouble(in.readLong());
+            case TAG_DECIMAL -> {
+                int scale = (int) in.readZigZag();
+                yield new BigDecimal(new BigInteger(in.readBytes()), scale);
+            }
+            case TAG_UUID -> new UUID(in.readLong(), in.readLong()).toString();
+            case TAG_LIST -> {
+                int size = (int) in.readVarLong();
+                List<Object> list = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    list.add(readValue(in));
+                }
+                yield list;
+            }
+            case TAG_MAP -> {
+                int size = (int) in.readVarLong();
+                Map<String, Object> map = new LinkedHashMap<>();
+                for (int i = 0; i < size; i++) {
+                    String key = in.readString();
+                    map.put(key, readValue(in));
+                }
+                yield map;
+            }
+            default -> throw new SerializationException("Unknown value tag " + tag);
+        };
+    }
+
+    /**
+     * Growable output buffer, reused per thread by the serializer.
+     */
+    static final class ByteWriter {
+
+        private byte[] buffer;
+        private int position;
+
+        ByteWriter(int initialCapacity) {
+            this.buffer = new byte[initialCapacity];
+        }
+
+        void reset() {
+            position = 0;
+        }
+
+        int size() {
+            return position;
+        }
+
+        byte[] buffer() {
+            return buffer;
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, position);
+        }
+
+        void writeByte(int value) {
+            ensureCapacity(1);
+            buffer[position++] = (byte) value;
+        }
+
+        void writeBytes(byte[] bytes) {
+            writeVarLong(bytes.length);
+            writeRaw(bytes, 0, bytes.length);
+        }
+
+        void writeRaw(byte[] bytes, int offset, int length) {
+            ensureCapacity(length);
+            System.arraycopy(bytes, offset, buffer, position, length);
+            position += length;
+        }
+
+        void writeLong(long value) {
+            ensureCapacity(8);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                buffer[position++] = (byte) (value >>> shift);
+            }
+        }
+
+        void writeVarLong(long value) {
+            ensureCapacity(10);
+            while ((value & ~0x7FL) != 0) {
+                buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[position++] = (byte) value;
+        }
+
+        void writeZigZag(long value) {
+            writeVarLong((value << 1) ^ (value >> 63));
+        }
+
+        void writeString(String value) {
+            writeBytes(value.getBytes(StandardCharsets.UTF_8));
+        }
+
+        private void ensureCapacity(int extra) {
+            if (position + extra > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + extra));
+            }
+        }
+    }
+
+    static final class ByteReader {
+
+        private final byte[] data;
+        private int position;
+
+        ByteReader(byte[] data, int offset) {
+            this.data = data;
+            this.position = offset;
+        }
+
+        byte readByte() {
+            checkAvailable(1);
+            return data[position++];
+        }
+
+        byte[] readBytes() {
+            int length = (int) readVarLong();
+            checkAvailable(length);
+            byte[] bytes = Arrays.copyOfRange(data, position, position + length);
+            position += length;
+            return bytes;
+        }
+
+        byte[] readRemaining() {
+            byte[] bytes = Arrays.copyOfRange(data, position, data.length);
+            position = data.length;
+            return bytes;
+        }
+
+        long readLong() {
+            checkAvailable(8);
+            long value = 0;
+            for (int i = 0; i < 8; i++) {
+                value = (value << 8) | (data[position++] & 0xFF);
+            }
+            return value;
+        }
+
+        long readVarLong() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = readByte();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new SerializationException("Malformed varint");
+        }
+
+        long readZigZag() {
+            long value = readVarLong();
+            return (value >>> 1) ^ -(value & 1);
+        }
+
+        String readString() {
+            int length = (int) readVarLong();
+            checkAvailable(length);
+            String value = new String(data, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+
+        private void checkAvailable(int length) {
+            if (length < 0 || position + length > data.length) {
+                throw new SerializationException("Truncated binary event record");
+            }
+        }
+    }
+}
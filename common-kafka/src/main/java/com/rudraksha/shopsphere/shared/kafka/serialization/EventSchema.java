@@ -0,0 +1,24 @@
+package com.rudraksha.shopsphere.shared.kafka.serialization;
+
+import com.rudraksha.shopsphere.shared.models.enums.EventType;
+import com.rudraksha.shopsphere.shared.models.events.SchemaVersion;
+
+import java.util.List;
+
+/**
+ * Field layout of an event payload for one event type and schema version. Binary records
+ * carry only the schema ID and write payload values positionally in {@link #fields()} order.
+ */
+public record EventSchema(int id, EventType eventType, SchemaVersion version, List<String> fields) {
+
+    public EventSchema {
+        fields = List.copyOf(fields);
+    }
+
+    Key key() {
+        return new Key(eventType, version, fields);
+    }
+
+    record Key(EventType eventType, SchemaVersion version, List<String> fields) {
+    }
+}
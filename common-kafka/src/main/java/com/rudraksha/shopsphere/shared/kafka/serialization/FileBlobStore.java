@@ -0,0 +1,160 @@
+package com.rudraksha.shopsphere.shared.kafka.serialization;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.config.ConfigException;
+import org.apache.kafka.common.errors.SerializationException;
+
+import java.io.IOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Local stand-in for an object store: one file per blob under a directory that producers and
+ * consumers must share, for example a mounted volume, fanned out by the first two characters
+ * of the key. Blobs are written to a temporary file and moved into place, so readers never
+ * see a partial blob.
+ * <p>
+ * With {@link JsonSerde#CLAIM_CHECK_RETENTION_CONFIG} set, blobs not written for that long
+ * are deleted by a sweep that writers run at most every tenth of the retention, capped at an
+ * hour. Storing an existing blob again renews it.
+ */
+@Slf4j
+public class FileBlobStore implements BlobStore {
+
+    private static final long MAX_SWEEP_INTERVAL_MS = Duration.ofHours(1).toMillis();
+
+    private final AtomicLong nextSweepAt = new AtomicLong();
+    private Path root;
+    private long retentionMs;
+
+    public FileBlobStore() {
+    }
+
+    public FileBlobStore(Path root, Duration retention) {
+        this.root = root.toAbsolutePath();
+        this.retentionMs = retention != null ? retention.toMillis() : 0;
+    }
+
+    @Override
+    public void configure(Map<String, ?> configs) {
+        Object path = configs.get(JsonSerde.CLAIM_CHECK_PATH_CONFIG);
+        if (path != null && !path.toString().isBlank()) {
+            root = Paths.get(path.toString().trim()).toAbsolutePath();
+        }
+        if (root == null) {
+            throw new ConfigException(JsonSerde.CLAIM_CHECK_PATH_CONFIG, null,
+                    "FileBlobStore needs a directory shared by producers and consumers");
+        }
+        Object retention = configs.get(JsonSerde.CLAIM_CHECK_RETENTION_CONFIG);
+        if (retention != null && !retention.toString().isBlank()) {
+            retentionMs = Long.parseLong(retention.toString().trim());
+        }
+    }
+
+    @Override
+    public void put(String key, byte[] data) {
+        Path target = pathFor(key);
+        sweepIfDue();
+        if (Files.exists(target)) {
+            renew(target);
+            return;
+        }
+        Path temp = null;
+        try {
+            Files.createDirectories(target.getParent());
+            temp = Files.createTempFile(target.getParent(), key, ".tmp");
+            Files.write(temp, data);
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (FileAlreadyExistsException e) {
+            // Written concurrently by another producer; the content is the same.
+        } catch (IOException e) {
+            throw new SerializationException("Failed to store claim-checked payload " + key + " in " + root, e);
+        } finally {
+            deleteQuietly(temp);
+        }
+    }
+
+    @Override
+    public byte[] get(String key) {
+        try {
+            return Files.readAllBytes(pathFor(key));
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            throw new SerializationException("Failed to read claim-checked payload " + key + " from " + root, e);
+        }
+    }
+
+    /**
+     * Deletes blobs last written before the retention window, returning how many were removed.
+     */
+    public int deleteExpired() {
+        if (retentionMs <= 0 || !Files.isDirectory(root)) {
+            return 0;
+        }
+        FileTime cutoff = FileTime.fromMillis(System.currentTimeMillis() - retentionMs);
+        int deleted = 0;
+        try (Stream<Path> files = Files.walk(root, 2)) {
+            for (Path file : (Iterable<Path>) files.filter(Files::isRegularFile)::iterator) {
+                if (Files.getLastModifiedTime(file).compareTo(cutoff) < 0 && Files.deleteIfExists(file)) {
+                    deleted++;
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Claim-check cleanup of {} failed after deleting {} blobs", root, deleted, e);
+        }
+        return deleted;
+    }
+
+    private void sweepIfDue() {
+        if (retentionMs <= 0) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        long due = nextSweepAt.get();
+        if (now >= due && nextSweepAt.compareAndSet(due, now + Math.min(retentionMs / 10, MAX_SWEEP_INTERVAL_MS))) {
+            int deleted = deleteExpired();
+            if (deleted > 0) {
+                log.info("Deleted {} expired claim-checked payloads from {}", deleted, root);
+            }
+        }
+    }
+
+    private void renew(Path target) {
+        try {
+            Files.setLastModifiedTime(target, FileTime.fromMillis(System.currentTimeMillis()));
+        } catch (IOException e) {
+            throw new SerializationException("Failed to renew claim-checked payload " + target, e);
+        }
+    }
+
+    private Path pathFor(String key) {
+        if (root == null) {
+            throw new IllegalStateException("FileBlobStore has not been configured");
+        }
+        if (key.length() < 3 || !key.chars().allMatch(c -> Character.isLetterOrDigit(c) || c == '-')) {
+            throw new IllegalArgumentException("Invalid blob key: " + key);
+        }
+        return root.resolve(key.substring(0, 2)).resolve(key);
+    }
+
+    private static void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ignored) {
+            // Leftover temporary files are harmless.
+        }
+    }
+}
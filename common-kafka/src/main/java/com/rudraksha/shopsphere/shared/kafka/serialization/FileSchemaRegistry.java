@@ -0,0 +1,140 @@
+package com.rudraksha.shopsphere.shared.kafka.serialization;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.errors.SerializationException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Local stand-in for a schema registry: schemas are appended as JSON lines to a shared file.
+ * Producers and consumers that should understand each other must point at the same file,
+ * for example through a mounted volume. Writes take an exclusive and reads a shared file
+ * lock, so several processes can register schemas concurrently and never read a partly
+ * written line. File access is serialized on the instance, one per path, since a JVM cannot
+ * hold overlapping locks on the same file.
+ */
+@Slf4j
+public class FileSchemaRegistry {
+
+    private static final Map<Path, FileSchemaRegistry> REGISTRIES = new ConcurrentHashMap<>();
+
+    private final Path path;
+    private final ObjectMapper objectMapper = JsonSerde.getObjectMapper();
+    private final Map<Integer, EventSchema> schemasById = new ConcurrentHashMap<>();
+    private final Map<EventSchema.Key, EventSchema> schemasByKey = new ConcurrentHashMap<>();
+
+    FileSchemaRegistry(Path path) {
+        this.path = path;
+        reload();
+    }
+
+    public static FileSchemaRegistry forPath(String path) {
+        return REGISTRIES.computeIfAbsent(Paths.get(path).toAbsolutePath(), FileSchemaRegistry::new);
+    }
+
+    public EventSchema getOrRegister(EventSchema.Key key) {
+        EventSchema schema = schemasByKey.get(key);
+        if (schema != null) {
+            return schema;
+        }
+        synchronized (this) {
+            schema = schemasByKey.get(key);
+            return schema != null ? schema : register(key);
+        }
+    }
+
+    public EventSchema getById(int id) {
+        EventSchema schema = schemasById.get(id);
+        if (schema == null) {
+            synchronized (this) {
+                reload();
+            }
+            schema = schemasById.get(id);
+        }
+        if (schema == null) {
+            throw new SerializationException("Unknown event schema id=" + id + " in registry " + path);
+        }
+        return schema;
+    }
+
+    private EventSchema register(EventSchema.Key key) {
+        try {
+            Files.createDirectories(path.toAbsolutePath().getParent());
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+                 FileLock ignored = channel.lock()) {
+                // Another process may have registered schemas since the last read.
+                read(channel);
+                EventSchema existing = schemasByKey.get(key);
+                if (existing != null) {
+                    return existing;
+                }
+
+                int nextId = schemasById.keySet().stream().mapToInt(Integer::intValue).max().orElse(0) + 1;
+                EventSchema schema = new EventSchema(nextId, key.eventType(), key.version(), key.fields());
+                byte[] line = (objectMapper.writeValueAsString(schema) + "\n").getBytes(StandardCharsets.UTF_8);
+                channel.position(channel.size());
+                channel.write(ByteBuffer.wrap(line));
+                channel.force(false);
+
+                index(schema);
+                log.info("Registered event schema id={} for eventType={}, version={}",
+                        schema.id(), schema.eventType(), schema.version());
+                return schema;
+            }
+        } catch (IOException e) {
+            throw new SerializationException("Failed to register event schema in " + path, e);
+        }
+    }
+
+    private void reload() {
+        if (!Files.exists(path)) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+             FileLock ignored = channel.lock(0, Long.MAX_VALUE, true)) {
+            read(channel);
+        } catch (NoSuchFileException e) {
+            // Not created yet; nothing registered.
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read event schemas from " + path, e);
+        }
+    }
+
+    /**
+     * Indexes every schema in the file; the caller holds a lock on {@code channel}.
+     */
+    private void read(FileChannel channel) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(Math.toIntExact(channel.size()));
+        // Positional reads leave the channel position to the writer.
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, buffer.position()) < 0) {
+                break;
+            }
+        }
+        String content = new String(buffer.array(), 0, buffer.position(), StandardCharsets.UTF_8);
+        for (String line : content.split("\n")) {
+            if (!line.isBlank()) {
+                index(objectMapper.readValue(line, EventSchema.class));
+            }
+        }
+    }
+
+    private void index(EventSchema schema) {
+        schemasById.putIfAbsent(schema.id(), schema);
+        schemasByKey.putIfAbsent(schema.key(), schema);
+    }
+}
@@ -1,20 +1,101 @@
 package com.rudraksha.shopsphere.shared.kafka.serialization;
 
 import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.rudraksha.shopsphere.shared.kafka.EventHeaders;
+import com.rudraksha.shopsphere.shared.models.events.EventEnvelope;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Headers;
 import org.apache.kafka.common.serialization.Deserializer;
 import org.apache.kafka.common.serialization.Serializer;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 
 @Slf4j
 public class JsonSerde {
 
+    public static final String VALUE_TYPE_HEADER = "shopsphere.value-type";
+    public static final String EVENT_TYPE_HEADER = EventHeaders.EVENT_TYPE;
+
+    /**
+     * Comma-separated alias:className pairs. Serializers stamp the alias instead of the class
+     * name, deserializers resolve the alias back to their own class.
+     */
+    public static final String TYPE_MAPPINGS_CONFIG = "shopsphere.serde.type-mappings";
+
+    /**
+     * Comma-separated EventType:className pairs. Envelopes of a mapped event type are bound
+     * with their payload deserialized straight into the given class.
+     */
+    public static final String PAYLOAD_TYPE_MAPPINGS_CONFIG = "shopsphere.serde.payload-type-mappings";
+
+    /**
+     * Comma-separated EventType names. Records whose event-type header names another type are
+     * skipped before the value is parsed and surface as null; records without the header are
+     * always read. Usually set per listener through {@code @KafkaListener(properties = ...)}.
+     */
+    public static final String ACCEPTED_EVENT_TYPES_CONFIG = "shopsphere.serde.accepted-event-types";
+
+    /**
+     * Serialized size in bytes above which an envelope's payload is moved to the claim-check
+     * blob store and the record carries only its hash and size. Unset or 0 disables offloading;
+     * deserializers resolve claim-checked records either way.
+     */
+    public static final String CLAIM_CHECK_THRESHOLD_CONFIG = "shopsphere.serde.claim-check.threshold-bytes";
+
+    /**
+     * {@link BlobStore} implementation holding claim-checked payloads, {@link FileBlobStore} by default.
+     */
+    public static final String CLAIM_CHECK_STORE_CONFIG = "shopsphere.serde.claim-check.store";
+
+    /**
+     * Directory used by {@link FileBlobStore}; producers and consumers must share it, so there
+     * is no default.
+     */
+    public static final String CLAIM_CHECK_PATH_CONFIG = "shopsphere.serde.claim-check.path";
+
+    /**
+     * How long stored payloads are kept, required when offloading. Must exceed the retention of
+     * the topics referencing them, or consumers replaying old records fail to resolve them.
+     */
+    public static final String CLAIM_CHECK_RETENTION_CONFIG = "shopsphere.serde.claim-check.retention-ms";
+
+    public static final String TRUSTED_PACKAGES_CONFIG = "shopsphere.serde.trusted-packages";
+    public static final String TARGET_CLASS_CONFIG = "value.deserializer.target.class";
+
+    private static final String DEFAULT_TRUSTED_PACKAGE = "com.rudraksha.shopsphere";
     private static final ObjectMapper OBJECT_MAPPER = createObjectMapper();
 
+    private static final ClassValue<ObjectReader> READERS = new ClassValue<>() {
+        @Override
+        protected ObjectReader computeValue(Class<?> type) {
+            return OBJECT_MAPPER.readerFor(type);
+        }
+    };
+
+    /**
+     * Readers for {@code EventEnvelope<P>}, by payload class {@code P}.
+     */
+    private static final ClassValue<ObjectReader> ENVELOPE_READERS = new ClassValue<>() {
+        @Override
+        protected ObjectReader computeValue(Class<?> payloadType) {
+            return OBJECT_MAPPER.readerFor(
+                    OBJECT_MAPPER.getTypeFactory().constructParametricType(EventEnvelope.class, payloadType));
+        }
+    };
+
     private static ObjectMapper createObjectMapper() {
         ObjectMapper mapper = new ObjectMapper();
         mapper.registerModule(new JavaTimeModule());
@@ -27,10 +108,72 @@ public class JsonSerde {
         return OBJECT_MAPPER;
     }
 
+    static void addTypeHeaders(Headers headers, Object data, Map<Class<?>, String> aliases) {
+        if (headers == null || data == null) {
+            return;
+        }
+        String typeId = aliases.getOrDefault(data.getClass(), data.getClass().getName());
+        headers.remove(VALUE_TYPE_HEADER);
+        headers.add(VALUE_TYPE_HEADER, typeId.getBytes(StandardCharsets.UTF_8));
+        EventHeaders.stamp(headers, data);
+    }
+
+    /**
+     * Re-serializes an envelope whose serialized form exceeds the claim-check threshold with
+     * its payload replaced by a reference. Only oversized records pay for the extra
+     * serialization of the payload.
+     */
+    static byte[] claimCheck(ClaimCheck claimCheck, String topic, Headers headers, Object data, byte[] serialized,
+                             Serializer<Object> serializer) {
+        if (claimCheck == null || serialized == null || !(data instanceof EventEnvelope<?> envelope)
+                || !claimCheck.offloads(envelope, serialized.length)) {
+            return serialized;
+        }
+        byte[] payload;
+        try {
+            payload = OBJECT_MAPPER.writeValueAsBytes(envelope.getPayload());
+        } catch (Exception e) {
+            throw new SerializationException("Error serializing claim-checked payload", e);
+        }
+        byte[] reference = serializer.serialize(topic, claimCheck.checkIn(envelope, payload, headers));
+        log.debug("Claim-checked {} byte payload of event {} on topic={}, record is {} bytes",
+                payload.length, envelope.getEventId(), topic, reference.length);
+        return reference;
+    }
+
+    static String headerValue(Headers headers, String name) {
+        return EventHeaders.value(headers, name);
+    }
+
+    static Map<String, Class<?>> parseMappings(Object config) {
+        Map<String, Class<?>> mappings = new HashMap<>();
+        if (config == null || config.toString().isBlank()) {
+            return mappings;
+        }
+        for (String entry : config.toString().split(",")) {
+            String[] parts = entry.trim().split(":", 2);
+            if (parts.length != 2) {
+                log.warn("Ignoring malformed type mapping: {}", entry);
+                continue;
+            }
+            try {
+                mappings.put(parts[0].trim(), Class.forName(parts[1].trim()));
+            } catch (ClassNotFoundException e) {
+                log.warn("Mapped class not found: {}, ignoring mapping for {}", parts[1], parts[0]);
+            }
+        }
+        return mappings;
+    }
+
     public static class JsonSerializer implements Serializer<Object> {
 
+        private final Map<Class<?>, String> aliases = new HashMap<>();
+        private ClaimCheck claimCheck;
+
         @Override
         public void configure(Map<String, ?> configs, boolean isKey) {
+            parseMappings(configs.get(TYPE_MAPPINGS_CONFIG)).forEach((alias, type) -> aliases.put(type, alias));
+            claimCheck = ClaimCheck.fromConfigs(configs);
         }
 
         @Override
@@ -46,6 +189,20 @@ public class JsonSerde {
             }
         }
 
+        @Override
+        public byte[] serialize(String topic, Headers headers, Object data) {
+            addTypeHeaders(headers, data, aliases);
+            return JsonSerde.claimCheck(claimCheck, topic, headers, data, serialize(topic, data), this);
+        }
+
+        Map<Class<?>, String> aliases() {
+            return aliases;
+        }
+
+        ClaimCheck claimCheck() {
+            return claimCheck;
+        }
+
         @Override
         public void close() {
         }
@@ -54,10 +211,16 @@ public class JsonSerde {
     public static class JsonDeserializer implements Deserializer<Object> {
 
         private Class<?> targetType = Object.class;
+        private final Map<String, Class<?>> typeMappings = new HashMap<>();
+        private final Map<String, Class<?>> payloadTypeMappings = new HashMap<>();
+        private List<String> trustedPackages = List.of(DEFAULT_TRUSTED_PACKAGE);
+        private Set<String> acceptedEventTypes = Set.of();
+        private final Map<String, Class<?>> resolvedTypes = new ConcurrentHashMap<>();
+        private ClaimCheck claimCheck;
 
         @Override
         public void configure(Map<String, ?> configs, boolean isKey) {
-            String className = (String) configs.get("value.deserializer.target.class");
+            String className = (String) configs.get(TARGET_CLASS_CONFIG);
             if (className != null) {
                 try {
                     targetType = Class.forName(className);
@@ -65,6 +228,20 @@ public class JsonSerde {
                     log.warn("Target class not found: {}, using Object.class", className);
                 }
             }
+            typeMappings.putAll(parseMappings(configs.get(TYPE_MAPPINGS_CONFIG)));
+            payloadTypeMappings.putAll(parseMappings(configs.get(PAYLOAD_TYPE_MAPPINGS_CONFIG)));
+            Object trusted = configs.get(TRUSTED_PACKAGES_CONFIG);
+            if (trusted != null && !trusted.toString().isBlank()) {
+                trustedPackages = Arrays.stream(trusted.toString().split(",")).map(String::trim).toList();
+            }
+            Object accepted = configs.get(ACCEPTED_EVENT_TYPES_CONFIG);
+            if (accepted != null && !accepted.toString().isBlank()) {
+                acceptedEventTypes = Arrays.stream(accepted.toString().split(","))
+                        .map(String::trim)
+                        .filter(type -> !type.isEmpty())
+                        .collect(Collectors.toUnmodifiableSet());
+            }
+            claimCheck = ClaimCheck.fromConfigs(configs);
         }
 
         @Override
@@ -73,13 +250,135 @@ public class JsonSerde {
                 return null;
             }
             try {
-                return OBJECT_MAPPER.readValue(data, targetType);
+                return readerFor(targetType, null).readValue(data);
             } catch (Exception e) {
                 log.error("Error deserializing object from topic={}", topic, e);
                 throw new RuntimeException("Error deserializing object", e);
             }
         }
 
+        /**
+         * Binds directly from the byte array using a reader cached per (value type, event type)
+         * pair taken from the record headers; no intermediate tree is built. Records without
+         * headers fall back to the configured target class.
+         */
+        @Override
+        public Object deserialize(String topic, Headers headers, byte[] data) {
+            if (data == null || data.length == 0) {
+                return null;
+            }
+            String eventType = headerValue(headers, EVENT_TYPE_HEADER);
+            if (!accepts(eventType)) {
+                return null;
+            }
+            String valueTypeId = headerValue(headers, VALUE_TYPE_HEADER);
+            Class<?> valueType = valueTypeId != null ? resolveValueType(valueTypeId) : targetType;
+
+            try {
+                if (headerValue(headers, EventHeaders.CLAIM_CHECK) != null) {
+                    return checkOut(topic, readerFor(EventEnvelope.class, null).readValue(data));
+                }
+                if (valueTypeId == null && eventType == null
+                        && EventEnvelope.class.equals(valueType) && !payloadTypeMappings.isEmpty()) {
+                    return bindLegacyEnvelope(data);
+                }
+                return readerFor(valueType, eventType).readValue(data);
+            } catch (Exception e) {
+                log.error("Error deserializing object from topic={}", topic, e);
+                throw new RuntimeException("Error deserializing object", e);
+            }
+        }
+
+        boolean accepts(Headers headers) {
+            return accepts(headerValue(headers, EVENT_TYPE_HEADER));
+        }
+
+        private boolean accepts(String eventType) {
+            return eventType == null || acceptedEventTypes.isEmpty() || acceptedEventTypes.contains(eventType);
+        }
+
+        Object bindPayload(EventEnvelope<Object> envelope) {
+            if (envelope.getEventType() == null || envelope.getPayload() == null) {
+                return envelope;
+            }
+            Class<?> payloadType = payloadTypeMappings.get(envelope.getEventType().name());
+            if (payloadType != null && !payloadType.isInstance(envelope.getPayload())) {
+                envelope.setPayload(OBJECT_MAPPER.convertValue(envelope.getPayload(), payloadType));
+            }
+            return envelope;
+        }
+
+        /**
+         * Replaces a claim-check reference with the verified payload, bound to the payload type
+         * mapped for the event type. Called only for records that passed the event-type filter,
+         * so skipped records never touch the blob store.
+         */
+        EventEnvelope<Object> checkOut(String topic, EventEnvelope<Object> envelope) {
+            if (claimCheck == null) {
+                throw new SerializationException("Claim-checked record on topic=" + topic
+                        + " but no claim-check store is configured in " + CLAIM_CHECK_PATH_CONFIG);
+            }
+            ClaimCheck.Reference reference = OBJECT_MAPPER.convertValue(envelope.getPayload(), ClaimCheck.Reference.class);
+            byte[] payload = claimCheck.checkOut(reference);
+            Class<?> payloadType = envelope.getEventType() != null
+                    ? payloadTypeMappings.getOrDefault(envelope.getEventType().name(), Object.class)
+                    : Object.class;
+            try {
+                envelope.setPayload(readerFor(payloadType, null).readValue(payload));
+            } catch (Exception e) {
+                log.error("Error deserializing claim-checked payload {} from topic={}", reference.sha256(), topic, e);
+                throw new SerializationException("Error deserializing claim-checked payload", e);
+            }
+            return envelope;
+        }
+
+        /**
+         * Records written before type headers existed: the event type is only known after
+         * parsing, so the payload is read as a tree and converted once the type is known.
+         */
+        private Object bindLegacyEnvelope(byte[] data) throws Exception {
+            EventEnvelope<JsonNode> envelope = OBJECT_MAPPER.readValue(data,
+                    OBJECT_MAPPER.getTypeFactory().constructParametricType(EventEnvelope.class, JsonNode.class));
+            Class<?> payloadType = envelope.getEventType() != null
+                    ? payloadTypeMappings.getOrDefault(envelope.getEventType().name(), Object.class)
+                    : Object.class;
+            Object payload = envelope.getPayload() != null
+                    ? OBJECT_MAPPER.treeToValue(envelope.getPayload(), payloadType)
+                    : null;
+            return EventEnvelope.builder()
+                    .eventId(envelope.getEventId())
+                    .eventType(envelope.getEventType())
+                    .timestamp(envelope.getTimestamp())
+                    .schemaVersion(envelope.getSchemaVersion())
+                    .payload(payload)
+                    .build();
+        }
+
+        private ObjectReader readerFor(Class<?> valueType, String eventType) {
+            Class<?> payloadType = EventEnvelope.class.equals(valueType) && eventType != null
+                    ? payloadTypeMappings.get(eventType)
+                    : null;
+            return payloadType != null ? ENVELOPE_READERS.get(payloadType) : READERS.get(valueType);
+        }
+
+        private Class<?> resolveValueType(String typeId) {
+            Class<?> mapped = typeMappings.get(typeId);
+            return mapped != null ? mapped : resolvedTypes.computeIfAbsent(typeId, this::loadTrustedType);
+        }
+
+        private Class<?> loadTrustedType(String className) {
+            if (!trustedPackages.contains("*") && trustedPackages.stream().noneMatch(className::startsWith)) {
+                log.warn("Value type {} is not in a trusted package, using {}", className, targetType.getName());
+                return targetType;
+            }
+            try {
+                return Class.forName(className);
+            } catch (ClassNotFoundException e) {
+                log.debug("Value type {} not found locally, using {}", className, targetType.getName());
+                return targetType;
+            }
+        }
+
         @Override
         public void close() {
         }
@@ -0,0 +1,348 @@
+package com.rudraksha.shopsphere.shared.kafka.view;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rudraksha.shopsphere.shared.kafka.serialization.JsonSerde;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.WakeupException;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.springframework.context.SmartLifecycle;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Read-only local copy of a compacted "latest state" topic: each record is the current value
+ * for its key and a null value deletes the key. Every instance reads all partitions without
+ * a consumer group, so lookups are in-memory and never leave the process.
+ * <p>
+ * The view is periodically written to a snapshot file together with the offsets it covers.
+ * A restart loads the snapshot and only reads the records appended since, instead of the
+ * whole topic. Snapshots older than {@code maxSnapshotAge} are discarded, since compaction
+ * may have removed tombstones they have not seen; keep it below the topic's
+ * {@code delete.retention.ms}.
+ * <p>
+ * Lookups before {@link #isReady()} may return stale or missing values; callers that cannot
+ * accept that should fall back to the owning service until the view has caught up.
+ */
+@Slf4j
+public class MaterializedView<V> implements SmartLifecycle, AutoCloseable {
+
+    public static final Duration DEFAULT_SNAPSHOT_INTERVAL = Duration.ofMinutes(1);
+    public static final Duration DEFAULT_MAX_SNAPSHOT_AGE = Duration.ofHours(12);
+
+    private static final Duration POLL_TIMEOUT = Duration.ofMillis(500);
+    private static final Duration TOPIC_RETRY_INTERVAL = Duration.ofSeconds(10);
+    private static final long STOP_TIMEOUT_MS = 10_000;
+
+    private final String topic;
+    private final Class<V> valueType;
+    private final Supplier<Consumer<String, byte[]>> consumerFactory;
+    private final Path snapshotFile;
+    private final Duration snapshotInterval;
+    private final Duration maxSnapshotAge;
+    private final ObjectMapper objectMapper = JsonSerde.getObjectMapper();
+    private final Map<String, V> entries = new ConcurrentHashMap<>();
+    private final CountDownLatch ready = new CountDownLatch(1);
+    private volatile Consumer<String, byte[]> consumer;
+    private volatile Thread worker;
+    private volatile boolean running;
+
+    public MaterializedView(String topic, Class<V> valueType, Map<String, Object> consumerConfigs, Path snapshotDirectory) {
+        this(topic, valueType, consumerConfigs, snapshotDirectory, DEFAULT_SNAPSHOT_INTERVAL, DEFAULT_MAX_SNAPSHOT_AGE);
+    }
+
+    public MaterializedView(String topic, Class<V> valueType, Map<String, Object> consumerConfigs, Path snapshotDirectory,
+                            Duration snapshotInterval, Duration maxSnapshotAge) {
+        this(topic, valueType, () -> new KafkaConsumer<>(consumerProperties(consumerConfigs)), snapshotDirectory,
+                snapshotInterval, maxSnapshotAge);
+    }
+
+    /**
+     * @param consumerFactory creates the consumer on the polling thread; it is closed when the view stops
+     */
+    MaterializedView(String topic, Class<V> valueType, Supplier<Consumer<String, byte[]>> consumerFactory,
+                     Path snapshotDirectory, Duration snapshotInterval, Duration maxSnapshotAge) {
+        this.topic = topic;
+        this.valueType = valueType;
+        this.consumerFactory = consumerFactory;
+        this.snapshotFile = snapshotDirectory != null ? snapshotDirectory.resolve(topic + ".snapshot.json") : null;
+        this.snapshotInterval = snapshotInterval;
+        this.maxSnapshotAge = maxSnapshotAge;
+    }
+
+    public V get(String key) {
+        return key != null ? entries.get(key) : null;
+    }
+
+    public boolean contains(String key) {
+        return key != null && entries.containsKey(key);
+    }
+
+    /**
+     * Live, unmodifiable view of all entries.
+     */
+    public Map<String, V> asMap() {
+        return Collections.unmodifiableMap(entries);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * True once the view has read every record that existed when it started.
+     */
+    public boolean isReady() {
+        return ready.getCount() == 0;
+    }
+
+    public boolean awaitReady(Duration timeout) throws InterruptedException {
+        return ready.await(timeout.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public String getTopic() {
+        return topic;
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        worker = Thread.ofPlatform().daemon().name("materialized-view-" + topic).start(this::run);
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        Consumer<String, byte[]> current = consumer;
+        if (current != null) {
+            current.wakeup();
+        }
+        try {
+            worker.join(STOP_TIMEOUT_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public void close() {
+        stop();
+    }
+
+    private void run() {
+        Map<Integer, Long> restoredOffsets = loadSnapshot();
+        try (Consumer<String, byte[]> kafkaConsumer = consumerFactory.get()) {
+            consumer = kafkaConsumer;
+            List<TopicPartition> partitions = awaitPartitions(kafkaConsumer);
+            if (partitions.isEmpty()) {
+                return;
+            }
+            kafkaConsumer.assign(partitions);
+            seek(kafkaConsumer, partitions, restoredOffsets);
+            Map<TopicPartition, Long> endOffsets = kafkaConsumer.endOffsets(partitions);
+
+            long nextSnapshotAt = System.currentTimeMillis() + snapshotInterval.toMillis();
+            boolean dirty = false;
+            while (running) {
+                ConsumerRecords<String, byte[]> records;
+                try {
+                    records = kafkaConsumer.poll(POLL_TIMEOUT);
+                } catch (WakeupException e) {
+                    break;
+                }
+                for (ConsumerRecord<String, byte[]> record : records) {
+                    apply(record);
+                    dirty = true;
+                }
+                if (!isReady() && caughtUp(kafkaConsumer, endOffsets)) {
+                    ready.countDown();
+                    log.info("Materialized view of {} ready with {} entries", topic, entries.size());
+                }
+                if (dirty && System.currentTimeMillis() >= nextSnapshotAt) {
+                    writeSnapshot(kafkaConsumer, partitions);
+                    nextSnapshotAt = System.currentTimeMillis() + snapshotInterval.toMillis();
+                    dirty = false;
+                }
+            }
+            if (dirty) {
+                writeSnapshot(kafkaConsumer, partitions);
+            }
+        } catch (WakeupException e) {
+            // stopped before the topic was assigned
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.error("Materialized view of {} stopped", topic, e);
+            running = false;
+        } finally {
+            consumer = null;
+        }
+    }
+
+    private List<TopicPartition> awaitPartitions(Consumer<String, byte[]> kafkaConsumer) throws InterruptedException {
+        while (running) {
+            List<TopicPartition> partitions = kafkaConsumer.partitionsFor(topic).stream()
+                    .map(info -> new TopicPartition(topic, info.partition()))
+                    .toList();
+            if (!partitions.isEmpty()) {
+                return partitions;
+            }
+            log.warn("Topic {} not found, materialized view waiting for it to be created", topic);
+            long retryAt = System.currentTimeMillis() + TOPIC_RETRY_INTERVAL.toMillis();
+            while (running && System.currentTimeMillis() < retryAt) {
+                Thread.sleep(POLL_TIMEOUT.toMillis());
+            }
+        }
+        return List.of();
+    }
+
+    private static Map<String, Object> consumerProperties(Map<String, Object> consumerConfigs) {
+        Map<String, Object> props = new HashMap<>(consumerConfigs);
+        props.remove(ConsumerConfig.GROUP_ID_CONFIG);
+        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class);
+        return props;
+    }
+
+    /**
+     * Resumes every partition from the snapshot, or rebuilds the whole view from the beginning
+     * when any partition is not covered by it, for example after partitions were added or the
+     * log was truncated past the snapshot. The snapshot does not record which partition an
+     * entry came from, so its entries are dropped rather than mixed with a partial replay.
+     */
+    private void seek(Consumer<String, byte[]> kafkaConsumer, List<TopicPartition> partitions,
+                      Map<Integer, Long> restoredOffsets) {
+        Map<TopicPartition, Long> beginningOffsets = kafkaConsumer.beginningOffsets(partitions);
+        boolean restorable = partitions.stream().allMatch(partition -> {
+            Long restored = restoredOffsets.get(partition.partition());
+            return restored != null && restored >= beginningOffsets.get(partition);
+        });
+        if (restorable) {
+            partitions.forEach(partition -> kafkaConsumer.seek(partition, restoredOffsets.get(partition.partition())));
+            return;
+        }
+        if (!entries.isEmpty()) {
+            log.info("Snapshot of {} does not cover all partitions, rebuilding from the topic", topic);
+            entries.clear();
+        }
+        kafkaConsumer.seekToBeginning(partitions);
+    }
+
+    private void apply(ConsumerRecord<String, byte[]> record) {
+        if (record.key() == null) {
+            return;
+        }
+        if (record.value() == null) {
+            entries.remove(record.key());
+            return;
+        }
+        try {
+            entries.put(record.key(), objectMapper.readValue(record.value(), valueType));
+        } catch (IOException e) {
+            log.warn("Skipping unreadable value for key={} at {}-{}@{}",
+                    record.key(), record.topic(), record.partition(), record.offset(), e);
+        }
+    }
+
+    private boolean caughtUp(Consumer<String, byte[]> kafkaConsumer, Map<TopicPartition, Long> endOffsets) {
+        return endOffsets.entrySet().stream()
+                .allMatch(entry -> kafkaConsumer.position(entry.getKey()) >= entry.getValue());
+    }
+
+    private Map<Integer, Long> loadSnapshot() {
+        if (snapshotFile == null || !Files.exists(snapshotFile)) {
+            return Map.of();
+        }
+        try {
+            JsonNode snapshot = objectMapper.readTree(snapshotFile.toFile());
+            long age = System.currentTimeMillis() - snapshot.path("writtenAt").asLong();
+            if (!topic.equals(snapshot.path("topic").asText()) || age > maxSnapshotAge.toMillis()) {
+                log.info("Ignoring snapshot {} written {} ms ago, rebuilding {} from the topic", snapshotFile, age, topic);
+                return Map.of();
+            }
+            Map<Integer, Long> offsets = new HashMap<>();
+            snapshot.path("offsets").fields()
+                    .forEachRemaining(entry -> offsets.put(Integer.parseInt(entry.getKey()), entry.getValue().asLong()));
+            var values = snapshot.path("entries").fields();
+            while (values.hasNext()) {
+                var entry = values.next();
+                entries.put(entry.getKey(), objectMapper.treeToValue(entry.getValue(), valueType));
+            }
+            log.info("Restored {} entries of {} from snapshot", entries.size(), topic);
+            return offsets;
+        } catch (IOException e) {
+            log.warn("Unreadable snapshot {}, rebuilding {} from the topic", snapshotFile, topic, e);
+            entries.clear();
+            return Map.of();
+        }
+    }
+
+    /**
+     * Runs on the polling thread between polls, so the entries match the positions written
+     * with them.
+     */
+    private void writeSnapshot(Consumer<String, byte[]> kafkaConsumer, List<TopicPartition> partitions) {
+        if (snapshotFile == null) {
+            return;
+        }
+        Map<String, Long> offsets = new HashMap<>();
+        for (TopicPartition partition : partitions) {
+            offsets.put(String.valueOf(partition.partition()), kafkaConsumer.position(partition));
+        }
+        Path temp = null;
+        try {
+            Files.createDirectories(snapshotFile.getParent());
+            temp = Files.createTempFile(snapshotFile.getParent(), topic, ".tmp");
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                objectMapper.writeValue(out, Map.of(
+                        "topic", topic,
+                        "writtenAt", System.currentTimeMillis(),
+                        "offsets", offsets,
+                        "entries", entries));
+            }
+            Files.move(temp, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.debug("Wrote snapshot of {} with {} entries", topic, entries.size());
+        } catch (IOException e) {
+            log.warn("Failed to write snapshot of {} to {}", topic, snapshotFile, e);
+            try {
+                if (temp != null) {
+                    Files.deleteIfExists(temp);
+                }
+            } catch (IOException ignored) {
+                // retried on the next snapshot
+            }
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.rudraksha.shopsphere.shared.kafka;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DltReplayEndpointTest {
+
+    @Mock
+    private DltReplayer dltReplayer;
+
+    @Test
+    void testReplay_ReplaysTopicAndReportsCount() {
+        when(dltReplayer.replay("orders-dlt")).thenReturn(3L);
+
+        Map<String, Object> result = new DltReplayEndpoint(dltReplayer).replay("orders-dlt");
+
+        assertEquals(Map.of("topic", "orders-dlt", "replayed", 3L), result);
+    }
+}
@@ -0,0 +1,176 @@
+package com.rudraksha.shopsphere.shared.kafka;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.Header;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.KafkaHeaders;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DltReplayerTest {
+
+    private static final String DLT = "orders" + KafkaConfig.DLT_SUFFIX;
+    private static final TopicPartition PARTITION = new TopicPartition(DLT, 0);
+
+    @Mock
+    private KafkaTemplate<byte[], byte[]> kafkaTemplate;
+
+    private MockConsumer<byte[], byte[]> consumer;
+    private DltReplayer replayer;
+
+    @BeforeEach
+    void setUp() {
+        consumer = spy(new MockConsumer<>(OffsetResetStrategy.EARLIEST));
+        replayer = new DltReplayer(() -> consumer, kafkaTemplate);
+        lenient().when(kafkaTemplate.send(any(ProducerRecord.class)))
+                .thenReturn(CompletableFuture.completedFuture(null));
+    }
+
+    @Test
+    void testReplay_KeepsKeyValueAndApplicationHeaders() {
+        ConsumerRecord<byte[], byte[]> record = record(0, "order-1", "{\"id\":1}");
+        header(record, "traceparent", "00-abc-01");
+        header(record, KafkaHeaders.DLT_ORIGINAL_TOPIC, "orders");
+        header(record, KafkaHeaders.DLT_ORIGINAL_CONSUMER_GROUP, "inventory-service");
+        header(record, KafkaHeaders.DLT_EXCEPTION_MESSAGE, "boom");
+        header(record, "retry_topic-attempts", "3");
+        partition(1, record);
+
+        assertEquals(1, replayer.replay(DLT));
+
+        ProducerRecord<byte[], byte[]> replayed = sent().get(0);
+        assertEquals("orders", replayed.topic());
+        assertNull(replayed.partition());
+        assertArrayEquals(record.key(), replayed.key());
+        assertArrayEquals(record.value(), replayed.value());
+        assertEquals("00-abc-01", header(replayed, "traceparent"));
+        assertNull(replayed.headers().lastHeader(KafkaHeaders.DLT_EXCEPTION_MESSAGE));
+        assertNull(replayed.headers().lastHeader(KafkaHeaders.DLT_ORIGINAL_TOPIC));
+        assertNull(replayed.headers().lastHeader("retry_topic-attempts"));
+    }
+
+    @Test
+    void testReplay_AddsReplayGroupAndSourceHeaders() {
+        ConsumerRecord<byte[], byte[]> record = record(0, "order-1", "{}");
+        header(record, KafkaHeaders.DLT_ORIGINAL_CONSUMER_GROUP, "inventory-service");
+        partition(1, record);
+
+        replayer.replay(DLT);
+
+        ProducerRecord<byte[], byte[]> replayed = sent().get(0);
+        assertEquals("inventory-service", header(replayed, DltReplayer.REPLAY_GROUP_HEADER));
+        assertEquals(DLT, header(replayed, DltReplayer.REPLAYED_FROM_HEADER));
+    }
+
+    @Test
+    void testReplay_RecordWithoutFailedGroupGoesToEveryGroup() {
+        partition(1, record(0, "order-1", "{}"));
+
+        replayer.replay(DLT);
+
+        ProducerRecord<byte[], byte[]> replayed = sent().get(0);
+        assertEquals("orders", replayed.topic());
+        assertNull(replayed.headers().lastHeader(DltReplayer.REPLAY_GROUP_HEADER));
+    }
+
+    @Test
+    void testReplay_UsesFirstOriginalTopicOfRetryChain() {
+        ConsumerRecord<byte[], byte[]> record = record(0, "order-1", "{}");
+        header(record, KafkaHeaders.DLT_ORIGINAL_TOPIC, "orders");
+        header(record, KafkaHeaders.DLT_ORIGINAL_TOPIC, "orders-retry-1000");
+        partition(1, record);
+
+        replayer.replay(DLT);
+
+        assertEquals("orders", sent().get(0).topic());
+    }
+
+    @Test
+    void testReplay_LeavesRecordsAppendedDuringRunForNextRun() {
+        partition(1, record(0, "order-1", "{}"), record(1, "order-2", "{}"));
+
+        assertEquals(1, replayer.replay(DLT));
+
+        assertEquals(1, sent().size());
+        verify(consumer).commitSync(Map.of(PARTITION, new OffsetAndMetadata(1)));
+    }
+
+    @Test
+    void testReplay_TopicWithoutPartitionsReplaysNothing() {
+        consumer.updatePartitions(DLT, List.of());
+
+        assertEquals(0, replayer.replay(DLT));
+
+        verifyNoInteractions(kafkaTemplate);
+    }
+
+    @Test
+    void testReplay_FailedSendIsNotCommitted() {
+        when(kafkaTemplate.send(any(ProducerRecord.class)))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")));
+        partition(1, record(0, "order-1", "{}"));
+
+        assertThrows(IllegalStateException.class, () -> replayer.replay(DLT));
+
+        verify(consumer, never()).commitSync(anyMap());
+    }
+
+    /**
+     * Creates the single partition of the dead-letter topic with the given end offset. Records
+     * can only be added once the replayer has assigned the partition, so they are added at the
+     * start of its first poll.
+     */
+    @SafeVarargs
+    private void partition(long endOffset, ConsumerRecord<byte[], byte[]>... records) {
+        consumer.updatePartitions(DLT, List.of(new PartitionInfo(DLT, 0, null, null, null)));
+        consumer.updateBeginningOffsets(Map.of(PARTITION, 0L));
+        consumer.updateEndOffsets(Map.of(PARTITION, endOffset));
+        consumer.schedulePollTask(() -> {
+            for (ConsumerRecord<byte[], byte[]> record : records) {
+                consumer.addRecord(record);
+            }
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<ProducerRecord<byte[], byte[]>> sent() {
+        ArgumentCaptor<ProducerRecord<byte[], byte[]>> records = ArgumentCaptor.forClass(ProducerRecord.class);
+        verify(kafkaTemplate, atLeastOnce()).send(records.capture());
+        return records.getAllValues();
+    }
+
+    private static ConsumerRecord<byte[], byte[]> record(long offset, String key, String value) {
+        return new ConsumerRecord<>(DLT, 0, offset,
+                key.getBytes(StandardCharsets.UTF_8), value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void header(ConsumerRecord<byte[], byte[]> record, String key, String value) {
+        record.headers().add(key, value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String header(ProducerRecord<byte[], byte[]> record, String key) {
+        Header header = record.headers().lastHeader(key);
+        return header == null ? null : new String(header.value(), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,214 @@
+package com.rudraksha.shopsphere.shared.kafka;
+
+import com.rudraksha.shopsphere.shared.kafka.dedupe.EventDeduplicator;
+import com.rudraksha.shopsphere.shared.models.enums.EventType;
+import com.rudraksha.shopsphere.shared.models.events.EventEnvelope;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EventConsumerTest {
+
+    private static final String CONSUMER_NAME = "RecordingConsumer";
+
+    @Mock
+    private EventDeduplicator deduplicator;
+
+    @Test
+    void testConsumeBatch_HandlesWholeBatchWhenItSucceeds() {
+        RecordingConsumer consumer = new RecordingConsumer();
+        List<ConsumerRecord<String, EventEnvelope<String>>> records = records("ok", "ok", "ok");
+
+        consumer.consumeBatch(records);
+
+        assertEquals(List.of("k0", "k1", "k2"), consumer.handled);
+        assertEquals(List.of(), consumer.handledOneByOne);
+    }
+
+    @Test
+    void testConsumeBatch_FallsBackToEveryRecordWhenBatchWasNotApplied() {
+        RecordingConsumer consumer = new RecordingConsumer();
+        consumer.batchHandler = batch -> {
+            throw new IllegalStateException("bulk write failed");
+        };
+
+        consumer.consumeBatch(records("ok", "ok", "ok"));
+
+        assertEquals(List.of("k0", "k1", "k2"), consumer.handledOneByOne);
+    }
+
+    @Test
+    void testConsumeBatch_ResumesFromRecordNamedByFailure() {
+        RecordingConsumer consumer = new RecordingConsumer();
+        List<ConsumerRecord<String, EventEnvelope<String>>> records = records("ok", "ok", "ok", "ok", "ok");
+        consumer.batchHandler = batch -> {
+            consumer.handled.addAll(List.of("k0", "k1"));
+            throw new BatchListenerFailedException("step failed", new IllegalStateException("timeout"), batch.get(2));
+        };
+
+        consumer.consumeBatch(records);
+
+        assertEquals(List.of("k0", "k1", "k2", "k3", "k4"), consumer.handled);
+        assertEquals(List.of("k2", "k3", "k4"), consumer.handledOneByOne);
+    }
+
+    @Test
+    void testConsumeBatch_ResumesFromIndexNamedByFailure() {
+        RecordingConsumer consumer = new RecordingConsumer();
+        consumer.batchHandler = batch -> {
+            throw new BatchListenerFailedException("step failed", new IllegalStateException("timeout"), 3);
+        };
+
+        consumer.consumeBatch(records("ok", "ok", "ok", "ok", "ok"));
+
+        assertEquals(List.of("k3", "k4"), consumer.handledOneByOne);
+    }
+
+    @Test
+    void testConsumeBatch_StartsOverWhenFailureNamesUnknownRecord() {
+        RecordingConsumer consumer = new RecordingConsumer();
+        ConsumerRecord<String, EventEnvelope<String>> foreign = records("ok").get(0);
+        consumer.batchHandler = batch -> {
+            throw new BatchListenerFailedException("step failed", new IllegalStateException("timeout"), foreign);
+        };
+
+        consumer.consumeBatch(records("ok", "ok"));
+
+        assertEquals(List.of("k0", "k1"), consumer.handledOneByOne);
+    }
+
+    @Test
+    void testConsumeBatch_BadRecordFailsBatchAtThatRecord() {
+        RecordingConsumer consumer = new RecordingConsumer();
+        List<ConsumerRecord<String, EventEnvelope<String>>> records = records("ok", "bad", "ok");
+
+        BatchListenerFailedException thrown = assertThrows(BatchListenerFailedException.class,
+                () -> consumer.consumeBatch(records));
+
+        assertSame(records.get(1), thrown.getRecord());
+        assertInstanceOf(EventConsumer.EventProcessingException.class, thrown.getCause());
+        // Default handleBatch stops at k1; the fallback replays from there and fails again
+        assertEquals(List.of("k0"), consumer.handled);
+        assertEquals(List.of(), consumer.handledOneByOne);
+    }
+
+    @Test
+    void testConsumeBatch_MarksAppliedPredecessorsAsProcessed() {
+        RecordingConsumer consumer = new RecordingConsumer();
+        consumer.setEventDeduplicator(deduplicator);
+        List<ConsumerRecord<String, EventEnvelope<String>>> records = records("ok", "ok", "ok", "ok");
+        when(deduplicator.findDuplicates(eq(CONSUMER_NAME), anyList())).thenReturn(Set.of());
+        consumer.batchHandler = batch -> {
+            throw new BatchListenerFailedException("step failed", new IllegalStateException("timeout"), batch.get(2));
+        };
+
+        consumer.consumeBatch(records);
+
+        verify(deduplicator).markProcessed(CONSUMER_NAME, List.of(eventId(records, 0), eventId(records, 1)));
+        verify(deduplicator).markProcessed(CONSUMER_NAME, eventId(records, 2));
+        verify(deduplicator).markProcessed(CONSUMER_NAME, eventId(records, 3));
+        assertEquals(List.of("k2", "k3"), consumer.handledOneByOne);
+    }
+
+    @Test
+    void testConsumeBatch_MarksNothingBeforeRecordsWhenBatchWasNotApplied() {
+        RecordingConsumer consumer = new RecordingConsumer();
+        consumer.setEventDeduplicator(deduplicator);
+        List<ConsumerRecord<String, EventEnvelope<String>>> records = records("ok", "ok");
+        when(deduplicator.findDuplicates(eq(CONSUMER_NAME), anyList())).thenReturn(Set.of());
+        consumer.batchHandler = batch -> {
+            throw new IllegalStateException("bulk write failed");
+        };
+
+        consumer.consumeBatch(records);
+
+        verify(deduplicator, never()).markProcessed(eq(CONSUMER_NAME), anyList());
+        verify(deduplicator).markProcessed(CONSUMER_NAME, eventId(records, 0));
+        verify(deduplicator).markProcessed(CONSUMER_NAME, eventId(records, 1));
+    }
+
+    @Test
+    void testConsumeBatch_SkipsDuplicatesBeforeHandling() {
+        RecordingConsumer consumer = new RecordingConsumer();
+        consumer.setEventDeduplicator(deduplicator);
+        List<ConsumerRecord<String, EventEnvelope<String>>> records = records("ok", "ok", "ok");
+        when(deduplicator.findDuplicates(eq(CONSUMER_NAME), anyList())).thenReturn(Set.of(eventId(records, 1)));
+
+        consumer.consumeBatch(records);
+
+        assertEquals(List.of("k0", "k2"), consumer.handled);
+        verify(deduplicator).markProcessed(CONSUMER_NAME, List.of(eventId(records, 0), eventId(records, 2)));
+    }
+
+    @Test
+    void testConsume_RethrowsHandlerFailure() {
+        RecordingConsumer consumer = new RecordingConsumer();
+        ConsumerRecord<String, EventEnvelope<String>> record = records("bad").get(0);
+
+        EventConsumer.EventProcessingException thrown = assertThrows(EventConsumer.EventProcessingException.class,
+                () -> consumer.consume(record));
+
+        assertEquals("bad payload", thrown.getCause().getMessage());
+        assertEquals(List.of(), consumer.handled);
+    }
+
+    private static List<ConsumerRecord<String, EventEnvelope<String>>> records(String... payloads) {
+        return IntStream.range(0, payloads.length)
+                .mapToObj(i -> new ConsumerRecord<>("orders", 0, i, "k" + i,
+                        EventEnvelope.of(EventType.ORDER_PLACED, payloads[i])))
+                .toList();
+    }
+
+    private static UUID eventId(List<ConsumerRecord<String, EventEnvelope<String>>> records, int index) {
+        return records.get(index).value().getEventId();
+    }
+
+    private static class RecordingConsumer extends EventConsumer<EventEnvelope<String>> {
+
+        final List<String> handled = new ArrayList<>();
+        final List<String> handledOneByOne = new ArrayList<>();
+        Consumer<List<ConsumerRecord<String, EventEnvelope<String>>>> batchHandler;
+        private boolean inBatch;
+
+        @Override
+        protected void handleEvent(String key, EventEnvelope<String> event) {
+            if ("bad".equals(event.getPayload())) {
+                throw new IllegalArgumentException("bad payload");
+            }
+            handled.add(key);
+            if (!inBatch) {
+                handledOneByOne.add(key);
+            }
+        }
+
+        @Override
+        protected void handleBatch(List<ConsumerRecord<String, EventEnvelope<String>>> records) {
+            inBatch = true;
+            try {
+                if (batchHandler != null) {
+                    batchHandler.accept(records);
+                } else {
+                    super.handleBatch(records);
+                }
+            } finally {
+                inBatch = false;
+            }
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.rudraksha.shopsphere.shared.kafka;
+
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EventPublisherTest {
+
+    private static final String TOPIC = "orders";
+
+    @Mock
+    private KafkaTemplate<String, Object> kafkaTemplate;
+
+    private final List<CompletableFuture<SendResult<String, Object>>> sends = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(kafkaTemplate.send(any(ProducerRecord.class))).thenAnswer(invocation -> {
+            CompletableFuture<SendResult<String, Object>> send = new CompletableFuture<>();
+            sends.add(send);
+            return send;
+        });
+    }
+
+    @Test
+    void testPublishBatch_HoldsPermitsUntilSendsComplete() {
+        EventPublisher publisher = new EventPublisher(kafkaTemplate, Map.of(), 10, 100);
+
+        CompletableFuture<Void> batch = publisher.publishBatch(TOPIC, List.of("a", "b", "c"), Function.identity());
+
+        assertEquals(3, sends.size());
+        assertEquals(7, publisher.availableInFlightPermits());
+        assertFalse(batch.isDone());
+
+        sends.forEach(send -> send.complete(null));
+
+        assertNull(batch.join());
+        assertEquals(10, publisher.availableInFlightPermits());
+    }
+
+    @Test
+    void testPublishBatch_ReleasesPermitsWhenSendsFail() {
+        EventPublisher publisher = new EventPublisher(kafkaTemplate, Map.of(), 10, 100);
+        IllegalStateException failure = new IllegalStateException("broker down");
+
+        CompletableFuture<Void> batch = publisher.publishBatch(TOPIC, List.of("a", "b", "c"), Function.identity());
+        sends.get(0).complete(null);
+        sends.get(1).completeExceptionally(failure);
+        sends.get(2).complete(null);
+
+        CompletionException thrown = assertThrows(CompletionException.class, batch::join);
+        assertSame(failure, thrown.getCause());
+        assertEquals(10, publisher.availableInFlightPermits());
+    }
+
+    @Test
+    void testPublishBatch_ReleasesPermitWhenSendThrows() {
+        EventPublisher publisher = new EventPublisher(kafkaTemplate, Map.of(), 10, 100);
+        doThrow(new IllegalStateException("producer closed")).when(kafkaTemplate).send(any(ProducerRecord.class));
+
+        assertThrows(IllegalStateException.class,
+                () -> publisher.publishBatch(TOPIC, List.of("a"), Function.identity()));
+
+        assertEquals(10, publisher.availableInFlightPermits());
+    }
+
+    @Test
+    void testPublishBatch_RejectsWhenInFlightLimitIsReached() {
+        EventPublisher publisher = new EventPublisher(kafkaTemplate, Map.of(), 2, 10);
+
+        assertThrows(EventPublisher.PublishBackpressureException.class,
+                () -> publisher.publishBatch(TOPIC, List.of("a", "b", "c"), Function.identity()));
+
+        assertEquals(2, sends.size());
+        assertEquals(0, publisher.availableInFlightPermits());
+
+        sends.forEach(send -> send.complete(null));
+
+        assertEquals(2, publisher.availableInFlightPermits());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testPublishBatch_SendsKeysAndValuesFromExtractors() {
+        EventPublisher publisher = new EventPublisher(kafkaTemplate, Map.of(), 10, 100);
+
+        publisher.publishBatch(TOPIC, List.of(1, 2), item -> "key-" + item, item -> "value-" + item);
+
+        ArgumentCaptor<ProducerRecord<String, Object>> records = ArgumentCaptor.forClass(ProducerRecord.class);
+        verify(kafkaTemplate, times(2)).send(records.capture());
+        assertEquals("key-1", records.getAllValues().get(0).key());
+        assertEquals("value-2", records.getAllValues().get(1).value());
+        assertEquals(TOPIC, records.getAllValues().get(0).topic());
+    }
+
+    @Test
+    void testPublishBatch_EmptyBatchCompletesWithoutSending() {
+        EventPublisher publisher = new EventPublisher(kafkaTemplate, Map.of(), 10, 100);
+
+        assertTrue(publisher.publishBatch(TOPIC, List.<String>of(), Function.identity()).isDone());
+        verifyNoInteractions(kafkaTemplate);
+    }
+}
@@ -0,0 +1,149 @@
+package com.rudraksha.shopsphere.shared.kafka;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.listener.ConsumerRecordRecoverer;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.util.backoff.FixedBackOff;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class KeyOrderedDispatcherTest {
+
+    @Mock
+    private Acknowledgment acknowledgment;
+
+    @Mock
+    private ConsumerRecordRecoverer recoverer;
+
+    private KeyOrderedDispatcher dispatcher;
+
+    @AfterEach
+    void tearDown() {
+        if (dispatcher != null) {
+            dispatcher.close();
+        }
+    }
+
+    @Test
+    void testDispatch_RunsTasksWithSameKeyInOrder() {
+        dispatcher = new KeyOrderedDispatcher(100);
+        List<Integer> processed = Collections.synchronizedList(new ArrayList<>());
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+
+        for (int i = 0; i < 50; i++) {
+            int sequence = i;
+            futures.add(dispatcher.dispatch("order-1", () -> {
+                if (sequence % 10 == 0) {
+                    sleep(5);
+                }
+                processed.add(sequence);
+            }));
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+
+        for (int i = 0; i < 50; i++) {
+            assertEquals(i, processed.get(i));
+        }
+    }
+
+    @Test
+    void testDispatch_RunsDifferentKeysConcurrently() throws Exception {
+        dispatcher = new KeyOrderedDispatcher(100);
+        CountDownLatch released = new CountDownLatch(1);
+
+        CompletableFuture<Void> blocked = dispatcher.dispatch("order-1", () -> await(released));
+        dispatcher.dispatch("order-2", released::countDown).get(5, TimeUnit.SECONDS);
+
+        blocked.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void testDispatch_RetriesFailedHandlerThenAcknowledges() {
+        dispatcher = new KeyOrderedDispatcher(10, recoverer, new FixedBackOff(1, 3));
+        AtomicInteger attempts = new AtomicInteger();
+        ConsumerRecord<String, String> record = new ConsumerRecord<>("order.events", 0, 42L, "order-1", "placed");
+
+        dispatcher.dispatch(record, acknowledgment, () -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new IllegalStateException("transient");
+            }
+        }).join();
+
+        assertEquals(3, attempts.get());
+        verify(acknowledgment).acknowledge();
+        verify(recoverer, never()).accept(any(), any());
+    }
+
+    @Test
+    void testDispatch_RecoversRecordAfterRetriesAreExhausted() {
+        dispatcher = new KeyOrderedDispatcher(10, recoverer, new FixedBackOff(1, 2));
+        AtomicInteger attempts = new AtomicInteger();
+        IllegalStateException failure = new IllegalStateException("permanent");
+        ConsumerRecord<String, String> record = new ConsumerRecord<>("order.events", 0, 42L, "order-1", "placed");
+
+        CompletableFuture<Void> future = dispatcher.dispatch(record, acknowledgment, () -> {
+            attempts.incrementAndGet();
+            throw failure;
+        });
+
+        assertThrows(CompletionException.class, future::join);
+        assertEquals(3, attempts.get());
+        verify(recoverer).accept(record, failure);
+        verify(acknowledgment).acknowledge();
+    }
+
+    @Test
+    void testDispatch_FailureDoesNotBlockLaterTasksWithSameKey() {
+        dispatcher = new KeyOrderedDispatcher(10);
+        AtomicInteger ran = new AtomicInteger();
+
+        CompletableFuture<Void> failed = dispatcher.dispatch("order-1", () -> {
+            throw new IllegalStateException("failed");
+        });
+        dispatcher.dispatch("order-1", ran::incrementAndGet).join();
+
+        assertTrue(failed.isCompletedExceptionally());
+        assertEquals(1, ran.get());
+    }
+
+    @Test
+    void testConstructor_RejectsNonPositiveLimit() {
+        assertThrows(IllegalArgumentException.class, () -> new KeyOrderedDispatcher(0));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            if (!latch.await(5, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("Latch not released");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
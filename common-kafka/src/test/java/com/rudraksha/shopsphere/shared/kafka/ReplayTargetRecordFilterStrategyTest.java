@@ -0,0 +1,52 @@
+package com.rudraksha.shopsphere.shared.kafka;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.support.KafkaUtils;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReplayTargetRecordFilterStrategyTest {
+
+    private final ReplayTargetRecordFilterStrategy strategy = new ReplayTargetRecordFilterStrategy();
+
+    @AfterEach
+    void tearDown() {
+        KafkaUtils.clearConsumerGroupId();
+    }
+
+    @Test
+    void testFilter_DropsRecordReplayedForOtherGroup() {
+        KafkaUtils.setConsumerGroupId("payment-service");
+
+        assertTrue(strategy.filter(replayedFor("inventory-service")));
+    }
+
+    @Test
+    void testFilter_KeepsRecordReplayedForThisGroup() {
+        KafkaUtils.setConsumerGroupId("inventory-service");
+
+        assertFalse(strategy.filter(replayedFor("inventory-service")));
+    }
+
+    @Test
+    void testFilter_KeepsRecordThatWasNotReplayed() {
+        KafkaUtils.setConsumerGroupId("payment-service");
+
+        assertFalse(strategy.filter(new ConsumerRecord<>("orders", 0, 0, "order-1", "{}")));
+    }
+
+    @Test
+    void testFilter_KeepsRecordOutsideListenerThread() {
+        assertFalse(strategy.filter(replayedFor("inventory-service")));
+    }
+
+    private static ConsumerRecord<Object, Object> replayedFor(String groupId) {
+        ConsumerRecord<Object, Object> record = new ConsumerRecord<>("orders", 0, 0, "order-1", "{}");
+        record.headers().add(DltReplayer.REPLAY_GROUP_HEADER, groupId.getBytes(StandardCharsets.UTF_8));
+        return record;
+    }
+}
@@ -0,0 +1,163 @@
+package com.rudraksha.shopsphere.shared.kafka.backpressure;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.MessageListenerContainer;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class BackpressureControllerTest {
+
+    private static final Duration CHECK_INTERVAL = Duration.ofSeconds(1);
+    private static final Duration LONG = Duration.ofHours(1);
+
+    @Mock
+    private KafkaListenerEndpointRegistry endpointRegistry;
+
+    @Mock
+    private MessageListenerContainer container;
+
+    private final TestSignal signal = new TestSignal();
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(endpointRegistry.getListenerContainers()).thenReturn(List.of(container));
+        lenient().when(container.isRunning()).thenReturn(true);
+        lenient().when(container.isPauseRequested()).thenReturn(true);
+    }
+
+    @Test
+    void testCheck_PausesWhenSaturatedAndResumesBelowThreshold() {
+        BackpressureController controller = controller(Duration.ZERO, LONG);
+
+        signal.value = 1.2;
+        controller.check();
+        assertTrue(controller.isPaused());
+        verify(container).pause();
+
+        signal.value = 0.3;
+        controller.check();
+        assertFalse(controller.isPaused());
+        verify(container).resume();
+    }
+
+    @Test
+    void testCheck_StaysPausedAboveResumeThreshold() {
+        BackpressureController controller = controller(Duration.ZERO, LONG);
+
+        signal.value = 1.5;
+        controller.check();
+        signal.value = 0.8;
+        controller.check();
+
+        assertTrue(controller.isPaused());
+        verify(container, never()).resume();
+    }
+
+    @Test
+    void testCheck_StaysPausedForMinPause() {
+        BackpressureController controller = controller(LONG, LONG);
+
+        signal.value = 1.5;
+        controller.check();
+        signal.value = 0.1;
+        controller.check();
+
+        assertTrue(controller.isPaused());
+        verify(container, never()).resume();
+    }
+
+    @Test
+    void testCheck_UnknownReadingKeepsLastKnownValue() {
+        BackpressureController controller = controller(Duration.ZERO, LONG);
+
+        signal.value = 1.5;
+        controller.check();
+        signal.value = SaturationSignal.UNKNOWN;
+        controller.check();
+
+        assertTrue(controller.isPaused());
+        verify(container, never()).resume();
+    }
+
+    @Test
+    void testCheck_ResumesToProbeAfterMaxBlindPause() {
+        BackpressureController controller = controller(LONG, Duration.ZERO);
+
+        signal.value = 1.5;
+        controller.check();
+        signal.value = SaturationSignal.UNKNOWN;
+        controller.check();
+        assertFalse(controller.isPaused());
+        verify(container).resume();
+
+        controller.check();
+        assertFalse(controller.isPaused());
+    }
+
+    @Test
+    void testCheck_FailingSignalIsTreatedAsUnknown() {
+        BackpressureController controller = controller(Duration.ZERO, LONG);
+        signal.failure = new IllegalStateException("meter unavailable");
+
+        controller.check();
+
+        assertFalse(controller.isPaused());
+        verify(container, never()).pause();
+    }
+
+    @Test
+    void testCheck_RepausesContainersStartedWhilePaused() {
+        BackpressureController controller = controller(LONG, LONG);
+
+        signal.value = 1.5;
+        controller.check();
+        lenient().when(container.isPauseRequested()).thenReturn(false);
+        controller.check();
+
+        verify(container, times(2)).pause();
+    }
+
+    @Test
+    void testConstructor_RejectsResumeThresholdOutsideRange() {
+        assertThrows(IllegalArgumentException.class, () -> new BackpressureController(endpointRegistry,
+                List.of(signal), Set.of(), 1.0, CHECK_INTERVAL, Duration.ZERO));
+    }
+
+    private BackpressureController controller(Duration minPause, Duration maxBlindPause) {
+        return new BackpressureController(endpointRegistry, List.of(signal), Set.of(), 0.5,
+                CHECK_INTERVAL, minPause, maxBlindPause);
+    }
+
+    private static final class TestSignal implements SaturationSignal {
+
+        private double value;
+        private RuntimeException failure;
+
+        @Override
+        public String name() {
+            return "db.query";
+        }
+
+        @Override
+        public double saturation() {
+            if (failure != null) {
+                throw failure;
+            }
+            return value;
+        }
+    }
+}
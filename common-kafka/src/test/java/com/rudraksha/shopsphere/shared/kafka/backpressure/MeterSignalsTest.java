@@ -0,0 +1,66 @@
+package com.rudraksha.shopsphere.shared.kafka.backpressure;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MeterSignalsTest {
+
+    private MeterRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void testMeanTime_RelativeToLimitSincePreviousReading() {
+        SaturationSignal signal = MeterSignals.meanTime(registry, "db.query", Duration.ofMillis(100));
+        registry.timer("db.query").record(Duration.ofMillis(200));
+        registry.timer("db.query").record(Duration.ofMillis(200));
+
+        assertEquals(2.0, signal.saturation(), 0.001);
+
+        registry.timer("db.query").record(Duration.ofMillis(50));
+        assertEquals(0.5, signal.saturation(), 0.001);
+    }
+
+    @Test
+    void testMeanTime_UnknownWithoutNewSamples() {
+        SaturationSignal signal = MeterSignals.meanTime(registry, "db.query", Duration.ofMillis(100));
+
+        assertTrue(Double.isNaN(signal.saturation()));
+
+        registry.timer("db.query").record(Duration.ofMillis(20));
+        signal.saturation();
+        assertTrue(Double.isNaN(signal.saturation()));
+    }
+
+    @Test
+    void testGaugeRatio_SumsGaugesRelativeToLimitRatio() {
+        Gauge.builder("hikaricp.connections.active", () -> 8).register(registry);
+        Gauge.builder("hikaricp.connections.max", () -> 10).register(registry);
+
+        SaturationSignal signal = MeterSignals.gaugeRatio(registry,
+                "hikaricp.connections.active", "hikaricp.connections.max", 0.8);
+
+        assertEquals(1.0, signal.saturation(), 0.001);
+        assertEquals("hikaricp.connections.active", signal.name());
+    }
+
+    @Test
+    void testGaugeRatio_IdleWithoutCapacityGauge() {
+        Gauge.builder("hikaricp.connections.active", () -> 8).register(registry);
+
+        SaturationSignal signal = MeterSignals.gaugeRatio(registry,
+                "hikaricp.connections.active", "hikaricp.connections.max", 0.8);
+
+        assertEquals(0.0, signal.saturation());
+    }
+}
@@ -0,0 +1,128 @@
+package com.rudraksha.shopsphere.shared.kafka.concurrency;
+
+import com.rudraksha.shopsphere.shared.kafka.backpressure.BackpressureController;
+import org.apache.kafka.clients.admin.TopicDescription;
+import org.apache.kafka.common.Metric;
+import org.apache.kafka.common.MetricName;
+import org.apache.kafka.common.Node;
+import org.apache.kafka.common.TopicPartitionInfo;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.core.KafkaAdmin;
+import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
+import org.springframework.kafka.listener.ContainerProperties;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ConcurrencyAutoscalerTest {
+
+    private static final Node NODE = new Node(1, "localhost", 9092);
+
+    @Mock
+    private KafkaListenerEndpointRegistry endpointRegistry;
+
+    @Mock
+    private KafkaAdmin kafkaAdmin;
+
+    @Mock
+    private BackpressureController backpressureController;
+
+    @Mock
+    private ConcurrentMessageListenerContainer<String, String> container;
+
+    @Test
+    void testCheck_GrowsLaggingListenerInProportionToDrainTime() {
+        stubContainer(2, 10_000, 50, "order.events");
+        when(kafkaAdmin.describeTopics("order.events")).thenReturn(Map.of("order.events", topic("order.events", 6)));
+
+        autoscaler(5).check();
+
+        verify(container).stop();
+        verify(container).setConcurrency(4);
+        verify(container).start();
+    }
+
+    @Test
+    void testCheck_CapsGrowthAtPartitionsOfLargestTopic() {
+        stubContainer(4, 1_000_000, 10, "order.events", "payment.events");
+        when(kafkaAdmin.describeTopics("order.events", "payment.events")).thenReturn(Map.of(
+                "order.events", topic("order.events", 3),
+                "payment.events", topic("payment.events", 5)));
+
+        autoscaler(5).check();
+
+        verify(container).setConcurrency(5);
+    }
+
+    @Test
+    void testCheck_ShrinksAfterConsecutiveQuietChecks() {
+        stubContainer(3, 0, 100, "order.events");
+        when(kafkaAdmin.describeTopics("order.events")).thenReturn(Map.of("order.events", topic("order.events", 6)));
+        ConcurrencyAutoscaler autoscaler = autoscaler(2);
+
+        autoscaler.check();
+        verify(container, never()).setConcurrency(anyInt());
+
+        autoscaler.check();
+        verify(container).setConcurrency(2);
+    }
+
+    @Test
+    void testCheck_SkipsWhileBackpressurePaused() {
+        when(backpressureController.isPaused()).thenReturn(true);
+
+        new ConcurrencyAutoscaler(endpointRegistry, kafkaAdmin, null, backpressureController, settings(5)).check();
+
+        verify(endpointRegistry, never()).getListenerContainers();
+    }
+
+    private ConcurrencyAutoscaler autoscaler(int scaleDownAfter) {
+        return new ConcurrencyAutoscaler(endpointRegistry, kafkaAdmin, null, null, settings(scaleDownAfter));
+    }
+
+    private static ConcurrencyAutoscaler.Settings settings(int scaleDownAfter) {
+        return new ConcurrencyAutoscaler.Settings(new ConcurrencyBounds(1, 12), Map.of(),
+                1000, 100, scaleDownAfter, Duration.ofSeconds(60), Duration.ofSeconds(2),
+                Duration.ofSeconds(30), Duration.ZERO);
+    }
+
+    private void stubContainer(int concurrency, double lag, double rate, String... topics) {
+        when(endpointRegistry.getListenerContainers()).thenReturn(List.of(container));
+        when(container.isRunning()).thenReturn(true);
+        when(container.isPauseRequested()).thenReturn(false);
+        when(container.getListenerId()).thenReturn("inventory-order-events");
+        when(container.getConcurrency()).thenReturn(concurrency);
+        when(container.getContainerProperties()).thenReturn(new ContainerProperties(topics));
+        Map<String, Map<MetricName, ? extends Metric>> metrics = Map.of("consumer-1", Map.of(
+                new MetricName("records-lag", "consumer-fetch-manager-metrics", "",
+                        Map.of("client-id", "consumer-1", "topic", topics[0], "partition", "0")), metric(lag),
+                new MetricName("records-consumed-rate", "consumer-fetch-manager-metrics", "",
+                        Map.of("client-id", "consumer-1")), metric(rate)));
+        when(container.metrics()).thenReturn(metrics);
+    }
+
+    private static Metric metric(double value) {
+        Metric metric = mock(Metric.class);
+        when(metric.metricValue()).thenReturn(value);
+        return metric;
+    }
+
+    private static TopicDescription topic(String name, int partitions) {
+        return new TopicDescription(name, false, IntStream.range(0, partitions)
+                .mapToObj(partition -> new TopicPartitionInfo(partition, NODE, List.of(NODE), List.of(NODE)))
+                .toList());
+    }
+}
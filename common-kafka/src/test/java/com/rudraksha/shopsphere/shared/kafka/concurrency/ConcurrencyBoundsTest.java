@@ -0,0 +1,40 @@
+package com.rudraksha.shopsphere.shared.kafka.concurrency;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrencyBoundsTest {
+
+    @Test
+    void testParse_ReadsListenerBounds() {
+        Map<String, ConcurrencyBounds> bounds =
+                ConcurrencyBounds.parse("inventory-order-events:2-12, notification-order-placed:1-4");
+
+        assertEquals(Map.of(
+                "inventory-order-events", new ConcurrencyBounds(2, 12),
+                "notification-order-placed", new ConcurrencyBounds(1, 4)), bounds);
+    }
+
+    @Test
+    void testParse_SkipsMalformedAndInvalidEntries() {
+        Map<String, ConcurrencyBounds> bounds =
+                ConcurrencyBounds.parse("no-range,bad:x-2,inverted:4-2,zero:0-3,orders:1-3");
+
+        assertEquals(Map.of("orders", new ConcurrencyBounds(1, 3)), bounds);
+    }
+
+    @Test
+    void testParse_BlankConfigIsEmpty() {
+        assertTrue(ConcurrencyBounds.parse(null).isEmpty());
+        assertTrue(ConcurrencyBounds.parse(" ").isEmpty());
+    }
+
+    @Test
+    void testConstructor_RejectsInvalidBounds() {
+        assertThrows(IllegalArgumentException.class, () -> new ConcurrencyBounds(0, 2));
+        assertThrows(IllegalArgumentException.class, () -> new ConcurrencyBounds(3, 2));
+    }
+}
@@ -0,0 +1,87 @@
+package com.rudraksha.shopsphere.shared.kafka.dedupe;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class EventDeduplicatorTest {
+
+    private static final String CONSUMER = "inventory-order-events";
+
+    @Mock
+    private ProcessedEventStore store;
+
+    @Test
+    void testIsDuplicate_DetectsEventsProcessedOnThisInstance() {
+        EventDeduplicator deduplicator = new EventDeduplicator(null, 1000, 100, 0);
+        UUID eventId = UUID.randomUUID();
+
+        assertFalse(deduplicator.isDuplicate(CONSUMER, eventId));
+        deduplicator.markProcessed(CONSUMER, eventId);
+
+        assertTrue(deduplicator.isDuplicate(CONSUMER, eventId));
+        assertFalse(deduplicator.isDuplicate("other-consumer", eventId));
+        assertFalse(deduplicator.isDuplicate(CONSUMER, null));
+    }
+
+    @Test
+    void testFindDuplicates_QueriesStoreDuringCheckWindow() {
+        EventDeduplicator deduplicator = new EventDeduplicator(store, 1000, 100, 60_000);
+        UUID processed = UUID.randomUUID();
+        UUID fresh = UUID.randomUUID();
+        when(store.findProcessed(CONSUMER, List.of(processed, fresh))).thenReturn(Set.of(processed));
+
+        assertEquals(Set.of(processed), deduplicator.findDuplicates(CONSUMER, List.of(processed, fresh)));
+    }
+
+    @Test
+    void testFindDuplicates_SkipsStoreForUnseenIdsAfterCheckWindow() {
+        EventDeduplicator deduplicator = new EventDeduplicator(store, 1000, 100, 0);
+
+        assertTrue(deduplicator.findDuplicates(CONSUMER, List.of(UUID.randomUUID())).isEmpty());
+        verify(store, never()).findProcessed(anyString(), anyCollection());
+    }
+
+    @Test
+    void testFindDuplicates_ResolvesBloomHitsEvictedFromLruInStore() {
+        EventDeduplicator deduplicator = new EventDeduplicator(store, 1000, 1, 0);
+        UUID evicted = UUID.randomUUID();
+        deduplicator.markProcessed(CONSUMER, evicted);
+        deduplicator.markProcessed(CONSUMER, UUID.randomUUID());
+        when(store.findProcessed(CONSUMER, List.of(evicted))).thenReturn(Set.of(evicted));
+
+        assertTrue(deduplicator.isDuplicate(CONSUMER, evicted));
+    }
+
+    @Test
+    void testMarkProcessed_StoreFailureStillRemembersLocally() {
+        EventDeduplicator deduplicator = new EventDeduplicator(store, 1000, 100, 0);
+        UUID eventId = UUID.randomUUID();
+        doThrow(new IllegalStateException("database down")).when(store).markProcessed(any(), any());
+
+        deduplicator.markProcessed(CONSUMER, eventId);
+
+        assertTrue(deduplicator.isDuplicate(CONSUMER, eventId));
+    }
+
+    @Test
+    void testConstructor_RejectsInvalidSizes() {
+        assertThrows(IllegalArgumentException.class, () -> new EventDeduplicator(null, 1, 100, 0));
+        assertThrows(IllegalArgumentException.class, () -> new EventDeduplicator(null, 1000, 0, 0));
+    }
+}
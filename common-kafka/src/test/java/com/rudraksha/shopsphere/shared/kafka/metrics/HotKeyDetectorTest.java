@@ -0,0 +1,69 @@
+package com.rudraksha.shopsphere.shared.kafka.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HotKeyDetectorTest {
+
+    @Test
+    void testOffer_ReturnsTopKeyWhenWindowCloses() {
+        HotKeyDetector detector = new HotKeyDetector(10, 5);
+
+        assertNull(detector.offer("a"));
+        assertNull(detector.offer("b"));
+        assertNull(detector.offer("a"));
+        assertNull(detector.offer("c"));
+        HotKeyDetector.HotKey hotKey = detector.offer("a");
+
+        assertNotNull(hotKey);
+        assertEquals("a", hotKey.key());
+        assertEquals(3, hotKey.count());
+        assertEquals(5, hotKey.windowSize());
+        assertEquals(0.6, hotKey.share(), 0.0001);
+    }
+
+    @Test
+    void testOffer_StartsEachWindowAfresh() {
+        HotKeyDetector detector = new HotKeyDetector(10, 3);
+        detector.offer("a");
+        detector.offer("a");
+        assertEquals("a", detector.offer("a").key());
+
+        detector.offer("b");
+        detector.offer("c");
+        HotKeyDetector.HotKey hotKey = detector.offer("b");
+
+        assertEquals("b", hotKey.key());
+        assertEquals(2, hotKey.count());
+        assertEquals(3, hotKey.windowSize());
+    }
+
+    @Test
+    void testOffer_EvictsLeastCountedKeyAtCapacity() {
+        HotKeyDetector detector = new HotKeyDetector(2, 5);
+        detector.offer("a");
+        detector.offer("a");
+        detector.offer("b");
+        // b has the lowest count; c takes its slot and inherits its count plus one
+        detector.offer("c");
+        HotKeyDetector.HotKey hotKey = detector.offer("c");
+
+        assertEquals("c", hotKey.key());
+        assertEquals(3, hotKey.count());
+    }
+
+    @Test
+    void testOffer_FindsHotKeyAmongMoreKeysThanCapacity() {
+        HotKeyDetector detector = new HotKeyDetector(4, 1_000);
+        HotKeyDetector.HotKey hotKey = null;
+
+        for (int i = 0; i < 1_000; i++) {
+            hotKey = detector.offer(i % 2 == 0 ? "hot" : "key-" + i);
+        }
+
+        assertNotNull(hotKey);
+        assertEquals("hot", hotKey.key());
+        assertTrue(hotKey.count() >= 500, "Space-Saving never undercounts a monitored key");
+    }
+}
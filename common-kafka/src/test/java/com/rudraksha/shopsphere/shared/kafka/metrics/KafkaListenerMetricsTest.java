@@ -0,0 +1,186 @@
+package com.rudraksha.shopsphere.shared.kafka.metrics;
+
+import com.rudraksha.shopsphere.shared.kafka.KeyOrderedDispatcher;
+import com.rudraksha.shopsphere.shared.models.enums.EventType;
+import com.rudraksha.shopsphere.shared.models.events.EventEnvelope;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.record.TimestampType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.support.KafkaUtils;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KafkaListenerMetricsTest {
+
+    private static final String GROUP = "order-service";
+    private static final String TOPIC = "orders";
+
+    private MeterRegistry registry;
+    private KafkaListenerMetrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        metrics = new KafkaListenerMetrics(registry, 10, 10, 0.5);
+        KafkaUtils.setConsumerGroupId(GROUP);
+    }
+
+    @AfterEach
+    void tearDown() {
+        KafkaUtils.clearConsumerGroupId();
+    }
+
+    @Test
+    void testRecordInterceptor_TimesSuccessAndFailureByMode() {
+        ConsumerRecord<Object, Object> record = record(TOPIC, "order-1", "payload", -1);
+
+        metrics.intercept(record, null);
+        metrics.success(record, null);
+        metrics.intercept(record, null);
+        metrics.failure(record, new IllegalStateException("boom"), null);
+
+        assertEquals(1, handlerTimer(TOPIC, "record", "success").count());
+        assertEquals(1, handlerTimer(TOPIC, "record", "failure").count());
+        Counter errors = registry.find("shopsphere.kafka.handler.errors")
+                .tags("group", GROUP, "topic", TOPIC, "exception", "IllegalStateException")
+                .counter();
+        assertNotNull(errors);
+        assertEquals(1.0, errors.count());
+    }
+
+    @Test
+    void testBatchInterceptor_TimesEachTopicOfTheBatch() {
+        ConsumerRecords<Object, Object> records = new ConsumerRecords<>(Map.of(
+                new TopicPartition(TOPIC, 0), List.of(record(TOPIC, "order-1", "a", -1)),
+                new TopicPartition("payments", 0), List.of(record("payments", "payment-1", "b", -1))));
+
+        metrics.intercept(records, null);
+        metrics.success(records, null);
+        metrics.intercept(records, null);
+        metrics.failure(records, new IllegalArgumentException("bad batch"), null);
+
+        assertEquals(1, handlerTimer(TOPIC, "batch", "success").count());
+        assertEquals(1, handlerTimer("payments", "batch", "success").count());
+        assertEquals(1, handlerTimer(TOPIC, "batch", "failure").count());
+        assertEquals(1, handlerTimer("payments", "batch", "failure").count());
+        assertNull(registry.find("shopsphere.kafka.handler.duration").tag("mode", "record").timer());
+    }
+
+    @Test
+    void testParallelDispatch_TimesHandlerWithParallelMode() throws Exception {
+        try (KeyOrderedDispatcher dispatcher = new KeyOrderedDispatcher(10)) {
+            dispatcher.setListenerMetrics(metrics);
+
+            dispatcher.dispatch(record(TOPIC, "order-1", "payload", -1), () -> { }, () -> { })
+                    .get(5, TimeUnit.SECONDS);
+        }
+
+        assertEquals(1, handlerTimer(TOPIC, "parallel", "success").count());
+    }
+
+    @Test
+    void testLatency_TakenFromEnvelopeTimestamp() {
+        long now = System.currentTimeMillis();
+        EventEnvelope<String> envelope = EventEnvelope.<String>builder()
+                .eventType(EventType.ORDER_PLACED)
+                .timestamp(Instant.ofEpochMilli(now - 5_000))
+                .payload("order-1")
+                .build();
+        // The record was written much earlier than the event it carries claims
+        ConsumerRecord<Object, Object> record = record(TOPIC, "order-1", envelope, now - 60_000);
+
+        metrics.recordSuccess(GROUP, record, 1_000, "record");
+
+        Timer latency = latencyTimer(TOPIC);
+        assertNotNull(latency);
+        double millis = latency.totalTime(TimeUnit.MILLISECONDS);
+        assertTrue(millis >= 5_000 && millis < 60_000, "latency " + millis + " ms");
+    }
+
+    @Test
+    void testLatency_FallsBackToRecordTimestamp() {
+        long now = System.currentTimeMillis();
+        ConsumerRecord<Object, Object> record = record(TOPIC, "order-1", "payload", now - 2_000);
+
+        metrics.recordSuccess(GROUP, record, 1_000, "record");
+
+        double millis = latencyTimer(TOPIC).totalTime(TimeUnit.MILLISECONDS);
+        assertTrue(millis >= 2_000 && millis < 60_000, "latency " + millis + " ms");
+    }
+
+    @Test
+    void testLatency_SkippedWithoutTimestamp() {
+        metrics.recordSuccess(GROUP, record(TOPIC, "order-1", "payload", -1), 1_000, "record");
+
+        assertNull(latencyTimer(TOPIC));
+    }
+
+    @Test
+    void testRetryAndDeadLetterCounters() {
+        ConsumerRecord<Object, Object> record = record(TOPIC, "order-1", "payload", -1);
+        ConsumerRecord<Object, Object> retried = record(TOPIC + "-retry-0", "order-1", "payload", -1);
+
+        metrics.failedDelivery(record, new IllegalStateException("boom"), 1);
+        metrics.failedDelivery(record, new IllegalStateException("boom"), 2);
+        metrics.intercept(retried, null);
+        metrics.recovered(record, new IllegalStateException("boom"));
+        metrics.recordDeadLettered(GROUP, record);
+
+        assertEquals(2.0, counter("shopsphere.kafka.retries", TOPIC, "kind", "blocking"));
+        assertEquals(1.0, counter("shopsphere.kafka.retries", TOPIC + "-retry-0", "kind", "retry-topic"));
+        assertEquals(1.0, counter("shopsphere.kafka.dead.letters", TOPIC, "source", "error-handler"));
+        assertEquals(1.0, counter("shopsphere.kafka.dead.letters", TOPIC, "source", "dispatcher"));
+    }
+
+    @Test
+    void testHotKeyShare_PublishedWhenWindowCloses() {
+        for (int i = 0; i < 10; i++) {
+            String key = i < 8 ? "hot" : "key-" + i;
+            metrics.recordSuccess(GROUP, record(TOPIC, key, "payload", -1), 1_000, "record");
+        }
+
+        Double share = registry.find("shopsphere.kafka.hot.key.share")
+                .tags("group", GROUP, "topic", TOPIC)
+                .gauge()
+                .value();
+        assertEquals(0.8, share, 0.0001);
+    }
+
+    private Timer handlerTimer(String topic, String mode, String outcome) {
+        Timer timer = registry.find("shopsphere.kafka.handler.duration")
+                .tags("group", GROUP, "topic", topic, "mode", mode, "outcome", outcome)
+                .timer();
+        assertNotNull(timer, "no " + mode + " " + outcome + " timer for " + topic);
+        return timer;
+    }
+
+    private Timer latencyTimer(String topic) {
+        return registry.find("shopsphere.kafka.event.latency").tags("group", GROUP, "topic", topic).timer();
+    }
+
+    private double counter(String name, String topic, String tagKey, String tagValue) {
+        Counter counter = registry.find(name).tags("group", GROUP, "topic", topic, tagKey, tagValue).counter();
+        assertNotNull(counter, "no " + name + " counter for " + topic);
+        return counter.count();
+    }
+
+    private static ConsumerRecord<Object, Object> record(String topic, String key, Object value, long timestamp) {
+        return new ConsumerRecord<>(topic, 0, 0, timestamp, TimestampType.CREATE_TIME, -1, -1, key, value,
+                new RecordHeaders(), Optional.empty());
+    }
+}
@@ -0,0 +1,87 @@
+package com.rudraksha.shopsphere.shared.kafka.metrics;
+
+import com.rudraksha.shopsphere.shared.utils.RetryUtil;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RetryMetricsTest {
+
+    private static final RetryUtil.RetryPolicy TWO_ATTEMPTS =
+            RetryUtil.RetryPolicy.of(2, Duration.ofMillis(1), Duration.ofMillis(1));
+
+    private MeterRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void testBindTo_PublishesCountersOfDependenciesUsedBeforeBinding() {
+        failTwice("retry-metrics-before");
+
+        new RetryMetrics().bindTo(registry);
+
+        assertEquals(2.0, count("shopsphere.retry.attempts", "retry-metrics-before"));
+        assertEquals(1.0, count("shopsphere.retry.retries", "retry-metrics-before"));
+        assertEquals(1.0, count("shopsphere.retry.exhausted", "retry-metrics-before"));
+        assertEquals(0.0, count("shopsphere.retry.budget.rejected", "retry-metrics-before"));
+    }
+
+    @Test
+    void testBindTo_RegistersDependenciesFirstUsedAfterBinding() {
+        new RetryMetrics().bindTo(registry);
+        assertNull(registry.find("shopsphere.retry.attempts").tag("dependency", "retry-metrics-after").functionCounter());
+
+        failTwice("retry-metrics-after");
+
+        assertEquals(2.0, count("shopsphere.retry.attempts", "retry-metrics-after"));
+        assertEquals(1.0, count("shopsphere.retry.retries", "retry-metrics-after"));
+    }
+
+    @Test
+    void testBindTo_CountersFollowLaterCalls() {
+        failTwice("retry-metrics-live");
+        new RetryMetrics().bindTo(registry);
+
+        failTwice("retry-metrics-live");
+
+        assertEquals(4.0, count("shopsphere.retry.attempts", "retry-metrics-live"));
+        assertEquals(2.0, count("shopsphere.retry.exhausted", "retry-metrics-live"));
+    }
+
+    @Test
+    void testBindTo_CountsBudgetRejections() {
+        RetryUtil.configureBudget("retry-metrics-budget", 0.1, 1);
+        new RetryMetrics().bindTo(registry);
+
+        failTwice("retry-metrics-budget");
+        failTwice("retry-metrics-budget");
+
+        assertEquals(1.0, count("shopsphere.retry.retries", "retry-metrics-budget"));
+        assertEquals(1.0, count("shopsphere.retry.budget.rejected", "retry-metrics-budget"));
+    }
+
+    private void failTwice(String dependency) {
+        CompletableFuture<Object> result = RetryUtil.retryFuture(dependency,
+                () -> CompletableFuture.failedFuture(new IllegalStateException("down")), TWO_ATTEMPTS);
+        ExecutionException thrown = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, thrown.getCause());
+    }
+
+    private double count(String name, String dependency) {
+        FunctionCounter counter = registry.find(name).tag("dependency", dependency).functionCounter();
+        assertNotNull(counter, name + " is not registered for " + dependency);
+        return counter.count();
+    }
+}
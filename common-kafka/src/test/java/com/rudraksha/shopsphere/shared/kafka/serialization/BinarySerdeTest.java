@@ -0,0 +1,109 @@
+package com.rudraksha.shopsphere.shared.kafka.serialization;
+
+import com.rudraksha.shopsphere.shared.models.enums.EventType;
+import com.rudraksha.shopsphere.shared.models.events.EventEnvelope;
+import org.apache.kafka.common.config.ConfigException;
+import org.apache.kafka.common.errors.SerializationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BinarySerdeTest {
+
+    private static final String TOPIC = "order.events";
+
+    @TempDir
+    Path tempDir;
+
+    private Map<String, Object> configs;
+
+    @BeforeEach
+    void setUp() {
+        configs = Map.of(BinarySerde.SCHEMA_REGISTRY_PATH_CONFIG, tempDir.resolve("schemas.jsonl").toString());
+    }
+
+    @Test
+    void testSerialize_RoundTripsEnvelope() {
+        EventEnvelope<Map<String, Object>> envelope = EventEnvelope.of(EventType.ORDER_PLACED,
+                Map.of("orderId", "o-1", "quantity", 3, "total", new BigDecimal("19.99"), "items", List.of("a", "b")));
+
+        byte[] data = serializer(configs).serialize(TOPIC, envelope);
+
+        assertTrue(BinarySerde.isBinary(data));
+        assertEquals(0, data[2]);
+        EventEnvelope<?> decoded = (EventEnvelope<?>) deserializer(configs).deserialize(TOPIC, data);
+        assertEquals(envelope.getEventId(), decoded.getEventId());
+        assertEquals(EventType.ORDER_PLACED, decoded.getEventType());
+        assertEquals(envelope.getTimestamp(), decoded.getTimestamp());
+        assertEquals(envelope.getSchemaVersion(), decoded.getSchemaVersion());
+        assertEquals(envelope.getPayload(), decoded.getPayload());
+    }
+
+    @Test
+    void testSerialize_CompressesLargeBodyWithZstd() {
+        Map<String, Object> zstdConfigs = Map.of(
+                BinarySerde.SCHEMA_REGISTRY_PATH_CONFIG, tempDir.resolve("schemas.jsonl").toString(),
+                BinarySerde.COMPRESSION_CONFIG, "zstd",
+                BinarySerde.COMPRESSION_THRESHOLD_CONFIG, "64");
+        String description = "x".repeat(4000);
+        EventEnvelope<Map<String, Object>> envelope = EventEnvelope.of(EventType.INVENTORY_UPDATED,
+                Map.of("productId", "p-1", "description", description));
+
+        byte[] data = serializer(zstdConfigs).serialize(TOPIC, envelope);
+
+        assertEquals(1, data[2]);
+        assertTrue(data.length < description.length());
+        EventEnvelope<?> decoded = (EventEnvelope<?>) deserializer(zstdConfigs).deserialize(TOPIC, data);
+        assertEquals(envelope.getPayload(), decoded.getPayload());
+    }
+
+    @Test
+    void testSerialize_WritesJsonForNonEnvelopes() {
+        byte[] data = serializer(configs).serialize(TOPIC, Map.of("productId", "p-1"));
+
+        assertFalse(BinarySerde.isBinary(data));
+        assertEquals(Map.of("productId", "p-1"), deserializer(configs).deserialize(TOPIC, data));
+    }
+
+    @Test
+    void testSerialize_WritesJsonForEnvelopeWithoutEventId() {
+        EventEnvelope<Map<String, Object>> envelope = EventEnvelope.of(EventType.ORDER_PLACED, Map.of("orderId", "o-1"));
+        envelope.setEventId(null);
+
+        assertFalse(BinarySerde.isBinary(serializer(configs).serialize(TOPIC, envelope)));
+    }
+
+    @Test
+    void testConfigure_WithoutRegistryThrows() {
+        BinarySerde.BinarySerializer serializer = new BinarySerde.BinarySerializer();
+
+        assertThrows(ConfigException.class, () -> serializer.configure(Map.of(), false));
+    }
+
+    @Test
+    void testDeserialize_BinaryWithoutRegistryThrows() {
+        byte[] data = serializer(configs).serialize(TOPIC,
+                EventEnvelope.of(EventType.ORDER_PLACED, Map.of("orderId", "o-1")));
+
+        assertThrows(SerializationException.class, () -> deserializer(Map.of()).deserialize(TOPIC, data));
+    }
+
+    private static BinarySerde.BinarySerializer serializer(Map<String, ?> configs) {
+        BinarySerde.BinarySerializer serializer = new BinarySerde.BinarySerializer();
+        serializer.configure(configs, false);
+        return serializer;
+    }
+
+    private static BinarySerde.BinaryDeserializer deserializer(Map<String, ?> configs) {
+        BinarySerde.BinaryDeserializer deserializer = new BinarySerde.BinaryDeserializer();
+        deserializer.configure(configs, false);
+        return deserializer;
+    }
+}
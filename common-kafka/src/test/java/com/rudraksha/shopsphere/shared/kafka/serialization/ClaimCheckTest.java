@@ -0,0 +1,113 @@
+package com.rudraksha.shopsphere.shared.kafka.serialization;
+
+import com.rudraksha.shopsphere.shared.kafka.EventHeaders;
+import com.rudraksha.shopsphere.shared.models.enums.EventType;
+import com.rudraksha.shopsphere.shared.models.events.EventEnvelope;
+import org.apache.kafka.common.config.ConfigException;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClaimCheckTest {
+
+    private static final String TOPIC = "product.events";
+
+    @TempDir
+    Path tempDir;
+
+    private Map<String, Object> configs;
+
+    @BeforeEach
+    void setUp() {
+        configs = Map.of(
+                JsonSerde.CLAIM_CHECK_THRESHOLD_CONFIG, "512",
+                JsonSerde.CLAIM_CHECK_PATH_CONFIG, tempDir.toString(),
+                JsonSerde.CLAIM_CHECK_RETENTION_CONFIG, "3600000");
+    }
+
+    @Test
+    void testFromConfigs_WithoutStoreOrThresholdReturnsNull() {
+        assertNull(ClaimCheck.fromConfigs(Map.of()));
+    }
+
+    @Test
+    void testFromConfigs_ThresholdWithoutStoreThrows() {
+        assertThrows(ConfigException.class,
+                () -> ClaimCheck.fromConfigs(Map.of(JsonSerde.CLAIM_CHECK_THRESHOLD_CONFIG, "512")));
+    }
+
+    @Test
+    void testFromConfigs_ThresholdWithoutRetentionThrows() {
+        assertThrows(ConfigException.class, () -> ClaimCheck.fromConfigs(Map.of(
+                JsonSerde.CLAIM_CHECK_THRESHOLD_CONFIG, "512",
+                JsonSerde.CLAIM_CHECK_PATH_CONFIG, tempDir.toString())));
+    }
+
+    @Test
+    void testSerialize_OffloadsOversizedPayloadAndRestoresIt() {
+        EventEnvelope<Map<String, Object>> envelope = EventEnvelope.of(EventType.INVENTORY_UPDATED,
+                Map.of("productId", "p-1", "description", "x".repeat(2000)));
+        Headers headers = new RecordHeaders();
+
+        byte[] data = serializer().serialize(TOPIC, headers, envelope);
+
+        assertTrue(data.length < 512);
+        assertNotNull(EventHeaders.value(headers, EventHeaders.CLAIM_CHECK));
+        EventEnvelope<?> restored = (EventEnvelope<?>) deserializer().deserialize(TOPIC, headers, data);
+        assertEquals(envelope.getEventId(), restored.getEventId());
+        assertEquals(EventType.INVENTORY_UPDATED, restored.getEventType());
+        assertEquals(envelope.getPayload(), restored.getPayload());
+    }
+
+    @Test
+    void testSerialize_KeepsSmallPayloadInline() {
+        Headers headers = new RecordHeaders();
+
+        serializer().serialize(TOPIC, headers, EventEnvelope.of(EventType.INVENTORY_UPDATED, Map.of("productId", "p-1")));
+
+        assertNull(EventHeaders.value(headers, EventHeaders.CLAIM_CHECK));
+    }
+
+    @Test
+    void testCheckOut_ReplacedBlobFailsVerification() throws Exception {
+        ClaimCheck claimCheck = ClaimCheck.fromConfigs(configs);
+        byte[] payload = "{\"productId\":\"p-1\"}".getBytes(StandardCharsets.UTF_8);
+        EventEnvelope<ClaimCheck.Reference> reference = claimCheck.checkIn(
+                EventEnvelope.of(EventType.INVENTORY_UPDATED, Map.of("productId", "p-1")), payload, null);
+        String sha256 = reference.getPayload().sha256();
+        Files.write(tempDir.resolve(sha256.substring(0, 2)).resolve(sha256),
+                "{\"productId\":\"p-2\"}".getBytes(StandardCharsets.UTF_8));
+
+        assertThrows(SerializationException.class, () -> claimCheck.checkOut(reference.getPayload()));
+    }
+
+    @Test
+    void testCheckOut_MissingBlobThrows() {
+        ClaimCheck claimCheck = ClaimCheck.fromConfigs(configs);
+
+        assertThrows(SerializationException.class,
+                () -> claimCheck.checkOut(new ClaimCheck.Reference("ab".repeat(32), 10)));
+    }
+
+    private JsonSerde.JsonSerializer serializer() {
+        JsonSerde.JsonSerializer serializer = new JsonSerde.JsonSerializer();
+        serializer.configure(configs, false);
+        return serializer;
+    }
+
+    private JsonSerde.JsonDeserializer deserializer() {
+        JsonSerde.JsonDeserializer deserializer = new JsonSerde.JsonDeserializer();
+        deserializer.configure(configs, false);
+        return deserializer;
+    }
+}
@@ -0,0 +1,84 @@
+package com.rudraksha.shopsphere.shared.kafka.serialization;
+
+import org.apache.kafka.common.config.ConfigException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FileBlobStoreTest {
+
+    private static final String KEY = "ab12cd34";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testPut_StoredBlobIsReadBack() {
+        FileBlobStore store = new FileBlobStore(tempDir, null);
+
+        store.put(KEY, "payload".getBytes(StandardCharsets.UTF_8));
+
+        assertArrayEquals("payload".getBytes(StandardCharsets.UTF_8), store.get(KEY));
+        assertTrue(Files.exists(tempDir.resolve("ab").resolve(KEY)));
+    }
+
+    @Test
+    void testGet_MissingBlobReturnsNull() {
+        assertNull(new FileBlobStore(tempDir, null).get(KEY));
+    }
+
+    @Test
+    void testPut_InvalidKeyThrows() {
+        FileBlobStore store = new FileBlobStore(tempDir, null);
+
+        assertThrows(IllegalArgumentException.class, () -> store.put("../etc", new byte[1]));
+    }
+
+    @Test
+    void testDeleteExpired_RemovesOnlyBlobsOlderThanRetention() throws Exception {
+        FileBlobStore store = new FileBlobStore(tempDir, Duration.ofHours(1));
+        store.put(KEY, new byte[] {1});
+        store.put("ef56ab78", new byte[] {2});
+        Files.setLastModifiedTime(tempDir.resolve("ab").resolve(KEY),
+                FileTime.fromMillis(System.currentTimeMillis() - Duration.ofHours(2).toMillis()));
+
+        assertEquals(1, store.deleteExpired());
+        assertNull(store.get(KEY));
+        assertNotNull(store.get("ef56ab78"));
+    }
+
+    @Test
+    void testDeleteExpired_WithoutRetentionKeepsBlobs() {
+        FileBlobStore store = new FileBlobStore(tempDir, null);
+        store.put(KEY, new byte[] {1});
+
+        assertEquals(0, store.deleteExpired());
+    }
+
+    @Test
+    void testConfigure_WithoutPathThrows() {
+        FileBlobStore store = new FileBlobStore();
+
+        assertThrows(ConfigException.class, () -> store.configure(Map.of()));
+    }
+
+    @Test
+    void testConfigure_ReadsPathAndRetention() {
+        FileBlobStore store = new FileBlobStore();
+        store.configure(Map.of(
+                JsonSerde.CLAIM_CHECK_PATH_CONFIG, tempDir.toString(),
+                JsonSerde.CLAIM_CHECK_RETENTION_CONFIG, "3600000"));
+
+        store.put(KEY, new byte[] {1});
+
+        assertArrayEquals(new byte[] {1}, store.get(KEY));
+    }
+}
@@ -0,0 +1,65 @@
+package com.rudraksha.shopsphere.shared.kafka.serialization;
+
+import com.rudraksha.shopsphere.shared.models.enums.EventType;
+import com.rudraksha.shopsphere.shared.models.events.SchemaVersion;
+import org.apache.kafka.common.errors.SerializationException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FileSchemaRegistryTest {
+
+    private static final EventSchema.Key ORDER_PLACED =
+            new EventSchema.Key(EventType.ORDER_PLACED, SchemaVersion.V1, List.of("orderId", "total"));
+    private static final EventSchema.Key INVENTORY_UPDATED =
+            new EventSchema.Key(EventType.INVENTORY_UPDATED, SchemaVersion.V1, List.of("productId"));
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testGetOrRegister_ReturnsSameSchemaForSameKey() {
+        FileSchemaRegistry registry = new FileSchemaRegistry(tempDir.resolve("schemas.jsonl"));
+
+        EventSchema first = registry.getOrRegister(ORDER_PLACED);
+        EventSchema second = registry.getOrRegister(INVENTORY_UPDATED);
+
+        assertEquals(first, registry.getOrRegister(ORDER_PLACED));
+        assertNotEquals(first.id(), second.id());
+        assertEquals(List.of("orderId", "total"), first.fields());
+    }
+
+    @Test
+    void testGetOrRegister_SharesIdsThroughTheFile() {
+        Path path = tempDir.resolve("schemas.jsonl");
+        FileSchemaRegistry producer = new FileSchemaRegistry(path);
+        FileSchemaRegistry otherProducer = new FileSchemaRegistry(path);
+
+        EventSchema first = producer.getOrRegister(ORDER_PLACED);
+        EventSchema second = otherProducer.getOrRegister(INVENTORY_UPDATED);
+
+        assertEquals(first, otherProducer.getOrRegister(ORDER_PLACED));
+        assertNotEquals(first.id(), second.id());
+    }
+
+    @Test
+    void testGetById_ReloadsSchemasRegisteredElsewhere() {
+        Path path = tempDir.resolve("schemas.jsonl");
+        FileSchemaRegistry consumer = new FileSchemaRegistry(path);
+        EventSchema registered = new FileSchemaRegistry(path).getOrRegister(ORDER_PLACED);
+
+        assertEquals(registered, consumer.getById(registered.id()));
+    }
+
+    @Test
+    void testGetById_UnknownIdThrows() {
+        FileSchemaRegistry registry = new FileSchemaRegistry(tempDir.resolve("schemas.jsonl"));
+        registry.getOrRegister(ORDER_PLACED);
+
+        assertThrows(SerializationException.class, () -> registry.getById(99));
+    }
+}
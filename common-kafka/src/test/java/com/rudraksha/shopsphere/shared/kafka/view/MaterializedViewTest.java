@@ -0,0 +1,232 @@
+package com.rudraksha.shopsphere.shared.kafka.view;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rudraksha.shopsphere.shared.kafka.serialization.JsonSerde;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MaterializedViewTest {
+
+    private static final String TOPIC = "product-state";
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    public record Product(String name, int stock) {
+    }
+
+    @TempDir
+    Path snapshotDirectory;
+
+    private final ObjectMapper objectMapper = JsonSerde.getObjectMapper();
+    private MockConsumer<String, byte[]> consumer;
+    private MaterializedView<Product> view;
+
+    @BeforeEach
+    void setUp() {
+        consumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (view != null) {
+            view.stop();
+        }
+    }
+
+    @Test
+    void testStart_BuildsViewFromTopicWithoutSnapshot() throws Exception {
+        partitions(1, 0, 3);
+        records(
+                record(0, 0, "p1", new Product("Lamp", 3)),
+                record(0, 1, "p2", new Product("Desk", 1)),
+                record(0, 2, "p1", new Product("Lamp", 2)));
+
+        view = start(Duration.ofHours(12));
+
+        assertTrue(view.awaitReady(TIMEOUT));
+        assertEquals(2, view.size());
+        assertEquals(new Product("Lamp", 2), view.get("p1"));
+        assertEquals(new Product("Desk", 1), view.get("p2"));
+    }
+
+    @Test
+    void testStart_TombstoneRemovesKey() throws Exception {
+        partitions(1, 0, 3);
+        records(
+                record(0, 0, "p1", new Product("Lamp", 3)),
+                record(0, 1, "p2", new Product("Desk", 1)),
+                tombstone(0, 2, "p1"));
+
+        view = start(Duration.ofHours(12));
+
+        assertTrue(view.awaitReady(TIMEOUT));
+        assertFalse(view.contains("p1"));
+        assertNull(view.get("p1"));
+        assertEquals(Map.of("p2", new Product("Desk", 1)), view.asMap());
+    }
+
+    @Test
+    void testIsReady_OnlyOnceRecordsPresentAtStartAreRead() throws Exception {
+        partitions(1, 0, 4);
+        records(
+                record(0, 0, "p1", new Product("Lamp", 3)),
+                record(0, 1, "p2", new Product("Desk", 1)));
+
+        view = start(Duration.ofHours(12));
+
+        assertFalse(view.awaitReady(Duration.ofMillis(300)));
+        assertFalse(view.isReady());
+        assertEquals(2, view.size());
+
+        records(
+                record(0, 2, "p3", new Product("Chair", 4)),
+                record(0, 3, "p4", new Product("Rug", 2)));
+
+        assertTrue(view.awaitReady(TIMEOUT));
+        assertEquals(4, view.size());
+    }
+
+    @Test
+    void testIsReady_EmptyTopicIsReadyAtOnce() throws Exception {
+        partitions(2, 0, 0);
+
+        view = start(Duration.ofHours(12));
+
+        assertTrue(view.awaitReady(TIMEOUT));
+        assertEquals(0, view.size());
+    }
+
+    @Test
+    void testStart_RestoresSnapshotAndReadsOnlyNewerRecords() throws Exception {
+        writeSnapshot(System.currentTimeMillis(), Map.of("0", 2L), Map.of(
+                "p1", new Product("Lamp", 2),
+                "p2", new Product("Desk", 1)));
+        partitions(1, 0, 3);
+        records(
+                // Already in the snapshot; reading them again would overwrite p1
+                record(0, 0, "p1", new Product("Stale", 0)),
+                record(0, 1, "p2", new Product("Stale", 0)),
+                record(0, 2, "p3", new Product("Chair", 4)));
+
+        view = start(Duration.ofHours(12));
+
+        assertTrue(view.awaitReady(TIMEOUT));
+        assertEquals(new Product("Lamp", 2), view.get("p1"));
+        assertEquals(new Product("Desk", 1), view.get("p2"));
+        assertEquals(new Product("Chair", 4), view.get("p3"));
+
+        view.stop();
+
+        JsonNode snapshot = objectMapper.readTree(snapshotDirectory.resolve(TOPIC + ".snapshot.json").toFile());
+        assertEquals(3, snapshot.path("offsets").path("0").asLong());
+        assertEquals("Chair", snapshot.path("entries").path("p3").path("name").asText());
+    }
+
+    @Test
+    void testStart_RebuildsWhenSnapshotMissesAPartition() throws Exception {
+        writeSnapshot(System.currentTimeMillis(), Map.of("0", 1L), Map.of(
+                "gone", new Product("Deleted since", 0),
+                "p1", new Product("Lamp", 3)));
+        partitions(2, 0, 1);
+        records(
+                record(0, 0, "p1", new Product("Lamp", 3)),
+                record(1, 0, "p2", new Product("Desk", 1)));
+
+        view = start(Duration.ofHours(12));
+
+        assertTrue(view.awaitReady(TIMEOUT));
+        assertFalse(view.contains("gone"));
+        assertEquals(Map.of("p1", new Product("Lamp", 3), "p2", new Product("Desk", 1)), view.asMap());
+    }
+
+    @Test
+    void testStart_RebuildsWhenLogWasTruncatedPastSnapshot() throws Exception {
+        writeSnapshot(System.currentTimeMillis(), Map.of("0", 1L), Map.of("gone", new Product("Deleted since", 0)));
+        partitions(1, 2, 3);
+        records(record(0, 2, "p1", new Product("Lamp", 3)));
+
+        view = start(Duration.ofHours(12));
+
+        assertTrue(view.awaitReady(TIMEOUT));
+        assertEquals(Map.of("p1", new Product("Lamp", 3)), view.asMap());
+    }
+
+    @Test
+    void testStart_IgnoresSnapshotOlderThanMaxAge() throws Exception {
+        writeSnapshot(System.currentTimeMillis() - Duration.ofHours(2).toMillis(), Map.of("0", 1L),
+                Map.of("gone", new Product("Deleted since", 0)));
+        partitions(1, 0, 1);
+        records(record(0, 0, "p1", new Product("Lamp", 3)));
+
+        view = start(Duration.ofHours(1));
+
+        assertTrue(view.awaitReady(TIMEOUT));
+        assertEquals(Map.of("p1", new Product("Lamp", 3)), view.asMap());
+    }
+
+    private MaterializedView<Product> start(Duration maxSnapshotAge) {
+        MaterializedView<Product> started = new MaterializedView<>(TOPIC, Product.class, () -> consumer,
+                snapshotDirectory, Duration.ofHours(1), maxSnapshotAge);
+        started.start();
+        return started;
+    }
+
+    private void partitions(int count, long beginningOffset, long endOffset) {
+        consumer.updatePartitions(TOPIC, IntStream.range(0, count)
+                .mapToObj(partition -> new PartitionInfo(TOPIC, partition, null, null, null))
+                .toList());
+        Map<TopicPartition, Long> beginningOffsets = new HashMap<>();
+        Map<TopicPartition, Long> endOffsets = new HashMap<>();
+        for (int partition = 0; partition < count; partition++) {
+            beginningOffsets.put(new TopicPartition(TOPIC, partition), beginningOffset);
+            endOffsets.put(new TopicPartition(TOPIC, partition), endOffset);
+        }
+        consumer.updateBeginningOffsets(beginningOffsets);
+        consumer.updateEndOffsets(endOffsets);
+    }
+
+    /**
+     * Records can only be added once the view has assigned the partitions, so they are
+     * added at the start of its next poll.
+     */
+    @SafeVarargs
+    private void records(ConsumerRecord<String, byte[]>... records) {
+        List<ConsumerRecord<String, byte[]>> pending = List.of(records);
+        consumer.schedulePollTask(() -> pending.forEach(consumer::addRecord));
+    }
+
+    private ConsumerRecord<String, byte[]> record(int partition, long offset, String key, Product value)
+            throws IOException {
+        return new ConsumerRecord<>(TOPIC, partition, offset, key, objectMapper.writeValueAsBytes(value));
+    }
+
+    private ConsumerRecord<String, byte[]> tombstone(int partition, long offset, String key) {
+        return new ConsumerRecord<>(TOPIC, partition, offset, key, null);
+    }
+
+    private void writeSnapshot(long writtenAt, Map<String, Long> offsets, Map<String, Product> entries)
+            throws IOException {
+        objectMapper.writeValue(snapshotDirectory.resolve(TOPIC + ".snapshot.json").toFile(), Map.of(
+                "topic", TOPIC,
+                "writtenAt", writtenAt,
+                "offsets", offsets,
+                "entries", entries));
+    }
+}
@@ -0,0 +1,102 @@
+package com.rudraksha.shopsphere.shared.security;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.math.BigInteger;
+import java.security.AlgorithmParameters;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.ECParameterSpec;
+import java.security.spec.ECPoint;
+import java.security.spec.ECPublicKeySpec;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Converts ES256 (P-256) public keys to and from JSON Web Keys (RFC 7517). Keys of other types
+ * are skipped when reading a set and rejected when writing one.
+ */
+public final class JsonWebKeys {
+
+    public static final String ALGORITHM = "ES256";
+
+    private static final String CURVE = "P-256";
+    private static final int COORDINATE_BYTES = 32;
+    private static final ECParameterSpec P256 = p256();
+
+    private JsonWebKeys() {
+    }
+
+    public static Map<String, Object> toJwkSet(Map<String, PublicKey> keys) {
+        List<Map<String, Object>> jwks = new ArrayList<>(keys.size());
+        keys.forEach((keyId, key) -> jwks.add(toJwk(keyId, key)));
+        return Map.of("keys", List.copyOf(jwks));
+    }
+
+    public static Map<String, Object> toJwk(String keyId, PublicKey key) {
+        if (!(key instanceof ECPublicKey ecKey) || ecKey.getParams().getCurve().getField().getFieldSize() != 256) {
+            throw new IllegalArgumentException("Only P-256 keys can be published, got " + key.getAlgorithm());
+        }
+        Map<String, Object> jwk = new LinkedHashMap<>();
+        jwk.put("kty", "EC");
+        jwk.put("crv", CURVE);
+        jwk.put("kid", keyId);
+        jwk.put("use", "sig");
+        jwk.put("alg", ALGORITHM);
+        jwk.put("x", encode(ecKey.getW().getAffineX()));
+        jwk.put("y", encode(ecKey.getW().getAffineY()));
+        return Collections.unmodifiableMap(jwk);
+    }
+
+    /**
+     * Reads the P-256 signing keys of a JWK Set document, by key id.
+     */
+    public static Map<String, PublicKey> parseJwkSet(JsonNode jwkSet) {
+        Map<String, PublicKey> keys = new HashMap<>();
+        for (JsonNode jwk : jwkSet.path("keys")) {
+            if (!"EC".equals(jwk.path("kty").asText()) || !CURVE.equals(jwk.path("crv").asText())
+                    || !jwk.hasNonNull("kid") || "enc".equals(jwk.path("use").asText())) {
+                continue;
+            }
+            BigInteger x = decode(jwk.path("x").asText());
+            BigInteger y = decode(jwk.path("y").asText());
+            try {
+                keys.put(jwk.get("kid").asText(),
+                        KeyFactory.getInstance("EC").generatePublic(new ECPublicKeySpec(new ECPoint(x, y), P256)));
+            } catch (GeneralSecurityException e) {
+                throw new IllegalArgumentException("Invalid EC key " + jwk.get("kid").asText(), e);
+            }
+        }
+        return keys;
+    }
+
+    private static String encode(BigInteger coordinate) {
+        byte[] bytes = coordinate.toByteArray();
+        byte[] fixed = new byte[COORDINATE_BYTES];
+        int length = Math.min(bytes.length, COORDINATE_BYTES);
+        System.arraycopy(bytes, bytes.length - length, fixed, COORDINATE_BYTES - length, length);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(fixed);
+    }
+
+    private static BigInteger decode(String coordinate) {
+        return new BigInteger(1, Base64.getUrlDecoder().decode(coordinate));
+    }
+
+    private static ECParameterSpec p256() {
+        try {
+            AlgorithmParameters parameters = AlgorithmParameters.getInstance("EC");
+            parameters.init(new ECGenParameterSpec("secp256r1"));
+            return parameters.getParameterSpec(ECParameterSpec.class);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("P-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.rudraksha.shopsphere.shared.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.net.URI;
+import java.time.Duration;
+
+/**
+ * Verifies asymmetrically signed tokens with keys from the auth service's JWKS endpoint,
+ * {@code jwt.jwks-uri}, by default {@code JWKS_URI} or the auth service on localhost. The
+ * auth service itself verifies with its own key ring and sets {@code jwt.jwks.enabled=false}.
+ * Tokens without a {@code kid} header are checked against {@code jwt.secret} unless
+ * {@code jwt.hmac-fallback.enabled=false}.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "jwt.jwks.enabled", havingValue = "true", matchIfMissing = true)
+public class JwksConfiguration {
+
+    @Bean
+    public JwksKeyResolver jwksKeyResolver(
+            @Value("${jwt.jwks-uri:${JWKS_URI:http://localhost:8081/.well-known/jwks.json}}") URI jwksUri,
+            @Value("${jwt.jwks-refresh-interval:5m}") Duration refreshInterval,
+            @Value("${jwt.jwks-min-refresh-interval:30s}") Duration minRefreshInterval) {
+        return new JwksKeyResolver(jwksUri, refreshInterval, minRefreshInterval);
+    }
+}
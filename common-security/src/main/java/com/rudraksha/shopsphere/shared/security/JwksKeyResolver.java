@@ -0,0 +1,129 @@
+package com.rudraksha.shopsphere.shared.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.security.PublicKey;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Verification keys fetched from the auth service's JWKS endpoint. The keys are parsed once per
+ * fetch into an immutable map that is swapped atomically, so lookups are a plain map read.
+ * <p>
+ * The set is refetched on an interval, and on an unknown key id at most once per
+ * {@code minRefreshInterval}, so tokens with made-up ids cannot flood the endpoint. Lookups
+ * never wait for a fetch, since they run on request threads, including the gateway's event
+ * loop: a token with an unknown key id is rejected while the refetch runs in the background.
+ * New keys are published well before they sign anything, so that is a fallback.
+ */
+public class JwksKeyResolver implements PublicKeyResolver, SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(JwksKeyResolver.class);
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final Duration TIMEOUT = Duration.ofSeconds(3);
+
+    private final URI jwksUri;
+    private final Duration refreshInterval;
+    private final long minRefreshIntervalMs;
+    private final HttpClient httpClient = HttpClient.newBuilder().connectTimeout(TIMEOUT).build();
+    private final AtomicLong lastFetchAttempt = new AtomicLong(Long.MIN_VALUE / 2);
+    private volatile Map<String, PublicKey> keys = Map.of();
+    private ScheduledExecutorService scheduler;
+
+    public JwksKeyResolver(URI jwksUri, Duration refreshInterval, Duration minRefreshInterval) {
+        this.jwksUri = jwksUri;
+        this.refreshInterval = refreshInterval;
+        this.minRefreshIntervalMs = minRefreshInterval.toMillis();
+    }
+
+    @Override
+    public PublicKey resolve(String keyId) {
+        PublicKey key = keys.get(keyId);
+        if (key != null) {
+            return key;
+        }
+        long last = lastFetchAttempt.get();
+        long now = System.currentTimeMillis();
+        if (now - last >= minRefreshIntervalMs && lastFetchAttempt.compareAndSet(last, now)) {
+            refreshLater();
+        }
+        return null;
+    }
+
+    private synchronized void refreshLater() {
+        if (scheduler == null) {
+            return;
+        }
+        try {
+            scheduler.execute(this::refreshSafely);
+        } catch (RejectedExecutionException e) {
+            log.debug("JWKS refresh not scheduled, resolver is stopping");
+        }
+    }
+
+    /**
+     * Replaces the keys with the currently published set; keys no longer published are dropped.
+     */
+    public void refresh() throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(jwksUri).timeout(TIMEOUT).GET().build();
+        HttpResponse<InputStream> response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+        try (InputStream body = response.body()) {
+            if (response.statusCode() != 200) {
+                throw new IOException("JWKS request to " + jwksUri + " returned " + response.statusCode());
+            }
+            keys = Map.copyOf(JsonWebKeys.parseJwkSet(MAPPER.readTree(body)));
+        }
+        log.debug("Loaded {} verification keys from {}", keys.size(), jwksUri);
+    }
+
+    private void refreshSafely() {
+        try {
+            refresh();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not fetch verification keys from {}, keeping {} known keys", jwksUri, keys.size(), e);
+        }
+    }
+
+    @Override
+    public synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "jwks-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMs = refreshInterval.toMillis();
+        scheduler.scheduleWithFixedDelay(this::refreshSafely, 0, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return scheduler != null;
+    }
+}
@@ -0,0 +1,27 @@
+package com.rudraksha.shopsphere.shared.security;
+
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * The identity carried by a verified access token.
+ *
+ * @param tokenId   the {@code jti} claim, {@code null} for tokens issued without one
+ * @param expiresAt {@code null} for tokens without an expiry
+ */
+public record JwtPrincipal(String userId, List<String> roles, String tokenId, Instant issuedAt, Instant expiresAt) {
+
+    public JwtPrincipal {
+        roles = roles != null ? List.copyOf(roles) : List.of();
+    }
+
+    public List<SimpleGrantedAuthority> authorities() {
+        return roles.stream().map(SimpleGrantedAuthority::new).toList();
+    }
+
+    public boolean isExpired(Instant now) {
+        return expiresAt != null && !now.isBefore(expiresAt);
+    }
+}
@@ -1,29 +1,97 @@
 package com.rudraksha.shopsphere.shared.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.LocatorAdapter;
 import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
-import java.util.ArrayList;
+import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.PublicKey;
+import java.time.Instant;
+import java.util.Base64;
 import java.util.Date;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 @Component
 public class JwtTokenProvider {
 
+    private static final int DEFAULT_CACHE_SIZE = 10_000;
+    private static final long DEFAULT_CACHE_TTL_MS = 300_000;
+
     private final SecretKey secretKey;
     private final long expirationMs;
+    private final JwtParser parser;
+    private final int cacheSize;
+    private final long cacheTtlMs;
+    private final boolean hmacFallback;
+    private final Map<String, CachedPrincipal> cache = new ConcurrentHashMap<>();
+    private final AtomicBoolean evicting = new AtomicBoolean();
+    private TokenRevocationStore revocationStore;
+    private volatile PublicKeyResolver publicKeyResolver;
+
+    public JwtTokenProvider(String secret, long expirationMs) {
+        this(secret, expirationMs, DEFAULT_CACHE_SIZE, DEFAULT_CACHE_TTL_MS);
+    }
 
+    public JwtTokenProvider(String secret, long expirationMs, int cacheSize, long cacheTtlMs) {
+        this(secret, expirationMs, cacheSize, cacheTtlMs, true);
+    }
+
+    /**
+     * @param cacheSize  verified tokens kept, by SHA-256 of the token; 0 disables the cache
+     * @param cacheTtlMs how long a verified token is trusted without verifying it again,
+     *                   never beyond its own expiry
+     * @param hmacFallback whether tokens without a {@code kid} header are verified with
+     *                     {@code secret}; once every issuer signs with the key ring, turning
+     *                     it off stops accepting tokens forged with a leaked shared secret
+     */
+    @Autowired
     public JwtTokenProvider(
             @Value("${jwt.secret:defaultSecretKeyThatShouldBeChangedInProduction123456}") String secret,
-            @Value("${jwt.expiration-ms:86400000}") long expirationMs) {
+            @Value("${jwt.expiration-ms:86400000}") long expirationMs,
+            @Value("${jwt.cache.max-size:10000}") int cacheSize,
+            @Value("${jwt.cache.ttl-ms:300000}") long cacheTtlMs,
+            @Value("${jwt.hmac-fallback.enabled:true}") boolean hmacFallback) {
         this.secretKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
         this.expirationMs = expirationMs;
+        this.parser = Jwts.parser().keyLocator(new SigningKeyLocator()).build();
+        this.cacheSize = cacheSize;
+        this.cacheTtlMs = cacheTtlMs;
+        this.hmacFallback = hmacFallback;
+    }
+
+    /**
+     * Revoked tokens are rejected even while cached; without a store only expiry ends a token.
+     */
+    @Autowired(required = false)
+    public void setTokenRevocationStore(TokenRevocationStore revocationStore) {
+        this.revocationStore = revocationStore;
+    }
+
+    /**
+     * Enables tokens signed with a key from the auth service's key ring, selected by their
+     * {@code kid} header. Tokens without one are verified with {@code jwt.secret}, if the
+     * HMAC fallback is enabled.
+     */
+    @Autowired(required = false)
+    public void setPublicKeyResolver(PublicKeyResolver publicKeyResolver) {
+        this.publicKeyResolver = publicKeyResolver;
     }
 
     public String generateToken(String userId, List<String> roles) {
@@ -31,6 +99,7 @@ public class JwtTokenProvider {
         Date expiryDate = new Date(now.getTime() + expirationMs);
 
         return Jwts.builder()
+                .id(UUID.randomUUID().toString())
                 .subject(userId)
                 .claim("roles", roles)
                 .issuedAt(now)
@@ -39,35 +108,130 @@ public class JwtTokenProvider {
                 .compact();
     }
 
-    public boolean validateToken(String token) {
+    /**
+     * Verifies the token once and returns everything callers need from it. Tokens seen
+     * recently are answered from a cache keyed by their digest, so repeated requests with
+     * the same token skip signature verification and claim parsing.
+     */
+    public Optional<JwtPrincipal> authenticate(String token) {
+        if (token == null || token.isBlank()) {
+            return Optional.empty();
+        }
+        Instant now = Instant.now();
+        String key = cacheSize > 0 ? digest(token) : null;
+        if (key != null) {
+            CachedPrincipal cached = cache.get(key);
+            if (cached != null) {
+                if (now.toEpochMilli() < cached.trustedUntil()) {
+                    return isRevoked(cached.principal()) ? Optional.empty() : Optional.of(cached.principal());
+                }
+                cache.remove(key, cached);
+            }
+        }
+
+        JwtPrincipal principal;
         try {
-            Jwts.parser()
-                    .verifyWith(secretKey)
-                    .build()
-                    .parseSignedClaims(token);
-            return true;
+            principal = toPrincipal(parser.parseSignedClaims(token).getPayload());
         } catch (JwtException | IllegalArgumentException e) {
-            return false;
+            return Optional.empty();
+        }
+        if (key != null) {
+            cache(key, principal, now.toEpochMilli());
         }
+        return isRevoked(principal) ? Optional.empty() : Optional.of(principal);
+    }
+
+    public boolean validateToken(String token) {
+        return authenticate(token).isPresent();
     }
 
     public String getUserIdFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(secretKey)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-        return claims.getSubject();
+        return requirePrincipal(token).userId();
     }
 
-    @SuppressWarnings("unchecked")
     public List<String> getRolesFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(secretKey)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-        List<String> roles = claims.get("roles", List.class);
-        return roles != null ? roles : new ArrayList<>();
+        return requirePrincipal(token).roles();
+    }
+
+    private JwtPrincipal requirePrincipal(String token) {
+        return authenticate(token).orElseThrow(() -> new JwtException("Invalid JWT token"));
+    }
+
+    private boolean isRevoked(JwtPrincipal principal) {
+        return revocationStore != null && principal.tokenId() != null && revocationStore.isRevoked(principal.tokenId());
+    }
+
+    private static JwtPrincipal toPrincipal(Claims claims) {
+        List<?> roles = claims.get("roles", List.class);
+        return new JwtPrincipal(
+                claims.getSubject(),
+                roles != null ? roles.stream().map(String::valueOf).toList() : List.of(),
+                claims.getId(),
+                claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : null,
+                claims.getExpiration() != null ? claims.getExpiration().toInstant() : null);
+    }
+
+    private void cache(String key, JwtPrincipal principal, long now) {
+        long trustedUntil = now + cacheTtlMs;
+        if (principal.expiresAt() != null) {
+            trustedUntil = Math.min(trustedUntil, principal.expiresAt().toEpochMilli());
+        }
+        if (cache.size() >= cacheSize) {
+            evict(now);
+        }
+        cache.put(key, new CachedPrincipal(principal, trustedUntil));
+    }
+
+    /**
+     * Drops expired entries, then arbitrary ones down to 90% of the capacity. One thread
+     * evicts at a time; the others insert regardless, so the bound is approximate.
+     */
+    private void evict(long now) {
+        if (!evicting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            cache.values().removeIf(entry -> entry.trustedUntil() <= now);
+            int excess = cache.size() - cacheSize * 9 / 10;
+            Iterator<String> keys = cache.keySet().iterator();
+            while (excess-- > 0 && keys.hasNext()) {
+                keys.next();
+                keys.remove();
+            }
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private final class SigningKeyLocator extends LocatorAdapter<Key> {
+
+        @Override
+        protected Key locate(JwsHeader header) {
+            String keyId = header.getKeyId();
+            if (keyId == null) {
+                if (!hmacFallback) {
+                    throw new JwtException("Token has no signing key id");
+                }
+                return secretKey;
+            }
+            PublicKeyResolver resolver = publicKeyResolver;
+            PublicKey key = resolver != null ? resolver.resolve(keyId) : null;
+            if (key == null) {
+                throw new JwtException("Unknown signing key: " + keyId);
+            }
+            return key;
+        }
+    }
+
+    private record CachedPrincipal(JwtPrincipal principal, long trustedUntil) {
     }
 }
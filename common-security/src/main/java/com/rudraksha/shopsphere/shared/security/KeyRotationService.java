@@ -1,14 +1,54 @@
 package com.rudraksha.shopsphere.shared.security;
 
-import javax.crypto.SecretKey;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.util.Map;
 
-public interface KeyRotationService {
+/**
+ * A ring of asymmetric signing keys addressed by key id ({@code kid}). Tokens are signed with
+ * the current key; the public halves of upcoming and recently replaced keys stay published
+ * so verifiers can check every token still in circulation.
+ */
+public interface KeyRotationService extends PublicKeyResolver {
 
-    SecretKey getCurrentKey();
+    PrivateKey getCurrentKey();
 
-    SecretKey getKeyById(String keyId);
+    /**
+     * The current key and its id, read together so a concurrent rotation cannot pair one
+     * key's id with another key.
+     */
+    ActiveKey getActiveKey();
 
+    /**
+     * @return the public key, or {@code null} if the id is unknown or retired
+     */
+    PublicKey getKeyById(String keyId);
+
+    /**
+     * Adds a new key. It is published immediately but only used for signing once verifiers
+     * have had time to fetch it.
+     */
     void rotateKey();
 
     String getCurrentKeyId();
+
+    /**
+     * Every published public key by id.
+     */
+    Map<String, PublicKey> getPublicKeys();
+
+    /**
+     * The published keys as a JWK Set document.
+     */
+    default Map<String, Object> getJwkSet() {
+        return JsonWebKeys.toJwkSet(getPublicKeys());
+    }
+
+    @Override
+    default PublicKey resolve(String keyId) {
+        return getKeyById(keyId);
+    }
+
+    record ActiveKey(String keyId, PrivateKey privateKey) {
+    }
 }
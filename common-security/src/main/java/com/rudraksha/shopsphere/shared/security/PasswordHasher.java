@@ -1,22 +1,158 @@
 package com.rudraksha.shopsphere.shared.security;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.crypto.bcrypt.BCrypt;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.stereotype.Component;
+import org.springframework.security.crypto.password.PasswordEncoder;
 
-@Component
-public class PasswordHasher {
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 
+/**
+ * BCrypt on a small dedicated pool, so a burst of logins can occupy at most {@code threads}
+ * cores and the rest of the service keeps running. Callers block until their hash is done;
+ * when the queue is full or the wait exceeds the timeout they get a
+ * {@link HashingOverloadedException} instead of piling up.
+ * <p>
+ * Unless fixed by configuration, the cost is calibrated at startup to the highest value that
+ * stays within the target latency on this machine, never below BCrypt's default of 10.
+ * {@link #upgradeEncoding} reports hashes made with a lower cost so they can be replaced on
+ * the next successful login.
+ * <p>
+ * Only services that hash passwords create one, see {@link PasswordHashingConfiguration};
+ * calibration takes a moment and the pool holds threads.
+ */
+public class PasswordHasher implements PasswordEncoder, DisposableBean {
+
+    public static final int MIN_COST = 10;
+    public static final int MAX_COST = 16;
+
+    private static final Logger log = LoggerFactory.getLogger(PasswordHasher.class);
+    private static final int CALIBRATION_COST = 8;
+    private static final int CALIBRATION_ROUNDS = 5;
+
+    private final int cost;
     private final BCryptPasswordEncoder encoder;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMs;
 
     public PasswordHasher() {
-        this.encoder = new BCryptPasswordEncoder();
+        this(0, 250, 0, 64, 5000);
+    }
+
+    /**
+     * @param cost          fixed BCrypt cost, or 0 to calibrate against {@code targetLatencyMs}
+     * @param threads       hashing threads, or 0 for half the available processors
+     * @param queueCapacity hashes that may wait for a thread before new ones are rejected
+     * @param timeoutMs     longest a caller waits for its hash, queueing included
+     */
+    public PasswordHasher(int cost, long targetLatencyMs, int threads, int queueCapacity, long timeoutMs) {
+        this.cost = cost > 0 ? cost : calibrate(targetLatencyMs);
+        this.encoder = new BCryptPasswordEncoder(this.cost);
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "password-hasher-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.timeoutMs = timeoutMs;
     }
 
     public String hash(String password) {
-        return encoder.encode(password);
+        return encode(password);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return execute(() -> encoder.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return execute(() -> encoder.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * Whether the hash was made with a lower cost than the current one. Needs no hashing, so
+     * it runs on the calling thread.
+     */
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return encoder.upgradeEncoding(encodedPassword);
+    }
+
+    public int getCost() {
+        return cost;
+    }
+
+    private <T> T execute(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            throw new HashingOverloadedException("Password hashing queue is full");
+        }
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new HashingOverloadedException("Password hashing timed out after " + timeoutMs + " ms");
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new HashingOverloadedException("Interrupted while waiting for password hashing");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    /**
+     * Times the fastest of a few hashes at a low cost and doubles from there, since every
+     * step of the cost doubles the work.
+     */
+    private static int calibrate(long targetLatencyMs) {
+        String salt = BCrypt.gensalt(CALIBRATION_COST);
+        long fastestNanos = Long.MAX_VALUE;
+        for (int i = 0; i < CALIBRATION_ROUNDS; i++) {
+            long start = System.nanoTime();
+            BCrypt.hashpw("calibration", salt);
+            fastestNanos = Math.min(fastestNanos, System.nanoTime() - start);
+        }
+        long targetNanos = TimeUnit.MILLISECONDS.toNanos(targetLatencyMs);
+        int cost = CALIBRATION_COST;
+        long estimateNanos = fastestNanos;
+        while (cost < MAX_COST && estimateNanos * 2 <= targetNanos) {
+            cost++;
+            estimateNanos *= 2;
+        }
+        cost = Math.max(MIN_COST, cost);
+        log.info("Password hashing cost {} (about {} ms per hash)",
+                cost, TimeUnit.NANOSECONDS.toMillis(fastestNanos << (cost - CALIBRATION_COST)));
+        return cost;
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
     }
 
-    public boolean matches(String password, String hash) {
-        return encoder.matches(password, hash);
+    public static class HashingOverloadedException extends RuntimeException {
+        public HashingOverloadedException(String message) {
+            super(message);
+        }
     }
 }
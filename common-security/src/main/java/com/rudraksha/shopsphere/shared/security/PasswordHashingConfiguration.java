@@ -0,0 +1,26 @@
+package com.rudraksha.shopsphere.shared.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Provides the {@link PasswordHasher} as the service's {@code PasswordEncoder}. Enabled with
+ * {@code shopsphere.security.password.enabled=true} in services that store passwords, so the
+ * others neither calibrate BCrypt at startup nor keep a hashing pool.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "shopsphere.security.password.enabled", havingValue = "true")
+public class PasswordHashingConfiguration {
+
+    @Bean
+    public PasswordHasher passwordHasher(
+            @Value("${shopsphere.security.password.cost:0}") int cost,
+            @Value("${shopsphere.security.password.target-latency-ms:250}") long targetLatencyMs,
+            @Value("${shopsphere.security.password.threads:0}") int threads,
+            @Value("${shopsphere.security.password.queue-capacity:64}") int queueCapacity,
+            @Value("${shopsphere.security.password.timeout-ms:5000}") long timeoutMs) {
+        return new PasswordHasher(cost, targetLatencyMs, threads, queueCapacity, timeoutMs);
+    }
+}
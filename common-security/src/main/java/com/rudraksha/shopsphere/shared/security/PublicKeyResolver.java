@@ -0,0 +1,15 @@
+package com.rudraksha.shopsphere.shared.security;
+
+import java.security.PublicKey;
+
+/**
+ * Looks up the key that verifies tokens carrying a given {@code kid} header.
+ */
+@FunctionalInterface
+public interface PublicKeyResolver {
+
+    /**
+     * @return the key, or {@code null} if the id is unknown
+     */
+    PublicKey resolve(String keyId);
+}
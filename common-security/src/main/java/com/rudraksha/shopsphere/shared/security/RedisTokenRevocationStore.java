@@ -0,0 +1,272 @@
+package com.rudraksha.shopsphere.shared.security;
+
+import com.rudraksha.shopsphere.shared.utils.BloomFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Revoked token ids live in Redis, one key per token holding its expiry and expiring with it.
+ * Every instance mirrors them in a Bloom filter and an exact map, kept current by a pub/sub
+ * message per revocation and a full resync on an interval, since pub/sub delivery is not
+ * guaranteed. {@link #isRevoked} answers from memory and never waits for Redis, since it
+ * runs on request threads, including the gateway's event loop: a Bloom negative is final and
+ * a positive is settled by the exact map. A Bloom false positive the map cannot settle counts
+ * as valid while one Redis lookup runs in the background; its answer is remembered, a negative
+ * one briefly.
+ * <p>
+ * A missed message leaves the token in neither the filter nor the map, so it stays valid on
+ * this instance until the next resync: the resync interval bounds how late a revocation can
+ * take effect.
+ * <p>
+ * When that lookup fails the token counts as revoked for a short while; only Bloom positives,
+ * about 1% of tokens by default, are rejected while Redis is down.
+ */
+public class RedisTokenRevocationStore implements TokenRevocationStore, MessageListener, SmartLifecycle,
+        DisposableBean {
+
+    public static final String KEY_PREFIX = "shopsphere:revoked-token:";
+    public static final String CHANNEL = "shopsphere:token-revocations";
+
+    private static final Logger log = LoggerFactory.getLogger(RedisTokenRevocationStore.class);
+    private static final int SCAN_BATCH_SIZE = 500;
+    private static final int MAX_CONFIRMED_VALID = 10_000;
+    private static final long CONFIRMED_VALID_TTL_MS = 30_000;
+    private static final long UNVERIFIED_TTL_MS = 5_000;
+    private static final int MAX_PENDING_LOOKUPS = 1_000;
+
+    private final StringRedisTemplate redis;
+    private final int expectedRevocations;
+    private final double falsePositiveRate;
+    private final Duration resyncInterval;
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+    private final Map<String, Long> confirmedValid = new ConcurrentHashMap<>();
+    private final Map<String, Long> unverified = new ConcurrentHashMap<>();
+    private final Set<String> pendingLookups = ConcurrentHashMap.newKeySet();
+    private final ExecutorService lookupExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private volatile BloomFilter bloomFilter;
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * @param expectedRevocations revocations alive at once the Bloom filter is sized for; it
+     *                            grows to twice the live count on each resync
+     */
+    public RedisTokenRevocationStore(StringRedisTemplate redis, int expectedRevocations, double falsePositiveRate,
+                                     Duration resyncInterval) {
+        this.redis = redis;
+        this.expectedRevocations = expectedRevocations;
+        this.falsePositiveRate = falsePositiveRate;
+        this.resyncInterval = resyncInterval;
+        this.bloomFilter = new BloomFilter(expectedRevocations, falsePositiveRate);
+    }
+
+    @Override
+    public void revokeToken(String tokenId, Instant expiresAt) {
+        long expiresAtMs = expiresAt.toEpochMilli();
+        long ttlMs = expiresAtMs - System.currentTimeMillis();
+        if (tokenId == null || ttlMs <= 0) {
+            return;
+        }
+        redis.opsForValue().set(KEY_PREFIX + tokenId, Long.toString(expiresAtMs), Duration.ofMillis(ttlMs));
+        remember(tokenId, expiresAtMs);
+        redis.convertAndSend(CHANNEL, tokenId + "|" + expiresAtMs);
+    }
+
+    @Override
+    public boolean isRevoked(String tokenId) {
+        if (tokenId == null || !bloomFilter.mightContain(tokenId)) {
+            return false;
+        }
+        long now = System.currentTimeMillis();
+        Long expiresAt = revoked.get(tokenId);
+        if (expiresAt != null) {
+            return expiresAt > now;
+        }
+        Long validUntil = confirmedValid.get(tokenId);
+        if (validUntil != null && validUntil > now) {
+            return false;
+        }
+        Long unverifiedUntil = unverified.get(tokenId);
+        if (unverifiedUntil != null && unverifiedUntil > now) {
+            return true;
+        }
+        lookUpLater(tokenId);
+        return false;
+    }
+
+    /**
+     * Starts a Redis lookup of the token unless one is already running; with too many
+     * running, the token waits for the next resync.
+     */
+    private void lookUpLater(String tokenId) {
+        if (pendingLookups.size() >= MAX_PENDING_LOOKUPS || !pendingLookups.add(tokenId)) {
+            return;
+        }
+        try {
+            lookupExecutor.execute(() -> {
+                try {
+                    lookUp(tokenId);
+                } finally {
+                    pendingLookups.remove(tokenId);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            pendingLookups.remove(tokenId);
+        }
+    }
+
+    private void lookUp(String tokenId) {
+        String value;
+        try {
+            value = redis.opsForValue().get(KEY_PREFIX + tokenId);
+        } catch (RuntimeException e) {
+            log.warn("Could not check revocation of token {}, rejecting it for {} ms", tokenId, UNVERIFIED_TTL_MS, e);
+            unverified.put(tokenId, System.currentTimeMillis() + UNVERIFIED_TTL_MS);
+            return;
+        }
+        unverified.remove(tokenId);
+        if (value != null) {
+            remember(tokenId, Long.parseLong(value));
+            return;
+        }
+        if (confirmedValid.size() >= MAX_CONFIRMED_VALID) {
+            confirmedValid.clear();
+        }
+        confirmedValid.put(tokenId, System.currentTimeMillis() + CONFIRMED_VALID_TTL_MS);
+    }
+
+    /**
+     * Revocations published by any instance, including this one.
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separator = body.lastIndexOf('|');
+        try {
+            remember(body.substring(0, separator), Long.parseLong(body.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            log.warn("Ignoring malformed token revocation message: {}", body);
+        }
+    }
+
+    private void remember(String tokenId, long expiresAtMs) {
+        revoked.put(tokenId, expiresAtMs);
+        bloomFilter.put(tokenId);
+        confirmedValid.remove(tokenId);
+    }
+
+    /**
+     * Reloads all revocations from Redis, drops expired ones and rebuilds the Bloom filter,
+     * which is the only way to clear its bits. Entries arriving meanwhile are written to the
+     * old filter and copied again after the swap, so none is lost.
+     */
+    public void resync() {
+        long now = System.currentTimeMillis();
+        Map<String, Long> current = scan();
+        current.forEach(revoked::putIfAbsent);
+        revoked.values().removeIf(expiresAt -> expiresAt <= now);
+        confirmedValid.values().removeIf(validUntil -> validUntil <= now);
+        unverified.values().removeIf(until -> until <= now);
+
+        BloomFilter rebuilt = new BloomFilter(Math.max(expectedRevocations, revoked.size() * 2), falsePositiveRate);
+        revoked.keySet().forEach(rebuilt::put);
+        bloomFilter = rebuilt;
+        revoked.keySet().forEach(rebuilt::put);
+        log.debug("Resynced {} revoked tokens", revoked.size());
+    }
+
+    private Map<String, Long> scan() {
+        Map<String, Long> result = new HashMap<>();
+        ScanOptions options = ScanOptions.scanOptions().match(KEY_PREFIX + "*").count(SCAN_BATCH_SIZE).build();
+        List<String> keys = new ArrayList<>(SCAN_BATCH_SIZE);
+        redis.execute((RedisCallback<Void>) connection -> {
+            try (Cursor<byte[]> cursor = connection.keyCommands().scan(options)) {
+                while (cursor.hasNext()) {
+                    keys.add(new String(cursor.next(), StandardCharsets.UTF_8));
+                    if (keys.size() == SCAN_BATCH_SIZE) {
+                        load(keys, result);
+                    }
+                }
+            }
+            return null;
+        });
+        load(keys, result);
+        return result;
+    }
+
+    private void load(List<String> keys, Map<String, Long> result) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        List<String> values = redis.opsForValue().multiGet(keys);
+        for (int i = 0; i < keys.size(); i++) {
+            String value = values != null ? values.get(i) : null;
+            if (value != null) {
+                result.put(keys.get(i).substring(KEY_PREFIX.length()), Long.parseLong(value));
+            }
+        }
+        keys.clear();
+    }
+
+    private void resyncSafely() {
+        try {
+            resync();
+        } catch (RuntimeException e) {
+            log.warn("Token revocation resync failed, keeping the current state", e);
+        }
+    }
+
+    @Override
+    public synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "token-revocation-resync");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMs = resyncInterval.toMillis();
+        scheduler.scheduleWithFixedDelay(this::resyncSafely, 0, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    @Override
+    public void destroy() {
+        lookupExecutor.shutdownNow();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return scheduler != null;
+    }
+}
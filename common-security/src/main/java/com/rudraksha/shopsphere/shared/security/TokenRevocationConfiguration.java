@@ -0,0 +1,44 @@
+package com.rudraksha.shopsphere.shared.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.time.Duration;
+
+/**
+ * Shares access token revocations across services through Redis. Enabled with
+ * {@code shopsphere.security.revocation.enabled=true} in services that have Spring Data Redis
+ * on the classpath; without it no {@link TokenRevocationStore} exists and tokens are only
+ * rejected when they expire. {@code shopsphere.security.revocation.resync-interval} is the
+ * longest a revocation can go unnoticed by an instance that missed its pub/sub message.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnClass(name = "org.springframework.data.redis.core.StringRedisTemplate")
+@ConditionalOnProperty(name = "shopsphere.security.revocation.enabled", havingValue = "true")
+public class TokenRevocationConfiguration {
+
+    @Bean
+    public RedisTokenRevocationStore tokenRevocationStore(
+            StringRedisTemplate redisTemplate,
+            @Value("${shopsphere.security.revocation.expected-tokens:100000}") int expectedTokens,
+            @Value("${shopsphere.security.revocation.false-positive-rate:0.01}") double falsePositiveRate,
+            @Value("${shopsphere.security.revocation.resync-interval:5m}") Duration resyncInterval) {
+        return new RedisTokenRevocationStore(redisTemplate, expectedTokens, falsePositiveRate, resyncInterval);
+    }
+
+    @Bean
+    public RedisMessageListenerContainer tokenRevocationListenerContainer(
+            RedisConnectionFactory connectionFactory, RedisTokenRevocationStore tokenRevocationStore) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(tokenRevocationStore, new ChannelTopic(RedisTokenRevocationStore.CHANNEL));
+        return container;
+    }
+}
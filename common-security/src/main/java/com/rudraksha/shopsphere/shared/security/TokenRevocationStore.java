@@ -1,8 +1,20 @@
 package com.rudraksha.shopsphere.shared.security;
 
+import java.time.Instant;
+
 public interface TokenRevocationStore {
 
-    void revokeToken(String tokenId);
+    /**
+     * Revokes a token for the longest access token lifetime.
+     */
+    default void revokeToken(String tokenId) {
+        revokeToken(tokenId, Instant.now().plusMillis(SecurityConstants.TOKEN_EXPIRATION_MS));
+    }
+
+    /**
+     * Revokes a token until it expires; after that it is rejected on its own.
+     */
+    void revokeToken(String tokenId, Instant expiresAt);
 
     boolean isRevoked(String tokenId);
 }
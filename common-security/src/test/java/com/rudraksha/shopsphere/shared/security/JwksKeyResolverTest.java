@@ -0,0 +1,139 @@
+package com.rudraksha.shopsphere.shared.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.security.KeyPairGenerator;
+import java.security.PublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwksKeyResolverTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final AtomicInteger requests = new AtomicInteger();
+    private volatile Map<String, PublicKey> publishedKeys = Map.of();
+    private volatile int status = 200;
+    private HttpServer server;
+    private JwksKeyResolver resolver;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/.well-known/jwks.json", exchange -> {
+            requests.incrementAndGet();
+            byte[] body = MAPPER.writeValueAsBytes(JsonWebKeys.toJwkSet(publishedKeys));
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(status, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (resolver != null) {
+            resolver.stop();
+        }
+        server.stop(0);
+    }
+
+    @Test
+    void testRefresh_LoadsPublishedKeys() throws Exception {
+        PublicKey key = newKey();
+        publishedKeys = Map.of("key-1", key);
+        resolver = resolver(Duration.ofHours(1));
+
+        resolver.refresh();
+
+        assertEquals(key, resolver.resolve("key-1"));
+    }
+
+    @Test
+    void testRefresh_FailedFetchKeepsKnownKeys() throws Exception {
+        PublicKey key = newKey();
+        publishedKeys = Map.of("key-1", key);
+        resolver = resolver(Duration.ofHours(1));
+        resolver.refresh();
+
+        status = 503;
+
+        assertThrows(IOException.class, resolver::refresh);
+        assertEquals(key, resolver.resolve("key-1"));
+    }
+
+    @Test
+    void testResolve_UnknownKeyIsFetchedInBackgroundAtMostOncePerInterval() throws Exception {
+        resolver = resolver(Duration.ofHours(1));
+        resolver.start();
+        assertTrue(eventually(() -> requests.get() == 1));
+        PublicKey key = newKey();
+        publishedKeys = Map.of("key-2", key);
+
+        assertNull(resolver.resolve("key-2"));
+        assertTrue(eventually(() -> key.equals(resolver.resolve("key-2"))));
+
+        assertNull(resolver.resolve("key-3"));
+        assertNull(resolver.resolve("key-3"));
+        Thread.sleep(100);
+        assertEquals(2, requests.get());
+    }
+
+    @Test
+    void testResolve_NeverFetchesOnCallerThreadBeforeStart() {
+        resolver = resolver(Duration.ZERO);
+
+        assertNull(resolver.resolve("key-1"));
+        assertEquals(0, requests.get());
+    }
+
+    @Test
+    void testParseJwkSet_SkipsKeysOfOtherTypes() throws Exception {
+        PublicKey key = newKey();
+        Map<String, Object> jwkSet = Map.of("keys", List.of(
+                JsonWebKeys.toJwk("key-1", key),
+                Map.of("kty", "RSA", "kid", "rsa-1", "n", "AQAB", "e", "AQAB")));
+
+        Map<String, PublicKey> keys = JsonWebKeys.parseJwkSet(MAPPER.valueToTree(jwkSet));
+
+        assertEquals(Map.of("key-1", key), keys);
+    }
+
+    private JwksKeyResolver resolver(Duration minRefreshInterval) {
+        URI uri = URI.create("http://localhost:" + server.getAddress().getPort() + "/.well-known/jwks.json");
+        return new JwksKeyResolver(uri, Duration.ofHours(1), minRefreshInterval);
+    }
+
+    private static PublicKey newKey() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+        generator.initialize(new ECGenParameterSpec("secp256r1"));
+        return generator.generateKeyPair().getPublic();
+    }
+
+    private static boolean eventually(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (System.currentTimeMillis() < deadline) {
+            if (condition.getAsBoolean()) {
+                return true;
+            }
+            Thread.sleep(10);
+        }
+        return false;
+    }
+}
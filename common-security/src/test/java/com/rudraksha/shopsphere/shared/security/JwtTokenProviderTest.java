@@ -0,0 +1,134 @@
+package com.rudraksha.shopsphere.shared.security;
+
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.security.KeyPair;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class JwtTokenProviderTest {
+
+    private static final String SECRET = "test-secret-key-that-is-long-enough-for-hs256";
+    private static final long EXPIRATION_MS = 3_600_000;
+    private static final KeyPair SIGNING_KEYS = Jwts.SIG.ES256.keyPair().build();
+
+    @Mock
+    private TokenRevocationStore revocationStore;
+
+    @Mock
+    private PublicKeyResolver publicKeyResolver;
+
+    @Test
+    void testAuthenticate_ReturnsPrincipalOfGeneratedToken() {
+        JwtTokenProvider provider = new JwtTokenProvider(SECRET, EXPIRATION_MS);
+        String token = provider.generateToken("user-1", List.of("ROLE_USER", "ROLE_ADMIN"));
+
+        JwtPrincipal principal = provider.authenticate(token).orElseThrow();
+
+        assertEquals("user-1", principal.userId());
+        assertEquals(List.of("ROLE_USER", "ROLE_ADMIN"), principal.roles());
+        assertNotNull(principal.tokenId());
+        assertNotNull(principal.expiresAt());
+        assertEquals("user-1", provider.getUserIdFromToken(token));
+    }
+
+    @Test
+    void testAuthenticate_RejectsInvalidTokens() {
+        JwtTokenProvider provider = new JwtTokenProvider(SECRET, EXPIRATION_MS);
+        String token = provider.generateToken("user-1", List.of("ROLE_USER"));
+        String otherSecret = new JwtTokenProvider(SECRET.replace('t', 'x'), EXPIRATION_MS)
+                .generateToken("user-1", List.of("ROLE_ADMIN"));
+
+        assertEquals(Optional.empty(), provider.authenticate(null));
+        assertEquals(Optional.empty(), provider.authenticate(" "));
+        assertEquals(Optional.empty(), provider.authenticate("not-a-token"));
+        assertEquals(Optional.empty(), provider.authenticate(token.substring(0, token.length() - 2)));
+        assertEquals(Optional.empty(), provider.authenticate(otherSecret));
+        assertThrows(JwtException.class, () -> provider.getUserIdFromToken("not-a-token"));
+    }
+
+    @Test
+    void testAuthenticate_RejectsExpiredToken() {
+        JwtTokenProvider provider = new JwtTokenProvider(SECRET, -1000);
+
+        assertFalse(provider.validateToken(provider.generateToken("user-1", List.of("ROLE_USER"))));
+    }
+
+    @Test
+    void testAuthenticate_ChecksRevocationForCachedTokens() {
+        JwtTokenProvider provider = new JwtTokenProvider(SECRET, EXPIRATION_MS);
+        provider.setTokenRevocationStore(revocationStore);
+        String token = provider.generateToken("user-1", List.of("ROLE_USER"));
+        when(revocationStore.isRevoked(anyString())).thenReturn(false, true);
+
+        assertTrue(provider.authenticate(token).isPresent());
+        assertTrue(provider.authenticate(token).isEmpty());
+    }
+
+    @Test
+    void testAuthenticate_CachedTokenSkipsVerification() {
+        JwtTokenProvider provider = new JwtTokenProvider(SECRET, EXPIRATION_MS);
+        provider.setPublicKeyResolver(publicKeyResolver);
+        when(publicKeyResolver.resolve("key-1")).thenReturn(SIGNING_KEYS.getPublic());
+        String token = signedToken("key-1");
+
+        assertEquals("user-1", provider.authenticate(token).orElseThrow().userId());
+        assertEquals("user-1", provider.authenticate(token).orElseThrow().userId());
+
+        verify(publicKeyResolver, times(1)).resolve("key-1");
+    }
+
+    @Test
+    void testAuthenticate_WithoutCacheVerifiesEveryTime() {
+        JwtTokenProvider provider = new JwtTokenProvider(SECRET, EXPIRATION_MS, 0, 0);
+        provider.setPublicKeyResolver(publicKeyResolver);
+        when(publicKeyResolver.resolve("key-1")).thenReturn(SIGNING_KEYS.getPublic());
+        String token = signedToken("key-1");
+
+        provider.authenticate(token);
+        provider.authenticate(token);
+
+        verify(publicKeyResolver, times(2)).resolve("key-1");
+    }
+
+    @Test
+    void testAuthenticate_RejectsUnknownKeyId() {
+        JwtTokenProvider provider = new JwtTokenProvider(SECRET, EXPIRATION_MS);
+        provider.setPublicKeyResolver(publicKeyResolver);
+
+        assertTrue(provider.authenticate(signedToken("key-unknown")).isEmpty());
+    }
+
+    @Test
+    void testAuthenticate_RejectsTokenWithoutKeyIdWhenHmacFallbackIsOff() {
+        JwtTokenProvider provider = new JwtTokenProvider(SECRET, EXPIRATION_MS, 100, 60_000, false);
+
+        assertTrue(provider.authenticate(provider.generateToken("user-1", List.of("ROLE_USER"))).isEmpty());
+    }
+
+    private static String signedToken(String keyId) {
+        Date now = new Date();
+        return Jwts.builder()
+                .header().keyId(keyId).and()
+                .id("token-" + keyId)
+                .subject("user-1")
+                .claim("roles", List.of("ROLE_USER"))
+                .issuedAt(now)
+                .expiration(new Date(now.getTime() + EXPIRATION_MS))
+                .signWith(SIGNING_KEYS.getPrivate())
+                .compact();
+    }
+}
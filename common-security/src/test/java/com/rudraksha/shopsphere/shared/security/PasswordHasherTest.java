@@ -0,0 +1,62 @@
+package com.rudraksha.shopsphere.shared.security;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordHasherTest {
+
+    private PasswordHasher hasher;
+
+    @AfterEach
+    void tearDown() {
+        if (hasher != null) {
+            hasher.destroy();
+        }
+    }
+
+    @Test
+    void testHash_MatchesOnlyTheOriginalPassword() {
+        hasher = new PasswordHasher(4, 0, 2, 16, 5000);
+
+        String hash = hasher.hash("correct horse");
+
+        assertTrue(hash.startsWith("$2a$04$"));
+        assertTrue(hasher.matches("correct horse", hash));
+        assertFalse(hasher.matches("wrong horse", hash));
+        assertEquals(4, hasher.getCost());
+    }
+
+    @Test
+    void testUpgradeEncoding_ReportsHashesWithLowerCost() {
+        hasher = new PasswordHasher(5, 0, 1, 16, 5000);
+
+        assertTrue(hasher.upgradeEncoding(new BCryptPasswordEncoder(4).encode("password")));
+        assertFalse(hasher.upgradeEncoding(hasher.hash("password")));
+    }
+
+    @Test
+    void testConstructor_CalibratedCostNeverBelowMinimum() {
+        hasher = new PasswordHasher(0, 1, 1, 16, 5000);
+
+        assertEquals(PasswordHasher.MIN_COST, hasher.getCost());
+    }
+
+    @Test
+    void testEncode_OverloadedWhenTimedOutOrQueueIsFull() {
+        hasher = new PasswordHasher(14, 0, 1, 1, 50);
+
+        PasswordHasher.HashingOverloadedException running =
+                assertThrows(PasswordHasher.HashingOverloadedException.class, () -> hasher.hash("first"));
+        PasswordHasher.HashingOverloadedException queued =
+                assertThrows(PasswordHasher.HashingOverloadedException.class, () -> hasher.hash("second"));
+        PasswordHasher.HashingOverloadedException rejected =
+                assertThrows(PasswordHasher.HashingOverloadedException.class, () -> hasher.hash("third"));
+
+        assertTrue(running.getMessage().contains("timed out"));
+        assertTrue(queued.getMessage().contains("timed out"));
+        assertTrue(rejected.getMessage().contains("queue is full"));
+    }
+}
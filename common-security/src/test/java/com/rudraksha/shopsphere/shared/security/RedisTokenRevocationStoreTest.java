@@ -0,0 +1,158 @@
+package com.rudraksha.shopsphere.shared.security;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RedisTokenRevocationStoreTest {
+
+    @Mock
+    private StringRedisTemplate redis;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    private RedisTokenRevocationStore store;
+
+    @AfterEach
+    void tearDown() {
+        if (store != null) {
+            store.destroy();
+        }
+    }
+
+    @Test
+    void testRevokeToken_StoresPublishesAndRejectsLocally() {
+        store = new RedisTokenRevocationStore(redis, 1000, 0.01, Duration.ofMinutes(1));
+        when(redis.opsForValue()).thenReturn(valueOperations);
+        Instant expiresAt = Instant.now().plusSeconds(600);
+
+        store.revokeToken("token-1", expiresAt);
+
+        verify(valueOperations).set(eq(RedisTokenRevocationStore.KEY_PREFIX + "token-1"),
+                eq(Long.toString(expiresAt.toEpochMilli())), any(Duration.class));
+        verify(redis).convertAndSend(RedisTokenRevocationStore.CHANNEL, "token-1|" + expiresAt.toEpochMilli());
+        assertTrue(store.isRevoked("token-1"));
+    }
+
+    @Test
+    void testRevokeToken_IgnoresExpiredToken() {
+        store = new RedisTokenRevocationStore(redis, 1000, 0.01, Duration.ofMinutes(1));
+
+        store.revokeToken("token-1", Instant.now().minusSeconds(1));
+
+        verify(redis, never()).opsForValue();
+        assertFalse(store.isRevoked("token-1"));
+    }
+
+    @Test
+    void testIsRevoked_BloomNegativeNeverTouchesRedis() {
+        store = new RedisTokenRevocationStore(redis, 1000, 0.01, Duration.ofMinutes(1));
+
+        assertFalse(store.isRevoked("token-1"));
+        assertFalse(store.isRevoked(null));
+        verify(redis, never()).opsForValue();
+    }
+
+    @Test
+    void testOnMessage_AppliesRevocationsFromOtherInstances() {
+        store = new RedisTokenRevocationStore(redis, 1000, 0.01, Duration.ofMinutes(1));
+
+        store.onMessage(message("token-1|" + Instant.now().plusSeconds(600).toEpochMilli()), null);
+        store.onMessage(message("malformed"), null);
+
+        assertTrue(store.isRevoked("token-1"));
+        assertFalse(store.isRevoked("malformed"));
+    }
+
+    @Test
+    void testIsRevoked_UnsettledPositiveIsLookedUpInBackground() {
+        store = saturatedStore();
+        when(redis.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get(RedisTokenRevocationStore.KEY_PREFIX + "token-1"))
+                .thenReturn(Long.toString(Instant.now().plusSeconds(600).toEpochMilli()));
+
+        assertFalse(store.isRevoked("token-1"));
+
+        assertTrue(eventually(() -> store.isRevoked("token-1")));
+    }
+
+    @Test
+    void testIsRevoked_RemembersTokensConfirmedValid() {
+        store = saturatedStore();
+        when(redis.opsForValue()).thenReturn(valueOperations);
+
+        assertFalse(store.isRevoked("token-1"));
+        verify(valueOperations, timeout(2000)).get(RedisTokenRevocationStore.KEY_PREFIX + "token-1");
+        assertFalse(store.isRevoked("token-1"));
+        assertFalse(store.isRevoked("token-1"));
+
+        verify(valueOperations, after(200).times(1)).get(anyString());
+    }
+
+    @Test
+    void testIsRevoked_RejectsBrieflyWhenLookupFails() {
+        store = saturatedStore();
+        when(redis.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get(anyString())).thenThrow(new IllegalStateException("Redis unavailable"));
+
+        assertFalse(store.isRevoked("token-1"));
+
+        assertTrue(eventually(() -> store.isRevoked("token-1")));
+    }
+
+    /**
+     * A store whose single-word Bloom filter is full, so every token is a positive the exact
+     * map cannot settle.
+     */
+    private RedisTokenRevocationStore saturatedStore() {
+        RedisTokenRevocationStore saturated = new RedisTokenRevocationStore(redis, 1000, 0.99, Duration.ofMinutes(1));
+        long expiresAt = Instant.now().plusSeconds(600).toEpochMilli();
+        for (int i = 0; i < 1000; i++) {
+            saturated.onMessage(message("revoked-" + i + "|" + expiresAt), null);
+        }
+        return saturated;
+    }
+
+    private static DefaultMessage message(String body) {
+        return new DefaultMessage(RedisTokenRevocationStore.CHANNEL.getBytes(StandardCharsets.UTF_8),
+                body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static boolean eventually(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + 2000;
+        while (System.currentTimeMillis() < deadline) {
+            if (condition.getAsBoolean()) {
+                return true;
+            }
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return false;
+    }
+}
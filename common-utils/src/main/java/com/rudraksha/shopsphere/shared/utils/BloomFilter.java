@@ -0,0 +1,99 @@
+package com.rudraksha.shopsphere.shared.utils;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size, lock-free Bloom filter over strings or (namespace, UUID) pairs. Bits are set
+ * with compare-and-set, so concurrent {@code put} and {@code mightContain} calls need no
+ * locking; a reader racing a writer at worst misses the element being added, never one added
+ * before. Bits are never cleared, so callers that expire elements rebuild the filter.
+ */
+public final class BloomFilter {
+
+    private static final long SEED_1 = 0x9E3779B97F4A7C15L;
+    private static final long SEED_2 = 0xC2B2AE3D27D4EB4FL;
+
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashCount;
+
+    /**
+     * @param expectedInsertions elements the filter is sized for; beyond them the false
+     *                           positive rate grows
+     */
+    public BloomFilter(int expectedInsertions, double falsePositiveRate) {
+        if (expectedInsertions < 1 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("Expected insertions must be positive and the rate between 0 and 1");
+        }
+        long optimalBits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int words = (int) Math.max(1, Math.min((optimalBits + 63) / 64, Integer.MAX_VALUE - 8));
+        this.bits = new AtomicLongArray(words);
+        this.bitCount = (long) words * 64;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * Math.log(2)));
+    }
+
+    public void put(String value) {
+        put(hash(value, SEED_1), hash(value, SEED_2) | 1);
+    }
+
+    public boolean mightContain(String value) {
+        return mightContain(hash(value, SEED_1), hash(value, SEED_2) | 1);
+    }
+
+    /**
+     * Adds the pair without building a combined key.
+     */
+    public void put(String namespace, UUID id) {
+        put(hash1(namespace, id), hash2(namespace, id));
+    }
+
+    public boolean mightContain(String namespace, UUID id) {
+        return mightContain(hash1(namespace, id), hash2(namespace, id));
+    }
+
+    private void put(long hash1, long hash2) {
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(hash1 + i * hash2, bitCount);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current;
+            do {
+                current = bits.get(word);
+            } while ((current & mask) == 0 && !bits.compareAndSet(word, current, current | mask));
+        }
+    }
+
+    private boolean mightContain(long hash1, long hash2) {
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(hash1 + i * hash2, bitCount);
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long hash1(String namespace, UUID id) {
+        return mix(id.getMostSignificantBits() ^ hash(namespace, SEED_1));
+    }
+
+    private static long hash2(String namespace, UUID id) {
+        return mix(id.getLeastSignificantBits() ^ hash(namespace, SEED_2)) | 1;
+    }
+
+    private static long hash(String value, long seed) {
+        long hash = seed;
+        for (int i = 0; i < value.length(); i++) {
+            hash = (hash ^ value.charAt(i)) * 0x100000001B3L;
+        }
+        return mix(hash);
+    }
+
+    // MurmurHash3 finalizer
+    private static long mix(long value) {
+        value = (value ^ (value >>> 33)) * 0xFF51AFD7ED558CCDL;
+        value = (value ^ (value >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return value ^ (value >>> 33);
+    }
+}
@@ -0,0 +1,182 @@
+package com.rudraksha.shopsphere.shared.utils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Reads CSV records one at a time, so input of any size is parsed in constant memory.
+ * Quoted fields may contain delimiters, doubled quotes and line breaks; records end at
+ * {@code \n}, {@code \r\n} or {@code \r}. Blank lines are skipped, as in {@link CsvUtil#parse(String)}.
+ * <p>
+ * The read buffer and field builder are reused across records; only the returned row arrays
+ * and their strings are allocated. Not thread-safe.
+ */
+public final class CsvReader implements Iterator<String[]>, Closeable {
+
+    private static final int BUFFER_SIZE = 8192;
+    private static final char QUOTE_CHAR = '"';
+    private static final char BYTE_ORDER_MARK = '\uFEFF';
+
+    private final Reader reader;
+    private final char delimiter;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private final StringBuilder field = new StringBuilder();
+    private final List<String> fields = new ArrayList<>();
+    private int position;
+    private int limit;
+    private long line = 1;
+    private String[] next;
+    private boolean started;
+    private boolean finished;
+
+    public CsvReader(Reader reader, char delimiter) {
+        if (reader == null) {
+            throw new IllegalArgumentException("Reader cannot be null");
+        }
+        this.reader = reader;
+        this.delimiter = delimiter;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null && !finished) {
+            try {
+                next = readRecord();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to read CSV input", e);
+            }
+            finished = next == null;
+        }
+        return next != null;
+    }
+
+    @Override
+    public String[] next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        String[] row = next;
+        next = null;
+        return row;
+    }
+
+    /**
+     * Sequential stream of the remaining records; closing it closes the reader.
+     */
+    public Stream<String[]> stream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this,
+                        Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(this::closeQuietly);
+    }
+
+    private String[] readRecord() throws IOException {
+        if (!started) {
+            started = true;
+            if (peek() == BYTE_ORDER_MARK) {
+                read();
+            }
+        }
+        int c;
+        while ((c = read()) != -1) {
+            long startLine = line;
+            boolean inQuotes = false;
+            boolean quoted = false;
+            fields.clear();
+            field.setLength(0);
+            while (true) {
+                if (c == -1) {
+                    if (inQuotes) {
+                        throw new CsvUtil.CsvParseException("Unterminated quoted field in record starting at line " + startLine);
+                    }
+                    break;
+                }
+                if (inQuotes) {
+                    if (c == QUOTE_CHAR) {
+                        if (peek() == QUOTE_CHAR) {
+                            read();
+                            field.append(QUOTE_CHAR);
+                        } else {
+                            inQuotes = false;
+                        }
+                    } else {
+                        if (c == '\n') {
+                            line++;
+                        }
+                        field.append((char) c);
+                    }
+                } else if (c == QUOTE_CHAR) {
+                    inQuotes = true;
+                    quoted = true;
+                } else if (c == delimiter) {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\n') {
+                    break;
+                } else if (c == '\r') {
+                    if (peek() == '\n') {
+                        read();
+                    }
+                    break;
+                } else {
+                    field.append((char) c);
+                }
+                c = read();
+            }
+            line++;
+            fields.add(field.toString());
+            if (quoted || fields.size() > 1 || !fields.get(0).isBlank()) {
+                return fields.toArray(new String[0]);
+            }
+        }
+        return null;
+    }
+
+    private int read() throws IOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        return buffer[position++];
+    }
+
+    private int peek() throws IOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        return buffer[position];
+    }
+
+    private boolean fill() throws IOException {
+        int read;
+        do {
+            read = reader.read(buffer, 0, buffer.length);
+        } while (read == 0);
+        position = 0;
+        limit = Math.max(read, 0);
+        return read > 0;
+    }
+
+    @Override
+    public void close() throws IOException {
+        finished = true;
+        next = null;
+        reader.close();
+    }
+
+    private void closeQuietly() {
+        try {
+            close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to close CSV input", e);
+        }
+    }
+}
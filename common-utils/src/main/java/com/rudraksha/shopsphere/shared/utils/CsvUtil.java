@@ -1,13 +1,17 @@
 package com.rudraksha.shopsphere.shared.utils;
 
 import java.io.*;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.*;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public final class CsvUtil {
 
     private static final char DEFAULT_DELIMITER = ',';
-    private static final char QUOTE_CHAR = '"';
 
     private CsvUtil() {
     }
@@ -16,21 +20,16 @@ public final class CsvUtil {
         return parse(csvContent, DEFAULT_DELIMITER);
     }
 
+    /**
+     * Quoted fields may span lines, so a quote left open runs to the end of the content and
+     * fails with a {@link CsvParseException} rather than ending at the line break.
+     */
     public static List<String[]> parse(String csvContent, char delimiter) {
         if (csvContent == null || csvContent.isBlank()) {
             return Collections.emptyList();
         }
         List<String[]> result = new ArrayList<>();
-        try (BufferedReader reader = new BufferedReader(new StringReader(csvContent))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                if (!line.isBlank()) {
-                    result.add(parseLine(line, delimiter));
-                }
-            }
-        } catch (IOException e) {
-            throw new CsvParseException("Failed to parse CSV content", e);
-        }
+        new CsvReader(new StringReader(csvContent), delimiter).forEachRemaining(result::add);
         return result;
     }
 
@@ -43,19 +42,61 @@ public final class CsvUtil {
             return Collections.emptyList();
         }
         List<String[]> result = new ArrayList<>();
-        try (BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                if (!line.isBlank()) {
-                    result.add(parseLine(line, delimiter));
-                }
-            }
-        } catch (IOException e) {
+        try (CsvReader reader = reader(inputStream, delimiter)) {
+            reader.forEachRemaining(result::add);
+        } catch (IOException | UncheckedIOException e) {
             throw new CsvParseException("Failed to parse CSV input stream", e);
         }
         return result;
     }
 
+    /**
+     * Reads the stream record by record instead of collecting it; for large imports.
+     */
+    public static CsvReader reader(InputStream inputStream) {
+        return reader(inputStream, DEFAULT_DELIMITER);
+    }
+
+    public static CsvReader reader(InputStream inputStream, char delimiter) {
+        return new CsvReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8), delimiter);
+    }
+
+    public static Stream<String[]> stream(Path file) {
+        return stream(file, DEFAULT_DELIMITER, false);
+    }
+
+    /**
+     * Streams the records of a UTF-8 file through a memory mapping. A parallel stream parses
+     * chunks of the file concurrently, split at record boundaries, and keeps the file order;
+     * a header row comes first and can be dropped with {@code skip(1)}. Close the stream to
+     * release the file.
+     */
+    public static Stream<String[]> stream(Path file, char delimiter, boolean parallel) {
+        FileChannel channel;
+        try {
+            channel = FileChannel.open(file, StandardOpenOption.READ);
+        } catch (IOException e) {
+            throw new CsvParseException("Failed to open CSV file " + file, e);
+        }
+        try {
+            return StreamSupport.stream(new MappedCsvSpliterator(channel, delimiter), parallel)
+                    .onClose(() -> {
+                        try {
+                            channel.close();
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+        } catch (IOException | RuntimeException e) {
+            try {
+                channel.close();
+            } catch (IOException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            throw new CsvParseException("Failed to read CSV file " + file, e);
+        }
+    }
+
     public static List<Map<String, String>> parseWithHeaders(String csvContent) {
         return parseWithHeaders(csvContent, DEFAULT_DELIMITER);
     }
@@ -87,11 +128,11 @@ public final class CsvUtil {
         if (rows == null || rows.isEmpty()) {
             return "";
         }
-        StringBuilder sb = new StringBuilder();
-        for (String[] row : rows) {
-            sb.append(formatRow(row, delimiter)).append("\n");
-        }
-        return sb.toString();
+        return format(delimiter, csv -> {
+            for (String[] row : rows) {
+                csv.writeRow((Object[]) row);
+            }
+        });
     }
 
     public static String toCsvWithHeaders(List<Map<String, String>> data, String[] headers) {
@@ -102,77 +143,44 @@ public final class CsvUtil {
         if (data == null || data.isEmpty() || headers == null || headers.length == 0) {
             return "";
         }
-        StringBuilder sb = new StringBuilder();
-        sb.append(formatRow(headers, delimiter)).append("\n");
-        for (Map<String, String> row : data) {
-            String[] values = new String[headers.length];
-            for (int i = 0; i < headers.length; i++) {
-                values[i] = row.getOrDefault(headers[i], "");
-            }
-            sb.append(formatRow(values, delimiter)).append("\n");
-        }
-        return sb.toString();
-    }
-
-    private static String[] parseLine(String line, char delimiter) {
-        List<String> fields = new ArrayList<>();
-        StringBuilder current = new StringBuilder();
-        boolean inQuotes = false;
-
-        for (int i = 0; i < line.length(); i++) {
-            char c = line.charAt(i);
-            if (inQuotes) {
-                if (c == QUOTE_CHAR) {
-                    if (i + 1 < line.length() && line.charAt(i + 1) == QUOTE_CHAR) {
-                        current.append(QUOTE_CHAR);
-                        i++;
-                    } else {
-                        inQuotes = false;
-                    }
-                } else {
-                    current.append(c);
-                }
-            } else {
-                if (c == QUOTE_CHAR) {
-                    inQuotes = true;
-                } else if (c == delimiter) {
-                    fields.add(current.toString());
-                    current = new StringBuilder();
-                } else {
-                    current.append(c);
-                }
+        return format(delimiter, csv -> {
+            csv.writeRow((Object[]) headers);
+            for (Map<String, String> row : data) {
+                csv.writeRow(row, headers);
             }
-        }
-        fields.add(current.toString());
-        return fields.toArray(new String[0]);
+        });
     }
 
-    private static String formatRow(String[] values, char delimiter) {
-        StringBuilder sb = new StringBuilder();
-        for (int i = 0; i < values.length; i++) {
-            if (i > 0) {
-                sb.append(delimiter);
-            }
-            sb.append(escapeField(values[i], delimiter));
-        }
-        return sb.toString();
+    public static void write(OutputStream outputStream, boolean gzip, CsvWriter.RowWriter rows) throws IOException {
+        write(outputStream, DEFAULT_DELIMITER, gzip, rows);
     }
 
-    private static String escapeField(String field, char delimiter) {
-        if (field == null) {
-            return "";
-        }
-        boolean needsQuotes = field.contains(String.valueOf(delimiter))
-                || field.contains("\"")
-                || field.contains("\n")
-                || field.contains("\r");
-        if (needsQuotes) {
-            return "\"" + field.replace("\"", "\"\"") + "\"";
+    /**
+     * Writes an export straight to the stream and finishes it without closing it, matching
+     * {@code StreamingResponseBody}: {@code out -> CsvUtil.write(out, false, csv -> ...)}.
+     */
+    public static void write(OutputStream outputStream, char delimiter, boolean gzip, CsvWriter.RowWriter rows)
+            throws IOException {
+        CsvWriter csv = CsvWriter.of(outputStream, delimiter, gzip);
+        rows.write(csv);
+        csv.finish();
+    }
+
+    private static String format(char delimiter, CsvWriter.RowWriter rows) {
+        StringWriter out = new StringWriter();
+        try {
+            rows.write(new CsvWriter(out, delimiter));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
-        return field;
+        return out.toString();
     }
 
     public static class CsvParseException extends RuntimeException {
+        public CsvParseException(String message) {
+            super(message);
+        }
+
         public CsvParseException(String message, Throwable cause) {
             super(message, cause);
         }
@@ -0,0 +1,160 @@
+package com.rudraksha.shopsphere.shared.utils;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes CSV records straight to a {@link Writer}, so exports use constant memory however
+ * large the output. Fields are appended one at a time with {@link #field(Object)} and
+ * {@link #endRow()}; values are escaped while they are copied, without intermediate strings
+ * or row arrays.
+ * <p>
+ * For an {@link OutputStream}, e.g. inside a Spring {@code StreamingResponseBody}, use
+ * {@link CsvUtil#write(OutputStream, boolean, RowWriter)}, which finishes the stream without
+ * closing it. Not thread-safe.
+ */
+public final class CsvWriter implements Closeable, Flushable {
+
+    private static final char QUOTE_CHAR = '"';
+    private static final int BUFFER_SIZE = 16 * 1024;
+
+    private final Writer writer;
+    private final GZIPOutputStream gzip;
+    private final char delimiter;
+    private boolean rowStarted;
+    private long rows;
+
+    public CsvWriter(Writer writer, char delimiter) {
+        this(writer, null, delimiter);
+    }
+
+    private CsvWriter(Writer writer, GZIPOutputStream gzip, char delimiter) {
+        if (writer == null) {
+            throw new IllegalArgumentException("Writer cannot be null");
+        }
+        this.writer = writer;
+        this.gzip = gzip;
+        this.delimiter = delimiter;
+    }
+
+    /**
+     * Writes UTF-8 to the stream, gzip-compressed if requested.
+     */
+    public static CsvWriter of(OutputStream outputStream, char delimiter, boolean gzip) throws IOException {
+        GZIPOutputStream compressed = gzip ? new GZIPOutputStream(outputStream, BUFFER_SIZE) : null;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(
+                compressed != null ? compressed : outputStream, StandardCharsets.UTF_8), BUFFER_SIZE);
+        return new CsvWriter(writer, compressed, delimiter);
+    }
+
+    /**
+     * Appends a field to the current row; {@code null} is written as an empty field.
+     */
+    public CsvWriter field(Object value) throws IOException {
+        if (rowStarted) {
+            writer.write(delimiter);
+        }
+        rowStarted = true;
+        if (value != null) {
+            writeEscaped(value instanceof CharSequence chars ? chars : value.toString());
+        }
+        return this;
+    }
+
+    public CsvWriter endRow() throws IOException {
+        writer.write('\n');
+        rowStarted = false;
+        rows++;
+        return this;
+    }
+
+    public CsvWriter writeRow(Object... values) throws IOException {
+        for (Object value : values) {
+            field(value);
+        }
+        return endRow();
+    }
+
+    public CsvWriter writeRow(Iterable<?> values) throws IOException {
+        for (Object value : values) {
+            field(value);
+        }
+        return endRow();
+    }
+
+    /**
+     * Writes the values of {@code row} in header order, missing keys as empty fields.
+     */
+    public CsvWriter writeRow(Map<String, ?> row, String[] headers) throws IOException {
+        for (String header : headers) {
+            field(row.get(header));
+        }
+        return endRow();
+    }
+
+    public long rowsWritten() {
+        return rows;
+    }
+
+    private void writeEscaped(CharSequence value) throws IOException {
+        int length = value.length();
+        boolean needsQuotes = false;
+        for (int i = 0; i < length && !needsQuotes; i++) {
+            char c = value.charAt(i);
+            needsQuotes = c == delimiter || c == QUOTE_CHAR || c == '\n' || c == '\r';
+        }
+        if (!needsQuotes) {
+            writer.append(value);
+            return;
+        }
+        writer.write(QUOTE_CHAR);
+        int segmentStart = 0;
+        for (int i = 0; i < length; i++) {
+            if (value.charAt(i) == QUOTE_CHAR) {
+                writer.append(value, segmentStart, i + 1);
+                writer.write(QUOTE_CHAR);
+                segmentStart = i + 1;
+            }
+        }
+        writer.append(value, segmentStart, length);
+        writer.write(QUOTE_CHAR);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    /**
+     * Flushes everything written and completes the gzip trailer, leaving the underlying
+     * stream open for its owner to close.
+     */
+    public void finish() throws IOException {
+        writer.flush();
+        if (gzip != null) {
+            gzip.finish();
+            gzip.flush();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+
+    /**
+     * Produces the rows of an export.
+     */
+    @FunctionalInterface
+    public interface RowWriter {
+        void write(CsvWriter csv) throws IOException;
+    }
+}
@@ -2,6 +2,7 @@ package com.rudraksha.shopsphere.shared.utils;
 
 import java.security.SecureRandom;
 import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
 
 public final class IdGenerator {
 
@@ -9,6 +10,9 @@ public final class IdGenerator {
     private static final String ALPHANUMERIC = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789";
     private static final int SHORT_ID_LENGTH = 8;
     private static final int DEFAULT_RANDOM_LENGTH = 12;
+    private static final int UUID_V7_COUNTER_BITS = 12;
+    // Per thread: last timestamp and counter, so UUIDv7 generation never contends
+    private static final ThreadLocal<long[]> UUID_V7_STATE = ThreadLocal.withInitial(() -> new long[2]);
 
     private IdGenerator() {
     }
@@ -21,6 +25,46 @@ public final class IdGenerator {
         return UUID.randomUUID().toString().replace("-", "");
     }
 
+    /**
+     * UUIDv7 (RFC 9562): a 48-bit millisecond timestamp followed by random bits, so values
+     * sort by creation time and index inserts land at the right edge of the B-tree. The 12-bit
+     * {@code rand_a} field is a counter seeded randomly each millisecond, keeping the ids of a
+     * thread strictly increasing; once it runs out the timestamp moves ahead by a millisecond.
+     * Random bits come from {@link ThreadLocalRandom}: unique and unordered, not unguessable.
+     */
+    public static UUID generateUUIDv7() {
+        long[] state = UUID_V7_STATE.get();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long now = System.currentTimeMillis();
+        if (now > state[0]) {
+            state[0] = now;
+            state[1] = random.nextInt(1 << (UUID_V7_COUNTER_BITS - 1));
+        } else if (++state[1] >> UUID_V7_COUNTER_BITS != 0) {
+            state[0]++;
+            state[1] = 0;
+        }
+        long mostSigBits = state[0] << 16 | 0x7000L | state[1];
+        long leastSigBits = random.nextLong() & 0x3FFFFFFFFFFFFFFFL | 0x8000000000000000L;
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
+    /**
+     * Creation time of a UUIDv7 in epoch milliseconds.
+     */
+    public static long timestampOf(UUID uuid) {
+        if (uuid.version() != 7) {
+            throw new IllegalArgumentException("Not a version 7 UUID: " + uuid);
+        }
+        return uuid.getMostSignificantBits() >>> 16;
+    }
+
+    /**
+     * 64-bit time-ordered id from the generator configured by {@link SnowflakeIdGenerator#fromEnvironment()}.
+     */
+    public static long generateSnowflakeId() {
+        return SnowflakeHolder.GENERATOR.nextId();
+    }
+
     public static String generateShortId() {
         return generateShortId(SHORT_ID_LENGTH);
     }
@@ -76,4 +120,8 @@ public final class IdGenerator {
             return null;
         }
     }
+
+    private static final class SnowflakeHolder {
+        private static final SnowflakeIdGenerator GENERATOR = SnowflakeIdGenerator.fromEnvironment();
+    }
 }
@@ -1,20 +1,39 @@
 package com.rudraksha.shopsphere.shared.utils;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.Module;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
+import com.fasterxml.jackson.databind.SequenceWriter;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public final class JsonUtil {
 
+    private static final Logger log = LoggerFactory.getLogger(JsonUtil.class);
+    private static final String BLACKBIRD_MODULE = "com.fasterxml.jackson.module.blackbird.BlackbirdModule";
     private static final ObjectMapper OBJECT_MAPPER;
 
     static {
@@ -23,6 +42,44 @@ public final class JsonUtil {
         OBJECT_MAPPER.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
         OBJECT_MAPPER.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
         OBJECT_MAPPER.enable(DeserializationFeature.ACCEPT_EMPTY_STRING_AS_NULL_OBJECT);
+        registerBlackbirdIfPresent(OBJECT_MAPPER);
+    }
+
+    // Readers and writers bound to a type skip the root type lookup on every call
+    private static final ClassValue<ObjectReader> READERS = new ClassValue<>() {
+        @Override
+        protected ObjectReader computeValue(Class<?> type) {
+            return OBJECT_MAPPER.readerFor(type);
+        }
+    };
+
+    private static final ClassValue<ObjectReader> LIST_READERS = new ClassValue<>() {
+        @Override
+        protected ObjectReader computeValue(Class<?> type) {
+            return OBJECT_MAPPER.readerFor(OBJECT_MAPPER.getTypeFactory().constructCollectionType(List.class, type));
+        }
+    };
+
+    private static final ClassValue<ObjectWriter> WRITERS = new ClassValue<>() {
+        @Override
+        protected ObjectWriter computeValue(Class<?> type) {
+            return OBJECT_MAPPER.writerFor(type);
+        }
+    };
+
+    /**
+     * Blackbird replaces reflective property access with generated lambdas. It is an optional
+     * dependency: services that add {@code jackson-module-blackbird} get it, others are unaffected.
+     */
+    private static void registerBlackbirdIfPresent(ObjectMapper mapper) {
+        try {
+            Class<?> moduleClass = Class.forName(BLACKBIRD_MODULE, true, JsonUtil.class.getClassLoader());
+            mapper.registerModule((Module) moduleClass.getDeclaredConstructor().newInstance());
+        } catch (ClassNotFoundException e) {
+            // not on the classpath
+        } catch (ReflectiveOperationException | LinkageError e) {
+            log.warn("Could not register Jackson Blackbird module", e);
+        }
     }
 
     private JsonUtil() {
@@ -32,12 +89,20 @@ public final class JsonUtil {
         return OBJECT_MAPPER;
     }
 
+    public static ObjectReader readerFor(Class<?> type) {
+        return READERS.get(type);
+    }
+
+    public static ObjectWriter writerFor(Class<?> type) {
+        return WRITERS.get(type);
+    }
+
     public static String serialize(Object object) {
         if (object == null) {
             return null;
         }
         try {
-            return OBJECT_MAPPER.writeValueAsString(object);
+            return WRITERS.get(object.getClass()).writeValueAsString(object);
         } catch (JsonProcessingException e) {
             throw new JsonSerializationException("Failed to serialize object", e);
         }
@@ -48,7 +113,7 @@ public final class JsonUtil {
             return Optional.empty();
         }
         try {
-            return Optional.of(OBJECT_MAPPER.writeValueAsString(object));
+            return Optional.of(WRITERS.get(object.getClass()).writeValueAsString(object));
         } catch (JsonProcessingException e) {
             return Optional.empty();
         }
@@ -70,7 +135,7 @@ public final class JsonUtil {
             return null;
         }
         try {
-            return OBJECT_MAPPER.readValue(json, clazz);
+            return READERS.get(clazz).readValue(json);
         } catch (JsonProcessingException e) {
             throw new JsonSerializationException("Failed to deserialize JSON", e);
         }
@@ -81,7 +146,7 @@ public final class JsonUtil {
             return Optional.empty();
         }
         try {
-            return Optional.ofNullable(OBJECT_MAPPER.readValue(json, clazz));
+            return Optional.ofNullable(READERS.get(clazz).readValue(json));
         } catch (JsonProcessingException e) {
             return Optional.empty();
         }
@@ -103,13 +168,80 @@ public final class JsonUtil {
             return Collections.emptyList();
         }
         try {
-            return OBJECT_MAPPER.readValue(json,
-                    OBJECT_MAPPER.getTypeFactory().constructCollectionType(List.class, elementClass));
+            return LIST_READERS.get(elementClass).readValue(json);
         } catch (JsonProcessingException e) {
             throw new JsonSerializationException("Failed to deserialize JSON list", e);
         }
     }
 
+    /**
+     * Reads the elements of a top-level JSON array one at a time, holding only the current
+     * element in memory. A top-level sequence of values without the array brackets is read
+     * the same way. Closing the stream closes the input.
+     */
+    public static <T> Stream<T> streamArray(InputStream inputStream, Class<T> elementClass) {
+        MappingIterator<T> iterator;
+        try {
+            iterator = READERS.get(elementClass).readValues(inputStream);
+        } catch (IOException e) {
+            throw new JsonSerializationException("Failed to read JSON array", e);
+        }
+        Iterator<T> elements = new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                try {
+                    return iterator.hasNext();
+                } catch (RuntimeJsonMappingException e) {
+                    throw new JsonSerializationException("Failed to read JSON array element", e);
+                }
+            }
+
+            @Override
+            public T next() {
+                try {
+                    return iterator.next();
+                } catch (RuntimeJsonMappingException e) {
+                    throw new JsonSerializationException("Failed to read JSON array element", e);
+                }
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(elements, Spliterator.ORDERED), false)
+                .onClose(() -> {
+                    try {
+                        iterator.close();
+                    } catch (IOException e) {
+                        throw new JsonSerializationException("Failed to close JSON input", e);
+                    }
+                });
+    }
+
+    /**
+     * Opens an array on the stream; each {@code write} appends one element and {@code close}
+     * writes the closing bracket. The output stream itself is flushed but left open.
+     */
+    public static SequenceWriter arrayWriter(OutputStream outputStream, Class<?> elementClass) {
+        try {
+            return WRITERS.get(elementClass)
+                    .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                    .writeValuesAsArray(outputStream);
+        } catch (IOException e) {
+            throw new JsonSerializationException("Failed to start JSON array", e);
+        }
+    }
+
+    /**
+     * Writes the elements as a JSON array as they are produced; the stream is left open.
+     */
+    public static <T> void writeArray(OutputStream outputStream, Class<T> elementClass, Iterator<? extends T> elements) {
+        try (SequenceWriter writer = arrayWriter(outputStream, elementClass)) {
+            while (elements.hasNext()) {
+                writer.write(elements.next());
+            }
+        } catch (IOException e) {
+            throw new JsonSerializationException("Failed to write JSON array", e);
+        }
+    }
+
     public static Map<String, Object> toMap(Object object) {
         if (object == null) {
             return Collections.emptyMap();
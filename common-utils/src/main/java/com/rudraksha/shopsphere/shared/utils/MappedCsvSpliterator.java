@@ -0,0 +1,215 @@
+package com.rudraksha.shopsphere.shared.utils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * Parses CSV records straight from a memory-mapped UTF-8 file. The file is mapped in windows,
+ * so its size is not limited to one mapping, and splits fall on record boundaries. Whether a
+ * line break ends a record depends on the quote parity since the start of the file, so the
+ * first split scans the file once for record boundaries about {@link #MIN_SPLIT_SIZE} apart
+ * and every later split picks one of those by binary search. Delimiters, quotes and line
+ * breaks are ASCII and never occur inside multi-byte UTF-8 sequences, so parsing works on raw
+ * bytes.
+ * <p>
+ * Each instance reuses one field buffer; records are decoded to strings only once complete.
+ */
+final class MappedCsvSpliterator implements Spliterator<String[]> {
+
+    private static final long WINDOW_SIZE = 64L << 20;
+    private static final long MIN_SPLIT_SIZE = 1L << 20;
+    private static final byte QUOTE = '"';
+    private static final byte[] BYTE_ORDER_MARK = {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF};
+
+    private final FileChannel channel;
+    private final long fileSize;
+    private final byte delimiter;
+    private final long end;
+    private long position;
+    private long[] splitPoints;
+    private MappedByteBuffer window;
+    private long windowStart;
+    private long windowEnd;
+    private byte[] field = new byte[256];
+    private int fieldLength;
+    private final List<String> fields = new ArrayList<>();
+
+    MappedCsvSpliterator(FileChannel channel, char delimiter) throws IOException {
+        this(channel, channel.size(), delimiter, 0, channel.size(), null);
+        if (fileSize >= BYTE_ORDER_MARK.length && byteAt(0) == BYTE_ORDER_MARK[0]
+                && byteAt(1) == BYTE_ORDER_MARK[1] && byteAt(2) == BYTE_ORDER_MARK[2]) {
+            position = BYTE_ORDER_MARK.length;
+        }
+    }
+
+    private MappedCsvSpliterator(FileChannel channel, long fileSize, char delimiter, long start, long end,
+                                 long[] splitPoints) {
+        if (delimiter > 0x7F) {
+            throw new IllegalArgumentException("Delimiter must be an ASCII character");
+        }
+        this.channel = channel;
+        this.fileSize = fileSize;
+        this.delimiter = (byte) delimiter;
+        this.position = start;
+        this.end = end;
+        this.splitPoints = splitPoints;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super String[]> action) {
+        while (position < end) {
+            String[] row = readRecord();
+            if (row != null) {
+                action.accept(row);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private String[] readRecord() {
+        long start = position;
+        long p = position;
+        boolean inQuotes = false;
+        boolean quoted = false;
+        fields.clear();
+        fieldLength = 0;
+        while (p < fileSize) {
+            byte b = byteAt(p++);
+            if (inQuotes) {
+                if (b == QUOTE) {
+                    if (p < fileSize && byteAt(p) == QUOTE) {
+                        append(QUOTE);
+                        p++;
+                    } else {
+                        inQuotes = false;
+                    }
+                } else {
+                    append(b);
+                }
+            } else if (b == QUOTE) {
+                inQuotes = true;
+                quoted = true;
+            } else if (b == delimiter) {
+                completeField();
+            } else if (b == '\n') {
+                break;
+            } else if (b == '\r') {
+                if (p < fileSize && byteAt(p) == '\n') {
+                    p++;
+                }
+                break;
+            } else {
+                append(b);
+            }
+        }
+        if (inQuotes) {
+            throw new CsvUtil.CsvParseException("Unterminated quoted field in record starting at byte " + start);
+        }
+        position = p;
+        completeField();
+        if (quoted || fields.size() > 1 || !fields.get(0).isBlank()) {
+            return fields.toArray(new String[0]);
+        }
+        return null;
+    }
+
+    private void append(byte b) {
+        if (fieldLength == field.length) {
+            field = Arrays.copyOf(field, field.length * 2);
+        }
+        field[fieldLength++] = b;
+    }
+
+    private void completeField() {
+        fields.add(new String(field, 0, fieldLength, StandardCharsets.UTF_8));
+        fieldLength = 0;
+    }
+
+    @Override
+    public Spliterator<String[]> trySplit() {
+        if (end - position < 2 * MIN_SPLIT_SIZE) {
+            return null;
+        }
+        if (splitPoints == null) {
+            splitPoints = findSplitPoints();
+        }
+        long middle = position + (end - position) / 2;
+        int index = Arrays.binarySearch(splitPoints, middle);
+        if (index < 0) {
+            index = -index - 1;
+        }
+        if (index == splitPoints.length || splitPoints[index] >= end) {
+            return null;
+        }
+        long split = splitPoints[index];
+        MappedCsvSpliterator prefix = new MappedCsvSpliterator(
+                channel, fileSize, (char) delimiter, position, split, splitPoints);
+        position = split;
+        return prefix;
+    }
+
+    /**
+     * Offsets just past the first record-ending line break after every {@link #MIN_SPLIT_SIZE}
+     * bytes of the range, in one pass. Only the root spliterator runs this; its splits share
+     * the result.
+     */
+    private long[] findSplitPoints() {
+        long[] points = new long[16];
+        int count = 0;
+        boolean inQuotes = false;
+        long next = position + MIN_SPLIT_SIZE;
+        long p = position;
+        while (p < end) {
+            byte b = byteAt(p++);
+            if (b == QUOTE) {
+                inQuotes = !inQuotes;
+            } else if (b == '\n' && !inQuotes && p >= next) {
+                if (count == points.length) {
+                    points = Arrays.copyOf(points, count * 2);
+                }
+                points[count++] = p;
+                next = p + MIN_SPLIT_SIZE;
+            }
+        }
+        return Arrays.copyOf(points, count);
+    }
+
+    private byte byteAt(long offset) {
+        if (offset < windowStart || offset >= windowEnd || window == null) {
+            map(offset);
+        }
+        return window.get((int) (offset - windowStart));
+    }
+
+    private void map(long offset) {
+        windowStart = offset;
+        windowEnd = Math.min(fileSize, offset + WINDOW_SIZE);
+        try {
+            window = channel.map(FileChannel.MapMode.READ_ONLY, windowStart, windowEnd - windowStart);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to map CSV file at offset " + offset, e);
+        }
+    }
+
+    /**
+     * Bytes left in the range; proportional to the records left, which is all splitting needs.
+     */
+    @Override
+    public long estimateSize() {
+        return end - position;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | NONNULL | IMMUTABLE;
+    }
+}
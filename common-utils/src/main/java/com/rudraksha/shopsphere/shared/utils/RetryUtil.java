@@ -1,15 +1,37 @@
 package com.rudraksha.shopsphere.shared.utils;
 
 import java.time.Duration;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 public final class RetryUtil {
 
     private static final int DEFAULT_MAX_ATTEMPTS = 3;
     private static final Duration DEFAULT_DELAY = Duration.ofMillis(500);
     private static final double DEFAULT_BACKOFF_MULTIPLIER = 2.0;
+    private static final double DEFAULT_BUDGET_RATIO = 0.2;
+    private static final int DEFAULT_BUDGET_CAPACITY = 20;
+
+    private static final Executor VIRTUAL_THREADS = Executors.newVirtualThreadPerTaskExecutor();
+    private static final Map<String, RetryBudget> BUDGETS = new ConcurrentHashMap<>();
+    private static final Map<String, RetryStats> STATS = new ConcurrentHashMap<>();
+    private static final List<BiConsumer<String, RetryStats>> STATS_LISTENERS = new CopyOnWriteArrayList<>();
 
     private RetryUtil() {
     }
@@ -100,6 +122,140 @@ public final class RetryUtil {
         }, maxAttempts, delay);
     }
 
+    /**
+     * Runs a blocking operation on a virtual thread and retries it without holding any thread
+     * between attempts. See {@link #retryFuture(String, Supplier, RetryPolicy)}.
+     */
+    public static <T> CompletableFuture<T> retryAsync(String dependency, Callable<T> operation, RetryPolicy policy) {
+        if (operation == null) {
+            throw new IllegalArgumentException("Operation cannot be null");
+        }
+        return retryFuture(dependency, () -> CompletableFuture.supplyAsync(() -> {
+            try {
+                return operation.call();
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            }
+        }, VIRTUAL_THREADS), policy);
+    }
+
+    /**
+     * Retries an asynchronous operation against {@code dependency}. Delays use decorrelated
+     * jitter, so callers that failed together do not retry together, and every retry spends
+     * a token from the dependency's {@link RetryBudget}: once an outage has drained the budget,
+     * failures are returned straight away instead of multiplying load on the dependency.
+     * Cancelling the returned future stops further attempts. Retries are started on virtual
+     * threads.
+     */
+    public static <T> CompletableFuture<T> retryFuture(String dependency, Supplier<? extends CompletionStage<T>> operation,
+                                                       RetryPolicy policy) {
+        return retryFuture(dependency, operation, policy, VIRTUAL_THREADS);
+    }
+
+    /**
+     * As {@link #retryFuture(String, Supplier, RetryPolicy)}, starting retries on
+     * {@code executor} once their delay has passed.
+     */
+    public static <T> CompletableFuture<T> retryFuture(String dependency, Supplier<? extends CompletionStage<T>> operation,
+                                                       RetryPolicy policy, Executor executor) {
+        if (dependency == null || operation == null || policy == null || executor == null) {
+            throw new IllegalArgumentException("Dependency, operation, policy and executor cannot be null");
+        }
+        CompletableFuture<T> result = new CompletableFuture<>();
+        attempt(operation, policy, executor, budget(dependency), stats(dependency), 1, policy.baseDelay(), result);
+        return result;
+    }
+
+    private static <T> void attempt(Supplier<? extends CompletionStage<T>> operation, RetryPolicy policy,
+                                    Executor executor, RetryBudget budget, RetryStats stats, int attempt,
+                                    Duration previousDelay, CompletableFuture<T> result) {
+        if (result.isDone()) {
+            return;
+        }
+        stats.attempts.increment();
+        if (attempt == 1) {
+            budget.deposit();
+        }
+        CompletionStage<T> stage;
+        try {
+            stage = operation.get();
+        } catch (RuntimeException e) {
+            stage = CompletableFuture.failedFuture(e);
+        }
+        stage.whenComplete((value, error) -> {
+            if (error == null) {
+                result.complete(value);
+                return;
+            }
+            Throwable cause = unwrap(error);
+            if (attempt >= policy.maxAttempts() || !policy.retryOn().test(cause)) {
+                stats.exhausted.increment();
+                result.completeExceptionally(cause);
+                return;
+            }
+            if (!budget.tryWithdraw()) {
+                stats.budgetRejected.increment();
+                result.completeExceptionally(cause);
+                return;
+            }
+            stats.retries.increment();
+            Duration delay = policy.nextDelay(previousDelay);
+            // The delay only hands the attempt to the executor, which may reject it by then.
+            Executor guarded = task -> {
+                try {
+                    executor.execute(task);
+                } catch (RuntimeException e) {
+                    result.completeExceptionally(cause);
+                }
+            };
+            CompletableFuture.delayedExecutor(delay.toMillis(), TimeUnit.MILLISECONDS, guarded)
+                    .execute(() -> attempt(operation, policy, executor, budget, stats, attempt + 1, delay, result));
+        });
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        Throwable cause = error;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException) && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+
+    /**
+     * Replaces the retry budget of {@code dependency}: each call deposits {@code ratio} tokens,
+     * each retry costs one, and at most {@code capacity} tokens are kept.
+     */
+    public static void configureBudget(String dependency, double ratio, int capacity) {
+        BUDGETS.put(dependency, new RetryBudget(ratio, capacity));
+    }
+
+    public static RetryStats stats(String dependency) {
+        RetryStats stats = STATS.get(dependency);
+        if (stats != null) {
+            return stats;
+        }
+        RetryStats created = new RetryStats();
+        stats = STATS.putIfAbsent(dependency, created);
+        if (stats != null) {
+            return stats;
+        }
+        STATS_LISTENERS.forEach(listener -> listener.accept(dependency, created));
+        return created;
+    }
+
+    /**
+     * Hands {@code listener} the stats of every dependency, those seen so far and each one
+     * first used later; a dependency racing the registration may be handed over twice.
+     */
+    public static void onStats(BiConsumer<String, RetryStats> listener) {
+        STATS_LISTENERS.add(listener);
+        STATS.forEach(listener);
+    }
+
+    private static RetryBudget budget(String dependency) {
+        return BUDGETS.computeIfAbsent(dependency, d -> new RetryBudget(DEFAULT_BUDGET_RATIO, DEFAULT_BUDGET_CAPACITY));
+    }
+
     private static void sleep(Duration duration) {
         if (duration == null || duration.isZero() || duration.isNegative()) {
             return;
@@ -112,6 +268,115 @@ public final class RetryUtil {
         }
     }
 
+    /**
+     * @param baseDelay first delay and lower bound of every later one
+     * @param maxDelay  upper bound of any delay
+     */
+    public record RetryPolicy(int maxAttempts, Duration baseDelay, Duration maxDelay, Predicate<Throwable> retryOn) {
+
+        public RetryPolicy {
+            if (maxAttempts < 1) {
+                throw new IllegalArgumentException("Max attempts must be at least 1");
+            }
+            if (baseDelay == null || maxDelay == null || baseDelay.isNegative() || maxDelay.compareTo(baseDelay) < 0) {
+                throw new IllegalArgumentException("Delays must satisfy 0 <= baseDelay <= maxDelay");
+            }
+            if (retryOn == null) {
+                retryOn = e -> true;
+            }
+        }
+
+        public static RetryPolicy of(int maxAttempts, Duration baseDelay, Duration maxDelay) {
+            return new RetryPolicy(maxAttempts, baseDelay, maxDelay, e -> true);
+        }
+
+        public static RetryPolicy defaults() {
+            return of(DEFAULT_MAX_ATTEMPTS, DEFAULT_DELAY, DEFAULT_DELAY.multipliedBy(20));
+        }
+
+        public RetryPolicy retryOn(Predicate<Throwable> predicate) {
+            return new RetryPolicy(maxAttempts, baseDelay, maxDelay, predicate);
+        }
+
+        /**
+         * Decorrelated jitter: uniformly between the base delay and three times the previous one.
+         */
+        Duration nextDelay(Duration previous) {
+            long base = baseDelay.toMillis();
+            long upper = Math.max(base, previous.toMillis() * 3);
+            long next = upper > base ? ThreadLocalRandom.current().nextLong(base, upper + 1) : base;
+            return Duration.ofMillis(Math.min(maxDelay.toMillis(), next));
+        }
+    }
+
+    /**
+     * Token bucket bounding retries to a fraction of the calls made to a dependency.
+     */
+    public static final class RetryBudget {
+
+        private final double ratio;
+        private final int capacity;
+        private double tokens;
+
+        RetryBudget(double ratio, int capacity) {
+            if (ratio <= 0 || capacity < 1) {
+                throw new IllegalArgumentException("Budget ratio must be positive and capacity at least 1");
+            }
+            this.ratio = ratio;
+            this.capacity = capacity;
+            this.tokens = capacity;
+        }
+
+        synchronized void deposit() {
+            tokens = Math.min(capacity, tokens + ratio);
+        }
+
+        synchronized boolean tryWithdraw() {
+            if (tokens < 1) {
+                return false;
+            }
+            tokens -= 1;
+            return true;
+        }
+
+        public synchronized double available() {
+            return tokens;
+        }
+    }
+
+    /**
+     * Counters per dependency, for binding to a metrics registry.
+     */
+    public static final class RetryStats {
+
+        private final LongAdder attempts = new LongAdder();
+        private final LongAdder retries = new LongAdder();
+        private final LongAdder exhausted = new LongAdder();
+        private final LongAdder budgetRejected = new LongAdder();
+
+        public long attempts() {
+            return attempts.sum();
+        }
+
+        public long retries() {
+            return retries.sum();
+        }
+
+        /**
+         * Calls that failed after their last allowed attempt or on a non-retryable error.
+         */
+        public long exhausted() {
+            return exhausted.sum();
+        }
+
+        /**
+         * Calls that failed because the retry budget was empty.
+         */
+        public long budgetRejected() {
+            return budgetRejected.sum();
+        }
+    }
+
     public static class RetryInterruptedException extends RuntimeException {
         public RetryInterruptedException(String message, Throwable cause) {
             super(message, cause);
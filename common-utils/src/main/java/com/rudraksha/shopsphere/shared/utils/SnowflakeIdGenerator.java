@@ -0,0 +1,79 @@
+package com.rudraksha.shopsphere.shared.utils;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 64-bit time-ordered ids: 41 bits of milliseconds since {@link #EPOCH_MILLIS}, 10 bits of
+ * worker id and 12 bits of sequence, so each worker can issue 4096 ids per millisecond.
+ * <p>
+ * Generation is lock-free: the last timestamp and sequence share one {@link AtomicLong}
+ * advanced by compare-and-set. When a millisecond is exhausted, or the clock steps back,
+ * ids borrow from the following milliseconds instead of blocking, up to {@link #MAX_BORROW_MILLIS}
+ * ahead of the clock. Ids from one generator are strictly increasing.
+ */
+public final class SnowflakeIdGenerator {
+
+    public static final long EPOCH_MILLIS = 1704067200000L; // 2024-01-01T00:00:00Z
+    public static final int MAX_WORKER_ID = 1023;
+    public static final String WORKER_ID_ENV = "SHOPSPHERE_WORKER_ID";
+
+    private static final int WORKER_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final long MAX_BORROW_MILLIS = 1000;
+
+    private final long workerId;
+    private final AtomicLong state = new AtomicLong();
+
+    public SnowflakeIdGenerator(int workerId) {
+        if (workerId < 0 || workerId > MAX_WORKER_ID) {
+            throw new IllegalArgumentException("Worker id must be between 0 and " + MAX_WORKER_ID);
+        }
+        this.workerId = workerId;
+    }
+
+    /**
+     * Uses {@value #WORKER_ID_ENV} when set. Otherwise derives the worker id from the host name,
+     * which is unique per pod but may collide between pods; set the variable, e.g. from the
+     * StatefulSet ordinal, where ids must be globally unique.
+     */
+    public static SnowflakeIdGenerator fromEnvironment() {
+        String configured = System.getenv(WORKER_ID_ENV);
+        if (configured == null) {
+            configured = System.getProperty("shopsphere.worker-id");
+        }
+        if (configured != null && !configured.isBlank()) {
+            return new SnowflakeIdGenerator(Integer.parseInt(configured.trim()));
+        }
+        String host = System.getenv("HOSTNAME");
+        return new SnowflakeIdGenerator(host != null ? Math.floorMod(host.hashCode(), MAX_WORKER_ID + 1) : 0);
+    }
+
+    public long nextId() {
+        while (true) {
+            long now = (System.currentTimeMillis() - EPOCH_MILLIS) << SEQUENCE_BITS;
+            long previous = state.get();
+            long next = Math.max(previous + 1, now);
+            if (next - now > MAX_BORROW_MILLIS << SEQUENCE_BITS) {
+                Thread.onSpinWait();
+                continue;
+            }
+            if (state.compareAndSet(previous, next)) {
+                long millis = next >>> SEQUENCE_BITS;
+                return millis << (WORKER_BITS + SEQUENCE_BITS) | workerId << SEQUENCE_BITS | next & SEQUENCE_MASK;
+            }
+        }
+    }
+
+    public int workerId() {
+        return (int) workerId;
+    }
+
+    public static long timestampOf(long id) {
+        return (id >>> (WORKER_BITS + SEQUENCE_BITS)) + EPOCH_MILLIS;
+    }
+
+    public static int workerOf(long id) {
+        return (int) (id >>> SEQUENCE_BITS & MAX_WORKER_ID);
+    }
+}
@@ -1,6 +1,13 @@
 package com.rudraksha.shopsphere.shared.utils;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
@@ -64,8 +71,8 @@ public final class StreamUtil {
         for (T item : items) {
             batch.add(item);
             if (batch.size() >= batchSize) {
-                processor.accept(new ArrayList<>(batch));
-                batch.clear();
+                processor.accept(batch);
+                batch = new ArrayList<>(batchSize);
             }
         }
         if (!batch.isEmpty()) {
@@ -90,8 +97,8 @@ public final class StreamUtil {
         for (T item : items) {
             batch.add(item);
             if (batch.size() >= batchSize) {
-                results.addAll(processor.apply(new ArrayList<>(batch)));
-                batch.clear();
+                results.addAll(processor.apply(batch));
+                batch = new ArrayList<>(batchSize);
             }
         }
         if (!batch.isEmpty()) {
@@ -100,6 +107,125 @@ public final class StreamUtil {
         return results;
     }
 
+    public static <T> List<BatchFailure<T>> parallelBatchProcess(Iterable<T> items, int batchSize,
+                                                             Consumer<List<T>> processor, ParallelOptions options) {
+        if (processor == null) {
+            throw new IllegalArgumentException("Processor cannot be null");
+        }
+        return parallelBatchProcess(items, batchSize, batch -> {
+            processor.accept(batch);
+            return List.<Void>of();
+        }, options).failures();
+    }
+
+    public static <T, R> BatchResult<T, R> parallelBatchProcess(Iterable<T> items, int batchSize,
+                                                                Function<List<T>, List<R>> processor,
+                                                                ParallelOptions options) {
+        if (items == null) {
+            return new BatchResult<>(Collections.emptyList(), Collections.emptyList());
+        }
+        return parallelBatchProcess(items.iterator(), batchSize, processor, options);
+    }
+
+    /**
+     * Processes batches concurrently, at most {@code options.concurrency()} at a time. The source
+     * is read on the calling thread and only when a slot is free, so a lazy iterator (a database
+     * cursor, a {@link CsvReader}) is never read further ahead than the batches in flight.
+     * <p>
+     * In {@link ErrorMode#FAIL_FAST} no batch is started after the first failure; batches already
+     * running complete and the failure is thrown as a {@link BatchProcessingException}. In
+     * {@link ErrorMode#COLLECT} every batch runs and failures are returned with their items.
+     */
+    public static <T, R> BatchResult<T, R> parallelBatchProcess(Iterator<T> source, int batchSize,
+                                                                Function<List<T>, List<R>> processor,
+                                                                ParallelOptions options) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be at least 1");
+        }
+        if (processor == null || options == null) {
+            throw new IllegalArgumentException("Processor and options cannot be null");
+        }
+        if (source == null || !source.hasNext()) {
+            return new BatchResult<>(Collections.emptyList(), Collections.emptyList());
+        }
+
+        int concurrency = options.concurrency();
+        Semaphore slots = new Semaphore(concurrency);
+        Map<Long, List<R>> orderedResults = new ConcurrentHashMap<>();
+        Queue<R> unorderedResults = new ConcurrentLinkedQueue<>();
+        Queue<BatchFailure<T>> failures = new ConcurrentLinkedQueue<>();
+        ExecutorService ownedExecutor = options.executor() == null ? Executors.newVirtualThreadPerTaskExecutor() : null;
+        Executor executor = ownedExecutor != null ? ownedExecutor : options.executor();
+        boolean failFast = options.errorMode() == ErrorMode.FAIL_FAST;
+
+        try {
+            long batchIndex = 0;
+            while (source.hasNext() && !(failFast && !failures.isEmpty())) {
+                acquire(slots, 1);
+                if (failFast && !failures.isEmpty()) {
+                    slots.release();
+                    break;
+                }
+                List<T> batch = new ArrayList<>(batchSize);
+                while (batch.size() < batchSize && source.hasNext()) {
+                    batch.add(source.next());
+                }
+                long index = batchIndex++;
+                Runnable task = () -> {
+                    try {
+                        List<R> results = processor.apply(batch);
+                        if (results != null && !results.isEmpty()) {
+                            if (options.ordered()) {
+                                orderedResults.put(index, results);
+                            } else {
+                                unorderedResults.addAll(results);
+                            }
+                        }
+                    } catch (RuntimeException | Error e) {
+                        failures.add(new BatchFailure<>(index, batch, e));
+                    } finally {
+                        slots.release();
+                    }
+                };
+                try {
+                    executor.execute(task);
+                } catch (RejectedExecutionException e) {
+                    slots.release();
+                    throw e;
+                }
+            }
+            acquire(slots, concurrency);
+        } finally {
+            if (ownedExecutor != null) {
+                ownedExecutor.shutdown();
+            }
+        }
+
+        List<BatchFailure<T>> sortedFailures = new ArrayList<>(failures);
+        sortedFailures.sort(Comparator.comparingLong(BatchFailure::batchIndex));
+        if (failFast && !sortedFailures.isEmpty()) {
+            BatchFailure<T> first = sortedFailures.get(0);
+            throw new BatchProcessingException("Batch " + first.batchIndex() + " failed", first.error());
+        }
+        List<R> results;
+        if (options.ordered()) {
+            results = new ArrayList<>();
+            new TreeMap<>(orderedResults).values().forEach(results::addAll);
+        } else {
+            results = new ArrayList<>(unorderedResults);
+        }
+        return new BatchResult<>(results, sortedFailures);
+    }
+
+    private static void acquire(Semaphore slots, int permits) {
+        try {
+            slots.acquire(permits);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BatchProcessingException("Interrupted while waiting for batches to complete", e);
+        }
+    }
+
     public static <T> List<List<T>> partition(List<T> list, int size) {
         if (list == null || list.isEmpty()) {
             return Collections.emptyList();
@@ -183,4 +309,60 @@ public final class StreamUtil {
         }
         return items.stream().noneMatch(predicate);
     }
+
+    public enum ErrorMode {
+        FAIL_FAST,
+        COLLECT
+    }
+
+    /**
+     * @param executor runs the batches; {@code null} starts a virtual thread per batch
+     * @param ordered  whether results keep the order of the source, or the order batches finish
+     */
+    public record ParallelOptions(int concurrency, Executor executor, boolean ordered, ErrorMode errorMode) {
+
+        public ParallelOptions {
+            if (concurrency < 1) {
+                throw new IllegalArgumentException("Concurrency must be at least 1");
+            }
+            if (errorMode == null) {
+                errorMode = ErrorMode.FAIL_FAST;
+            }
+        }
+
+        /**
+         * Ordered, fail-fast, on virtual threads.
+         */
+        public static ParallelOptions of(int concurrency) {
+            return new ParallelOptions(concurrency, null, true, ErrorMode.FAIL_FAST);
+        }
+
+        public ParallelOptions withExecutor(Executor executor) {
+            return new ParallelOptions(concurrency, executor, ordered, errorMode);
+        }
+
+        public ParallelOptions unordered() {
+            return new ParallelOptions(concurrency, executor, false, errorMode);
+        }
+
+        public ParallelOptions collectErrors() {
+            return new ParallelOptions(concurrency, executor, ordered, ErrorMode.COLLECT);
+        }
+    }
+
+    public record BatchResult<T, R>(List<R> results, List<BatchFailure<T>> failures) {
+
+        public boolean hasFailures() {
+            return !failures.isEmpty();
+        }
+    }
+
+    public record BatchFailure<T>(long batchIndex, List<T> items, Throwable error) {
+    }
+
+    public static class BatchProcessingException extends RuntimeException {
+        public BatchProcessingException(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
 }
@@ -0,0 +1,133 @@
+package com.rudraksha.shopsphere.shared.utils;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvReaderTest {
+
+    private static final String CSV = "\uFEFFsku,name,notes\r\n"
+            + "A-1,\"Mug, large\",\"says \"\"hi\"\"\"\n"
+            + "\n"
+            + "A-2,Plate,\"two\nlines\"\r"
+            + "A-3,,\n";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testNext_ParsesQuotingLineEndingsAndByteOrderMark() {
+        List<String[]> rows = readAll(new CsvReader(new StringReader(CSV), ','));
+
+        assertEquals(4, rows.size());
+        assertArrayEquals(new String[] {"sku", "name", "notes"}, rows.get(0));
+        assertArrayEquals(new String[] {"A-1", "Mug, large", "says \"hi\""}, rows.get(1));
+        assertArrayEquals(new String[] {"A-2", "Plate", "two\nlines"}, rows.get(2));
+        assertArrayEquals(new String[] {"A-3", "", ""}, rows.get(3));
+    }
+
+    @Test
+    void testNext_ReadsFieldsLongerThanTheBuffer() {
+        String longValue = "x".repeat(20_000);
+
+        List<String[]> rows = readAll(new CsvReader(new StringReader("1,\"" + longValue + "\"\n2,b"), ','));
+
+        assertEquals(2, rows.size());
+        assertEquals(longValue, rows.get(0)[1]);
+        assertArrayEquals(new String[] {"2", "b"}, rows.get(1));
+    }
+
+    @Test
+    void testNext_KeepsQuotedEmptyRecord() {
+        List<String[]> rows = readAll(new CsvReader(new StringReader("\"\"\n"), ','));
+
+        assertEquals(1, rows.size());
+        assertArrayEquals(new String[] {""}, rows.get(0));
+    }
+
+    @Test
+    void testNext_UnterminatedQuoteThrowsWithLine() {
+        CsvReader reader = new CsvReader(new StringReader("a,b\nc,\"open\n"), ',');
+        reader.next();
+
+        CsvUtil.CsvParseException thrown = assertThrows(CsvUtil.CsvParseException.class, reader::next);
+        assertTrue(thrown.getMessage().contains("line 2"));
+    }
+
+    @Test
+    void testNext_ThrowsWhenExhausted() {
+        CsvReader reader = new CsvReader(new StringReader("a\n"), ',');
+        reader.next();
+
+        assertFalse(reader.hasNext());
+        assertThrows(NoSuchElementException.class, reader::next);
+    }
+
+    @Test
+    void testReader_UsesDelimiter() {
+        CsvReader reader = CsvUtil.reader(new ByteArrayInputStream("a;b\n".getBytes(StandardCharsets.UTF_8)), ';');
+
+        assertArrayEquals(new String[] {"a", "b"}, reader.next());
+    }
+
+    @Test
+    void testStream_MappedFileMatchesReader() throws IOException {
+        Path file = tempDir.resolve("products.csv");
+        Files.writeString(file, CSV);
+
+        List<String[]> expected = readAll(new CsvReader(new StringReader(CSV), ','));
+        try (Stream<String[]> rows = CsvUtil.stream(file)) {
+            assertArrayEquals(expected.toArray(), rows.toArray());
+        }
+    }
+
+    @Test
+    void testStream_ParallelKeepsFileOrder() throws IOException {
+        Path file = tempDir.resolve("large.csv");
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; content.length() < 3 << 20; i++) {
+            content.append(i).append(",\"name, ").append(i).append("\",\"line\nbreak ").append(i).append("\"\n");
+        }
+        Files.writeString(file, content);
+
+        List<String[]> sequential;
+        try (Stream<String[]> rows = CsvUtil.stream(file, ',', false)) {
+            sequential = rows.toList();
+        }
+        try (Stream<String[]> rows = CsvUtil.stream(file, ',', true)) {
+            List<String[]> parallel = rows.toList();
+            assertEquals(sequential.size(), parallel.size());
+            for (int i = 0; i < sequential.size(); i++) {
+                assertArrayEquals(sequential.get(i), parallel.get(i));
+            }
+        }
+        assertEquals("name, 0", sequential.get(0)[1]);
+        assertEquals("line\nbreak 0", sequential.get(0)[2]);
+    }
+
+    @Test
+    void testStream_RejectsNonAsciiDelimiter() throws IOException {
+        Path file = tempDir.resolve("products.csv");
+        Files.writeString(file, CSV);
+
+        assertThrows(CsvUtil.CsvParseException.class, () -> CsvUtil.stream(file, '\u00A7', false));
+    }
+
+    private static List<String[]> readAll(CsvReader reader) {
+        List<String[]> rows = new ArrayList<>();
+        reader.forEachRemaining(rows::add);
+        return rows;
+    }
+}
@@ -0,0 +1,84 @@
+package com.rudraksha.shopsphere.shared.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvWriterTest {
+
+    @Test
+    void testWriteRow_EscapesOnlyFieldsThatNeedIt() throws IOException {
+        StringWriter out = new StringWriter();
+        CsvWriter csv = new CsvWriter(out, ',');
+
+        csv.writeRow("A-1", "Mug, large", "says \"hi\"", "two\nlines", null, 3);
+
+        assertEquals("A-1,\"Mug, large\",\"says \"\"hi\"\"\",\"two\nlines\",,3\n", out.toString());
+        assertEquals(1, csv.rowsWritten());
+    }
+
+    @Test
+    void testField_BuildsRowsFieldByField() throws IOException {
+        StringWriter out = new StringWriter();
+        CsvWriter csv = new CsvWriter(out, ';');
+
+        csv.field("a").field("b;c").endRow().field(1).endRow();
+
+        assertEquals("a;\"b;c\"\n1\n", out.toString());
+        assertEquals(2, csv.rowsWritten());
+    }
+
+    @Test
+    void testWriteRow_MapInHeaderOrder() throws IOException {
+        StringWriter out = new StringWriter();
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("name", "Plate");
+        row.put("sku", "A-2");
+
+        new CsvWriter(out, ',').writeRow(row, new String[] {"sku", "name", "price"});
+
+        assertEquals("A-2,Plate,\n", out.toString());
+    }
+
+    @Test
+    void testWrite_RoundTripsThroughReader() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        CsvUtil.write(out, false, csv -> {
+            csv.writeRow("sku", "notes");
+            csv.writeRow("A-1", "says \"hi\", twice\r\n");
+        });
+
+        List<String[]> rows = CsvUtil.parse(out.toString(StandardCharsets.UTF_8));
+        assertArrayEquals(new String[] {"sku", "notes"}, rows.get(0));
+        assertArrayEquals(new String[] {"A-1", "says \"hi\", twice\r\n"}, rows.get(1));
+    }
+
+    @Test
+    void testWrite_GzipCompressesExport() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        CsvUtil.write(out, true, csv -> csv.writeRow("A-1", "Mug"));
+
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            assertEquals("A-1,Mug\n", new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void testToCsvWithHeaders_WritesHeaderAndMissingValuesAsEmpty() {
+        String csv = CsvUtil.toCsvWithHeaders(List.of(Map.of("sku", "A-1")), new String[] {"sku", "name"});
+
+        assertEquals("sku,name\nA-1,\n", csv);
+    }
+}
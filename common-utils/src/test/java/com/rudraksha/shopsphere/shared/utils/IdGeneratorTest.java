@@ -0,0 +1,83 @@
+package com.rudraksha.shopsphere.shared.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdGeneratorTest {
+
+    @Test
+    void testGenerateUUIDv7_SetsVersionVariantAndTimestamp() {
+        long before = System.currentTimeMillis();
+        UUID uuid = IdGenerator.generateUUIDv7();
+        long after = System.currentTimeMillis();
+
+        assertEquals(7, uuid.version());
+        assertEquals(2, uuid.variant());
+        long timestamp = IdGenerator.timestampOf(uuid);
+        assertTrue(timestamp >= before && timestamp <= after + 1000);
+    }
+
+    @Test
+    void testGenerateUUIDv7_StrictlyIncreasingWithinThread() {
+        UUID previous = IdGenerator.generateUUIDv7();
+        for (int i = 0; i < 100_000; i++) {
+            UUID next = IdGenerator.generateUUIDv7();
+            assertTrue(next.getMostSignificantBits() > previous.getMostSignificantBits());
+            previous = next;
+        }
+    }
+
+    @Test
+    void testGenerateUUIDv7_UniqueAcrossThreads() throws Exception {
+        Set<UUID> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 20_000; i++) {
+                        ids.add(IdGenerator.generateUUIDv7());
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(80_000, ids.size());
+    }
+
+    @Test
+    void testTimestampOf_RejectsOtherVersions() {
+        assertThrows(IllegalArgumentException.class, () -> IdGenerator.timestampOf(UUID.randomUUID()));
+    }
+
+    @Test
+    void testGenerateShortId_UsesRequestedLength() {
+        assertEquals(8, IdGenerator.generateShortId().length());
+        assertTrue(IdGenerator.generateNumericId(6).matches("\\d{6}"));
+        assertThrows(IllegalArgumentException.class, () -> IdGenerator.generateShortId(0));
+    }
+
+    @Test
+    void testParseUUID_ReturnsNullForInvalidInput() {
+        UUID uuid = UUID.randomUUID();
+
+        assertEquals(uuid, IdGenerator.parseUUID(" " + uuid + " "));
+        assertNull(IdGenerator.parseUUID("not-a-uuid"));
+        assertNull(IdGenerator.parseUUID(null));
+    }
+}
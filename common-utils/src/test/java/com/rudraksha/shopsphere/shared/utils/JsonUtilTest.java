@@ -0,0 +1,173 @@
+package com.rudraksha.shopsphere.shared.utils;
+
+import com.fasterxml.jackson.databind.SequenceWriter;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonUtilTest {
+
+    public record Item(int id, String name) {
+    }
+
+    @Test
+    void testStreamArray_ReadsLargeArrayLazily() {
+        byte[] json = largeArray(100_000);
+        TrackingInputStream input = new TrackingInputStream(new ByteArrayInputStream(json));
+
+        try (Stream<Item> items = JsonUtil.streamArray(input, Item.class)) {
+            List<Item> first = items.limit(3).collect(Collectors.toList());
+
+            assertEquals(List.of(new Item(0, "item-0"), new Item(1, "item-1"), new Item(2, "item-2")), first);
+            assertTrue(input.bytesRead < json.length / 10,
+                    "read " + input.bytesRead + " of " + json.length + " bytes for three elements");
+        }
+    }
+
+    @Test
+    void testStreamArray_ClosingStreamClosesInput() {
+        TrackingInputStream input = new TrackingInputStream(new ByteArrayInputStream(largeArray(10)));
+
+        Stream<Item> items = JsonUtil.streamArray(input, Item.class);
+        assertEquals(new Item(0, "item-0"), items.findFirst().orElseThrow());
+        assertFalse(input.closed);
+
+        items.close();
+        assertTrue(input.closed);
+    }
+
+    @Test
+    void testStreamArray_ReadsValueSequenceWithoutBrackets() {
+        InputStream input = new ByteArrayInputStream(
+                "{\"id\":1,\"name\":\"a\"} {\"id\":2,\"name\":\"b\"}".getBytes(StandardCharsets.UTF_8));
+
+        try (Stream<Item> items = JsonUtil.streamArray(input, Item.class)) {
+            assertEquals(List.of(new Item(1, "a"), new Item(2, "b")), items.collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    void testStreamArray_MalformedElementThrows() {
+        InputStream input = new ByteArrayInputStream(
+                "[{\"id\":1,\"name\":\"a\"},{\"id\":\"not a number\"}]".getBytes(StandardCharsets.UTF_8));
+
+        try (Stream<Item> items = JsonUtil.streamArray(input, Item.class)) {
+            assertThrows(JsonUtil.JsonSerializationException.class, () -> items.collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    void testWriteArray_RoundTripsThroughStreamArray() {
+        List<Item> items = IntStream.range(0, 1_000)
+                .mapToObj(i -> new Item(i, "item-" + i))
+                .collect(Collectors.toList());
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        TrackingOutputStream output = new TrackingOutputStream(buffer);
+
+        JsonUtil.writeArray(output, Item.class, items.iterator());
+
+        assertFalse(output.closed);
+        try (Stream<Item> read = JsonUtil.streamArray(new ByteArrayInputStream(buffer.toByteArray()), Item.class)) {
+            assertEquals(items, read.collect(Collectors.toList()));
+        }
+        assertEquals(items, JsonUtil.deserializeList(buffer.toString(StandardCharsets.UTF_8), Item.class));
+    }
+
+    @Test
+    void testWriteArray_EmptyIteratorWritesEmptyArray() {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        JsonUtil.writeArray(output, Item.class, List.<Item>of().iterator());
+
+        assertEquals("[]", output.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testArrayWriter_ClosesArrayButLeavesOutputOpen() throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        TrackingOutputStream output = new TrackingOutputStream(buffer);
+
+        try (SequenceWriter writer = JsonUtil.arrayWriter(output, Item.class)) {
+            writer.write(new Item(1, "a"));
+            writer.write(new Item(2, "b"));
+        }
+
+        assertFalse(output.closed);
+        assertEquals("[{\"id\":1,\"name\":\"a\"},{\"id\":2,\"name\":\"b\"}]", buffer.toString(StandardCharsets.UTF_8));
+    }
+
+    private static byte[] largeArray(int size) {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        JsonUtil.writeArray(output, Item.class, IntStream.range(0, size)
+                .mapToObj(i -> new Item(i, "item-" + i))
+                .iterator());
+        return output.toByteArray();
+    }
+
+    private static final class TrackingInputStream extends FilterInputStream {
+
+        private long bytesRead;
+        private boolean closed;
+
+        TrackingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                bytesRead++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                bytesRead += n;
+            }
+            return n;
+        }
+
+        @Override
+        public void close() throws IOException {
+            closed = true;
+            super.close();
+        }
+    }
+
+    private static final class TrackingOutputStream extends FilterOutputStream {
+
+        private boolean closed;
+
+        TrackingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            closed = true;
+            super.close();
+        }
+    }
+}
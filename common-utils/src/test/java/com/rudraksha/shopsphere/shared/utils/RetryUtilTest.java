@@ -0,0 +1,181 @@
+package com.rudraksha.shopsphere.shared.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RetryUtilTest {
+
+    private static final RetryUtil.RetryPolicy FAST_POLICY =
+            RetryUtil.RetryPolicy.of(3, Duration.ofMillis(1), Duration.ofMillis(5));
+
+    @Test
+    void testRetry_ReturnsResultAfterTransientFailures() throws Exception {
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = RetryUtil.retry(() -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new IllegalStateException("transient");
+            }
+            return "ok";
+        }, 3, Duration.ZERO);
+
+        assertEquals("ok", result);
+        assertEquals(3, attempts.get());
+    }
+
+    @Test
+    void testRetry_RethrowsLastFailureWhenAttemptsAreExhausted() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        IllegalStateException thrown = assertThrows(IllegalStateException.class, () -> RetryUtil.retry(() -> {
+            throw new IllegalStateException("attempt " + attempts.incrementAndGet());
+        }, 2, Duration.ZERO));
+
+        assertEquals("attempt 2", thrown.getMessage());
+    }
+
+    @Test
+    void testRetryOnExceptions_DoesNotRetryOtherExceptions() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThrows(IllegalArgumentException.class, () -> RetryUtil.retryOnExceptions(() -> {
+            attempts.incrementAndGet();
+            throw new IllegalArgumentException("bad input");
+        }, 3, Duration.ZERO, IOException.class));
+
+        assertEquals(1, attempts.get());
+    }
+
+    @Test
+    void testRetryWithBackoff_RejectsMultiplierBelowOne() {
+        assertThrows(IllegalArgumentException.class,
+                () -> RetryUtil.retryWithBackoff(() -> "ok", 3, Duration.ZERO, 0.5));
+    }
+
+    @Test
+    void testRetryFuture_CompletesAfterTransientFailures() throws Exception {
+        AtomicInteger attempts = new AtomicInteger();
+
+        CompletableFuture<String> future = RetryUtil.retryFuture("retry-succeeds", () ->
+                attempts.incrementAndGet() < 3
+                        ? CompletableFuture.failedFuture(new IllegalStateException("transient"))
+                        : CompletableFuture.completedFuture("ok"), FAST_POLICY);
+
+        assertEquals("ok", future.get(5, TimeUnit.SECONDS));
+        assertEquals(3, RetryUtil.stats("retry-succeeds").attempts());
+        assertEquals(2, RetryUtil.stats("retry-succeeds").retries());
+    }
+
+    @Test
+    void testRetryFuture_FailsWithCauseWhenAttemptsAreExhausted() {
+        IllegalStateException failure = new IllegalStateException("down");
+
+        CompletableFuture<String> future = RetryUtil.retryFuture("retry-exhausted",
+                () -> CompletableFuture.failedFuture(failure), FAST_POLICY);
+
+        ExecutionException thrown = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        assertSame(failure, thrown.getCause());
+        assertEquals(3, RetryUtil.stats("retry-exhausted").attempts());
+        assertEquals(1, RetryUtil.stats("retry-exhausted").exhausted());
+    }
+
+    @Test
+    void testRetryFuture_DoesNotRetryNonRetryableErrors() {
+        RetryUtil.RetryPolicy policy = FAST_POLICY.retryOn(e -> !(e instanceof IllegalArgumentException));
+
+        CompletableFuture<String> future = RetryUtil.retryFuture("retry-non-retryable",
+                () -> CompletableFuture.failedFuture(new IllegalArgumentException("bad input")), policy);
+
+        assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        assertEquals(1, RetryUtil.stats("retry-non-retryable").attempts());
+    }
+
+    @Test
+    void testRetryFuture_StopsRetryingWhenBudgetIsDrained() {
+        RetryUtil.configureBudget("retry-budget", 0.1, 1);
+
+        CompletableFuture<String> future = RetryUtil.retryFuture("retry-budget",
+                () -> CompletableFuture.failedFuture(new IllegalStateException("down")),
+                RetryUtil.RetryPolicy.of(5, Duration.ofMillis(1), Duration.ofMillis(5)));
+
+        assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        assertEquals(2, RetryUtil.stats("retry-budget").attempts());
+        assertEquals(1, RetryUtil.stats("retry-budget").budgetRejected());
+    }
+
+    @Test
+    void testRetryFuture_FailsWhenExecutorRejectsRetry() {
+        IllegalStateException failure = new IllegalStateException("down");
+
+        CompletableFuture<String> future = RetryUtil.retryFuture("retry-rejected",
+                () -> CompletableFuture.failedFuture(failure), FAST_POLICY,
+                task -> {
+                    throw new RejectedExecutionException("shut down");
+                });
+
+        ExecutionException thrown = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        assertSame(failure, thrown.getCause());
+    }
+
+    @Test
+    void testRetryAsync_UnwrapsCheckedExceptions() {
+        CompletableFuture<String> future = RetryUtil.retryAsync("retry-async", () -> {
+            throw new IOException("connection reset");
+        }, RetryUtil.RetryPolicy.of(1, Duration.ZERO, Duration.ZERO));
+
+        ExecutionException thrown = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IOException.class, thrown.getCause());
+    }
+
+    @Test
+    void testOnStats_HandsOverExistingAndLaterDependencies() {
+        RetryUtil.RetryStats existing = RetryUtil.stats("stats-listener-existing");
+        List<String> seen = Collections.synchronizedList(new ArrayList<>());
+
+        RetryUtil.onStats((dependency, stats) -> {
+            if (dependency.startsWith("stats-listener-")) {
+                seen.add(dependency);
+                if (dependency.equals("stats-listener-existing")) {
+                    assertSame(existing, stats);
+                }
+            }
+        });
+        RetryUtil.RetryStats later = RetryUtil.stats("stats-listener-later");
+        RetryUtil.stats("stats-listener-later");
+
+        assertEquals(List.of("stats-listener-existing", "stats-listener-later"), seen);
+        assertSame(later, RetryUtil.stats("stats-listener-later"));
+    }
+
+    @Test
+    void testRetryPolicy_NextDelayStaysWithinBounds() {
+        RetryUtil.RetryPolicy policy = RetryUtil.RetryPolicy.of(5, Duration.ofMillis(10), Duration.ofMillis(100));
+        Duration delay = policy.baseDelay();
+
+        for (int i = 0; i < 100; i++) {
+            Duration next = policy.nextDelay(delay);
+            assertTrue(next.toMillis() >= 10 && next.toMillis() <= Math.min(100, delay.toMillis() * 3));
+            delay = next;
+        }
+    }
+
+    @Test
+    void testRetryPolicy_RejectsInvalidSettings() {
+        assertThrows(IllegalArgumentException.class,
+                () -> RetryUtil.RetryPolicy.of(0, Duration.ZERO, Duration.ZERO));
+        assertThrows(IllegalArgumentException.class,
+                () -> RetryUtil.RetryPolicy.of(3, Duration.ofSeconds(2), Duration.ofSeconds(1)));
+    }
+}
@@ -0,0 +1,72 @@
+package com.rudraksha.shopsphere.shared.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SnowflakeIdGeneratorTest {
+
+    @Test
+    void testNextId_EncodesWorkerAndTimestamp() {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(517);
+        long before = System.currentTimeMillis();
+
+        long id = generator.nextId();
+
+        assertEquals(517, SnowflakeIdGenerator.workerOf(id));
+        assertEquals(517, generator.workerId());
+        long timestamp = SnowflakeIdGenerator.timestampOf(id);
+        assertTrue(timestamp >= before && timestamp <= System.currentTimeMillis() + 1000);
+        assertTrue(id > 0);
+    }
+
+    @Test
+    void testNextId_StrictlyIncreasingBeyondSequenceCapacity() {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(1);
+        long previous = generator.nextId();
+        for (int i = 0; i < 100_000; i++) {
+            long next = generator.nextId();
+            assertTrue(next > previous);
+            previous = next;
+        }
+    }
+
+    @Test
+    void testNextId_UniqueAcrossThreads() throws Exception {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(3);
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 20_000; i++) {
+                        ids.add(generator.nextId());
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(80_000, ids.size());
+    }
+
+    @Test
+    void testConstructor_RejectsWorkerIdOutOfRange() {
+        assertThrows(IllegalArgumentException.class, () -> new SnowflakeIdGenerator(-1));
+        assertThrows(IllegalArgumentException.class,
+                () -> new SnowflakeIdGenerator(SnowflakeIdGenerator.MAX_WORKER_ID + 1));
+    }
+}
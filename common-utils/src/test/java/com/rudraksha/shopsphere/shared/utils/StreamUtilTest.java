@@ -0,0 +1,214 @@
+package com.rudraksha.shopsphere.shared.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StreamUtilTest {
+
+    @Test
+    void testBatchProcess_HandsEachBatchAsItsOwnList() {
+        List<List<Integer>> batches = new ArrayList<>();
+
+        StreamUtil.batchProcess(range(7), 3, batch -> {
+            batches.add(batch);
+        });
+
+        assertEquals(List.of(List.of(0, 1, 2), List.of(3, 4, 5), List.of(6)), batches);
+        assertNotSame(batches.get(0), batches.get(1));
+    }
+
+    @Test
+    void testBatchProcess_ConcatenatesResultsInOrder() {
+        List<String> results = StreamUtil.batchProcess(range(5), 2, batch -> {
+            return batch.stream().map(i -> "item-" + i).collect(Collectors.toList());
+        });
+
+        assertEquals(List.of("item-0", "item-1", "item-2", "item-3", "item-4"), results);
+    }
+
+    @Test
+    void testParallelBatchProcess_OrderedKeepsSourceOrder() {
+        // Later batches finish first
+        StreamUtil.BatchResult<Integer, Integer> result = StreamUtil.parallelBatchProcess(range(40), 4, batch -> {
+            sleep(20 - batch.get(0) / 2);
+            return batch;
+        }, StreamUtil.ParallelOptions.of(10));
+
+        assertEquals(range(40), result.results());
+        assertFalse(result.hasFailures());
+    }
+
+    @Test
+    void testParallelBatchProcess_UnorderedReturnsEveryResult() {
+        StreamUtil.BatchResult<Integer, Integer> result = StreamUtil.parallelBatchProcess(range(40), 4, batch -> {
+            sleep(20 - batch.get(0) / 2);
+            return batch;
+        }, StreamUtil.ParallelOptions.of(10).unordered());
+
+        List<Integer> sorted = new ArrayList<>(result.results());
+        Collections.sort(sorted);
+        assertEquals(range(40), sorted);
+    }
+
+    @Test
+    void testParallelBatchProcess_FailFastStartsNoBatchAfterFailure() {
+        CountingIterator source = new CountingIterator(range(100).iterator());
+        List<Integer> started = Collections.synchronizedList(new ArrayList<>());
+        IllegalStateException failure = new IllegalStateException("batch 1");
+
+        StreamUtil.BatchProcessingException thrown = assertThrows(StreamUtil.BatchProcessingException.class,
+                () -> StreamUtil.parallelBatchProcess(source, 10, batch -> {
+                    started.add(batch.get(0));
+                    if (batch.get(0) == 10) {
+                        throw failure;
+                    }
+                    return batch;
+                }, StreamUtil.ParallelOptions.of(1)));
+
+        assertSame(failure, thrown.getCause());
+        assertEquals(List.of(0, 10), started);
+        assertEquals(20, source.read());
+    }
+
+    @Test
+    void testParallelBatchProcess_CollectRunsEveryBatchAndReturnsFailures() {
+        StreamUtil.BatchResult<Integer, Integer> result = StreamUtil.parallelBatchProcess(range(50), 10, batch -> {
+            if (batch.get(0) == 10 || batch.get(0) == 30) {
+                throw new IllegalStateException("batch at " + batch.get(0));
+            }
+            return batch;
+        }, StreamUtil.ParallelOptions.of(4).collectErrors());
+
+        assertTrue(result.hasFailures());
+        assertEquals(2, result.failures().size());
+        StreamUtil.BatchFailure<Integer> first = result.failures().get(0);
+        StreamUtil.BatchFailure<Integer> second = result.failures().get(1);
+        assertEquals(1, first.batchIndex());
+        assertEquals(range(10, 20), first.items());
+        assertEquals("batch at 10", first.error().getMessage());
+        assertEquals(3, second.batchIndex());
+        assertEquals(range(30, 40), second.items());
+
+        List<Integer> expected = new ArrayList<>(range(10));
+        expected.addAll(range(20, 30));
+        expected.addAll(range(40, 50));
+        assertEquals(expected, result.results());
+    }
+
+    @Test
+    void testParallelBatchProcess_ConsumerVariantReturnsFailures() {
+        AtomicInteger processed = new AtomicInteger();
+
+        List<StreamUtil.BatchFailure<Integer>> failures = StreamUtil.parallelBatchProcess(range(30), 10,
+                (List<Integer> batch) -> {
+                    if (batch.get(0) == 20) {
+                        throw new IllegalArgumentException("bad batch");
+                    }
+                    processed.addAndGet(batch.size());
+                }, StreamUtil.ParallelOptions.of(2).collectErrors());
+
+        assertEquals(20, processed.get());
+        assertEquals(1, failures.size());
+        assertEquals(2, failures.get(0).batchIndex());
+    }
+
+    @Test
+    void testParallelBatchProcess_NeverExceedsConcurrencyOrReadsAhead() {
+        int concurrency = 3;
+        int batchSize = 5;
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        AtomicInteger completedItems = new AtomicInteger();
+        AtomicInteger maxAhead = new AtomicInteger();
+        Iterator<Integer> items = range(200).iterator();
+        AtomicInteger read = new AtomicInteger();
+        Iterator<Integer> source = new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return items.hasNext();
+            }
+
+            @Override
+            public Integer next() {
+                maxAhead.accumulateAndGet(read.incrementAndGet() - completedItems.get(), Math::max);
+                return items.next();
+            }
+        };
+
+        StreamUtil.parallelBatchProcess(source, batchSize, batch -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            sleep(2);
+            running.decrementAndGet();
+            completedItems.addAndGet(batch.size());
+            return batch;
+        }, StreamUtil.ParallelOptions.of(concurrency));
+
+        assertEquals(200, completedItems.get());
+        assertTrue(maxRunning.get() <= concurrency, "at most " + concurrency + " batches run at once");
+        assertTrue(maxAhead.get() <= concurrency * batchSize, "source is read at most one batch per slot ahead");
+    }
+
+    @Test
+    void testParallelBatchProcess_EmptySourceReturnsEmptyResult() {
+        StreamUtil.BatchResult<Integer, Integer> result = StreamUtil.parallelBatchProcess(List.<Integer>of(), 10,
+                batch -> batch, StreamUtil.ParallelOptions.of(2));
+
+        assertTrue(result.results().isEmpty());
+        assertFalse(result.hasFailures());
+    }
+
+    @Test
+    void testParallelOptions_RejectsConcurrencyBelowOne() {
+        assertThrows(IllegalArgumentException.class, () -> StreamUtil.ParallelOptions.of(0));
+    }
+
+    private static List<Integer> range(int end) {
+        return range(0, end);
+    }
+
+    private static List<Integer> range(int start, int end) {
+        return IntStream.range(start, end).boxed().collect(Collectors.toList());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(Math.max(0, millis));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class CountingIterator implements Iterator<Integer> {
+
+        private final Iterator<Integer> delegate;
+        private int read;
+
+        CountingIterator(Iterator<Integer> delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return delegate.hasNext();
+        }
+
+        @Override
+        public Integer next() {
+            read++;
+            return delegate.next();
+        }
+
+        int read() {
+            return read;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.rudraksha.shopsphere.gateway.filter;
 
+import com.rudraksha.shopsphere.shared.security.JwtPrincipal;
 import com.rudraksha.shopsphere.shared.security.JwtTokenProvider;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -14,6 +15,7 @@ import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
 import java.util.List;
+import java.util.Optional;
 
 @Slf4j
 @Component
@@ -48,19 +50,18 @@ public class AuthenticationFilter implements GlobalFilter, Ordered {
 
         String token = authHeader.substring(7);
 
-        if (!jwtTokenProvider.validateToken(token)) {
+        Optional<JwtPrincipal> principal = jwtTokenProvider.authenticate(token);
+        if (principal.isEmpty()) {
             log.warn("Invalid JWT token for path: {}", path);
             exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
             return exchange.getResponse().setComplete();
         }
 
-        String userId = jwtTokenProvider.getUserIdFromToken(token);
-        List<String> roles = jwtTokenProvider.getRolesFromToken(token);
-
         ServerHttpRequest.Builder requestBuilder = request.mutate()
-                .header("X-User-Id", userId);
+                .header("X-User-Id", principal.get().userId());
 
-        if (roles != null && !roles.isEmpty()) {
+        List<String> roles = principal.get().roles();
+        if (!roles.isEmpty()) {
             requestBuilder.header("X-User-Roles", String.join(",", roles));
         }
 
@@ -0,0 +1,32 @@
+package com.rudraksha.shopsphere.auth.controller;
+
+import com.rudraksha.shopsphere.shared.security.KeyRotationService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Publishes the token verification keys. The document is rebuilt only when the key ring
+ * changes; clients may cache it for a few minutes since new keys are published well before
+ * they are used.
+ */
+@RestController
+@RequiredArgsConstructor
+public class JwksController {
+
+    private static final CacheControl CACHE_CONTROL = CacheControl.maxAge(Duration.ofMinutes(5)).cachePublic();
+
+    private final KeyRotationService keyRotationService;
+
+    @GetMapping("/.well-known/jwks.json")
+    public ResponseEntity<Map<String, Object>> jwks() {
+        return ResponseEntity.ok()
+                .cacheControl(CACHE_CONTROL)
+                .body(keyRotationService.getJwkSet());
+    }
+}
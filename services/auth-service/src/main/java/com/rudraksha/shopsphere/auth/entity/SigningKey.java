@@ -0,0 +1,43 @@
+package com.rudraksha.shopsphere.auth.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * A key of the token signing ring. Keys are stored base64 encoded, the private half as
+ * PKCS#8 and the public half as X.509.
+ */
+@Entity
+@Table(name = "signing_keys")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SigningKey {
+
+    @Id
+    @Column(name = "key_id", length = 64)
+    private String keyId;
+
+    @Column(nullable = false, length = 16)
+    private String algorithm;
+
+    @Column(name = "private_key", nullable = false, length = 2048)
+    private String privateKey;
+
+    @Column(name = "public_key", nullable = false, length = 2048)
+    private String publicKey;
+
+    @Column(name = "activates_at", nullable = false)
+    private LocalDateTime activatesAt;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
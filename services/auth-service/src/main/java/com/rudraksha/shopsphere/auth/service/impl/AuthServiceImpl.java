@@ -12,17 +12,21 @@ import com.rudraksha.shopsphere.auth.exception.UserAlreadyExistsException;
 import com.rudraksha.shopsphere.auth.repository.RefreshTokenRepository;
 import com.rudraksha.shopsphere.auth.repository.UserRepository;
 import com.rudraksha.shopsphere.auth.service.AuthService;
+import com.rudraksha.shopsphere.shared.security.KeyRotationService;
+import com.rudraksha.shopsphere.shared.security.TokenRevocationStore;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.security.Keys;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
-import javax.crypto.SecretKey;
-import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.Date;
 import java.util.UUID;
@@ -35,9 +39,13 @@ public class AuthServiceImpl implements AuthService {
     private final UserRepository userRepository;
     private final RefreshTokenRepository refreshTokenRepository;
     private final PasswordEncoder passwordEncoder;
-
-    @Value("${jwt.secret}")
-    private String jwtSecret;
+    private final ObjectProvider<TokenRevocationStore> tokenRevocationStore;
+    private final KeyRotationService keyRotationService;
+    private final JwtParser accessTokenParser = Jwts.parser()
+            .keyLocator(header -> header instanceof JwsHeader jws && jws.getKeyId() != null
+                    ? this.keyRotationService.getKeyById(jws.getKeyId())
+                    : null)
+            .build();
 
     @Value("${jwt.expiration-ms}")
     private long jwtExpirationMs;
@@ -66,6 +74,12 @@ public class AuthServiceImpl implements AuthService {
             throw new AuthException("Account is disabled");
         }
 
+        if (passwordEncoder.upgradeEncoding(user.getPassword())) {
+            user.setPassword(passwordEncoder.encode(request.getPassword()));
+            userRepository.save(user);
+            log.debug("Password hash upgraded for user: {}", request.getEmail());
+        }
+
         String accessToken = generateAccessToken(user);
         RefreshToken refreshToken = createRefreshToken(user);
         
@@ -144,20 +158,40 @@ public class AuthServiceImpl implements AuthService {
                     refreshTokenRepository.save(rt);
                     log.info("User logged out successfully");
                 });
+        tokenRevocationStore.ifAvailable(store -> revokeAccessToken(store, token));
+    }
+
+    /**
+     * Access tokens cannot be deleted like refresh tokens, so their id is revoked until they
+     * expire. Anything that is not a valid access token with an id is left alone.
+     */
+    private void revokeAccessToken(TokenRevocationStore store, String token) {
+        Claims claims;
+        try {
+            claims = accessTokenParser.parseSignedClaims(token).getPayload();
+        } catch (JwtException | IllegalArgumentException e) {
+            return;
+        }
+        if (claims.getId() != null && claims.getExpiration() != null) {
+            store.revokeToken(claims.getId(), claims.getExpiration().toInstant());
+            log.info("Access token revoked for user: {}", claims.getSubject());
+        }
     }
 
     private String generateAccessToken(User user) {
-        SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        KeyRotationService.ActiveKey signingKey = keyRotationService.getActiveKey();
         Date now = new Date();
         Date expiry = new Date(now.getTime() + jwtExpirationMs);
 
         return Jwts.builder()
+                .header().keyId(signingKey.keyId()).and()
+                .id(UUID.randomUUID().toString())
                 .subject(user.getId().toString())
                 .claim("email", user.getEmail())
                 .claim("role", user.getRole().name())
                 .issuedAt(now)
                 .expiration(expiry)
-                .signWith(key)
+                .signWith(signingKey.privateKey(), Jwts.SIG.ES256)
                 .compact();
     }
 
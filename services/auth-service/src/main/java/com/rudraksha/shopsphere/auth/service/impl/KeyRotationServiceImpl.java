@@ -0,0 +1,200 @@
+package com.rudraksha.shopsphere.auth.service.impl;
+
+import com.rudraksha.shopsphere.auth.entity.SigningKey;
+import com.rudraksha.shopsphere.auth.repository.SigningKeyRepository;
+import com.rudraksha.shopsphere.shared.security.JsonWebKeys;
+import com.rudraksha.shopsphere.shared.security.KeyRotationService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * ES256 key ring shared by all auth-service instances through the signing_keys table. Each
+ * instance works from an immutable snapshot of the ring, reloaded on a schedule, so signing
+ * and verification never touch the database or parse a key.
+ * <p>
+ * A new key is added {@code jwt.keys.publish-ahead-ms} before it takes over signing, which
+ * must exceed the verifiers' JWKS refresh interval. A replaced key stays published until
+ * the tokens it signed have expired, then it is deleted.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class KeyRotationServiceImpl implements KeyRotationService {
+
+    private static final String KEY_ALGORITHM = "EC";
+
+    private final SigningKeyRepository signingKeyRepository;
+
+    @Value("${jwt.expiration-ms}")
+    private long jwtExpirationMs;
+
+    @Value("${jwt.keys.rotation-interval-ms:604800000}")
+    private long rotationIntervalMs;
+
+    @Value("${jwt.keys.publish-ahead-ms:900000}")
+    private long publishAheadMs;
+
+    private volatile KeyRing ring;
+
+    @Override
+    public PrivateKey getCurrentKey() {
+        return ring().activeKey().privateKey();
+    }
+
+    @Override
+    public ActiveKey getActiveKey() {
+        return ring().activeKey();
+    }
+
+    @Override
+    public PublicKey getKeyById(String keyId) {
+        return ring().publicKeys().get(keyId);
+    }
+
+    @Override
+    public String getCurrentKeyId() {
+        return ring().activeKey().keyId();
+    }
+
+    @Override
+    public Map<String, PublicKey> getPublicKeys() {
+        return ring().publicKeys();
+    }
+
+    @Override
+    public Map<String, Object> getJwkSet() {
+        return ring().jwkSet();
+    }
+
+    @Override
+    public void rotateKey() {
+        SigningKey key = createKey(LocalDateTime.now().plus(Duration.ofMillis(publishAheadMs)));
+        log.info("Added signing key {}, active from {}", key.getKeyId(), key.getActivatesAt());
+        reload();
+    }
+
+    /**
+     * Picks up keys added by other instances and rotates once the active key is due to be
+     * replaced and no successor is waiting.
+     */
+    @Scheduled(fixedDelayString = "${jwt.keys.refresh-interval-ms:60000}")
+    public void refresh() {
+        try {
+            KeyRing current = reload();
+            LocalDateTime rotateAfter = current.activatedAt()
+                    .plus(Duration.ofMillis(rotationIntervalMs - publishAheadMs));
+            if (!current.successorPending() && LocalDateTime.now().isAfter(rotateAfter)) {
+                rotateKey();
+            }
+        } catch (RuntimeException e) {
+            log.error("Signing key refresh failed, keeping the current key ring", e);
+        }
+    }
+
+    private KeyRing ring() {
+        KeyRing current = ring;
+        return current != null ? current : reload();
+    }
+
+    private synchronized KeyRing reload() {
+        LocalDateTime now = LocalDateTime.now();
+        List<SigningKey> keys = signingKeyRepository.findAllByOrderByActivatesAtAsc();
+        if (keys.isEmpty() || keys.get(0).getActivatesAt().isAfter(now)) {
+            createKey(now);
+            keys = signingKeyRepository.findAllByOrderByActivatesAtAsc();
+        }
+
+        int active = 0;
+        while (active + 1 < keys.size() && !keys.get(active + 1).getActivatesAt().isAfter(now)) {
+            active++;
+        }
+        LocalDateTime retiredBefore = now.minus(Duration.ofMillis(jwtExpirationMs));
+        Map<String, PublicKey> previous = ring != null ? ring.publicKeys() : Map.of();
+        Map<String, PublicKey> published = new HashMap<>();
+        List<SigningKey> retired = new ArrayList<>();
+        for (int i = 0; i < keys.size(); i++) {
+            SigningKey key = keys.get(i);
+            if (i < active && keys.get(i + 1).getActivatesAt().isBefore(retiredBefore)) {
+                retired.add(key);
+            } else {
+                PublicKey publicKey = previous.get(key.getKeyId());
+                published.put(key.getKeyId(), publicKey != null ? publicKey : decodePublicKey(key.getPublicKey()));
+            }
+        }
+        if (!retired.isEmpty()) {
+            signingKeyRepository.deleteAll(retired);
+            log.info("Retired {} signing keys", retired.size());
+        }
+
+        SigningKey activeKey = keys.get(active);
+        ActiveKey signing = ring != null && ring.activeKey().keyId().equals(activeKey.getKeyId())
+                ? ring.activeKey()
+                : new ActiveKey(activeKey.getKeyId(), decodePrivateKey(activeKey.getPrivateKey()));
+        KeyRing reloaded = new KeyRing(signing, activeKey.getActivatesAt(), active + 1 < keys.size(),
+                Map.copyOf(published), JsonWebKeys.toJwkSet(published));
+        ring = reloaded;
+        return reloaded;
+    }
+
+    private SigningKey createKey(LocalDateTime activatesAt) {
+        KeyPair keyPair;
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance(KEY_ALGORITHM);
+            generator.initialize(new ECGenParameterSpec("secp256r1"));
+            keyPair = generator.generateKeyPair();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot generate a P-256 key pair", e);
+        }
+        SigningKey key = SigningKey.builder()
+                .keyId(UUID.randomUUID().toString())
+                .algorithm(JsonWebKeys.ALGORITHM)
+                .privateKey(Base64.getEncoder().encodeToString(keyPair.getPrivate().getEncoded()))
+                .publicKey(Base64.getEncoder().encodeToString(keyPair.getPublic().getEncoded()))
+                .activatesAt(activatesAt)
+                .build();
+        return signingKeyRepository.save(key);
+    }
+
+    private static PrivateKey decodePrivateKey(String encoded) {
+        try {
+            return KeyFactory.getInstance(KEY_ALGORITHM)
+                    .generatePrivate(new PKCS8EncodedKeySpec(Base64.getDecoder().decode(encoded)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Stored signing key is not a valid EC private key", e);
+        }
+    }
+
+    private static PublicKey decodePublicKey(String encoded) {
+        try {
+            return KeyFactory.getInstance(KEY_ALGORITHM)
+                    .generatePublic(new X509EncodedKeySpec(Base64.getDecoder().decode(encoded)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Stored signing key is not a valid EC public key", e);
+        }
+    }
+
+    private record KeyRing(ActiveKey activeKey, LocalDateTime activatedAt, boolean successorPending,
+                           Map<String, PublicKey> publicKeys, Map<String, Object> jwkSet) {
+    }
+}
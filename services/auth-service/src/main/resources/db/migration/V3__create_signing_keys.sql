@@ -0,0 +1,12 @@
+-- Token signing key ring
+CREATE TABLE signing_keys
+(
+    key_id       VARCHAR(64)   PRIMARY KEY,
+    algorithm    VARCHAR(16)   NOT NULL,
+    private_key  VARCHAR(2048) NOT NULL,
+    public_key   VARCHAR(2048) NOT NULL,
+    activates_at TIMESTAMP     NOT NULL,
+    created_at   TIMESTAMP     NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_signing_keys_activates_at ON signing_keys (activates_at);
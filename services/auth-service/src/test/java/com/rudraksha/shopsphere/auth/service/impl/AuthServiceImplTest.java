@@ -27,7 +27,7 @@ import java.util.UUID;
 import static org.junit.jupiter.api.Assertions.*;
 
 @DataJpaTest
-@Import({TestConfig.class, AuthServiceImpl.class})
+@Import({TestConfig.class, AuthServiceImpl.class, KeyRotationServiceImpl.class})
 @ActiveProfiles("test")
 @DisplayName("AuthServiceImpl Integration Tests")
 class AuthServiceImplTest {
@@ -0,0 +1,223 @@
+package com.rudraksha.shopsphere.auth.service.impl;
+
+import com.rudraksha.shopsphere.auth.entity.SigningKey;
+import com.rudraksha.shopsphere.auth.repository.SigningKeyRepository;
+import com.rudraksha.shopsphere.shared.security.JsonWebKeys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.spec.ECGenParameterSpec;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("KeyRotationServiceImpl Tests")
+class KeyRotationServiceImplTest {
+
+    private static final long JWT_EXPIRATION_MS = Duration.ofHours(1).toMillis();
+    private static final long ROTATION_INTERVAL_MS = Duration.ofDays(7).toMillis();
+    private static final long PUBLISH_AHEAD_MS = Duration.ofMinutes(15).toMillis();
+
+    @Mock
+    private SigningKeyRepository signingKeyRepository;
+
+    private final List<SigningKey> table = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(signingKeyRepository.findAllByOrderByActivatesAtAsc()).thenAnswer(invocation -> {
+            List<SigningKey> sorted = new ArrayList<>(table);
+            sorted.sort(Comparator.comparing(SigningKey::getActivatesAt));
+            return sorted;
+        });
+        lenient().when(signingKeyRepository.save(any(SigningKey.class))).thenAnswer(invocation -> {
+            SigningKey key = invocation.getArgument(0);
+            table.add(key);
+            return key;
+        });
+        lenient().doAnswer(invocation -> {
+            Iterable<SigningKey> deleted = invocation.getArgument(0);
+            deleted.forEach(table::remove);
+            return null;
+        }).when(signingKeyRepository).deleteAll(anyIterable());
+    }
+
+    @Test
+    @DisplayName("Should create a signing key when the table is empty")
+    void testGetActiveKey_CreatesKeyWhenTableIsEmpty() {
+        KeyRotationServiceImpl service = newService();
+
+        String keyId = service.getCurrentKeyId();
+
+        assertNotNull(keyId);
+        assertEquals(1, table.size());
+        assertEquals(keyId, table.get(0).getKeyId());
+        assertNotNull(service.getCurrentKey());
+        assertNotNull(service.getKeyById(keyId));
+        assertEquals(1, ((List<?>) service.getJwkSet().get("keys")).size());
+        verify(signingKeyRepository).save(any(SigningKey.class));
+    }
+
+    @Test
+    @DisplayName("Should not add a successor before the rotation is due")
+    void testRefresh_NoSuccessorBeforeRotationIsDue() {
+        SigningKey current = store(LocalDateTime.now().minus(Duration.ofMillis(ROTATION_INTERVAL_MS - 2 * PUBLISH_AHEAD_MS)));
+        KeyRotationServiceImpl service = newService();
+
+        service.refresh();
+
+        assertEquals(List.of(current), table);
+        assertEquals(current.getKeyId(), service.getCurrentKeyId());
+        verify(signingKeyRepository, never()).save(any(SigningKey.class));
+    }
+
+    @Test
+    @DisplayName("Should add exactly one successor once the rotation is due")
+    void testRefresh_AddsOneSuccessorOnceRotationIsDue() {
+        SigningKey current = store(LocalDateTime.now().minus(Duration.ofMillis(ROTATION_INTERVAL_MS)));
+        KeyRotationServiceImpl service = newService();
+
+        service.refresh();
+        service.refresh();
+        service.refresh();
+
+        assertEquals(2, table.size());
+        verify(signingKeyRepository, times(1)).save(any(SigningKey.class));
+        SigningKey successor = successorOf(current);
+        assertTrue(successor.getActivatesAt().isAfter(LocalDateTime.now()));
+    }
+
+    @Test
+    @DisplayName("Should publish a successor but keep signing with the current key until it activates")
+    void testRotateKey_SuccessorPublishedButNotSigningUntilActivation() {
+        SigningKey current = store(LocalDateTime.now().minusDays(1));
+        KeyRotationServiceImpl service = newService();
+
+        service.rotateKey();
+        SigningKey successor = successorOf(current);
+
+        assertEquals(current.getKeyId(), service.getCurrentKeyId());
+        assertEquals(current.getKeyId(), service.getActiveKey().keyId());
+        assertNotNull(service.getKeyById(successor.getKeyId()));
+        assertTrue(service.getPublicKeys().keySet().containsAll(List.of(current.getKeyId(), successor.getKeyId())));
+
+        successor.setActivatesAt(LocalDateTime.now().minusSeconds(1));
+        service.refresh();
+
+        assertEquals(successor.getKeyId(), service.getCurrentKeyId());
+        assertEquals(successor.getKeyId(), service.getActiveKey().keyId());
+        assertNotNull(service.getKeyById(current.getKeyId()));
+    }
+
+    @Test
+    @DisplayName("Should keep a replaced key until its tokens expire, then delete it")
+    void testRefresh_RetiresReplacedKeyAfterTokenExpiry() {
+        SigningKey replaced = store(LocalDateTime.now().minusHours(3));
+        SigningKey current = store(LocalDateTime.now().minus(Duration.ofMillis(JWT_EXPIRATION_MS / 2)));
+        KeyRotationServiceImpl service = newService();
+
+        service.refresh();
+
+        assertEquals(current.getKeyId(), service.getCurrentKeyId());
+        assertNotNull(service.getKeyById(replaced.getKeyId()));
+        assertTrue(table.contains(replaced));
+        verify(signingKeyRepository, never()).deleteAll(anyIterable());
+
+        current.setActivatesAt(LocalDateTime.now().minus(Duration.ofMillis(JWT_EXPIRATION_MS + 60_000)));
+        service.refresh();
+
+        assertNull(service.getKeyById(replaced.getKeyId()));
+        assertEquals(List.of(current), table);
+        assertEquals(current.getKeyId(), service.getCurrentKeyId());
+        verify(signingKeyRepository).deleteAll(List.of(replaced));
+    }
+
+    @Test
+    @DisplayName("Should converge on one signing key when two instances rotate concurrently")
+    void testRotateKey_ConcurrentRotationConverges() {
+        SigningKey current = store(LocalDateTime.now().minus(Duration.ofMillis(ROTATION_INTERVAL_MS)));
+        KeyRotationServiceImpl first = newService();
+        KeyRotationServiceImpl second = newService();
+        assertEquals(current.getKeyId(), first.getCurrentKeyId());
+        assertEquals(current.getKeyId(), second.getCurrentKeyId());
+
+        // Both saw no successor before either added one
+        first.rotateKey();
+        second.rotateKey();
+        first.refresh();
+        second.refresh();
+
+        assertEquals(3, table.size());
+        assertEquals(current.getKeyId(), first.getCurrentKeyId());
+        assertEquals(current.getKeyId(), second.getCurrentKeyId());
+        assertEquals(first.getPublicKeys().keySet(), second.getPublicKeys().keySet());
+        assertEquals(3, first.getPublicKeys().size());
+
+        LocalDateTime activated = LocalDateTime.now().minusSeconds(1);
+        for (SigningKey key : table) {
+            if (key != current) {
+                key.setActivatesAt(activated);
+                activated = activated.plusNanos(1_000);
+            }
+        }
+        first.refresh();
+        second.refresh();
+
+        assertEquals(first.getCurrentKeyId(), second.getCurrentKeyId());
+        assertNotEquals(current.getKeyId(), first.getCurrentKeyId());
+        assertEquals(first.getPublicKeys().keySet(), second.getPublicKeys().keySet());
+        verify(signingKeyRepository, times(2)).save(any(SigningKey.class));
+    }
+
+    private KeyRotationServiceImpl newService() {
+        KeyRotationServiceImpl service = new KeyRotationServiceImpl(signingKeyRepository);
+        ReflectionTestUtils.setField(service, "jwtExpirationMs", JWT_EXPIRATION_MS);
+        ReflectionTestUtils.setField(service, "rotationIntervalMs", ROTATION_INTERVAL_MS);
+        ReflectionTestUtils.setField(service, "publishAheadMs", PUBLISH_AHEAD_MS);
+        return service;
+    }
+
+    private SigningKey successorOf(SigningKey current) {
+        return table.stream()
+                .filter(key -> key != current)
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private SigningKey store(LocalDateTime activatesAt) {
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+            generator.initialize(new ECGenParameterSpec("secp256r1"));
+            KeyPair keyPair = generator.generateKeyPair();
+            SigningKey key = SigningKey.builder()
+                    .keyId(UUID.randomUUID().toString())
+                    .algorithm(JsonWebKeys.ALGORITHM)
+                    .privateKey(Base64.getEncoder().encodeToString(keyPair.getPrivate().getEncoded()))
+                    .publicKey(Base64.getEncoder().encodeToString(keyPair.getPublic().getEncoded()))
+                    .activatesAt(activatesAt)
+                    .build();
+            table.add(key);
+            return key;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
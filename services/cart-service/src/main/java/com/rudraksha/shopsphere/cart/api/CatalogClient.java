@@ -1,10 +1,12 @@
 package com.rudraksha.shopsphere.cart.api;
 
+import com.fasterxml.jackson.annotation.JsonAlias;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 
 import java.math.BigDecimal;
+import java.util.List;
 import java.util.Map;
 
 @FeignClient(name = "catalog-service", path = "/api/v1/products")
@@ -13,14 +15,22 @@ public interface CatalogClient {
     @GetMapping("/{productId}")
     ProductResponse getProduct(@PathVariable String productId);
 
+    /**
+     * The catalog's product representation, as returned by the API and published on the
+     * product state topic.
+     */
     record ProductResponse(
             String id,
             String name,
             String description,
             BigDecimal price,
-            String imageUrl,
-            String category,
+            List<String> images,
+            @JsonAlias("categoryId") String category,
             Map<String, Object> attributes
     ) {
+
+        public String imageUrl() {
+            return images != null && !images.isEmpty() ? images.get(0) : null;
+        }
     }
 }
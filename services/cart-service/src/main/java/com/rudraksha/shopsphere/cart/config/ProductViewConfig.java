@@ -0,0 +1,26 @@
+package com.rudraksha.shopsphere.cart.config;
+
+import com.rudraksha.shopsphere.cart.api.CatalogClient;
+import com.rudraksha.shopsphere.shared.kafka.view.MaterializedView;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.core.ConsumerFactory;
+
+import java.nio.file.Paths;
+
+@Configuration
+public class ProductViewConfig {
+
+    @Value("${kafka.topics.product-state:product.state}")
+    private String productStateTopic;
+
+    @Value("${shopsphere.kafka.view.snapshot-dir}")
+    private String snapshotDir;
+
+    @Bean
+    public MaterializedView<CatalogClient.ProductResponse> productView(ConsumerFactory<?, ?> consumerFactory) {
+        return new MaterializedView<>(productStateTopic, CatalogClient.ProductResponse.class,
+                consumerFactory.getConfigurationProperties(), Paths.get(snapshotDir));
+    }
+}
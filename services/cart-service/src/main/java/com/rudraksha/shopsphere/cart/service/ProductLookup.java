@@ -0,0 +1,31 @@
+package com.rudraksha.shopsphere.cart.service;
+
+import com.rudraksha.shopsphere.cart.api.CatalogClient;
+import com.rudraksha.shopsphere.shared.kafka.view.MaterializedView;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Resolves products from the local view of the catalog's product state topic, and from the
+ * catalog API while the view is still catching up or does not know the product yet.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProductLookup {
+
+    private final MaterializedView<CatalogClient.ProductResponse> productView;
+    private final CatalogClient catalogClient;
+
+    public CatalogClient.ProductResponse getProduct(String productId) {
+        if (productView.isReady()) {
+            CatalogClient.ProductResponse product = productView.get(productId);
+            if (product != null) {
+                return product;
+            }
+            log.debug("Product {} not in local view, asking catalog service", productId);
+        }
+        return catalogClient.getProduct(productId);
+    }
+}
@@ -1,6 +1,5 @@
 package com.rudraksha.shopsphere.cart.service.impl;
 
-import com.rudraksha.shopsphere.cart.api.CatalogClient;
 import com.rudraksha.shopsphere.cart.api.InventoryClient;
 import com.rudraksha.shopsphere.cart.dto.request.AddToCartRequest;
 import com.rudraksha.shopsphere.cart.dto.request.UpdateCartItemRequest;
@@ -10,6 +9,7 @@ import com.rudraksha.shopsphere.cart.entity.Cart;
 import com.rudraksha.shopsphere.cart.entity.CartItem;
 import com.rudraksha.shopsphere.cart.repository.CartRepository;
 import com.rudraksha.shopsphere.cart.service.CartService;
+import com.rudraksha.shopsphere.cart.service.ProductLookup;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -26,7 +26,7 @@ import java.util.UUID;
 public class CartServiceImpl implements CartService {
 
     private final CartRepository cartRepository;
-    private final CatalogClient catalogClient;
+    private final ProductLookup productLookup;
     private final InventoryClient inventoryClient;
 
     @Override
@@ -45,8 +45,8 @@ public class CartServiceImpl implements CartService {
             throw new IllegalArgumentException("Quantity must be greater than 0");
         }
 
-        // Fetch product from catalog service
-        var product = catalogClient.getProduct(request.getProductId());
+        // Fetch product from the local catalog view, or the catalog service
+        var product = productLookup.getProduct(request.getProductId());
         if (product == null) {
             throw new IllegalArgumentException("Product not found with id: " + request.getProductId());
         }
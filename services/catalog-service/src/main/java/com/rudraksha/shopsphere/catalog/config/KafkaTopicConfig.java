@@ -0,0 +1,25 @@
+package com.rudraksha.shopsphere.catalog.config;
+
+import com.rudraksha.shopsphere.shared.kafka.KafkaConfig;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class KafkaTopicConfig {
+
+    @Value("${kafka.topics.product-state:product.state}")
+    private String productStateTopic;
+
+    @Value("${kafka.topics.product-state-partitions:6}")
+    private int productStatePartitions;
+
+    @Value("${kafka.topics.replicas:1}")
+    private int replicas;
+
+    @Bean
+    public NewTopic productStateTopic() {
+        return KafkaConfig.compactedTopic(productStateTopic, productStatePartitions, replicas);
+    }
+}
@@ -1,5 +1,6 @@
 package com.rudraksha.shopsphere.catalog.dto.response;
 
+import com.rudraksha.shopsphere.catalog.entity.Product;
 import com.rudraksha.shopsphere.catalog.entity.Product.ProductStatus;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -30,4 +31,22 @@ public class ProductResponse {
     private ProductStatus status;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+
+    public static ProductResponse from(Product product) {
+        return ProductResponse.builder()
+                .id(product.getId())
+                .sku(product.getSku())
+                .name(product.getName())
+                .description(product.getDescription())
+                .price(product.getPrice())
+                .currency(product.getCurrency())
+                .categoryId(product.getCategoryId())
+                .images(product.getImages())
+                .attributes(product.getAttributes())
+                .sellerId(product.getSellerId())
+                .status(product.getStatus())
+                .createdAt(product.getCreatedAt())
+                .updatedAt(product.getUpdatedAt())
+                .build();
+    }
 }
@@ -1,5 +1,6 @@
 package com.rudraksha.shopsphere.catalog.events.producer;
 
+import com.rudraksha.shopsphere.catalog.dto.response.ProductResponse;
 import com.rudraksha.shopsphere.catalog.entity.Product;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -23,18 +24,40 @@ public class ProductEventProducer {
     @Value("${kafka.topics.product-updated:product-updated}")
     private String productUpdatedTopic;
 
+    @Value("${kafka.topics.product-state:product.state}")
+    private String productStateTopic;
+
     public void publishProductCreated(Product product) {
         Map<String, Object> event = buildProductEvent(product, "PRODUCT_CREATED");
         kafkaTemplate.send(productCreatedTopic, product.getId(), event);
+        publishProductState(product);
         log.info("Published product created event for product ID: {}", product.getId());
     }
 
     public void publishProductUpdated(Product product) {
         Map<String, Object> event = buildProductEvent(product, "PRODUCT_UPDATED");
         kafkaTemplate.send(productUpdatedTopic, product.getId(), event);
+        publishProductState(product);
         log.info("Published product updated event for product ID: {}", product.getId());
     }
 
+    /**
+     * Tombstones the product on the compacted state topic so views drop it.
+     */
+    public void publishProductDeleted(String productId) {
+        kafkaTemplate.send(productStateTopic, productId, null);
+        log.info("Published product deleted state for product ID: {}", productId);
+    }
+
+    /**
+     * Latest state of the product on the compacted state topic, read by other services
+     * through a materialized view instead of calling the catalog API. Carries the same
+     * representation as the API, so views can use the clients' response types.
+     */
+    private void publishProductState(Product product) {
+        kafkaTemplate.send(productStateTopic, product.getId(), ProductResponse.from(product));
+    }
+
     private Map<String, Object> buildProductEvent(Product product, String eventType) {
         Map<String, Object> event = new HashMap<>();
         event.put("eventType", eventType);
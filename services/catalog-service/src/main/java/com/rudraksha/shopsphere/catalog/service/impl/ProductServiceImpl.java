@@ -92,6 +92,8 @@ public class ProductServiceImpl implements ProductService {
         }
         productRepository.deleteById(id);
         log.info("Deleted product with ID: {}", id);
+
+        productEventProducer.publishProductDeleted(id);
     }
 
     @Override
@@ -125,20 +127,6 @@ public class ProductServiceImpl implements ProductService {
     }
 
     private ProductResponse mapToResponse(Product product) {
-        return ProductResponse.builder()
-                .id(product.getId())
-                .sku(product.getSku())
-                .name(product.getName())
-                .description(product.getDescription())
-                .price(product.getPrice())
-                .currency(product.getCurrency())
-                .categoryId(product.getCategoryId())
-                .images(product.getImages())
-                .attributes(product.getAttributes())
-                .sellerId(product.getSellerId())
-                .status(product.getStatus())
-                .createdAt(product.getCreatedAt())
-                .updatedAt(product.getUpdatedAt())
-                .build();
+        return ProductResponse.from(product);
     }
 }
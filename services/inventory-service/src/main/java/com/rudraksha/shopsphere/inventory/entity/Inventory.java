@@ -1,5 +1,6 @@
 package com.rudraksha.shopsphere.inventory.entity;
 
+import com.rudraksha.shopsphere.shared.db.id.TimeOrderedId;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
@@ -18,7 +19,7 @@ import java.util.UUID;
 public class Inventory {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedId
     private UUID id;
 
     @Column(name = "product_id", nullable = false, unique = true)
@@ -1,5 +1,6 @@
 package com.rudraksha.shopsphere.inventory.entity;
 
+import com.rudraksha.shopsphere.shared.db.id.TimeOrderedId;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
@@ -17,7 +18,7 @@ import java.util.UUID;
 public class StockMovement {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedId
     private UUID id;
 
     @Column(name = "inventory_id", nullable = false)
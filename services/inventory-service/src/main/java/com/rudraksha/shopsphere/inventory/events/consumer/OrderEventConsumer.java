@@ -1,103 +1,159 @@
 package com.rudraksha.shopsphere.inventory.events.consumer;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.rudraksha.shopsphere.inventory.dto.request.ReserveStockRequest;
+import com.rudraksha.shopsphere.inventory.events.payload.OrderEventPayload;
 import com.rudraksha.shopsphere.inventory.service.InventoryService;
+import com.rudraksha.shopsphere.shared.kafka.EventConsumer;
 import com.rudraksha.shopsphere.shared.kafka.TopicConstants;
+import com.rudraksha.shopsphere.shared.models.enums.EventType;
 import com.rudraksha.shopsphere.shared.models.events.EventEnvelope;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.BatchListenerFailedException;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
-import java.util.UUID;
 
 @Slf4j
 @Component
 @RequiredArgsConstructor
-public class OrderEventConsumer {
+public class OrderEventConsumer extends EventConsumer<EventEnvelope<OrderEventPayload>> {
+
+    private static final String CONSUMER_NAME = "inventory-order-events";
 
     private final InventoryService inventoryService;
-    private final ObjectMapper objectMapper;
 
-    @KafkaListener(topics = TopicConstants.ORDER_EVENTS, groupId = "inventory-service-group")
-    public void handleOrderEvent(EventEnvelope<Map<String, Object>> event) {
-        log.info("Received order event: type={}, eventId={}", event.getEventType(), event.getEventId());
+    /**
+     * Consumes a whole poll at once. Other order event types are skipped from their headers
+     * before deserialization; redelivered events are skipped by {@link EventConsumer} when
+     * dedupe is enabled.
+     */
+    @KafkaListener(id = "inventory-order-events", topics = TopicConstants.ORDER_EVENTS,
+            groupId = "inventory-service-group",
+            containerFactory = "batchKafkaListenerContainerFactory",
+            filter = "eventTypeRecordFilter",
+            properties = "shopsphere.serde.accepted-event-types=ORDER_PLACED,ORDER_CANCELLED,ORDER_CONFIRMED")
+    public void handleOrderEvents(List<ConsumerRecord<String, EventEnvelope<OrderEventPayload>>> records) {
+        consumeBatch(records);
+    }
 
-        try {
+    /**
+     * Consecutive placed or cancelled orders are collapsed into a single reserve or release
+     * batch, flushed whenever the event type changes so that the per-order event sequence is
+     * preserved. Each flush is one transaction, so a failed one is reported with its first
+     * record and the orders from there on are retried one by one.
+     */
+    @Override
+    protected void handleBatch(List<ConsumerRecord<String, EventEnvelope<OrderEventPayload>>> records) {
+        PendingBatch pending = new PendingBatch();
+        for (ConsumerRecord<String, EventEnvelope<OrderEventPayload>> record : records) {
+            EventEnvelope<OrderEventPayload> event = record.value();
             switch (event.getEventType()) {
-                case ORDER_PLACED -> handleOrderPlaced(event.getPayload());
-                case ORDER_CANCELLED -> handleOrderCancelled(event.getPayload());
-                case ORDER_CONFIRMED -> handleOrderConfirmed(event.getPayload());
+                case ORDER_PLACED, ORDER_CANCELLED -> {
+                    if (pending.type != null && pending.type != event.getEventType()) {
+                        flush(pending);
+                    }
+                    pending.add(record, toStockRequests(event.getEventType(), event.getPayload()));
+                }
+                case ORDER_CONFIRMED -> {
+                    try {
+                        handleOrderConfirmed(event.getPayload());
+                    } catch (RuntimeException e) {
+                        throw new BatchListenerFailedException(
+                                "Failed to process order event " + event.getEventId(), e, record);
+                    }
+                }
                 default -> log.debug("Ignoring event type: {}", event.getEventType());
             }
-        } catch (Exception e) {
-            log.error("Failed to process order event: {}", event.getEventId(), e);
+        }
+        flush(pending);
+    }
+
+    @Override
+    protected void handleEvent(String key, EventEnvelope<OrderEventPayload> event) {
+        switch (event.getEventType()) {
+            case ORDER_PLACED -> inventoryService.reserveStockBatch(
+                    toStockRequests(EventType.ORDER_PLACED, event.getPayload()));
+            case ORDER_CANCELLED -> inventoryService.releaseStockBatch(
+                    toStockRequests(EventType.ORDER_CANCELLED, event.getPayload()));
+            case ORDER_CONFIRMED -> handleOrderConfirmed(event.getPayload());
+            default -> log.debug("Ignoring event type: {}", event.getEventType());
         }
     }
 
-    private void handleOrderPlaced(Map<String, Object> payload) {
-        UUID orderId = UUID.fromString((String) payload.get("orderId"));
-        List<Map<String, Object>> items = (List<Map<String, Object>>) payload.get("items");
+    @Override
+    protected String consumerName() {
+        return CONSUMER_NAME;
+    }
 
-        if (items == null || items.isEmpty()) {
-            log.warn("Order {} has no items to reserve", orderId);
+    private void flush(PendingBatch pending) {
+        if (pending.requests.isEmpty()) {
+            pending.clear();
             return;
         }
-
-        for (Map<String, Object> item : items) {
-            UUID productId = UUID.fromString((String) item.get("productId"));
-            Integer quantity = (Integer) item.get("quantity");
-
-            try {
-                ReserveStockRequest request = ReserveStockRequest.builder()
-                        .productId(productId)
-                        .quantity(quantity)
-                        .referenceId(orderId)
-                        .reason("Order placed: " + orderId)
-                        .build();
-
-                inventoryService.reserveStock(request);
-                log.info("Reserved stock for order {}: productId={}, quantity={}", orderId, productId, quantity);
-            } catch (Exception e) {
-                log.error("Failed to reserve stock for order {}: productId={}", orderId, productId, e);
+        try {
+            if (pending.type == EventType.ORDER_PLACED) {
+                inventoryService.reserveStockBatch(pending.requests);
+            } else {
+                inventoryService.releaseStockBatch(pending.requests);
             }
+        } catch (RuntimeException e) {
+            throw new BatchListenerFailedException("Failed to apply " + pending.requests.size()
+                    + " stock requests for " + pending.type, e, pending.first);
         }
+        log.info("Applied {} stock {} requests", pending.requests.size(),
+                pending.type == EventType.ORDER_PLACED ? "reservation" : "release");
+        pending.clear();
     }
 
-    private void handleOrderCancelled(Map<String, Object> payload) {
-        UUID orderId = UUID.fromString((String) payload.get("orderId"));
-        List<Map<String, Object>> items = (List<Map<String, Object>>) payload.get("items");
+    private List<ReserveStockRequest> toStockRequests(EventType type, OrderEventPayload payload) {
+        if (payload.items() == null || payload.items().isEmpty()) {
+            log.warn("Order {} has no items for {}", payload.orderId(), type);
+            return List.of();
+        }
 
-        if (items == null || items.isEmpty()) {
-            log.warn("Cancelled order {} has no items to release", orderId);
-            return;
+        String reason = (type == EventType.ORDER_PLACED ? "Order placed: " : "Order cancelled: ") + payload.orderId();
+        List<ReserveStockRequest> requests = new ArrayList<>(payload.items().size());
+        for (OrderEventPayload.Item item : payload.items()) {
+            requests.add(ReserveStockRequest.builder()
+                    .productId(item.productId())
+                    .quantity(item.quantity())
+                    .referenceId(payload.orderId())
+                    .reason(reason)
+                    .build());
         }
+        return requests;
+    }
 
-        for (Map<String, Object> item : items) {
-            UUID productId = UUID.fromString((String) item.get("productId"));
-            Integer quantity = (Integer) item.get("quantity");
-
-            try {
-                ReserveStockRequest request = ReserveStockRequest.builder()
-                        .productId(productId)
-                        .quantity(quantity)
-                        .referenceId(orderId)
-                        .reason("Order cancelled: " + orderId)
-                        .build();
-
-                inventoryService.releaseStock(request);
-                log.info("Released stock for cancelled order {}: productId={}, quantity={}", orderId, productId, quantity);
-            } catch (Exception e) {
-                log.error("Failed to release stock for cancelled order {}: productId={}", orderId, productId, e);
+    private void handleOrderConfirmed(OrderEventPayload payload) {
+        log.info("Order confirmed: {}. Reserved stock will be deducted upon shipping.", payload.orderId());
+    }
+
+    /**
+     * Consecutive events of one type collected for a single bulk update, with the record of
+     * the first one.
+     */
+    private static final class PendingBatch {
+        private final List<ReserveStockRequest> requests = new ArrayList<>();
+        private EventType type;
+        private ConsumerRecord<?, ?> first;
+
+        void add(ConsumerRecord<String, EventEnvelope<OrderEventPayload>> record,
+                 List<ReserveStockRequest> stockRequests) {
+            if (first == null) {
+                first = record;
             }
+            type = record.value().getEventType();
+            requests.addAll(stockRequests);
         }
-    }
 
-    private void handleOrderConfirmed(Map<String, Object> payload) {
-        UUID orderId = UUID.fromString((String) payload.get("orderId"));
-        log.info("Order confirmed: {}. Reserved stock will be deducted upon shipping.", orderId);
+        void clear() {
+            requests.clear();
+            type = null;
+            first = null;
+        }
     }
 }
@@ -0,0 +1,14 @@
+package com.rudraksha.shopsphere.inventory.events.payload;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * The parts of an order event payload the inventory service reads, bound directly by the
+ * Kafka deserializer through shopsphere.serde.payload-type-mappings.
+ */
+public record OrderEventPayload(UUID orderId, List<Item> items) {
+
+    public record Item(UUID productId, Integer quantity) {
+    }
+}
@@ -1,6 +1,7 @@
 package com.rudraksha.shopsphere.inventory.events.producer;
 
 import com.rudraksha.shopsphere.inventory.entity.Inventory;
+import com.rudraksha.shopsphere.shared.db.outbox.OutboxWriter;
 import com.rudraksha.shopsphere.shared.kafka.EventPublisher;
 import com.rudraksha.shopsphere.shared.kafka.TopicConstants;
 import com.rudraksha.shopsphere.shared.models.enums.EventType;
@@ -18,6 +19,7 @@ import java.util.Map;
 public class InventoryEventProducer {
 
     private final EventPublisher eventPublisher;
+    private final OutboxWriter outboxWriter;
 
     public void publishInventoryUpdated(Inventory inventory) {
         Map<String, Object> payload = new HashMap<>();
@@ -32,13 +34,13 @@ public class InventoryEventProducer {
 
         EventEnvelope<Map<String, Object>> event = EventEnvelope.of(EventType.INVENTORY_UPDATED, payload);
 
-        eventPublisher.publishAsync(
+        outboxWriter.append(
                 TopicConstants.INVENTORY_EVENTS,
                 inventory.getProductId().toString(),
                 event
         );
 
-        log.info("Published inventory updated event for product: {}", inventory.getProductId());
+        log.info("Recorded inventory updated event for product: {}", inventory.getProductId());
     }
 
     public void publishLowStockAlert(Inventory inventory) {
@@ -18,6 +18,10 @@ public interface InventoryService {
 
     InventoryResponse releaseStock(ReserveStockRequest request);
 
+    List<InventoryResponse> reserveStockBatch(List<ReserveStockRequest> requests);
+
+    List<InventoryResponse> releaseStockBatch(List<ReserveStockRequest> requests);
+
     List<StockCheckResponse> checkStock(List<UUID> productIds, List<Integer> quantities);
 
     List<InventoryResponse> getLowStockInventory();
@@ -19,8 +19,11 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -144,6 +147,90 @@ public class InventoryServiceImpl implements InventoryService {
         return mapToResponse(savedInventory);
     }
 
+    @Override
+    @Transactional
+    public List<InventoryResponse> reserveStockBatch(List<ReserveStockRequest> requests) {
+        if (requests.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        Map<UUID, Inventory> inventoryMap = lockInventories(requests);
+        List<StockMovement> movements = new ArrayList<>();
+
+        for (ReserveStockRequest request : requests) {
+            Inventory inventory = inventoryMap.get(request.getProductId());
+            if (inventory == null) {
+                log.error("Inventory not found for product {}, skipping reservation for referenceId={}",
+                        request.getProductId(), request.getReferenceId());
+                continue;
+            }
+            if (!inventory.hasAvailableStock(request.getQuantity())) {
+                log.error("Insufficient stock for product {}: available={}, requested={}, referenceId={}",
+                        request.getProductId(), inventory.getAvailableQuantity(), request.getQuantity(),
+                        request.getReferenceId());
+                continue;
+            }
+
+            inventory.setReservedQuantity(inventory.getReservedQuantity() + request.getQuantity());
+            movements.add(StockMovement.builder()
+                    .inventoryId(inventory.getId())
+                    .type(StockMovement.MovementType.RESERVED)
+                    .quantity(request.getQuantity())
+                    .reason(request.getReason() != null ? request.getReason() : "Stock reserved")
+                    .referenceId(request.getReferenceId())
+                    .build());
+        }
+
+        List<Inventory> savedInventories = inventoryRepository.saveAll(inventoryMap.values());
+        stockMovementRepository.saveAll(movements);
+
+        log.info("Batch stock reservation applied {} of {} requests", movements.size(), requests.size());
+
+        return savedInventories.stream().map(this::mapToResponse).toList();
+    }
+
+    @Override
+    @Transactional
+    public List<InventoryResponse> releaseStockBatch(List<ReserveStockRequest> requests) {
+        if (requests.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        Map<UUID, Inventory> inventoryMap = lockInventories(requests);
+        List<StockMovement> movements = new ArrayList<>();
+
+        for (ReserveStockRequest request : requests) {
+            Inventory inventory = inventoryMap.get(request.getProductId());
+            if (inventory == null) {
+                log.error("Inventory not found for product {}, skipping release for referenceId={}",
+                        request.getProductId(), request.getReferenceId());
+                continue;
+            }
+
+            int newReservedQuantity = inventory.getReservedQuantity() - request.getQuantity();
+            if (newReservedQuantity < 0) {
+                log.warn("Releasing more stock than reserved for product {}. Setting reserved to 0.", request.getProductId());
+                newReservedQuantity = 0;
+            }
+
+            inventory.setReservedQuantity(newReservedQuantity);
+            movements.add(StockMovement.builder()
+                    .inventoryId(inventory.getId())
+                    .type(StockMovement.MovementType.RELEASED)
+                    .quantity(request.getQuantity())
+                    .reason(request.getReason() != null ? request.getReason() : "Stock released")
+                    .referenceId(request.getReferenceId())
+                    .build());
+        }
+
+        List<Inventory> savedInventories = inventoryRepository.saveAll(inventoryMap.values());
+        stockMovementRepository.saveAll(movements);
+
+        log.info("Batch stock release applied {} of {} requests", movements.size(), requests.size());
+
+        return savedInventories.stream().map(this::mapToResponse).toList();
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<StockCheckResponse> checkStock(List<UUID> productIds, List<Integer> quantities) {
@@ -195,6 +282,20 @@ public class InventoryServiceImpl implements InventoryService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Locks every inventory row touched by the requests in one query, ordered by product ID
+     * so that concurrent batches acquire locks in the same order.
+     */
+    private Map<UUID, Inventory> lockInventories(List<ReserveStockRequest> requests) {
+        Set<UUID> productIds = requests.stream()
+                .map(ReserveStockRequest::getProductId)
+                .collect(Collectors.toSet());
+        return inventoryRepository.findByProductIdInWithLock(productIds)
+                .stream()
+                .collect(Collectors.toMap(Inventory::getProductId, Function.identity(),
+                        (a, b) -> a, LinkedHashMap::new));
+    }
+
     private InventoryResponse mapToResponse(Inventory inventory) {
         return InventoryResponse.builder()
                 .id(inventory.getId())
@@ -0,0 +1,10 @@
+-- Transactional outbox, drained to Kafka by OutboxRelay (common-db)
+CREATE TABLE outbox_events
+(
+    id           BIGSERIAL PRIMARY KEY,
+    topic        VARCHAR(255) NOT NULL,
+    message_key  VARCHAR(255),
+    payload_type VARCHAR(255) NOT NULL,
+    payload      TEXT         NOT NULL,
+    created_at   TIMESTAMP    NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
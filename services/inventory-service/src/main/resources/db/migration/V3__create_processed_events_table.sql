@@ -0,0 +1,10 @@
+-- Event ids already handled by idempotent consumers (common-db dedupe)
+CREATE TABLE processed_events
+(
+    consumer     VARCHAR(100) NOT NULL,
+    event_id     UUID         NOT NULL,
+    processed_at TIMESTAMP    NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (consumer, event_id)
+);
+
+CREATE INDEX idx_processed_events_processed_at ON processed_events (processed_at);
@@ -4,9 +4,12 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.rudraksha.shopsphere.notification.dto.EmailRequest;
 import com.rudraksha.shopsphere.notification.service.EmailService;
 import com.rudraksha.shopsphere.notification.service.TemplateService;
+import com.rudraksha.shopsphere.shared.kafka.KeyOrderedDispatcher;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
 import org.springframework.stereotype.Component;
 
 import java.util.HashMap;
@@ -23,12 +26,21 @@ public class OrderPlacedConsumer {
     private final EmailService emailService;
     private final TemplateService templateService;
     private final ObjectMapper objectMapper;
+    private final KeyOrderedDispatcher keyOrderedDispatcher;
 
     private static final String TOPIC = "order.placed";
     private static final String GROUP_ID = "notification-service-order-placed-group";
 
-    @KafkaListener(topics = TOPIC, groupId = GROUP_ID)
-    public void consumeOrderPlaced(String message) {
+    /**
+     * Emails are sent on virtual threads, in order per record key, so a slow mail server
+     * does not hold up the rest of the partition.
+     */
+    @KafkaListener(topics = TOPIC, groupId = GROUP_ID, containerFactory = "parallelKafkaListenerContainerFactory")
+    public void consumeOrderPlaced(ConsumerRecord<String, String> record, Acknowledgment acknowledgment) {
+        keyOrderedDispatcher.dispatch(record, acknowledgment, () -> handleOrderPlaced(record.value()));
+    }
+
+    private void handleOrderPlaced(String message) {
         log.info("Received order placed event");
 
         try {
@@ -62,7 +74,7 @@ public class OrderPlacedConsumer {
             log.debug("Order confirmation email sent to: {} for order: {}", userEmail, orderId);
         } catch (Exception e) {
             log.error("Error processing order placed event: {}", message, e);
-            // Send to DLQ on failure
+            throw new IllegalStateException("Failed to process order placed event", e);
         }
     }
 }
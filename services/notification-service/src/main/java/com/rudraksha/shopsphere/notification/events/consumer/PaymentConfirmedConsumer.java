@@ -4,9 +4,12 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.rudraksha.shopsphere.notification.dto.EmailRequest;
 import com.rudraksha.shopsphere.notification.service.EmailService;
 import com.rudraksha.shopsphere.notification.service.TemplateService;
+import com.rudraksha.shopsphere.shared.kafka.KeyOrderedDispatcher;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
 import org.springframework.stereotype.Component;
 
 import java.util.HashMap;
@@ -23,12 +26,17 @@ public class PaymentConfirmedConsumer {
     private final EmailService emailService;
     private final TemplateService templateService;
     private final ObjectMapper objectMapper;
+    private final KeyOrderedDispatcher keyOrderedDispatcher;
 
     private static final String TOPIC = "payment.confirmed";
     private static final String GROUP_ID = "notification-service-payment-confirmed-group";
 
-    @KafkaListener(topics = TOPIC, groupId = GROUP_ID)
-    public void consumePaymentConfirmed(String message) {
+    @KafkaListener(topics = TOPIC, groupId = GROUP_ID, containerFactory = "parallelKafkaListenerContainerFactory")
+    public void consumePaymentConfirmed(ConsumerRecord<String, String> record, Acknowledgment acknowledgment) {
+        keyOrderedDispatcher.dispatch(record, acknowledgment, () -> handlePaymentConfirmed(record.value()));
+    }
+
+    private void handlePaymentConfirmed(String message) {
         log.info("Received payment confirmed event");
 
         try {
@@ -65,7 +73,7 @@ public class PaymentConfirmedConsumer {
             log.debug("Payment receipt email sent to: {} for order: {}", userEmail, orderId);
         } catch (Exception e) {
             log.error("Error processing payment confirmed event: {}", message, e);
-            // Send to DLQ on failure
+            throw new IllegalStateException("Failed to process payment confirmed event", e);
         }
     }
 }
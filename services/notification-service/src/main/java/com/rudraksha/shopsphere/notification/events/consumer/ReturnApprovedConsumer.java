@@ -4,9 +4,12 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.rudraksha.shopsphere.notification.dto.EmailRequest;
 import com.rudraksha.shopsphere.notification.service.EmailService;
 import com.rudraksha.shopsphere.notification.service.TemplateService;
+import com.rudraksha.shopsphere.shared.kafka.KeyOrderedDispatcher;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
 import org.springframework.stereotype.Component;
 
 import java.util.HashMap;
@@ -23,12 +26,17 @@ public class ReturnApprovedConsumer {
     private final EmailService emailService;
     private final TemplateService templateService;
     private final ObjectMapper objectMapper;
+    private final KeyOrderedDispatcher keyOrderedDispatcher;
 
     private static final String TOPIC = "return.approved";
     private static final String GROUP_ID = "notification-service-return-approved-group";
 
-    @KafkaListener(topics = TOPIC, groupId = GROUP_ID)
-    public void consumeReturnApproved(String message) {
+    @KafkaListener(topics = TOPIC, groupId = GROUP_ID, containerFactory = "parallelKafkaListenerContainerFactory")
+    public void consumeReturnApproved(ConsumerRecord<String, String> record, Acknowledgment acknowledgment) {
+        keyOrderedDispatcher.dispatch(record, acknowledgment, () -> handleReturnApproved(record.value()));
+    }
+
+    private void handleReturnApproved(String message) {
         log.info("Received return approved event");
 
         try {
@@ -64,7 +72,7 @@ public class ReturnApprovedConsumer {
             log.debug("Return approved email sent to: {} for RMA: {}", userEmail, rmaNumber);
         } catch (Exception e) {
             log.error("Error processing return approved event: {}", message, e);
-            // Send to DLQ on failure
+            throw new IllegalStateException("Failed to process return approved event", e);
         }
     }
 }
@@ -4,9 +4,12 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.rudraksha.shopsphere.notification.dto.EmailRequest;
 import com.rudraksha.shopsphere.notification.service.EmailService;
 import com.rudraksha.shopsphere.notification.service.TemplateService;
+import com.rudraksha.shopsphere.shared.kafka.KeyOrderedDispatcher;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
 import org.springframework.stereotype.Component;
 
 import java.util.HashMap;
@@ -23,12 +26,17 @@ public class ShipmentCreatedConsumer {
     private final EmailService emailService;
     private final TemplateService templateService;
     private final ObjectMapper objectMapper;
+    private final KeyOrderedDispatcher keyOrderedDispatcher;
 
     private static final String TOPIC = "shipment.created";
     private static final String GROUP_ID = "notification-service-shipment-created-group";
 
-    @KafkaListener(topics = TOPIC, groupId = GROUP_ID)
-    public void consumeShipmentCreated(String message) {
+    @KafkaListener(topics = TOPIC, groupId = GROUP_ID, containerFactory = "parallelKafkaListenerContainerFactory")
+    public void consumeShipmentCreated(ConsumerRecord<String, String> record, Acknowledgment acknowledgment) {
+        keyOrderedDispatcher.dispatch(record, acknowledgment, () -> handleShipmentCreated(record.value()));
+    }
+
+    private void handleShipmentCreated(String message) {
         log.info("Received shipment created event");
 
         try {
@@ -65,7 +73,7 @@ public class ShipmentCreatedConsumer {
             log.debug("Shipping notification email sent to: {} for order: {}", userEmail, orderId);
         } catch (Exception e) {
             log.error("Error processing shipment created event: {}", message, e);
-            // Send to DLQ on failure
+            throw new IllegalStateException("Failed to process shipment created event", e);
         }
     }
 }
@@ -4,9 +4,12 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.rudraksha.shopsphere.notification.dto.EmailRequest;
 import com.rudraksha.shopsphere.notification.service.EmailService;
 import com.rudraksha.shopsphere.notification.service.TemplateService;
+import com.rudraksha.shopsphere.shared.kafka.KeyOrderedDispatcher;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
 import org.springframework.stereotype.Component;
 
 import java.util.HashMap;
@@ -23,12 +26,17 @@ public class ShipmentDeliveredConsumer {
     private final EmailService emailService;
     private final TemplateService templateService;
     private final ObjectMapper objectMapper;
+    private final KeyOrderedDispatcher keyOrderedDispatcher;
 
     private static final String TOPIC = "shipment.delivered";
     private static final String GROUP_ID = "notification-service-shipment-delivered-group";
 
-    @KafkaListener(topics = TOPIC, groupId = GROUP_ID)
-    public void consumeShipmentDelivered(String message) {
+    @KafkaListener(topics = TOPIC, groupId = GROUP_ID, containerFactory = "parallelKafkaListenerContainerFactory")
+    public void consumeShipmentDelivered(ConsumerRecord<String, String> record, Acknowledgment acknowledgment) {
+        keyOrderedDispatcher.dispatch(record, acknowledgment, () -> handleShipmentDelivered(record.value()));
+    }
+
+    private void handleShipmentDelivered(String message) {
         log.info("Received shipment delivered event");
 
         try {
@@ -62,7 +70,7 @@ public class ShipmentDeliveredConsumer {
             log.debug("Delivery notification email sent to: {} for order: {}", userEmail, orderId);
         } catch (Exception e) {
             log.error("Error processing shipment delivered event: {}", message, e);
-            // Send to DLQ on failure
+            throw new IllegalStateException("Failed to process shipment delivered event", e);
         }
     }
 }
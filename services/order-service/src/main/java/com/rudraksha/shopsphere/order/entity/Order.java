@@ -1,5 +1,6 @@
 package com.rudraksha.shopsphere.order.entity;
 
+import com.rudraksha.shopsphere.shared.db.id.TimeOrderedId;
 import com.rudraksha.shopsphere.shared.models.enums.OrderStatus;
 import jakarta.persistence.*;
 import lombok.*;
@@ -22,7 +23,7 @@ import java.util.UUID;
 public class Order {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedId
     private UUID id;
 
     @Column(name = "order_number", nullable = false, unique = true, length = 50)
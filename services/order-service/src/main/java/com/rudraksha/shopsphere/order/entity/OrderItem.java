@@ -1,5 +1,6 @@
 package com.rudraksha.shopsphere.order.entity;
 
+import com.rudraksha.shopsphere.shared.db.id.TimeOrderedId;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -16,7 +17,7 @@ import java.util.UUID;
 public class OrderItem {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedId
     private UUID id;
 
     @ManyToOne(fetch = FetchType.LAZY)
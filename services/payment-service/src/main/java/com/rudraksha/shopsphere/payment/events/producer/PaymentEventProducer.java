@@ -2,7 +2,7 @@ package com.rudraksha.shopsphere.payment.events.producer;
 
 import com.rudraksha.shopsphere.payment.entity.Payment;
 import com.rudraksha.shopsphere.payment.entity.Refund;
-import com.rudraksha.shopsphere.shared.kafka.EventPublisher;
+import com.rudraksha.shopsphere.shared.db.outbox.OutboxWriter;
 import com.rudraksha.shopsphere.shared.kafka.TopicConstants;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -17,18 +17,18 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class PaymentEventProducer {
 
-    private final EventPublisher eventPublisher;
+    private final OutboxWriter outboxWriter;
 
     public void publishPaymentCompleted(Payment payment) {
         Map<String, Object> event = createPaymentEvent("PAYMENT_COMPLETED", payment);
-        eventPublisher.publish(TopicConstants.PAYMENT_EVENTS, payment.getOrderId().toString(), event);
-        log.info("Published PAYMENT_COMPLETED event for paymentId={}", payment.getId());
+        outboxWriter.append(TopicConstants.PAYMENT_EVENTS, payment.getOrderId().toString(), event);
+        log.info("Recorded PAYMENT_COMPLETED event for paymentId={}", payment.getId());
     }
 
     public void publishPaymentFailed(Payment payment) {
         Map<String, Object> event = createPaymentEvent("PAYMENT_FAILED", payment);
-        eventPublisher.publish(TopicConstants.PAYMENT_EVENTS, payment.getOrderId().toString(), event);
-        log.info("Published PAYMENT_FAILED event for paymentId={}", payment.getId());
+        outboxWriter.append(TopicConstants.PAYMENT_EVENTS, payment.getOrderId().toString(), event);
+        log.info("Recorded PAYMENT_FAILED event for paymentId={}", payment.getId());
     }
 
     public void publishPaymentRefunded(Payment payment, Refund refund) {
@@ -36,8 +36,8 @@ public class PaymentEventProducer {
         event.put("refundId", refund.getId().toString());
         event.put("refundAmount", refund.getAmount());
         event.put("refundReason", refund.getReason());
-        eventPublisher.publish(TopicConstants.PAYMENT_EVENTS, payment.getOrderId().toString(), event);
-        log.info("Published PAYMENT_REFUNDED event for paymentId={}, refundId={}", payment.getId(), refund.getId());
+        outboxWriter.append(TopicConstants.PAYMENT_EVENTS, payment.getOrderId().toString(), event);
+        log.info("Recorded PAYMENT_REFUNDED event for paymentId={}, refundId={}", payment.getId(), refund.getId());
     }
 
     private Map<String, Object> createPaymentEvent(String eventType, Payment payment) {
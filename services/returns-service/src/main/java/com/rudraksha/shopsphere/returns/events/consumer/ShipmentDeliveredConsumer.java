@@ -28,7 +28,7 @@ public class ShipmentDeliveredConsumer {
             log.debug("Processing shipment delivered for returns eligibility");
         } catch (Exception e) {
             log.error("Error processing shipment delivered event: {}", message, e);
-            // Send to DLQ on failure
+            throw new IllegalStateException("Failed to process shipment delivered event", e);
         }
     }
 }